@@ -58,12 +58,14 @@ public class CompareCountersWithOtherLibraries {
     public static class MicrometerState {
         io.micrometer.core.instrument.MeterRegistry registry;
         io.micrometer.core.instrument.Counter counter;
+        io.micrometer.core.instrument.Counter integralCounter;
         io.micrometer.core.instrument.Counter counterWithTags;
 
         @Setup(Level.Trial)
         public void setup() {
             registry = new io.micrometer.core.instrument.simple.SimpleMeterRegistry();
             counter = registry.counter("untagged");
+            integralCounter = io.micrometer.core.instrument.Counter.builder("integral").integral().register(registry);
             counterWithTags = registry.counter("tagged", "key1", "value1", "key2", "value2");
         }
 
@@ -132,11 +134,16 @@ public class CompareCountersWithOtherLibraries {
         state.registry.counter(new io.dropwizard.metrics5.MetricName("tagged", tags)).inc();
     }
 
-//    @Benchmark
+    @Benchmark
     public void micrometerCounter(MicrometerState state) {
         state.counter.increment();
     }
 
+    @Benchmark
+    public void micrometerIntegralCounter(MicrometerState state) {
+        state.integralCounter.increment();
+    }
+
     @Benchmark
     public void micrometerCounterTags(MicrometerState state) {
         state.registry.counter("dynamicTags", "key1", "value1", "key2", "value2").increment();
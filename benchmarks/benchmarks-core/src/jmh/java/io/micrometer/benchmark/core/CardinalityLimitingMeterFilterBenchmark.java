@@ -0,0 +1,94 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.CardinalityLimitingMeterFilter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up counters with an exploding {@code uri} tag through the existing cardinality filters and
+ * {@link CardinalityLimitingMeterFilter}.
+ */
+@State(Scope.Benchmark)
+@Threads(4)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardinalityLimitingMeterFilterBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CardinalityLimitingMeterFilterBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"maximumAllowableTags", "cardinalityLimitBucket", "cardinalityLimitDeny"})
+    private String filter;
+
+    private static final int ALLOWED_URIS = 100;
+    private static final int DISTINCT_URIS = 100_000;
+
+    private String[] uris;
+    private MeterRegistry registry;
+
+    @Setup
+    public void setup() {
+        uris = new String[DISTINCT_URIS];
+        for (int i = 0; i < DISTINCT_URIS; i++) {
+            uris[i] = "/api/users/" + i;
+        }
+
+        registry = new SimpleMeterRegistry();
+        switch (filter) {
+            case "maximumAllowableTags":
+                registry.config().meterFilter(MeterFilter.maximumAllowableTags("http", "uri", ALLOWED_URIS, MeterFilter.deny()));
+                break;
+            case "cardinalityLimitBucket":
+                registry.config().meterFilter(CardinalityLimitingMeterFilter.builder()
+                        .limitTagValues("http", "uri", ALLOWED_URIS)
+                        .build());
+                break;
+            case "cardinalityLimitDeny":
+                registry.config().meterFilter(CardinalityLimitingMeterFilter.builder()
+                        .limitTagValues("http", "uri", ALLOWED_URIS)
+                        .denyOverflow()
+                        .build());
+                break;
+            default:
+                throw new IllegalArgumentException(filter);
+        }
+    }
+
+    @Benchmark
+    public Counter lookUpCounter() {
+        String uri = uris[ThreadLocalRandom.current().nextInt(DISTINCT_URIS)];
+        return registry.counter("http.server.requests", "uri", uri, "method", "GET");
+    }
+}
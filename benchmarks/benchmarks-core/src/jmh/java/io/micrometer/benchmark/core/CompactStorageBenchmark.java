@@ -0,0 +1,94 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers a million counters for a thousand tenants and a thousand routes, with and without
+ * {@link SimpleConfig#compactStorage()}, and reports the heap retained per series as {@code bytesPerSeries}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CompactStorageBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CompactStorageBenchmark.class.getSimpleName())
+                .warmupIterations(1)
+                .measurementIterations(5)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int TENANTS = 1000;
+    private static final int ROUTES = 1000;
+
+    @Param({"false", "true"})
+    private boolean compactStorage;
+
+    private SimpleMeterRegistry registry;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerSeries;
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        registry = null;
+    }
+
+    @Benchmark
+    public SimpleMeterRegistry registerMillionSeries(Footprint footprint) {
+        long before = usedHeapAfterGc();
+
+        SimpleConfig config = key -> key.equals("simple.compactStorage") ? Boolean.toString(compactStorage) : null;
+        registry = new SimpleMeterRegistry(config, Clock.SYSTEM);
+        for (int tenant = 0; tenant < TENANTS; tenant++) {
+            for (int route = 0; route < ROUTES; route++) {
+                // tag values are typically built per request, so each registration brings its own strings
+                registry.counter("gateway.requests", "tenant", "tenant-" + tenant, "route", "/api/v1/route-" + route)
+                        .increment();
+            }
+        }
+
+        footprint.bytesPerSeries = (usedHeapAfterGc() - before) / ((long) TENANTS * ROUTES);
+        return registry;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheus.PrometheusNamingConvention;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The formatting part of a publish: rendering the name and tags of every meter with a regex-based naming convention,
+ * through the memoizing {@link Meter.Id#getConventionName(NamingConvention)} and
+ * {@link Meter.Id#getConventionTags(NamingConvention)} or by applying the convention directly each time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConventionRenderingBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ConventionRenderingBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private final NamingConvention convention = new PrometheusNamingConvention();
+
+    private SimpleMeterRegistry registry;
+    private List<Meter> meters;
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        for (int i = 0; i < 10_000; i++) {
+            registry.counter("http.server.requests", "uri", "/api/resource/" + (i % 100), "method", "GET",
+                    "status", Integer.toString(200 + i / 100), "exception", "None");
+        }
+        meters = registry.getMeters();
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public int memoized() {
+        int length = 0;
+        for (Meter meter : meters) {
+            Meter.Id id = meter.getId();
+            length += id.getConventionName(convention).length();
+            for (Tag tag : id.getConventionTags(convention)) {
+                length += tag.getKey().length() + tag.getValue().length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int unmemoized() {
+        int length = 0;
+        for (Meter meter : meters) {
+            Meter.Id id = meter.getId();
+            length += convention.name(id.getName(), id.getType(), id.getBaseUnit()).length();
+            for (Tag tag : id.getTagsAsIterable()) {
+                length += convention.tagKey(tag.getKey()).length() + convention.tagValue(tag.getValue()).length();
+            }
+        }
+        return length;
+    }
+}
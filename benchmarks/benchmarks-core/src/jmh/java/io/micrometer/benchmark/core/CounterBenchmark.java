@@ -17,6 +17,7 @@ package io.micrometer.benchmark.core;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.openjdk.jmh.annotations.*;
@@ -47,11 +48,17 @@ public class CounterBenchmark {
 
     private MeterRegistry registry;
     private Counter counter;
+    private Counter simpleCounter;
+    private Counter simpleIntegralCounter;
 
     @Setup
     public void setup() {
         registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
         counter = registry.counter("counter");
+
+        SimpleMeterRegistry simpleRegistry = new SimpleMeterRegistry();
+        simpleCounter = simpleRegistry.counter("counter");
+        simpleIntegralCounter = Counter.builder("integral.counter").integral().register(simpleRegistry);
     }
 
     @Benchmark
@@ -60,6 +67,18 @@ public class CounterBenchmark {
         return sum();
     }
 
+    @Benchmark
+    public int countSumSimple() {
+        simpleCounter.increment();
+        return sum();
+    }
+
+    @Benchmark
+    public int countSumSimpleIntegral() {
+        simpleIntegralCounter.increment();
+        return sum();
+    }
+
     @Benchmark
     public int countSumWithRegistryLookup() {
         registry.counter("counter").increment();
@@ -0,0 +1,99 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.util.DoubleFormat;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting a batch of typical meter values (whole counts, latencies in milliseconds and rates) for a wire protocol,
+ * with {@link DoubleFormat} as a string, appended to a reused builder, and with the {@link DecimalFormat} it replaces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DoubleFormatBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DoubleFormatBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private final DecimalFormat decimalFormat = new DecimalFormat("##0.######", new DecimalFormatSymbols(Locale.US));
+    private final StringBuilder line = new StringBuilder();
+
+    private double[] values;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new double[1_000];
+        for (int i = 0; i < values.length; i++) {
+            switch (i % 3) {
+                case 0:
+                    values[i] = random.nextInt(100_000);
+                    break;
+                case 1:
+                    values[i] = random.nextDouble() * 500;
+                    break;
+                default:
+                    values[i] = random.nextInt(1_000) / 60.0;
+            }
+        }
+    }
+
+    @Benchmark
+    public int decimalFormat() {
+        line.setLength(0);
+        for (double value : values) {
+            line.append(decimalFormat.format(value)).append(' ');
+        }
+        return line.length();
+    }
+
+    @Benchmark
+    public int wholeOrDecimal() {
+        line.setLength(0);
+        for (double value : values) {
+            line.append(DoubleFormat.wholeOrDecimal(value)).append(' ');
+        }
+        return line.length();
+    }
+
+    @Benchmark
+    public int appendWholeOrDecimal() {
+        line.setLength(0);
+        for (double value : values) {
+            DoubleFormat.appendWholeOrDecimal(line, value).append(' ');
+        }
+        return line.length();
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import com.codahale.metrics.MetricRegistry;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.dropwizard.DropwizardConfig;
+import io.micrometer.core.instrument.dropwizard.DropwizardMeterRegistry;
+import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.lang.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads recording to the same timer of a Dropwizard-backed registry, with Dropwizard's exponentially decaying
+ * reservoir or the Micrometer-backed one, and with or without percentiles computed by Micrometer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class DropwizardTimerBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DropwizardTimerBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"false", "true"})
+    boolean micrometerReservoir;
+
+    @Param({"false", "true"})
+    boolean percentiles;
+
+    private DropwizardMeterRegistry registry;
+    private Timer timer;
+
+    @Setup
+    public void setup() {
+        DropwizardConfig config = new DropwizardConfig() {
+            @Override
+            public String prefix() {
+                return "dropwizard";
+            }
+
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean micrometerReservoir() {
+                return micrometerReservoir;
+            }
+        };
+        registry = new DropwizardMeterRegistry(config, new MetricRegistry(), HierarchicalNameMapper.DEFAULT, Clock.SYSTEM) {
+            @Override
+            protected Double nullGaugeValue() {
+                return Double.NaN;
+            }
+        };
+
+        Timer.Builder builder = Timer.builder("timer");
+        if (percentiles) {
+            builder.publishPercentiles(0.5, 0.99);
+        }
+        timer = builder.register(registry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void record() {
+        timer.record(123_456, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.dynatrace.DynatraceConfig;
+import io.micrometer.dynatrace.DynatraceMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first publish of 5,000 gauges by a {@link DynatraceMeterRegistry}, which has to create every custom metric
+ * before sending its time series, against a local HTTP server that takes a millisecond to answer each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DynatracePublishBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DynatracePublishBenchmark.class.getSimpleName())
+                .warmupIterations(2)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int METERS = 5_000;
+
+    @Param({"1", "4"})
+    private int maxConcurrentRequests;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    private DynatraceMeterRegistry registry;
+    private Method publish;
+
+    @Setup(Level.Trial)
+    public void startServer() throws IOException, NoSuchMethodException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                byte[] buffer = new byte[8192];
+                while (body.read(buffer) != -1) {
+                    // discard the payload
+                }
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        publish = DynatraceMeterRegistry.class.getDeclaredMethod("publish");
+        publish.setAccessible(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdown();
+    }
+
+    /**
+     * A new registry for every publish, so that none of its custom metrics has been created yet.
+     */
+    @Setup(Level.Invocation)
+    public void setup() {
+        String uri = "http://localhost:" + server.getAddress().getPort();
+        registry = DynatraceMeterRegistry.builder(new DynatraceConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+
+            @Override
+            public String uri() {
+                return uri;
+            }
+
+            @Override
+            public String deviceId() {
+                return "benchmark";
+            }
+
+            @Override
+            public String apiToken() {
+                return "apiToken";
+            }
+
+            @Override
+            public int maxConcurrentRequests() {
+                return maxConcurrentRequests;
+            }
+        }).clock(Clock.SYSTEM).build();
+
+        for (int i = 0; i < METERS; i++) {
+            registry.gauge("benchmark.gauge." + i, i);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void firstPublish() throws Exception {
+        publish.invoke(registry);
+    }
+}
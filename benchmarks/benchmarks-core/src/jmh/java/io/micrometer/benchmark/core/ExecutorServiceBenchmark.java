@@ -0,0 +1,133 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Batches of micro-tasks run by a plain {@link ThreadPoolExecutor}, by one whose tasks are recorded into timers, and by
+ * one whose task timings are accumulated per worker thread. The pool is either monitored directly, or behind an executor
+ * service of a type that {@link ExecutorServiceMetrics} can't read, whose executing and completed tasks are counted by
+ * its wrapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutorServiceBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ExecutorServiceBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int TASKS_PER_BATCH = 1000;
+
+    @Param({"plain", "timed", "accumulated"})
+    private String timings;
+
+    @Param({"threadPool", "unsupported"})
+    private String executorType;
+
+    private ThreadPoolExecutor threadPool;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        threadPool = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        ExecutorService monitored = "threadPool".equals(executorType) ? threadPool : new UnsupportedExecutorService(threadPool);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        switch (timings) {
+            case "timed":
+                executor = ExecutorServiceMetrics.monitor(registry, monitored, "benchmark", "", Tags.empty());
+                break;
+            case "accumulated":
+                executor = ExecutorServiceMetrics.monitorWithAccumulatedTimings(registry, monitored, "benchmark", "",
+                        Tags.empty());
+                break;
+            default:
+                executor = monitored;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        threadPool.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS_PER_BATCH)
+    public void batch() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS_PER_BATCH);
+        for (int i = 0; i < TASKS_PER_BATCH; i++) {
+            executor.execute(done::countDown);
+        }
+        done.await();
+    }
+
+    private static class UnsupportedExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        UnsupportedExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(command);
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.graphite.Graphite;
+import com.codahale.metrics.graphite.GraphiteReporter;
+import com.codahale.metrics.graphite.GraphiteSender;
+import com.codahale.metrics.graphite.PickledGraphite;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.lang.Nullable;
+import io.micrometer.graphite.GraphiteConfig;
+import io.micrometer.graphite.GraphiteHierarchicalNameMapper;
+import io.micrometer.graphite.GraphiteMeterRegistry;
+import io.micrometer.graphite.GraphiteProtocol;
+import io.micrometer.graphite.GraphiteStepMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One publish of 2,000 timers and 2,000 counters to a local TCP server that discards what it receives, by
+ * {@link GraphiteMeterRegistry} (through Dropwizard's {@link GraphiteReporter}) and by
+ * {@link GraphiteStepMeterRegistry}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphitePublishBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(GraphitePublishBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"dropwizard", "step"})
+    private String registryType;
+
+    @Param({"PLAINTEXT", "PICKLED"})
+    private GraphiteProtocol protocol;
+
+    private ServerSocket server;
+    private ExecutorService sink;
+
+    private MeterRegistry registry;
+    private Runnable publish;
+
+    @Setup
+    public void setup() throws IOException, NoSuchMethodException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        sink = Executors.newCachedThreadPool();
+        sink.execute(() -> {
+            while (!server.isClosed()) {
+                try {
+                    Socket socket = server.accept();
+                    sink.execute(() -> discard(socket));
+                } catch (IOException ignored) {
+                    // closed
+                }
+            }
+        });
+
+        GraphiteConfig config = new GraphiteConfig() {
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+
+            @Override
+            public boolean graphiteTagsEnabled() {
+                return false;
+            }
+
+            @Override
+            public String host() {
+                return "localhost";
+            }
+
+            @Override
+            public int port() {
+                return server.getLocalPort();
+            }
+
+            @Override
+            public GraphiteProtocol protocol() {
+                return protocol;
+            }
+        };
+
+        if ("dropwizard".equals(registryType)) {
+            MetricRegistry metricRegistry = new MetricRegistry();
+            GraphiteSender sender = protocol == GraphiteProtocol.PICKLED ?
+                    new PickledGraphite(config.host(), config.port()) :
+                    new Graphite(config.host(), config.port());
+            GraphiteReporter reporter = GraphiteReporter.forRegistry(metricRegistry)
+                    .convertRatesTo(config.rateUnits())
+                    .convertDurationsTo(config.durationUnits())
+                    .build(sender);
+            HierarchicalNameMapper nameMapper = new GraphiteHierarchicalNameMapper(config.tagsAsPrefix());
+            registry = new GraphiteMeterRegistry(config, Clock.SYSTEM, nameMapper, metricRegistry, reporter);
+            publish = reporter::report;
+        } else {
+            registry = new GraphiteStepMeterRegistry(config, Clock.SYSTEM);
+            Method method = GraphiteStepMeterRegistry.class.getDeclaredMethod("publish");
+            method.setAccessible(true);
+            publish = () -> {
+                try {
+                    method.invoke(registry);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        for (int i = 0; i < 2_000; i++) {
+            String uri = "/api/resource/" + (i % 200);
+            String status = Integer.toString(200 + i / 200);
+            Counter.builder("http.client.requests.bytes").tags("uri", uri, "status", status, "method", "GET")
+                    .register(registry).increment(i);
+            Timer.builder("http.client.requests").tags("uri", uri, "status", status, "method", "GET")
+                    .register(registry).record(Duration.ofMillis(i));
+        }
+    }
+
+    private static void discard(Socket socket) {
+        try (InputStream in = socket.getInputStream()) {
+            byte[] buffer = new byte[65536];
+            while (in.read(buffer) != -1) {
+                // discard
+            }
+        } catch (IOException ignored) {
+            // closed
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        registry.close();
+        server.close();
+        sink.shutdownNow();
+    }
+
+    @Benchmark
+    public void publish() {
+        publish.run();
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.health.HealthConfig;
+import io.micrometer.health.HealthMeterRegistry;
+import io.micrometer.health.ServiceLevelObjective;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of 200 error ratio service level objectives, each averaged over five minutes and followed by a health
+ * check, as the number of meters in the {@link HealthMeterRegistry} grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HealthTickBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HealthTickBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int OBJECTIVES = 200;
+
+    @Param({"1000", "10000", "100000"})
+    private int meters;
+
+    private HealthMeterRegistry registry;
+    private ServiceLevelObjective[] objectives;
+
+    @Setup
+    public void setup() {
+        objectives = new ServiceLevelObjective[OBJECTIVES + 1];
+        objectives[0] = ServiceLevelObjective.build("requests")
+                .count(s -> s.name("http.server.requests"))
+                .isGreaterThan(0);
+        for (int i = 0; i < OBJECTIVES; i++) {
+            String uri = "/api/" + i;
+            objectives[i + 1] = ServiceLevelObjective.build("api.error.ratio")
+                    .tag("uri", uri)
+                    .errorRatio(s -> s.name("http.server.requests").tag("uri", uri),
+                            s -> s.tag("status", "500"))
+                    .averageOver(Duration.ofMinutes(5))
+                    .isLessThan(0.01);
+        }
+
+        MockClock clock = new MockClock();
+        registry = HealthMeterRegistry.builder(HealthConfig.DEFAULT)
+                .serviceLevelObjectives(objectives)
+                .clock(clock)
+                .build();
+
+        for (int i = 0; i < meters; i++) {
+            Timer.builder("http.server.requests")
+                    .tags("uri", "/api/" + (i % OBJECTIVES), "status", Integer.toString(200 + i / OBJECTIVES))
+                    .register(registry)
+                    .record(Duration.ofMillis(i));
+        }
+        clock.add(HealthConfig.DEFAULT.step());
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        for (ServiceLevelObjective objective : objectives) {
+            objective.tick(registry);
+            blackhole.consume(objective.healthy(registry));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.instrument.util.MeterFragmentCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rendering the hierarchical names of meters with many tags, as the Dropwizard-based registries do when meters are
+ * registered and removed: with the stream-based mapping {@link HierarchicalNameMapper#DEFAULT} used to be, with the
+ * single-pass {@link HierarchicalNameMapper#DEFAULT}, and through a {@link MeterFragmentCache} in front of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HierarchicalNameBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(HierarchicalNameBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final HierarchicalNameMapper STREAMING = (id, convention) -> id.getConventionName(convention) +
+            id.getConventionTags(convention).stream()
+                    .map(t -> "." + t.getKey() + "." + t.getValue())
+                    .map(nameSegment -> nameSegment.replace(" ", "_"))
+                    .collect(Collectors.joining(""));
+
+    @Param({"4", "32"})
+    int tagCount;
+
+    private final NamingConvention convention = NamingConvention.camelCase;
+
+    private SimpleMeterRegistry registry;
+    private List<Meter> meters;
+    private MeterFragmentCache<String> names;
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        registry.config().namingConvention(convention);
+        for (int i = 0; i < 1_000; i++) {
+            Tags tags = Tags.of("instance", "instance " + i);
+            for (int t = 1; t < tagCount; t++) {
+                tags = tags.and("tag.key." + t, "tag value " + (i % (t + 1)));
+            }
+            registry.counter("http.server.requests", tags);
+        }
+        meters = registry.getMeters();
+        names = new MeterFragmentCache<>(registry, id -> HierarchicalNameMapper.DEFAULT.toHierarchicalName(id, convention));
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public int streaming() {
+        int length = 0;
+        for (Meter meter : meters) {
+            length += STREAMING.toHierarchicalName(meter.getId(), convention).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int singlePass() {
+        int length = 0;
+        for (Meter meter : meters) {
+            length += HierarchicalNameMapper.DEFAULT.toHierarchicalName(meter.getId(), convention).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int memoized() {
+        int length = 0;
+        for (Meter meter : meters) {
+            length += names.get(meter.getId()).length();
+        }
+        return length;
+    }
+}
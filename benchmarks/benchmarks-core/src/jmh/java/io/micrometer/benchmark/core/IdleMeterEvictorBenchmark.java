@@ -0,0 +1,101 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.core.instrument.util.IdleMeterEvictor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulates publishing steps of a registry where every step introduces new per-user meters and the previous
+ * users go away, with and without {@link IdleMeterEvictor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IdleMeterEvictorBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(IdleMeterEvictorBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final Duration STEP = Duration.ofMinutes(1);
+    private static final int NEW_USERS_PER_STEP = 200;
+
+    @Param({"false", "true"})
+    private boolean evict;
+
+    private MockClock clock;
+    private SimpleMeterRegistry registry;
+    private IdleMeterEvictor evictor;
+    private int step;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        clock = new MockClock();
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        evictor = new IdleMeterEvictor(STEP.multipliedBy(5));
+        if (evict) {
+            evictor.bindTo(registry);
+        }
+        step = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        evictor.close();
+        registry.close();
+    }
+
+    @Benchmark
+    public double publishStep() {
+        for (int i = 0; i < NEW_USERS_PER_STEP; i++) {
+            registry.counter("requests", "user", "user-" + step + "-" + i).increment();
+        }
+        step++;
+        clock.add(STEP);
+
+        if (evict) {
+            evictor.evictIdleMeters();
+        }
+
+        // what every publish or scrape costs: visiting each meter's measurements
+        double sum = 0;
+        for (Meter meter : registry.getMeters()) {
+            for (Measurement measurement : meter.measure()) {
+                sum += measurement.getValue();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.jersey2.server.DefaultJerseyTagsProvider;
+import io.micrometer.jersey2.server.JerseyTagsProvider;
+import io.micrometer.jersey2.server.MetricsApplicationEventListener;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests handled by an in-memory Jersey application without metrics, with the {@link DefaultJerseyTagsProvider}
+ * whose timers are resolved once per resource, and with a custom tags provider whose timers are resolved per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JerseyRequestBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JerseyRequestBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static final URI REQUEST_URI = URI.create("http://localhost/hello/micrometer");
+
+    @Param({"none", "defaultTags", "customTags"})
+    private String metrics;
+
+    private ApplicationHandler handler;
+
+    @Path("/")
+    public static class HelloResource {
+        @GET
+        @Path("hello/{name}")
+        public String hello(@PathParam("name") String name) {
+            return "hello " + name;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        ResourceConfig config = new ResourceConfig(HelloResource.class);
+        if (!"none".equals(metrics)) {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            JerseyTagsProvider tagsProvider = "defaultTags".equals(metrics) ? new DefaultJerseyTagsProvider() : new JerseyTagsProvider() {
+                private final JerseyTagsProvider delegate = new DefaultJerseyTagsProvider();
+
+                @Override
+                public Iterable<Tag> httpRequestTags(RequestEvent event) {
+                    return Tags.of(delegate.httpRequestTags(event)).and("application", "benchmark");
+                }
+
+                @Override
+                public Iterable<Tag> httpLongRequestTags(RequestEvent event) {
+                    return delegate.httpLongRequestTags(event);
+                }
+            };
+            config.register(new MetricsApplicationEventListener(registry, tagsProvider, "http.server.requests", true));
+        }
+        handler = new ApplicationHandler(config);
+    }
+
+    @Benchmark
+    public ContainerResponse request() throws Exception {
+        ContainerRequest request = new ContainerRequest(BASE_URI, REQUEST_URI, "GET", null,
+                new MapPropertiesDelegate(), null);
+        return handler.apply(request).get();
+    }
+}
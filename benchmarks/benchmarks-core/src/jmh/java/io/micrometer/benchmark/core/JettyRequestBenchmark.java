@@ -0,0 +1,169 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.http.DefaultHttpServletRequestTagsProvider;
+import io.micrometer.core.instrument.binder.http.HttpServletRequestTagsProvider;
+import io.micrometer.core.instrument.binder.jetty.TimedHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keep-alive requests to an embedded Jetty server on localhost without metrics, with a {@link TimedHandler} using the
+ * {@link DefaultHttpServletRequestTagsProvider} whose timers are resolved once per method and status, and with a custom
+ * tags provider whose timers are resolved per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JettyRequestBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JettyRequestBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final byte[] REQUEST = ("GET /hello HTTP/1.1\r\n" +
+            "Host: localhost\r\n" +
+            "\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] BODY = "hello".getBytes(StandardCharsets.US_ASCII);
+
+    @Param({"none", "defaultTags", "customTags"})
+    private String metrics;
+
+    private Server server;
+    private int port;
+
+    @Setup
+    public void setup() throws Exception {
+        server = new Server();
+        ServerConnector connector = new ServerConnector(server);
+        connector.setHost("localhost");
+        server.addConnector(connector);
+
+        Handler hello = new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+                baseRequest.setHandled(true);
+                response.setContentLength(BODY.length);
+                response.getOutputStream().write(BODY);
+            }
+        };
+
+        if ("none".equals(metrics)) {
+            server.setHandler(hello);
+        } else {
+            HttpServletRequestTagsProvider delegate = new DefaultHttpServletRequestTagsProvider();
+            HttpServletRequestTagsProvider tagsProvider = "defaultTags".equals(metrics) ? delegate :
+                    (request, response) -> Tags.of(delegate.getTags(request, response)).and("application", "benchmark");
+            TimedHandler timedHandler = new TimedHandler(new SimpleMeterRegistry(), Tags.empty(), tagsProvider);
+            timedHandler.setHandler(hello);
+            server.setHandler(timedHandler);
+        }
+
+        server.start();
+        port = connector.getLocalPort();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @State(Scope.Thread)
+    public static class Connection {
+        private Socket socket;
+        private OutputStream out;
+        private InputStream in;
+        private final byte[] buffer = new byte[1024];
+
+        @Setup
+        public void connect(JettyRequestBenchmark benchmark) throws IOException {
+            socket = new Socket(InetAddress.getByName("localhost"), benchmark.port);
+            socket.setTcpNoDelay(true);
+            out = socket.getOutputStream();
+            in = socket.getInputStream();
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            socket.close();
+        }
+
+        /**
+         * Reads one response, which ends with the fixed size body after the blank line closing the headers.
+         */
+        int request() throws IOException {
+            out.write(REQUEST);
+            out.flush();
+
+            int read = 0;
+            int headersEnd = -1;
+            while (headersEnd < 0 || read < headersEnd + BODY.length) {
+                int n = in.read(buffer, read, buffer.length - read);
+                if (n < 0) {
+                    throw new IOException("Connection closed by the server");
+                }
+                read += n;
+                if (headersEnd < 0) {
+                    headersEnd = headersEnd(read);
+                }
+            }
+            return read;
+        }
+
+        private int headersEnd(int read) {
+            for (int i = 3; i < read; i++) {
+                if (buffer[i - 3] == '\r' && buffer[i - 2] == '\n' && buffer[i - 1] == '\r' && buffer[i] == '\n') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int request(Connection connection) throws IOException {
+        return connection.request();
+    }
+}
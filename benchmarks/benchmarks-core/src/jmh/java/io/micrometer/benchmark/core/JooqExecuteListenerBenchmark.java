@@ -0,0 +1,88 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.db.MetricsDSLContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares plain jOOQ queries against queries timed by {@link MetricsDSLContext} when many threads share the
+ * same {@link MetricsDSLContext}.
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JooqExecuteListenerBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JooqExecuteListenerBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private Connection connection;
+    private DSLContext plain;
+    private MetricsDSLContext timed;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jooqBenchmark;DB_CLOSE_DELAY=-1");
+        plain = DSL.using(connection, SQLDialect.H2);
+        plain.execute("CREATE TABLE author (id int NOT NULL, name varchar(255) DEFAULT NULL, PRIMARY KEY (id))");
+        plain.execute("INSERT INTO author VALUES(1, 'jon')");
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        timed = MetricsDSLContext.withMetrics(plain, registry, Tags.of("db", "h2"));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        plain.execute("DROP TABLE author");
+        connection.close();
+    }
+
+    @Benchmark
+    public Result<Record> untimedSelect() {
+        return plain.fetch("SELECT * FROM author");
+    }
+
+    @Benchmark
+    public Result<Record> timedSelect() {
+        return timed.tag("name", "selectAuthors").fetch("SELECT * FROM author");
+    }
+}
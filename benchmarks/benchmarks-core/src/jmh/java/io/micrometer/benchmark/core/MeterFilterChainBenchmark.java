@@ -0,0 +1,97 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterChain;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps and accepts an id through a typical set of auto-configured filters, one filter at a time (as
+ * {@code MeterRegistry} used to) and through a compiled {@link MeterFilterChain}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MeterFilterChainBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MeterFilterChainBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private MeterFilter[] filters;
+    private MeterFilterChain chain;
+    private Meter.Id id;
+
+    @Setup
+    public void setup() {
+        List<MeterFilter> filters = new ArrayList<>();
+        filters.add(MeterFilter.commonTags(Tags.of("application", "gateway", "region", "us-east-1")));
+        filters.add(MeterFilter.commonTags(Tags.of("instance", "i-12345")));
+        filters.add(MeterFilter.ignoreTags("exception"));
+        filters.add(MeterFilter.renameTag("http", "method", "http.method"));
+        filters.add(MeterFilter.replaceTagValues("status", status -> status.charAt(0) + "xx", "200"));
+        for (String prefix : new String[]{"jvm.gc", "jvm.buffer", "tomcat", "jetty", "hikaricp", "jdbc", "logback",
+                "process.files", "system.load", "rabbitmq", "kafka.consumer", "cache"}) {
+            filters.add(MeterFilter.denyNameStartsWith(prefix));
+        }
+        filters.add(MeterFilter.acceptNameStartsWith("http"));
+        filters.add(MeterFilter.acceptNameStartsWith("jvm"));
+
+        this.filters = filters.toArray(new MeterFilter[0]);
+        this.chain = MeterFilterChain.compile(this.filters);
+        this.id = new Meter.Id("http.server.requests",
+                Tags.of("uri", "/api/users/{id}", "method", "GET", "status", "404", "exception", "None", "outcome", "CLIENT_ERROR"),
+                null, null, Meter.Type.TIMER);
+    }
+
+    @Benchmark
+    public MeterFilterReply filterOneByOne() {
+        Meter.Id mappedId = id;
+        for (MeterFilter filter : filters) {
+            mappedId = filter.map(mappedId);
+        }
+        for (MeterFilter filter : filters) {
+            MeterFilterReply reply = filter.accept(mappedId);
+            if (reply != MeterFilterReply.NEUTRAL) {
+                return reply;
+            }
+        }
+        return MeterFilterReply.NEUTRAL;
+    }
+
+    @Benchmark
+    public MeterFilterReply compiledChain() {
+        return chain.accept(chain.map(id));
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.Histogram;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.TimeWindowFixedBoundaryHistogram;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
+import io.micrometer.core.instrument.distribution.TimeWindowSketchHistogram;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the HdrHistogram-based {@link TimeWindowPercentileHistogram}, the {@link TimeWindowSketchHistogram}, and
+ * the {@link TimeWindowFixedBoundaryHistogram} with percentile histogram buckets on latencies in nanoseconds that
+ * span from a microsecond to tens of seconds.
+ * <p>
+ * {@link #record} measures recording throughput from four threads, {@link #takeSnapshot} the cost of publishing, and
+ * {@link #footprint} reports the heap retained per histogram as {@code bytesPerHistogram} and the worst relative error
+ * of the 50th, 99th and 99.9th percentiles as {@code maxRelativeErrorPpm} (which stays at 0 for fixed buckets since
+ * they don't compute percentiles).
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PercentileHistogramBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PercentileHistogramBenchmark.class.getSimpleName())
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int SAMPLES = 1 << 16;
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final int HISTOGRAMS = 1000;
+
+    @Param({"hdr", "sketch", "buckets"})
+    private String engine;
+
+    @Param({"2"})
+    private int percentilePrecision;
+
+    private long[] samples;
+    private Histogram histogram;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerHistogram;
+        public long maxRelativeErrorPpm;
+    }
+
+    @Setup
+    public void setup() {
+        // log-normally distributed latencies with a median of 1ms
+        Random random = new Random(42);
+        samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = Math.max(1, (long) Math.exp(Math.log(1e6) + 2.5 * random.nextGaussian()));
+        }
+
+        histogram = newHistogram();
+        for (long sample : samples) {
+            histogram.recordLong(sample);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        histogram.close();
+    }
+
+    private Histogram newHistogram() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(engine.equals("buckets") ? null : PERCENTILES)
+                .percentilesHistogram(engine.equals("buckets"))
+                .percentilePrecision(percentilePrecision)
+                .percentileSketch(engine.equals("sketch"))
+                .minimumExpectedValue((double) TimeUnit.MILLISECONDS.toNanos(1))
+                .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(30))
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        switch (engine) {
+            case "hdr":
+                return new TimeWindowPercentileHistogram(Clock.SYSTEM, config, false);
+            case "sketch":
+                return new TimeWindowSketchHistogram(Clock.SYSTEM, config, false);
+            default:
+                return new TimeWindowFixedBoundaryHistogram(Clock.SYSTEM, config, true);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @Threads(4)
+    public void record(Cursor cursor) {
+        histogram.recordLong(samples[cursor.next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public HistogramSnapshot takeSnapshot() {
+        histogram.recordLong(samples[0]);
+        return histogram.takeSnapshot(0, 0, 0);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public Histogram[] footprint(Footprint footprint) {
+        long before = usedHeapAfterGc();
+
+        Histogram[] histograms = new Histogram[HISTOGRAMS];
+        for (int h = 0; h < HISTOGRAMS; h++) {
+            histograms[h] = newHistogram();
+            for (int i = 0; i < 10_000; i++) {
+                histograms[h].recordLong(samples[(h * 10_000 + i) & (SAMPLES - 1)]);
+            }
+            // publishing allocates the accumulated histograms
+            histograms[h].takeSnapshot(0, 0, 0);
+        }
+
+        footprint.bytesPerHistogram = (usedHeapAfterGc() - before) / HISTOGRAMS;
+        footprint.maxRelativeErrorPpm = maxRelativeErrorPpm();
+        return histograms;
+    }
+
+    private long maxRelativeErrorPpm() {
+        long[] sorted = Arrays.copyOf(samples, SAMPLES);
+        Arrays.sort(sorted);
+
+        ValueAtPercentile[] percentileValues = histogram.takeSnapshot(0, 0, 0).percentileValues();
+        double maxRelativeError = 0;
+        for (ValueAtPercentile percentileValue : percentileValues) {
+            double exact = sorted[(int) Math.ceil(percentileValue.percentile() * SAMPLES) - 1];
+            maxRelativeError = Math.max(maxRelativeError, Math.abs(percentileValue.value() - exact) / exact);
+        }
+        return (long) (maxRelativeError * 1_000_000);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.push.PushMeterRegistry;
+import io.micrometer.core.ipc.http.HttpSender;
+import io.micrometer.datadog.DatadogConfig;
+import io.micrometer.datadog.DatadogMeterRegistry;
+import io.micrometer.elastic.ElasticConfig;
+import io.micrometer.elastic.ElasticMeterRegistry;
+import io.micrometer.influx.InfluxConfig;
+import io.micrometer.influx.InfluxMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One publish of 10,000 counters and timers by push registries that serialize their payload themselves, with an
+ * HTTP sender that discards the payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PushRegistryPublishBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PushRegistryPublishBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"influx", "datadog", "elastic"})
+    private String registryType;
+
+    private PushMeterRegistry registry;
+    private Method publish;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        HttpSender discard = request -> new HttpSender.Response(200, "");
+        switch (registryType) {
+            case "influx":
+                registry = InfluxMeterRegistry.builder(new InfluxConfig() {
+                    @Override
+                    public String get(String key) {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean enabled() {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean autoCreateDb() {
+                        return false;
+                    }
+                }).httpClient(discard).build();
+                break;
+            case "datadog":
+                registry = DatadogMeterRegistry.builder(new DatadogConfig() {
+                    @Override
+                    public String get(String key) {
+                        return null;
+                    }
+
+                    @Override
+                    public String apiKey() {
+                        return "apiKey";
+                    }
+
+                    @Override
+                    public boolean enabled() {
+                        return false;
+                    }
+                }).httpClient(discard).build();
+                break;
+            case "elastic":
+            default:
+                registry = ElasticMeterRegistry.builder(new ElasticConfig() {
+                    @Override
+                    public String get(String key) {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean enabled() {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean autoCreateIndex() {
+                        return false;
+                    }
+                }).httpClient(discard).build();
+                break;
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            String uri = "/api/resource/" + (i % 500);
+            String status = Integer.toString(200 + i / 500);
+            Counter.builder("http.client.requests.bytes").tags("uri", uri, "status", status, "method", "GET")
+                    .register(registry).increment(i);
+            Timer.builder("http.client.requests").tags("uri", uri, "status", status, "method", "GET")
+                    .register(registry).record(Duration.ofMillis(i));
+        }
+
+        publish = registry.getClass().getDeclaredMethod("publish");
+        publish.setAccessible(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void publish() throws Exception {
+        publish.invoke(registry);
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.lang.Nullable;
+import io.micrometer.statsd.StatsdConfig;
+import io.micrometer.statsd.StatsdMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter increment and a timer recording per operation, with a line per recording, with 1 in 10 timer recordings
+ * sampled, and with client-side aggregation. Lines and bytes handed to the line sink are reported as the
+ * {@code lines} and {@code bytes} rates next to the operation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StatsdAggregationBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StatsdAggregationBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"every", "sampled", "aggregated"})
+    private String mode;
+
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private StatsdMeterRegistry registry;
+    private Counter counter;
+    private Timer timer;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Sent {
+        public long lines;
+        public long bytes;
+
+        @TearDown(Level.Iteration)
+        public void collect(StatsdAggregationBenchmark benchmark) {
+            lines = benchmark.lines.sumThenReset();
+            bytes = benchmark.bytes.sumThenReset();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        StatsdConfig config = new StatsdConfig() {
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration pollingFrequency() {
+                return Duration.ofMillis(100);
+            }
+
+            @Override
+            public boolean clientSideAggregation() {
+                return "aggregated".equals(mode);
+            }
+
+            @Override
+            public double sampleRate() {
+                return "sampled".equals(mode) ? 0.1 : 1;
+            }
+        };
+
+        registry = StatsdMeterRegistry.builder(config)
+                .clock(Clock.SYSTEM)
+                .lineSink(line -> {
+                    lines.increment();
+                    bytes.add(line.length() + 1);
+                })
+                .build();
+        counter = registry.counter("http.server.requests.bytes", "uri", "/api/resource", "status", "200");
+        timer = registry.timer("http.server.requests", "uri", "/api/resource", "status", "200");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetSent() {
+        lines.reset();
+        bytes.reset();
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Benchmark
+    public void record(Sent sent) {
+        counter.increment();
+        timer.record(1, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.benchmark.core;
+
+import io.micrometer.statsd.internal.BufferingFlux;
+import io.micrometer.statsd.internal.RingBufferFluxSink;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Eight threads each writing 20,000 StatsD lines into the pipeline that packs them into 1400 byte packets, until every
+ * line is in a packet but those that don't fill one yet: the reactive {@link DirectProcessor} and {@link BufferingFlux} that {@code StatsdMeterRegistry}
+ * used to write through, and the {@link RingBufferFluxSink} it writes through now. The ring buffer is large enough not
+ * to drop any line. The threads write as fast as they can, so this is a burst from a busy application. With
+ * writers that never let up, the reactive pipeline queues lines from contending threads without bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatsdLinePipelineBenchmark {
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StatsdLinePipelineBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .measurementIterations(10)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private static final int PRODUCERS = 8;
+    private static final int LINES_PER_PRODUCER = 20_000;
+    private static final int MAX_PACKET_LENGTH = 1400;
+    private static final String[] LINES = new String[64];
+
+    /**
+     * A packet that isn't full yet is only sent after 10 seconds, so up to this many lines can still be waiting for
+     * more once the others are sent.
+     */
+    private static final int MAX_LINES_PER_PACKET;
+
+    static {
+        int shortest = Integer.MAX_VALUE;
+        for (int i = 0; i < LINES.length; i++) {
+            LINES[i] = "http.server.requests:" + i + "|ms|#statistic:count,uri:/api/resource/" + i + ",status:200";
+            shortest = Math.min(shortest, LINES[i].length());
+        }
+        MAX_LINES_PER_PACKET = MAX_PACKET_LENGTH / (shortest + 1);
+    }
+
+    @Param({"bufferingFlux", "ringBuffer"})
+    private String pipeline;
+
+    private final LongAdder sent = new LongAdder();
+
+    private ExecutorService producers;
+    private FluxSink<String> sink;
+
+    private Disposable subscription;
+    private RingBufferFluxSink ringBuffer;
+
+    @Setup
+    @SuppressWarnings("deprecation")
+    public void setup() {
+        producers = Executors.newFixedThreadPool(PRODUCERS);
+        DirectProcessor<String> processor = DirectProcessor.create();
+        if ("bufferingFlux".equals(pipeline)) {
+            subscription = BufferingFlux.create(Flux.from(processor), "\n", MAX_PACKET_LENGTH, Duration.ofSeconds(10).toMillis())
+                    .onBackpressureLatest()
+                    .subscribe(this::countLines);
+            sink = processor.sink();
+        } else {
+            subscription = processor.subscribe(this::countLines);
+            ringBuffer = new RingBufferFluxSink(processor.sink(), PRODUCERS * LINES_PER_PRODUCER, true, MAX_PACKET_LENGTH,
+                    Duration.ofSeconds(10));
+            ringBuffer.start();
+            sink = ringBuffer;
+        }
+    }
+
+    private void countLines(String packet) {
+        long lines = 0;
+        for (int i = 0; i < packet.length(); i++) {
+            if (packet.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        sent.add(lines);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (ringBuffer != null) {
+            ringBuffer.stop();
+        }
+        subscription.dispose();
+        producers.shutdownNow();
+    }
+
+    @Benchmark
+    public void writeUntilSent() throws Exception {
+        long expected = sent.sum() + (long) PRODUCERS * LINES_PER_PRODUCER;
+
+        List<Future<?>> writes = new ArrayList<>(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            writes.add(producers.submit(() -> {
+                for (int i = 0; i < LINES_PER_PRODUCER; i++) {
+                    sink.next(LINES[i & (LINES.length - 1)]);
+                }
+            }));
+        }
+        for (Future<?> write : writes) {
+            write.get();
+        }
+
+        while (expected - sent.sum() >= MAX_LINES_PER_PACKET) {
+            Thread.yield();
+        }
+    }
+}
@@ -15,8 +15,11 @@
  */
 package io.micrometer.benchmark.core;
 
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import org.openjdk.jmh.annotations.*;
@@ -25,6 +28,7 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 
 @State(Scope.Benchmark)
@@ -44,6 +48,9 @@ public class TimerBenchmark {
 
     private MeterRegistry registry;
     private Timer timer;
+    private Timer percentileTimer;
+    private Timer sampledPercentileTimer;
+    private Timer adaptivePercentileTimer;
 
     int x = 923;
     int y = 123;
@@ -52,6 +59,22 @@ public class TimerBenchmark {
     public void setup() {
         registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
         timer = registry.timer("timer");
+
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getName().equals("timer.percentiles.sampled")) {
+                    return DistributionStatisticConfig.builder().percentileSamplingInterval(16).build().merge(config);
+                }
+                if (id.getName().equals("timer.percentiles.adaptive")) {
+                    return DistributionStatisticConfig.builder().percentileSamplingTargetRate(10_000).build().merge(config);
+                }
+                return config;
+            }
+        });
+        percentileTimer = Timer.builder("timer.percentiles").publishPercentiles(0.5, 0.99).register(registry);
+        sampledPercentileTimer = Timer.builder("timer.percentiles.sampled").publishPercentiles(0.5, 0.99).register(registry);
+        adaptivePercentileTimer = Timer.builder("timer.percentiles.adaptive").publishPercentiles(0.5, 0.99).register(registry);
     }
 
     @Benchmark
@@ -72,6 +95,21 @@ public class TimerBenchmark {
         return registry.timer("timer").record(this::sum);
     }
 
+    @Benchmark
+    public void recordWithPercentiles() {
+        percentileTimer.record(ThreadLocalRandom.current().nextLong(1, 1_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void recordWithSampledPercentiles() {
+        sampledPercentileTimer.record(ThreadLocalRandom.current().nextLong(1, 1_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void recordWithAdaptivelySampledPercentiles() {
+        adaptivePercentileTimer.record(ThreadLocalRandom.current().nextLong(1, 1_000_000), TimeUnit.NANOSECONDS);
+    }
+
     @Benchmark
     public int sum() {
         return x + y;
@@ -15,6 +15,7 @@
  */
 package io.micrometer.cloudwatch;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.config.InvalidConfigurationException;
 import io.micrometer.core.instrument.step.StepRegistryConfig;
 
@@ -55,4 +56,24 @@ public interface CloudWatchConfig extends StepRegistryConfig {
         return vInt;
     }
 
+    /**
+     * Whether to send each timer and distribution summary as a single metric datum per step instead of separate sum,
+     * count, avg and max metrics. The samples of the step are summarized as the {@code Values} and {@code Counts} of the
+     * datum, from which CloudWatch computes SampleCount, Sum, Average, Minimum, Maximum and percentile statistics.
+     * <p>
+     * Only meters with histogram buckets configured (e.g. with percentile histograms or service level objectives) are
+     * sent this way. Every non-empty bucket becomes a value, so these statistics are approximations based on the
+     * buckets, and client-side percentiles and histogram buckets are not sent as separate metrics. Other timers and
+     * distribution summaries are sent as separate metrics along with their client-side percentiles, because without
+     * buckets CloudWatch couldn't compute their Minimum and percentile statistics.
+     *
+     * @return Whether to send timers and distribution summaries as one metric datum with values and counts.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default boolean compactDistributions() {
+        String v = get(prefix() + ".compactDistributions");
+        return Boolean.parseBoolean(v);
+    }
+
 }
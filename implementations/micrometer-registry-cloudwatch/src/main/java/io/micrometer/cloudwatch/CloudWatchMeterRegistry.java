@@ -24,7 +24,12 @@ import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
 import com.amazonaws.services.cloudwatch.model.PutMetricDataResult;
 import com.amazonaws.services.cloudwatch.model.StandardUnit;
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.step.StepDistributionSummary;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepTimer;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.instrument.util.StringUtils;
 import io.micrometer.core.lang.Nullable;
@@ -93,6 +98,25 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
         start(threadFactory);
     }
 
+    @Override
+    protected Timer newTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
+        if (!config.compactDistributions() || !distributionStatisticConfig.isPublishingHistogram()) {
+            return super.newTimer(id, distributionStatisticConfig, pauseDetector);
+        }
+        // percentiles and buckets are part of the timer's own metric datum
+        return new StepTimer(id, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(),
+                config.step().toMillis(), false);
+    }
+
+    @Override
+    protected DistributionSummary newDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
+        if (!config.compactDistributions() || !distributionStatisticConfig.isPublishingHistogram()) {
+            return super.newDistributionSummary(id, distributionStatisticConfig, scale);
+        }
+        // percentiles and buckets are part of the summary's own metric datum
+        return new StepDistributionSummary(id, clock, distributionStatisticConfig, scale, config.step().toMillis(), false);
+    }
+
     @Override
     protected void publish() {
         boolean interrupted = false;
@@ -179,6 +203,14 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
 
         // VisibleForTesting
         Stream<MetricDatum> timerData(Timer timer) {
+            if (config.compactDistributions()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                // only timers with histogram buckets are compacted, see newTimer
+                if (snapshot.histogramCounts().length > 0) {
+                    return distributionData(timer.getId(), snapshot, getBaseTimeUnit(),
+                            toStandardUnit(getBaseTimeUnit().name()));
+                }
+            }
             Stream.Builder<MetricDatum> metrics = Stream.builder();
             metrics.add(metricDatum(timer.getId(), "sum", getBaseTimeUnit().name(), timer.totalTime(getBaseTimeUnit())));
             long count = timer.count();
@@ -192,6 +224,14 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
 
         // VisibleForTesting
         Stream<MetricDatum> summaryData(DistributionSummary summary) {
+            if (config.compactDistributions()) {
+                HistogramSnapshot snapshot = summary.takeSnapshot();
+                // only summaries with histogram buckets are compacted, see newDistributionSummary
+                if (snapshot.histogramCounts().length > 0) {
+                    return distributionData(summary.getId(), snapshot, null,
+                            toStandardUnit(summary.getId().getBaseUnit()));
+                }
+            }
             Stream.Builder<MetricDatum> metrics = Stream.builder();
             metrics.add(metricDatum(summary.getId(), "sum", summary.totalAmount()));
             long count = summary.count();
@@ -204,6 +244,23 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
 
         }
 
+        private Stream<MetricDatum> distributionData(Meter.Id id, HistogramSnapshot snapshot,
+                                                     @Nullable TimeUnit baseTimeUnit, StandardUnit standardUnit) {
+            DistributionValues distributionValues = DistributionValues.of(snapshot, baseTimeUnit);
+            if (distributionValues == null) {
+                return Stream.empty();
+            }
+
+            List<Tag> tags = id.getConventionTags(config().namingConvention());
+            return Stream.of(new MetricDatum()
+                    .withMetricName(getMetricName(id, null))
+                    .withDimensions(toDimensions(tags))
+                    .withTimestamp(timestamp)
+                    .withValues(distributionValues.values)
+                    .withCounts(distributionValues.counts)
+                    .withUnit(standardUnit));
+        }
+
         private Stream<MetricDatum> longTaskTimerData(LongTaskTimer longTaskTimer) {
             return Stream.of(
                     metricDatum(longTaskTimer.getId(), "activeTasks", longTaskTimer.activeTasks()),
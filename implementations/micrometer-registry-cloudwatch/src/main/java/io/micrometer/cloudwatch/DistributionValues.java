@@ -0,0 +1,130 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.cloudwatch;
+
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The samples recorded by a timer or distribution summary with histogram buckets during one step, summarized as the
+ * {@code Values} and {@code Counts} arrays of a single metric datum.
+ * <p>
+ * Each non-empty bucket contributes its upper bound as a value, or the maximum if that is lower (as it always is for an
+ * infinite upper bound). Samples above the highest bucket contribute the maximum. The counts are then scaled so that
+ * they add up to the number of samples recorded during the step. If no bucket holds any sample of the step, the
+ * samples are summarized as the maximum and the mean of the remaining samples, which keeps the sum, count, average
+ * and maximum exact.
+ */
+final class DistributionValues {
+    /**
+     * The maximum number of distinct values in one metric datum.
+     */
+    static final int MAX_VALUES = 150;
+
+    final List<Double> values;
+    final List<Double> counts;
+
+    private DistributionValues(List<Double> values, List<Double> counts) {
+        this.values = values;
+        this.counts = counts;
+    }
+
+    /**
+     * @param snapshot     A snapshot of a timer or distribution summary.
+     * @param baseTimeUnit The unit to express the values of a timer in, or {@code null} for a distribution summary.
+     * @return The values and counts of the snapshot, or {@code null} if nothing was recorded.
+     */
+    @Nullable
+    static DistributionValues of(HistogramSnapshot snapshot, @Nullable TimeUnit baseTimeUnit) {
+        long count = snapshot.count();
+        if (count == 0) {
+            return null;
+        }
+        double max = baseTimeUnit != null ? snapshot.max(baseTimeUnit) : snapshot.max();
+        double total = baseTimeUnit != null ? snapshot.total(baseTimeUnit) : snapshot.total();
+
+        List<Double> values = new ArrayList<>();
+        List<Double> counts = new ArrayList<>();
+
+        double bucketed = 0;
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            double inBucket = bucket.count() - bucketed;
+            bucketed = bucket.count();
+            if (inBucket > 0) {
+                double upperBound = baseTimeUnit != null ? bucket.bucket(baseTimeUnit) : bucket.bucket();
+                add(values, counts, Math.min(upperBound, max), inBucket);
+            }
+        }
+
+        if (values.isEmpty()) {
+            add(values, counts, max, 1);
+            if (count > 1) {
+                add(values, counts, Math.max(0, (total - max) / (count - 1)), count - 1);
+            }
+        } else {
+            if (count > bucketed) {
+                add(values, counts, max, count - bucketed);
+            }
+
+            // buckets cover a window that is only approximately aligned with the step
+            double weight = Math.max(bucketed, count);
+            if (weight != count) {
+                counts.replaceAll(c -> c * count / weight);
+            }
+
+            while (values.size() > MAX_VALUES) {
+                mergeAdjacentValues(values, counts);
+            }
+        }
+
+        return new DistributionValues(values, counts);
+    }
+
+    private static void add(List<Double> values, List<Double> counts, double value, double count) {
+        double clamped = CloudWatchUtils.clampMetricValue(value);
+        int last = values.size() - 1;
+        if (last >= 0 && values.get(last) == clamped) {
+            counts.set(last, counts.get(last) + count);
+        } else {
+            values.add(clamped);
+            counts.add(count);
+        }
+    }
+
+    /**
+     * Halve the number of values by merging each pair of adjacent values into the larger of the two.
+     */
+    private static void mergeAdjacentValues(List<Double> values, List<Double> counts) {
+        int merged = 0;
+        for (int i = 0; i < values.size(); i += 2) {
+            if (i + 1 < values.size()) {
+                values.set(merged, values.get(i + 1));
+                counts.set(merged, counts.get(i) + counts.get(i + 1));
+            } else {
+                values.set(merged, values.get(i));
+                counts.set(merged, counts.get(i));
+            }
+            merged++;
+        }
+        values.subList(merged, values.size()).clear();
+        counts.subList(merged, counts.size()).clear();
+    }
+}
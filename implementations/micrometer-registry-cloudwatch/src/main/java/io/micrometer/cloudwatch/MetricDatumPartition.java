@@ -15,24 +15,106 @@
  */
 package io.micrometer.cloudwatch;
 
+import com.amazonaws.services.cloudwatch.model.Dimension;
 import com.amazonaws.services.cloudwatch.model.MetricDatum;
-import io.micrometer.core.instrument.util.AbstractPartition;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
- * {@link AbstractPartition} for {@link MetricDatum}.
+ * Partitions {@link MetricDatum metric data} into the batches of {@code PutMetricData} requests, each holding at most
+ * a given number of metric data and {@link #MAX_REQUEST_SIZE} bytes once encoded.
  *
  * @author Jon Schneider
  */
-class MetricDatumPartition extends AbstractPartition<MetricDatum> {
+final class MetricDatumPartition {
+    /**
+     * The maximum size of a {@code PutMetricData} request sent with HTTP POST.
+     */
+    static final int MAX_REQUEST_SIZE = 40 * 1024;
+
+    /**
+     * The size kept for the action, version and namespace of a request, whose namespace is at most 255 characters.
+     */
+    private static final int MAX_REQUEST_OVERHEAD_SIZE = 1024;
+
+    private static final int MEMBER_PREFIX_SIZE = "MetricData.member.20.".length();
 
-    MetricDatumPartition(List<MetricDatum> list, int partitionSize) {
-        super(list, partitionSize);
+    /**
+     * The size of a timestamp in ISO-8601 format with milliseconds.
+     */
+    private static final int TIMESTAMP_SIZE = "2021-01-01T00:00:00.000Z".length();
+
+    private MetricDatumPartition() {
     }
 
     static List<List<MetricDatum>> partition(List<MetricDatum> list, int partitionSize) {
-        return new MetricDatumPartition(list, partitionSize);
+        List<List<MetricDatum>> partitions = new ArrayList<>();
+        int from = 0;
+        int size = 0;
+        for (int i = 0; i < list.size(); i++) {
+            int datumSize = encodedSize(list.get(i));
+            if (i > from && (i - from == partitionSize || size + datumSize > MAX_REQUEST_SIZE - MAX_REQUEST_OVERHEAD_SIZE)) {
+                partitions.add(list.subList(from, i));
+                from = i;
+                size = 0;
+            }
+            size += datumSize;
+        }
+        if (from < list.size()) {
+            partitions.add(list.subList(from, list.size()));
+        }
+        return partitions;
     }
 
+    /**
+     * @return An upper bound of the size of the metric datum in the form-encoded body of a {@code PutMetricData}
+     * request.
+     */
+    // VisibleForTesting
+    static int encodedSize(MetricDatum datum) {
+        int size = fieldSize("MetricName", encodedSize(datum.getMetricName()));
+        for (Dimension dimension : datum.getDimensions()) {
+            size += fieldSize("Dimensions.member.10.Name", encodedSize(dimension.getName()));
+            size += fieldSize("Dimensions.member.10.Value", encodedSize(dimension.getValue()));
+        }
+        if (datum.getTimestamp() != null) {
+            size += fieldSize("Timestamp", TIMESTAMP_SIZE);
+        }
+        if (datum.getValue() != null) {
+            size += fieldSize("Value", datum.getValue().toString().length());
+        }
+        for (Double value : datum.getValues()) {
+            size += fieldSize("Values.member.150", value.toString().length());
+        }
+        for (Double count : datum.getCounts()) {
+            size += fieldSize("Counts.member.150", count.toString().length());
+        }
+        if (datum.getUnit() != null) {
+            size += fieldSize("Unit", encodedSize(datum.getUnit()));
+        }
+        if (datum.getStorageResolution() != null) {
+            size += fieldSize("StorageResolution", datum.getStorageResolution().toString().length());
+        }
+        return size;
+    }
+
+    /**
+     * @return The size of {@code MetricData.member.N.key=value&}.
+     */
+    private static int fieldSize(String key, int valueSize) {
+        return MEMBER_PREFIX_SIZE + key.length() + valueSize + 2;
+    }
+
+    private static int encodedSize(String value) {
+        int size = 0;
+        for (byte b : value.getBytes(UTF_8)) {
+            boolean unreserved = (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') ||
+                    b == '-' || b == '_' || b == '.' || b == '~';
+            size += unreserved ? 1 : 3;
+        }
+        return size;
+    }
 }
@@ -15,14 +15,21 @@
  */
 package io.micrometer.cloudwatch;
 
+import com.amazonaws.Request;
 import com.amazonaws.services.cloudwatch.model.Dimension;
 import com.amazonaws.services.cloudwatch.model.MetricDatum;
+import com.amazonaws.services.cloudwatch.model.PutMetricDataRequest;
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import com.amazonaws.services.cloudwatch.model.transform.PutMetricDataRequestMarshaller;
+import com.amazonaws.util.SdkHttpUtils;
 import io.micrometer.core.instrument.*;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -230,6 +237,149 @@ class CloudWatchMeterRegistryTest {
         assertThat(streamSupplier.get().noneMatch(hasMaxMetric(meterId))).isTrue();
     }
 
+    @Test
+    void compactDistributionsSendOneDatumPerTimerStep() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        Timer timer = Timer.builder("my.timer")
+                .publishPercentiles(0.5)
+                .serviceLevelObjectives(Duration.ofMillis(15), Duration.ofMillis(50))
+                .register(registry);
+
+        // the histogram covers a window that ends when publishing, so record during the second half of the step
+        clock.add(config.step().dividedBy(2));
+        timer.record(10, TimeUnit.MILLISECONDS);
+        timer.record(20, TimeUnit.MILLISECONDS);
+        timer.record(60, TimeUnit.MILLISECONDS);
+        clock.add(config.step().dividedBy(2));
+
+        // no separate percentile gauge
+        assertThat(registry.getMeters()).hasSize(1);
+
+        List<MetricDatum> metricData = registry.metricData();
+        assertThat(metricData).hasSize(1);
+        MetricDatum datum = metricData.get(0);
+        assertThat(datum.getMetricName()).isEqualTo("my.timer");
+        assertThat(datum.getUnit()).isEqualTo(StandardUnit.Milliseconds.toString());
+        assertThat(datum.getValue()).isNull();
+        // the upper bounds of the non-empty buckets, then the max for samples above the highest bucket
+        assertThat(datum.getValues()).containsExactly(15.0, 50.0, 60.0);
+        assertThat(datum.getCounts()).containsExactly(1.0, 1.0, 1.0);
+
+        clock.add(config.step());
+        assertThat(registry.metricData()).isEmpty();
+    }
+
+    @Test
+    void compactDistributionsSendMetersWithoutHistogramBucketsAsSeparateMetrics() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        Timer timer = Timer.builder("my.timer").publishPercentiles(0.5).register(registry);
+        timer.record(10, TimeUnit.MILLISECONDS);
+        clock.add(config.step());
+
+        assertThat(registry.getMeters()).hasSize(2);
+        assertThat(registry.metricData()).extracting(MetricDatum::getMetricName)
+                .containsExactlyInAnyOrder("my.timer.sum", "my.timer.count", "my.timer.avg", "my.timer.max",
+                        "my.timer.percentile.value");
+    }
+
+    @Test
+    void compactDistributionsUseHistogramBucketsWithinApiLimits() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        double[] slos = new double[200];
+        for (int i = 0; i < slos.length; i++) {
+            slos[i] = i + 1;
+        }
+        List<DistributionSummary> summaries = new ArrayList<>();
+        for (int n = 0; n < 30; n++) {
+            summaries.add(DistributionSummary.builder("my.summary." + n)
+                    .serviceLevelObjectives(slos)
+                    .register(registry));
+        }
+
+        // the histogram covers a window that ends when publishing, so record during the second half of the step
+        clock.add(config.step().dividedBy(2));
+        for (DistributionSummary summary : summaries) {
+            for (int i = 1; i <= 200; i++) {
+                summary.record(i);
+            }
+            summary.record(1000);
+        }
+        clock.add(config.step().dividedBy(2));
+
+        List<MetricDatum> metricData = registry.metricData();
+        assertThat(metricData).hasSize(30);
+        for (MetricDatum datum : metricData) {
+            assertThat(datum.getValues()).hasSizeLessThanOrEqualTo(DistributionValues.MAX_VALUES)
+                    .hasSameSizeAs(datum.getCounts())
+                    .endsWith(1000.0);
+            assertThat(datum.getCounts().stream().mapToDouble(Double::doubleValue).sum()).isEqualTo(201);
+        }
+
+        List<List<MetricDatum>> batches = MetricDatumPartition.partition(metricData, config.batchSize());
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(30);
+        assertThat(batches).allSatisfy(batch -> {
+            assertThat(batch).hasSizeLessThanOrEqualTo(CloudWatchConfig.MAX_BATCH_SIZE);
+            assertThat(requestSize(batch)).isLessThanOrEqualTo(MetricDatumPartition.MAX_REQUEST_SIZE);
+        });
+    }
+
+    @Test
+    void batchesAreSplitToFitTheMaximumRequestSize() {
+        List<MetricDatum> metricData = new ArrayList<>();
+        for (int n = 0; n < CloudWatchConfig.MAX_BATCH_SIZE; n++) {
+            List<Double> values = new ArrayList<>();
+            List<Double> counts = new ArrayList<>();
+            for (int i = 0; i < DistributionValues.MAX_VALUES; i++) {
+                values.add(1000.0 + i / 3.0);
+                counts.add(1.0 + i / 7.0);
+            }
+            metricData.add(new MetricDatum()
+                    .withMetricName("my.summary." + n)
+                    .withTimestamp(new Date(clock.wallTime()))
+                    .withValues(values)
+                    .withCounts(counts)
+                    .withUnit(StandardUnit.None)
+                    .withStorageResolution(60));
+        }
+        assertThat(requestSize(metricData)).isGreaterThan(MetricDatumPartition.MAX_REQUEST_SIZE);
+
+        List<List<MetricDatum>> batches = MetricDatumPartition.partition(metricData, config.batchSize());
+        assertThat(batches).hasSizeGreaterThan(1);
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(CloudWatchConfig.MAX_BATCH_SIZE);
+        assertThat(batches).allSatisfy(batch ->
+                assertThat(requestSize(batch)).isLessThanOrEqualTo(MetricDatumPartition.MAX_REQUEST_SIZE));
+    }
+
+    private static int requestSize(List<MetricDatum> metricData) {
+        Request<PutMetricDataRequest> request = new PutMetricDataRequestMarshaller()
+                .marshall(new PutMetricDataRequest().withNamespace("namespace").withMetricData(metricData));
+        return SdkHttpUtils.encodeParameters(request).length();
+    }
+
+    private CloudWatchConfig compactDistributionsConfig() {
+        return new CloudWatchConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String namespace() {
+                return "namespace";
+            }
+
+            @Override
+            public boolean compactDistributions() {
+                return true;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+        };
+    }
+
     @Test
     void batchSizeShouldWorkOnMetricDatum() throws InterruptedException {
         List<Meter> meters = new ArrayList<>();
@@ -27,6 +27,7 @@ import java.util.function.Predicate;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkRequired;
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getInteger;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getString;
 
@@ -71,6 +72,36 @@ public interface CloudWatchConfig extends StepRegistryConfig {
         return step().compareTo(Duration.ofMinutes(1)) < 0;
     }
 
+    /**
+     * @return The maximum number of {@code PutMetricData} requests in flight at once while publishing. Each request
+     * carries at most {@link #batchSize()} metric data, so allowing more requests in flight shortens publishing many
+     * meters at the cost of a higher request rate. The default is 4.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default int maxConcurrentRequests() {
+        return getInteger(this, "maxConcurrentRequests").orElse(4);
+    }
+
+    /**
+     * Whether to send each timer and distribution summary as a single metric datum per step instead of separate sum,
+     * count, avg and max metrics. The samples of the step are summarized as the {@code Values} and {@code Counts} of the
+     * datum, from which CloudWatch computes SampleCount, Sum, Average, Minimum, Maximum and percentile statistics.
+     * <p>
+     * Only meters with histogram buckets configured (e.g. with percentile histograms or service level objectives) are
+     * sent this way. Every non-empty bucket becomes a value, so these statistics are approximations based on the
+     * buckets, and client-side percentiles and histogram buckets are not sent as separate metrics. Other timers and
+     * distribution summaries are sent as separate metrics along with their client-side percentiles, because without
+     * buckets CloudWatch couldn't compute their Minimum and percentile statistics.
+     *
+     * @return Whether to send timers and distribution summaries as one metric datum with values and counts.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default boolean compactDistributions() {
+        return getBoolean(this, "compactDistributions").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this,
@@ -78,7 +109,10 @@ public interface CloudWatchConfig extends StepRegistryConfig {
                 checkRequired("namespace", CloudWatchConfig::namespace),
                 check("batchSize", CloudWatchConfig::batchSize)
                         .andThen(v -> v.invalidateWhen(b -> b > MAX_BATCH_SIZE, "cannot be greater than " + MAX_BATCH_SIZE,
-                                InvalidReason.MALFORMED))
+                                InvalidReason.MALFORMED)),
+                check("maxConcurrentRequests", CloudWatchConfig::maxConcurrentRequests)
+                        .andThen(v -> v.invalidateWhen(c -> c < 1, "must be greater than 0", InvalidReason.MALFORMED)),
+                check("compactDistributions", CloudWatchConfig::compactDistributions)
         );
     }
 }
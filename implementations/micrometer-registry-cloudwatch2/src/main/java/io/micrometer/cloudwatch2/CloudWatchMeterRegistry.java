@@ -17,7 +17,12 @@ package io.micrometer.cloudwatch2;
 
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.step.StepDistributionSummary;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepTimer;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.instrument.util.StringUtils;
 import io.micrometer.core.lang.Nullable;
@@ -29,11 +34,13 @@ import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
 import software.amazon.awssdk.services.cloudwatch.model.Dimension;
 import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
 import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataRequest;
+import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataResponse;
 import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
@@ -84,51 +91,144 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
         start(threadFactory);
     }
 
+    @Override
+    protected Timer newTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
+        if (!config.compactDistributions() || !distributionStatisticConfig.isPublishingHistogram()) {
+            return super.newTimer(id, distributionStatisticConfig, pauseDetector);
+        }
+        // percentiles and buckets are part of the timer's own metric datum
+        return new StepTimer(id, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(),
+                config.step().toMillis(), false);
+    }
+
+    @Override
+    protected DistributionSummary newDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
+        if (!config.compactDistributions() || !distributionStatisticConfig.isPublishingHistogram()) {
+            return super.newDistributionSummary(id, distributionStatisticConfig, scale);
+        }
+        // percentiles and buckets are part of the summary's own metric datum
+        return new StepDistributionSummary(id, clock, distributionStatisticConfig, scale, config.step().toMillis(), false);
+    }
+
     @Override
     protected void publish() {
-        boolean interrupted = false;
+        @SuppressWarnings("deprecation")
+        long readTimeoutMillis = config.readTimeout().toMillis();
+        Requests requests = new Requests(config.maxConcurrentRequests());
         try {
             for (List<MetricDatum> batch : MetricDatumPartition.partition(metricData(), config.batchSize())) {
+                if (!requests.awaitSlot(readTimeoutMillis)) {
+                    logger.warn("metrics push to cloudwatch took longer than expected");
+                }
+                CompletableFuture<PutMetricDataResponse> response;
                 try {
-                    sendMetricData(batch);
-                } catch (InterruptedException ex) {
-                    interrupted = true;
+                    response = sendMetricData(batch);
+                } catch (RuntimeException e) {
+                    requests.complete(batch.size(), e);
+                    continue;
                 }
+                response.whenComplete((r, t) -> requests.complete(batch.size(), t));
             }
-        }
-        finally {
-            if (interrupted) {
-                Thread.currentThread().interrupt();
+            if (!requests.awaitAll(readTimeoutMillis)) {
+                logger.warn("metrics push to cloudwatch took longer than expected");
             }
+        } catch (InterruptedException e) {
+            logger.warn("metrics push to cloudwatch took longer than expected");
+            Thread.currentThread().interrupt();
+        } finally {
+            requests.log();
         }
     }
 
     // VisibleForTesting
-    void sendMetricData(List<MetricDatum> metricData) throws InterruptedException {
+    CompletableFuture<PutMetricDataResponse> sendMetricData(List<MetricDatum> metricData) {
         PutMetricDataRequest putMetricDataRequest = PutMetricDataRequest.builder()
                 .namespace(config.namespace())
                 .metricData(metricData)
                 .build();
-        CountDownLatch latch = new CountDownLatch(1);
-        cloudWatchAsyncClient.putMetricData(putMetricDataRequest).whenCompleteAsync((response, t) -> {
-            if (t != null) {
+        return cloudWatchAsyncClient.putMetricData(putMetricDataRequest);
+    }
+
+    /**
+     * Bounds the number of {@code PutMetricData} requests in flight during one publish and aggregates their outcome.
+     * A request that hasn't completed within the read timeout stops holding back the next one, as it did when
+     * requests were sent one at a time.
+     */
+    private class Requests {
+        private final int maxInFlight;
+
+        private int inFlight;
+        private int succeeded;
+        private int failed;
+        private int succeededMetricData;
+        private int failedMetricData;
+
+        @Nullable
+        private Throwable firstFailure;
+
+        Requests(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        /**
+         * Wait until fewer than the maximum number of requests are in flight and reserve a slot for the next one.
+         *
+         * @return {@code false} if the slot was reserved after waiting for the timeout without one being freed.
+         */
+        synchronized boolean awaitSlot(long timeoutMillis) throws InterruptedException {
+            boolean freed = await(maxInFlight - 1, timeoutMillis);
+            inFlight++;
+            return freed;
+        }
+
+        /**
+         * @return {@code false} if requests were still in flight after waiting for the timeout.
+         */
+        synchronized boolean awaitAll(long timeoutMillis) throws InterruptedException {
+            return await(0, timeoutMillis);
+        }
+
+        private boolean await(int maxStillInFlight, long timeoutMillis) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (inFlight > maxStillInFlight) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        synchronized void complete(int metricData, @Nullable Throwable t) {
+            inFlight--;
+            if (t == null) {
+                succeeded++;
+                succeededMetricData += metricData;
+            } else {
+                failed++;
+                failedMetricData += metricData;
+                if (firstFailure == null) {
+                    firstFailure = t;
+                }
+            }
+            notifyAll();
+        }
+
+        synchronized void log() {
+            if (firstFailure != null) {
+                Throwable t = firstFailure instanceof CompletionException && firstFailure.getCause() != null ?
+                        firstFailure.getCause() : firstFailure;
                 if (t instanceof AbortedException) {
-                    logger.warn("sending metric data was aborted: {}", t.getMessage());
+                    logger.warn("sending metric data was aborted for {} of {} requests ({} metric data): {}",
+                            failed, succeeded + failed, failedMetricData, t.getMessage());
                 } else {
-                    logger.error("error sending metric data.", t);
+                    logger.error("error sending metric data for " + failed + " of " + (succeeded + failed) +
+                            " requests (" + failedMetricData + " metric data).", t);
                 }
-            } else {
-                logger.debug("published metric with namespace:{}", putMetricDataRequest.namespace());
             }
-            latch.countDown();
-        });
-        try {
-            @SuppressWarnings("deprecation")
-            long readTimeoutMillis = config.readTimeout().toMillis();
-            latch.await(readTimeoutMillis, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            logger.warn("metrics push to cloudwatch took longer than expected");
-            throw e;
+            logger.debug("published {} metric data with namespace:{} in {} requests", succeededMetricData,
+                    config.namespace(), succeeded);
         }
     }
 
@@ -166,6 +266,14 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
 
         // VisibleForTesting
         Stream<MetricDatum> timerData(Timer timer) {
+            if (config.compactDistributions()) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                // only timers with histogram buckets are compacted, see newTimer
+                if (snapshot.histogramCounts().length > 0) {
+                    return distributionData(timer.getId(), snapshot, getBaseTimeUnit(),
+                            toStandardUnit(getBaseTimeUnit().name()));
+                }
+            }
             Stream.Builder<MetricDatum> metrics = Stream.builder();
             metrics.add(metricDatum(timer.getId(), "sum", getBaseTimeUnit().name(), timer.totalTime(getBaseTimeUnit())));
             long count = timer.count();
@@ -179,6 +287,14 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
 
         // VisibleForTesting
         Stream<MetricDatum> summaryData(DistributionSummary summary) {
+            if (config.compactDistributions()) {
+                HistogramSnapshot snapshot = summary.takeSnapshot();
+                // only summaries with histogram buckets are compacted, see newDistributionSummary
+                if (snapshot.histogramCounts().length > 0) {
+                    return distributionData(summary.getId(), snapshot, null,
+                            toStandardUnit(summary.getId().getBaseUnit()));
+                }
+            }
             Stream.Builder<MetricDatum> metrics = Stream.builder();
             metrics.add(metricDatum(summary.getId(), "sum", summary.totalAmount()));
             long count = summary.count();
@@ -190,6 +306,25 @@ public class CloudWatchMeterRegistry extends StepMeterRegistry {
             return metrics.build();
         }
 
+        private Stream<MetricDatum> distributionData(Meter.Id id, HistogramSnapshot snapshot,
+                                                     @Nullable TimeUnit baseTimeUnit, StandardUnit standardUnit) {
+            DistributionValues distributionValues = DistributionValues.of(snapshot, baseTimeUnit);
+            if (distributionValues == null) {
+                return Stream.empty();
+            }
+
+            List<Tag> tags = id.getConventionTags(config().namingConvention());
+            return Stream.of(MetricDatum.builder()
+                    .storageResolution(config.highResolution() ? 1 : 60)
+                    .metricName(getMetricName(id, null))
+                    .dimensions(toDimensions(tags))
+                    .timestamp(timestamp)
+                    .values(distributionValues.values)
+                    .counts(distributionValues.counts)
+                    .unit(standardUnit)
+                    .build());
+        }
+
         private Stream<MetricDatum> longTaskTimerData(LongTaskTimer longTaskTimer) {
             return Stream.of(
                     metricDatum(longTaskTimer.getId(), "activeTasks", longTaskTimer.activeTasks()),
@@ -72,6 +72,15 @@ class CloudWatchConfigTest {
                 .containsOnly("cannot be greater than " + CloudWatchConfig.MAX_BATCH_SIZE);
     }
 
+    @Test
+    void invalidMaxConcurrentRequests() {
+        props.put("cloudwatch.namespace", "name");
+        props.put("cloudwatch.maxConcurrentRequests", "0");
+
+        assertThat(config.validate().failures().stream().map(Validated.Invalid::getMessage))
+                .containsExactly("must be greater than 0");
+    }
+
     @Test
     void invalidOverrideNamespace() {
         CloudWatchConfig config = new CloudWatchConfig() {
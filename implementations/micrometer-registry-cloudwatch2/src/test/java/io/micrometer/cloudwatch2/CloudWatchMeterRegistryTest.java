@@ -18,14 +18,30 @@ package io.micrometer.cloudwatch2;
 import io.micrometer.core.instrument.*;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.protocols.query.AwsQueryProtocolFactory;
+import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
 import software.amazon.awssdk.services.cloudwatch.model.Dimension;
 import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
+import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataRequest;
+import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataResponse;
 import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.awssdk.services.cloudwatch.transform.PutMetricDataRequestMarshaller;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -231,14 +247,15 @@ class CloudWatchMeterRegistryTest {
     }
 
     @Test
-    void batchSizeShouldWorkOnMetricDatum() throws InterruptedException {
+    void batchSizeShouldWorkOnMetricDatum() {
         List<Meter> meters = new ArrayList<>();
         for (int i = 0; i < 20; i++) {
             Timer timer = Timer.builder("timer." + i).register(this.registry);
             meters.add(timer);
         }
         when(this.registry.getMeters()).thenReturn(meters);
-        doNothing().when(this.registry).sendMetricData(any());
+        doReturn(CompletableFuture.completedFuture(PutMetricDataResponse.builder().build()))
+                .when(this.registry).sendMetricData(any());
         this.registry.publish();
         @SuppressWarnings("unchecked")
         ArgumentCaptor<List<MetricDatum>> argumentCaptor = ArgumentCaptor.forClass(List.class);
@@ -248,6 +265,266 @@ class CloudWatchMeterRegistryTest {
         assertThat(allValues.get(1)).hasSize(20);
     }
 
+    @Test
+    void compactDistributionsSendOneDatumPerTimerStep() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        Timer timer = Timer.builder("my.timer")
+                .publishPercentiles(0.5)
+                .serviceLevelObjectives(Duration.ofMillis(15), Duration.ofMillis(50))
+                .register(registry);
+
+        // the histogram covers a window that ends when publishing, so record during the second half of the step
+        clock.add(config.step().dividedBy(2));
+        timer.record(10, TimeUnit.MILLISECONDS);
+        timer.record(20, TimeUnit.MILLISECONDS);
+        timer.record(60, TimeUnit.MILLISECONDS);
+        clock.add(config.step().dividedBy(2));
+
+        // no separate percentile gauge
+        assertThat(registry.getMeters()).hasSize(1);
+
+        List<MetricDatum> metricData = registry.metricData();
+        assertThat(metricData).hasSize(1);
+        MetricDatum datum = metricData.get(0);
+        assertThat(datum.metricName()).isEqualTo("my.timer");
+        assertThat(datum.unit()).isEqualTo(StandardUnit.MILLISECONDS);
+        assertThat(datum.value()).isNull();
+        // the upper bounds of the non-empty buckets, then the max for samples above the highest bucket
+        assertThat(datum.values()).containsExactly(15.0, 50.0, 60.0);
+        assertThat(datum.counts()).containsExactly(1.0, 1.0, 1.0);
+
+        clock.add(config.step());
+        assertThat(registry.metricData()).isEmpty();
+    }
+
+    @Test
+    void compactDistributionsSendMetersWithoutHistogramBucketsAsSeparateMetrics() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        Timer timer = Timer.builder("my.timer").publishPercentiles(0.5).register(registry);
+        timer.record(10, TimeUnit.MILLISECONDS);
+        clock.add(config.step());
+
+        assertThat(registry.getMeters()).hasSize(2);
+        assertThat(registry.metricData()).extracting(MetricDatum::metricName)
+                .containsExactlyInAnyOrder("my.timer.sum", "my.timer.count", "my.timer.avg", "my.timer.max",
+                        "my.timer.percentile.value");
+    }
+
+    @Test
+    void compactDistributionsUseHistogramBucketsWithinApiLimits() {
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(compactDistributionsConfig(), clock, null);
+        double[] slos = new double[200];
+        for (int i = 0; i < slos.length; i++) {
+            slos[i] = i + 1;
+        }
+        List<DistributionSummary> summaries = new ArrayList<>();
+        for (int n = 0; n < 30; n++) {
+            summaries.add(DistributionSummary.builder("my.summary." + n)
+                    .serviceLevelObjectives(slos)
+                    .register(registry));
+        }
+
+        // the histogram covers a window that ends when publishing, so record during the second half of the step
+        clock.add(config.step().dividedBy(2));
+        for (DistributionSummary summary : summaries) {
+            for (int i = 1; i <= 200; i++) {
+                summary.record(i);
+            }
+            summary.record(1000);
+        }
+        clock.add(config.step().dividedBy(2));
+
+        assertThat(registry.getMeters()).hasSize(30);
+
+        List<MetricDatum> metricData = registry.metricData();
+        assertThat(metricData).hasSize(30);
+        for (MetricDatum datum : metricData) {
+            assertThat(datum.values()).hasSizeLessThanOrEqualTo(DistributionValues.MAX_VALUES)
+                    .hasSameSizeAs(datum.counts())
+                    .endsWith(1000.0);
+            assertThat(datum.counts().stream().mapToDouble(Double::doubleValue).sum()).isEqualTo(201);
+        }
+
+        List<List<MetricDatum>> batches = MetricDatumPartition.partition(metricData, config.batchSize());
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(30);
+        assertThat(batches).allSatisfy(batch -> {
+            assertThat(batch).hasSizeLessThanOrEqualTo(CloudWatchConfig.MAX_BATCH_SIZE);
+            assertThat(requestSize(batch)).isLessThanOrEqualTo(MetricDatumPartition.MAX_REQUEST_SIZE);
+        });
+    }
+
+    @Test
+    void batchesAreSplitToFitTheMaximumRequestSize() {
+        List<MetricDatum> metricData = new ArrayList<>();
+        for (int n = 0; n < CloudWatchConfig.MAX_BATCH_SIZE; n++) {
+            List<Double> values = new ArrayList<>();
+            List<Double> counts = new ArrayList<>();
+            for (int i = 0; i < DistributionValues.MAX_VALUES; i++) {
+                values.add(1000.0 + i / 3.0);
+                counts.add(1.0 + i / 7.0);
+            }
+            metricData.add(MetricDatum.builder()
+                    .metricName("my.summary." + n)
+                    .timestamp(Instant.ofEpochMilli(clock.wallTime()))
+                    .values(values)
+                    .counts(counts)
+                    .unit(StandardUnit.NONE)
+                    .storageResolution(60)
+                    .build());
+        }
+        assertThat(requestSize(metricData)).isGreaterThan(MetricDatumPartition.MAX_REQUEST_SIZE);
+
+        List<List<MetricDatum>> batches = MetricDatumPartition.partition(metricData, config.batchSize());
+        assertThat(batches).hasSizeGreaterThan(1);
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(CloudWatchConfig.MAX_BATCH_SIZE);
+        assertThat(batches).allSatisfy(batch ->
+                assertThat(requestSize(batch)).isLessThanOrEqualTo(MetricDatumPartition.MAX_REQUEST_SIZE));
+    }
+
+    private static int requestSize(List<MetricDatum> metricData) {
+        AwsQueryProtocolFactory protocolFactory = AwsQueryProtocolFactory.builder()
+                .clientConfiguration(SdkClientConfiguration.builder()
+                        .option(SdkClientOption.ENDPOINT, URI.create("https://monitoring.us-east-1.amazonaws.com"))
+                        .build())
+                .build();
+        SdkHttpFullRequest request = new PutMetricDataRequestMarshaller(protocolFactory)
+                .marshall(PutMetricDataRequest.builder().namespace("namespace").metricData(metricData).build());
+        // the query protocol sends these parameters as the form-encoded body of the request
+        return SdkHttpUtils.encodeAndFlattenFormData(request.rawQueryParameters()).map(String::length).orElse(0);
+    }
+
+    private CloudWatchConfig compactDistributionsConfig() {
+        return new CloudWatchConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String namespace() {
+                return "namespace";
+            }
+
+            @Override
+            public boolean compactDistributions() {
+                return true;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    void publishPipelinesRequestsUpToMaxConcurrentRequests() {
+        StubCloudWatchAsyncClient client = new StubCloudWatchAsyncClient(Duration.ofMillis(100));
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(configWithMaxConcurrentRequests(5), clock, client);
+        for (int i = 0; i < 200; i++) {
+            registry.counter("counter." + i).increment();
+        }
+
+        long start = System.nanoTime();
+        registry.publish();
+        Duration wallTime = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(client.requests).hasValue(10);
+        assertThat(client.metricData).hasValue(200);
+        assertThat(client.maxInFlight).hasValue(5);
+        // 10 requests of 100ms each, sent 5 at a time
+        assertThat(wallTime).isLessThan(Duration.ofMillis(10 * 100));
+        client.close();
+    }
+
+    @Test
+    void publishSendsRemainingBatchesAfterFailedRequest() {
+        StubCloudWatchAsyncClient client = new StubCloudWatchAsyncClient(Duration.ofMillis(1)) {
+            @Override
+            public CompletableFuture<PutMetricDataResponse> putMetricData(PutMetricDataRequest request) {
+                if (requests.get() == 0) {
+                    requests.incrementAndGet();
+                    CompletableFuture<PutMetricDataResponse> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new IllegalStateException("throttled"));
+                    return failed;
+                }
+                return super.putMetricData(request);
+            }
+        };
+        CloudWatchMeterRegistry registry = new CloudWatchMeterRegistry(configWithMaxConcurrentRequests(1), clock, client);
+        for (int i = 0; i < 60; i++) {
+            registry.counter("counter." + i).increment();
+        }
+
+        registry.publish();
+
+        assertThat(client.requests).hasValue(3);
+        assertThat(client.metricData).hasValue(40);
+        client.close();
+    }
+
+    private CloudWatchConfig configWithMaxConcurrentRequests(int maxConcurrentRequests) {
+        return new CloudWatchConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String namespace() {
+                return "namespace";
+            }
+
+            @Override
+            public int maxConcurrentRequests() {
+                return maxConcurrentRequests;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+        };
+    }
+
+    private static class StubCloudWatchAsyncClient implements CloudWatchAsyncClient {
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        private final Duration latency;
+
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicInteger metricData = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        StubCloudWatchAsyncClient(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public CompletableFuture<PutMetricDataResponse> putMetricData(PutMetricDataRequest request) {
+            requests.incrementAndGet();
+            metricData.addAndGet(request.metricData().size());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            CompletableFuture<PutMetricDataResponse> response = new CompletableFuture<>();
+            executor.schedule(() -> {
+                inFlight.decrementAndGet();
+                response.complete(PutMetricDataResponse.builder().build());
+            }, latency.toMillis(), TimeUnit.MILLISECONDS);
+            return response;
+        }
+
+        @Override
+        public String serviceName() {
+            return "stub";
+        }
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+    }
+
     @Test
     void batchToStandardUnitWhenUnitIsUnknownShouldReturnNone() {
         assertThat(this.registry.new Batch().toStandardUnit("unknownUnit")).isEqualTo(StandardUnit.NONE);
@@ -17,6 +17,7 @@ package io.micrometer.datadog;
 
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.MeterFragmentCache;
 import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.ipc.http.HttpSender;
@@ -33,6 +34,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static io.micrometer.core.instrument.util.StringEscapeUtils.escapeJson;
@@ -54,6 +56,12 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
      */
     private final Set<String> verifiedMetadata = ConcurrentHashMap.newKeySet();
 
+    /**
+     * For each meter, the parts of its series that don't change between publishes, by suffix or statistic.
+     */
+    private final MeterFragmentCache<Map<Object, SeriesFragments>> seriesFragments =
+            new MeterFragmentCache<>(this, id -> new ConcurrentHashMap<>());
+
     /**
      * @param config Configuration options for the registry that are describable as properties.
      * @param clock  The clock to use for timings.
@@ -198,11 +206,14 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
 
     private Stream<String> writeMeter(Meter m, Map<String, DatadogMetricMetadata> metadata) {
         long wallTime = clock.wallTime();
+        Meter.Id meterId = m.getId();
         return stream(m.measure().spliterator(), false)
                 .map(ms -> {
-                    Meter.Id id = m.getId().withTag(ms.getStatistic());
-                    addToMetadataList(metadata, id, null, ms.getStatistic(), null);
-                    return writeMetric(id, null, wallTime, ms.getValue(), ms.getStatistic(), null);
+                    Statistic statistic = ms.getStatistic();
+                    SeriesFragments fragments = seriesFragments(meterId, statistic, () -> meterId.withTag(statistic),
+                            statistic, null);
+                    addToMetadataList(metadata, fragments.id, null, statistic, null);
+                    return fragments.write(wallTime, ms.getValue());
                 });
     }
 
@@ -223,10 +234,30 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
 
     //VisibleForTesting
     String writeMetric(Meter.Id id, @Nullable String suffix, long wallTime, double value, Statistic statistic, @Nullable String overrideBaseUnit) {
-        Meter.Id fullId = id;
-        if (suffix != null)
-            fullId = idWithSuffix(id, suffix);
+        SeriesFragments fragments = seriesFragments(id, suffix != null ? suffix : statistic,
+                () -> suffix != null ? idWithSuffix(id, suffix) : id, statistic, overrideBaseUnit);
+        return fragments.write(wallTime, value);
+    }
+
+    /**
+     * @param meterId          The id of the meter the series belongs to.
+     * @param key              Identifies the series among those of the meter.
+     * @param fullId           The id of the series.
+     * @param statistic        The statistic published by the series.
+     * @param overrideBaseUnit The base unit of the series, if it differs from the meter's.
+     * @return The parts of the series that don't change between publishes.
+     */
+    private SeriesFragments seriesFragments(Meter.Id meterId, Object key, Supplier<Meter.Id> fullId,
+                                            Statistic statistic, @Nullable String overrideBaseUnit) {
+        Map<Object, SeriesFragments> fragmentsByKey = seriesFragments.get(meterId);
+        SeriesFragments fragments = fragmentsByKey.get(key);
+        if (fragments == null) {
+            fragments = fragmentsByKey.computeIfAbsent(key, k -> renderSeriesFragments(fullId.get(), statistic, overrideBaseUnit));
+        }
+        return fragments;
+    }
 
+    private SeriesFragments renderSeriesFragments(Meter.Id fullId, Statistic statistic, @Nullable String overrideBaseUnit) {
         Iterable<Tag> tags = getConventionTags(fullId);
 
         // Create host attribute
@@ -238,7 +269,7 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
         // Create type attribute
         String type = ",\"type\":\"" + DatadogMetricMetadata.sanitizeType(statistic) + "\"";
         // Create unit attribute
-        String baseUnit = DatadogMetricMetadata.sanitizeBaseUnit(id.getBaseUnit(), overrideBaseUnit);
+        String baseUnit = DatadogMetricMetadata.sanitizeBaseUnit(fullId.getBaseUnit(), overrideBaseUnit);
         String unit = baseUnit != null ? ",\"unit\":\"" + baseUnit + "\"" : "";
         // Create tags attribute
         String tagsArray = tags.iterator().hasNext()
@@ -247,8 +278,9 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
                 .collect(joining(",", ",\"tags\":[", "]"))
                 : "";
 
-        return "{\"metric\":\"" + escapeJson(getConventionName(fullId)) + "\"," +
-                "\"points\":[[" + (wallTime / 1000) + ", " + value + "]]" + host + type + unit + tagsArray + "}";
+        return new SeriesFragments(fullId,
+                "{\"metric\":\"" + escapeJson(getConventionName(fullId)) + "\",\"points\":[[",
+                "]]" + host + type + unit + tagsArray + "}");
     }
 
     /**
@@ -295,6 +327,22 @@ public class DatadogMeterRegistry extends StepMeterRegistry {
         return id.withName(id.getName() + "." + suffix);
     }
 
+    private static class SeriesFragments {
+        private final Meter.Id id;
+        private final String prefix;
+        private final String suffix;
+
+        SeriesFragments(Meter.Id id, String prefix, String suffix) {
+            this.id = id;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        String write(long wallTime, double value) {
+            return prefix + (wallTime / 1000) + ", " + value + suffix;
+        }
+    }
+
     public static Builder builder(DatadogConfig config) {
         return new Builder(config);
     }
@@ -15,6 +15,8 @@
  */
 package io.micrometer.dynatrace;
 
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 import io.micrometer.core.instrument.step.StepRegistryConfig;
 import io.micrometer.core.instrument.util.StringUtils;
@@ -64,6 +66,16 @@ public interface DynatraceConfig extends StepRegistryConfig {
         return get(prefix() + ".group");
     }
 
+    /**
+     * @return The maximum number of requests sent to Dynatrace at once while publishing, both to create custom metrics
+     * and to send time series. The default is 4.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default int maxConcurrentRequests() {
+        return getInteger(this, "maxConcurrentRequests").orElse(4);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this,
@@ -71,7 +83,9 @@ public interface DynatraceConfig extends StepRegistryConfig {
                 checkRequired("apiToken", DynatraceConfig::apiToken),
                 checkRequired("uri", DynatraceConfig::uri),
                 checkRequired("deviceId", DynatraceConfig::deviceId),
-                check("technologyType", DynatraceConfig::technologyType).andThen(Validated::nonBlank)
+                check("technologyType", DynatraceConfig::technologyType).andThen(Validated::nonBlank),
+                check("maxConcurrentRequests", DynatraceConfig::maxConcurrentRequests)
+                        .andThen(v -> v.invalidateWhen(c -> c < 1, "must be greater than 0", InvalidReason.MALFORMED))
         );
     }
 }
@@ -28,12 +28,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -52,11 +59,18 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class DynatraceMeterRegistry extends StepMeterRegistry {
     private static final ThreadFactory DEFAULT_THREAD_FACTORY = new NamedThreadFactory("dynatrace-metrics-publisher");
+    private static final ThreadFactory SENDER_THREAD_FACTORY = new NamedThreadFactory("dynatrace-metrics-sender");
     private static final int MAX_MESSAGE_SIZE = 15360; //max message size in bytes that Dynatrace will accept
     private final Logger logger = LoggerFactory.getLogger(DynatraceMeterRegistry.class);
     private final DynatraceConfig config;
     private final HttpSender httpClient;
 
+    /**
+     * Sends the requests of every publish, at most {@link DynatraceConfig#maxConcurrentRequests()} at a time. Its
+     * threads time out when idle so that a long step doesn't keep them around.
+     */
+    private final ExecutorService senderExecutor;
+
     /**
      * Metric names for which we have created the custom metric in the API
      */
@@ -78,6 +92,11 @@ public class DynatraceMeterRegistry extends StepMeterRegistry {
 
         this.customMetricEndpointTemplate = config.uri() + "/api/v1/timeseries/";
 
+        ThreadPoolExecutor senderExecutor = new ThreadPoolExecutor(config.maxConcurrentRequests(), config.maxConcurrentRequests(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), SENDER_THREAD_FACTORY);
+        senderExecutor.allowCoreThreadTimeOut(true);
+        this.senderExecutor = senderExecutor;
+
         start(threadFactory);
     }
 
@@ -90,38 +109,91 @@ public class DynatraceMeterRegistry extends StepMeterRegistry {
         String customDeviceMetricEndpoint = config.uri() + "/api/v1/entity/infrastructure/custom/" +
                 config.deviceId() + "?api-token=" + config.apiToken();
 
-        for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
-            final List<DynatraceCustomMetric> series = batch.stream()
-                    .flatMap(meter -> meter.match(
-                            this::writeMeter,
-                            this::writeMeter,
-                            this::writeTimer,
-                            this::writeSummary,
-                            this::writeLongTaskTimer,
-                            this::writeMeter,
-                            this::writeMeter,
-                            this::writeFunctionTimer,
-                            this::writeMeter)
-                    )
-                    .collect(Collectors.toList());
-
-            // TODO is there a way to batch submissions of multiple metrics?
-            series.stream()
-                    .map(DynatraceCustomMetric::getMetricDefinition)
-                    .filter(this::isCustomMetricNotCreated)
-                    .forEach(this::putCustomMetric);
-
-            if (!createdCustomMetrics.isEmpty() && !series.isEmpty()) {
-                postCustomMetricValues(
-                        config.technologyType(),
-                        config.group(),
-                        series.stream()
-                                .map(DynatraceCustomMetric::getTimeSeries)
-                                .filter(this::isCustomMetricCreated)
-                                .collect(Collectors.toList()),
-                        customDeviceMetricEndpoint);
+        // The whole publish, rather than each of its steps, waits for at most the read timeout.
+        @SuppressWarnings("deprecation")
+        long deadline = System.nanoTime() + config.readTimeout().toNanos();
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        try {
+            List<CompletableFuture<Void>> posts = new ArrayList<>();
+            for (List<Meter> batch : MeterPartition.partition(this, config.batchSize())) {
+                final List<DynatraceCustomMetric> series = batch.stream()
+                        .flatMap(meter -> meter.match(
+                                this::writeMeter,
+                                this::writeMeter,
+                                this::writeTimer,
+                                this::writeSummary,
+                                this::writeLongTaskTimer,
+                                this::writeMeter,
+                                this::writeMeter,
+                                this::writeFunctionTimer,
+                                this::writeMeter)
+                        )
+                        .collect(Collectors.toList());
+
+                // The API creates one custom metric per request, so create them concurrently, each only once even when
+                // it has many time series. Time series are only accepted for custom metrics that already exist.
+                Map<String, DynatraceMetricDefinition> notCreated = new LinkedHashMap<>();
+                for (DynatraceCustomMetric customMetric : series) {
+                    DynatraceMetricDefinition metricDefinition = customMetric.getMetricDefinition();
+                    if (isCustomMetricNotCreated(metricDefinition)) {
+                        notCreated.putIfAbsent(metricDefinition.getMetricId(), metricDefinition);
+                    }
+                }
+                List<CompletableFuture<Void>> puts = notCreated.values().stream()
+                        .map(metricDefinition -> CompletableFuture.runAsync(() -> putCustomMetric(metricDefinition), senderExecutor))
+                        .collect(Collectors.toList());
+                requests.addAll(puts);
+                if (!await(puts, deadline)) {
+                    logger.warn("creating custom metrics in dynatrace took longer than expected");
+                    return;
+                }
+
+                if (!createdCustomMetrics.isEmpty() && !series.isEmpty()) {
+                    List<DynatraceTimeSeries> timeSeries = series.stream()
+                            .map(DynatraceCustomMetric::getTimeSeries)
+                            .filter(this::isCustomMetricCreated)
+                            .collect(Collectors.toList());
+                    for (DynatraceBatchedPayload postMessage : createPostMessages(config.technologyType(), config.group(), timeSeries)) {
+                        CompletableFuture<Void> post = CompletableFuture.runAsync(() -> postCustomMetricValues(postMessage, customDeviceMetricEndpoint), senderExecutor);
+                        posts.add(post);
+                        requests.add(post);
+                    }
+                }
             }
+            if (!await(posts, deadline)) {
+                logger.warn("metrics push to dynatrace took longer than expected");
+            }
+        } catch (InterruptedException e) {
+            logger.warn("metrics push to dynatrace took longer than expected");
+            Thread.currentThread().interrupt();
+        } finally {
+            // Requests that haven't started by the deadline are dropped rather than left queued behind the next
+            // publish. Those already running complete, or time out, on their own.
+            for (CompletableFuture<Void> request : requests) {
+                request.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if requests were still in flight when the deadline passed.
+     */
+    private boolean await(List<CompletableFuture<Void>> requests, long deadline) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException ignored) {
+            // requests log their own failures
         }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        senderExecutor.shutdown();
     }
 
     // VisibleForTesting
@@ -224,23 +296,21 @@ public class DynatraceMeterRegistry extends StepMeterRegistry {
         }
     }
 
-    private void postCustomMetricValues(String type, String group, List<DynatraceTimeSeries> timeSeries, String customDeviceMetricEndpoint) {
+    private void postCustomMetricValues(DynatraceBatchedPayload postMessage, String customDeviceMetricEndpoint) {
         try {
-            for (DynatraceBatchedPayload postMessage : createPostMessages(type, group, timeSeries)) {
-                httpClient.post(customDeviceMetricEndpoint)
-                        .withJsonContent(postMessage.payload)
-                        .send()
-                        .onSuccess(response -> {
-                            if (logger.isDebugEnabled()) {
-                                logger.debug("successfully sent {} metrics to Dynatrace ({} bytes).",
-                                        postMessage.metricCount, postMessage.payload.getBytes(UTF_8).length);
-                            }
-                        })
-                        .onError(response -> {
-                            logger.error("failed to send metrics to dynatrace: {}", response.body());
-                            logger.debug("failed metrics payload: {}", postMessage.payload);
-                        });
-            }
+            httpClient.post(customDeviceMetricEndpoint)
+                    .withJsonContent(postMessage.payload)
+                    .send()
+                    .onSuccess(response -> {
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("successfully sent {} metrics to Dynatrace ({} bytes).",
+                                    postMessage.metricCount, postMessage.payload.getBytes(UTF_8).length);
+                        }
+                    })
+                    .onError(response -> {
+                        logger.error("failed to send metrics to dynatrace: {}", response.body());
+                        logger.debug("failed metrics payload: {}", postMessage.payload);
+                    });
         } catch (Throwable e) {
             logger.error("failed to send metrics to dynatrace", e);
         }
@@ -23,9 +23,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -119,6 +123,117 @@ class DynatraceMeterRegistryTest {
         assertThat(createdCustomMetrics).containsExactly("metricId");
     }
 
+    @Test
+    void publishCreatesEachCustomMetricOnceBeforeSendingItsTimeSeries() {
+        List<HttpSender.Request> requests = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        DynatraceMeterRegistry registry = DynatraceMeterRegistry.builder(createDynatraceConfig())
+                .httpClient(request -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(10);
+                    requests.add(request);
+                    inFlight.decrementAndGet();
+                    return new HttpSender.Response(200, null);
+                })
+                .build();
+
+        for (int i = 0; i < 20; i++) {
+            registry.gauge("my.gauge." + i, 1d);
+            registry.gauge("my.shared.gauge", Tags.of("index", Integer.toString(i)), i);
+        }
+        registry.publish();
+
+        List<String> createdMetricIds = requests.stream()
+                .filter(request -> request.getMethod() == HttpSender.Method.PUT)
+                .map(request -> request.getUrl().getPath().substring("/api/v1/timeseries/".length()))
+                .collect(Collectors.toList());
+        assertThat(createdMetricIds).hasSize(21).doesNotHaveDuplicates().contains("custom:my.shared.gauge");
+
+        int firstPost = IntStream.range(0, requests.size())
+                .filter(i -> requests.get(i).getMethod() == HttpSender.Method.POST)
+                .findFirst().orElseThrow(AssertionError::new);
+        assertThat(firstPost).isEqualTo(21);
+        assertThat(maxInFlight.get()).isBetween(2, 4);
+
+        registry.close();
+    }
+
+    @Test
+    void publishWaitsForAHangingRequestNoLongerThanTheReadTimeout() {
+        CountDownLatch hanging = new CountDownLatch(1);
+        DynatraceMeterRegistry registry = DynatraceMeterRegistry.builder(createDynatraceConfig(Duration.ofMillis(100)))
+                .httpClient(request -> {
+                    hanging.await();
+                    return new HttpSender.Response(200, null);
+                })
+                .build();
+        registry.gauge("my.gauge", 1d);
+
+        long start = System.nanoTime();
+        registry.publish();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+
+        hanging.countDown();
+        registry.close();
+    }
+
+    @Test
+    void publishWaitsNoLongerThanTheReadTimeoutOverAllBatches() {
+        CountDownLatch hanging = new CountDownLatch(1);
+        DynatraceMeterRegistry registry = DynatraceMeterRegistry.builder(createDynatraceConfig(Duration.ofMillis(500), 1))
+                .httpClient(request -> {
+                    hanging.await();
+                    return new HttpSender.Response(200, null);
+                })
+                .build();
+        IntStream.range(0, 10).forEach(i -> registry.gauge("my.gauge" + i, 1d));
+
+        long start = System.nanoTime();
+        registry.publish();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2500));
+
+        hanging.countDown();
+        registry.close();
+    }
+
+    @Test
+    void requestsNotStartedByTheReadTimeoutAreDropped() throws InterruptedException {
+        CountDownLatch hanging = new CountDownLatch(1);
+        AtomicInteger sent = new AtomicInteger();
+        DynatraceMeterRegistry registry = DynatraceMeterRegistry.builder(createDynatraceConfig(Duration.ofMillis(100)))
+                .httpClient(request -> {
+                    sent.incrementAndGet();
+                    hanging.await();
+                    return new HttpSender.Response(200, null);
+                })
+                .build();
+        IntStream.range(0, 20).forEach(i -> registry.gauge("my.gauge" + i, 1d));
+
+        registry.publish();
+        hanging.countDown();
+        Thread.sleep(100);
+
+        // only the requests already running on the 4 sender threads are sent
+        assertThat(sent.get()).isEqualTo(4);
+        registry.close();
+    }
+
+    @Test
+    void sendersAreReusedAcrossPublishesAndShutDownOnClose() throws NoSuchFieldException, IllegalAccessException {
+        Field senderExecutorField = DynatraceMeterRegistry.class.getDeclaredField("senderExecutor");
+        senderExecutorField.setAccessible(true);
+        ExecutorService senderExecutor = (ExecutorService) senderExecutorField.get(meterRegistry);
+
+        meterRegistry.gauge("my.gauge", 1d);
+        meterRegistry.publish();
+        meterRegistry.publish();
+        assertThat(senderExecutor.isShutdown()).isFalse();
+
+        meterRegistry.close();
+        assertThat(senderExecutor.isShutdown()).isTrue();
+    }
+
     @Test
     void writeMeterWithGauge() {
         meterRegistry.gauge("my.gauge", 1d);
@@ -283,7 +398,21 @@ class DynatraceMeterRegistryTest {
     }
 
     private DynatraceMeterRegistry createMeterRegistry() {
-        DynatraceConfig config = new DynatraceConfig() {
+        return DynatraceMeterRegistry.builder(createDynatraceConfig())
+                .httpClient(request -> new HttpSender.Response(200, null))
+                .build();
+    }
+
+    private DynatraceConfig createDynatraceConfig() {
+        return createDynatraceConfig(Duration.ofSeconds(10));
+    }
+
+    private DynatraceConfig createDynatraceConfig(Duration readTimeout) {
+        return createDynatraceConfig(readTimeout, 10000);
+    }
+
+    private DynatraceConfig createDynatraceConfig(Duration readTimeout, int batchSize) {
+        return new DynatraceConfig() {
             @Override
             public String get(String key) {
                 return null;
@@ -303,10 +432,18 @@ class DynatraceMeterRegistryTest {
             public String apiToken() {
                 return "apiToken";
             }
+
+            @Override
+            @SuppressWarnings("deprecation")
+            public Duration readTimeout() {
+                return readTimeout;
+            }
+
+            @Override
+            public int batchSize() {
+                return batchSize;
+            }
         };
-        return DynatraceMeterRegistry.builder(config)
-                .httpClient(request -> new HttpSender.Response(200, null))
-                .build();
     }
 
     private boolean isValidJson(String json) {
@@ -18,6 +18,7 @@ package io.micrometer.elastic;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.util.MeterFragmentCache;
 import io.micrometer.core.instrument.util.MeterPartition;
 import io.micrometer.core.instrument.util.NamedThreadFactory;
 import io.micrometer.core.instrument.util.StringUtils;
@@ -123,6 +124,8 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
 
     private final String indexLine;
 
+    private final MeterFragmentCache<String> documentFragments = new MeterFragmentCache<>(this, this::documentFragment);
+
     private volatile boolean checkedForIndexTemplate;
 
     @SuppressWarnings("deprecation")
@@ -397,21 +400,30 @@ public class ElasticMeterRegistry extends StepMeterRegistry {
     String writeDocument(Meter meter, Consumer<StringBuilder> consumer) {
         StringBuilder sb = new StringBuilder(indexLine);
         String timestamp = generateTimestamp();
-        String name = getConventionName(meter.getId());
-        String type = meter.getId().getType().toString().toLowerCase();
         sb.append("{\"").append(config.timestampFieldName()).append("\":\"").append(timestamp).append('"')
-                .append(",\"name\":\"").append(escapeJson(name)).append('"')
+                .append(documentFragments.get(meter.getId()));
+
+        consumer.accept(sb);
+        sb.append("}");
+
+        return sb.toString();
+    }
+
+    /**
+     * @return The fields of a document that only depend on the meter: its name, type and tags.
+     */
+    private String documentFragment(Meter.Id id) {
+        StringBuilder sb = new StringBuilder();
+        String name = getConventionName(id);
+        String type = id.getType().toString().toLowerCase();
+        sb.append(",\"name\":\"").append(escapeJson(name)).append('"')
                 .append(",\"type\":\"").append(type).append('"');
 
-        List<Tag> tags = getConventionTags(meter.getId());
+        List<Tag> tags = getConventionTags(id);
         for (Tag tag : tags) {
             sb.append(",\"").append(escapeJson(tag.getKey())).append("\":\"")
                     .append(escapeJson(tag.getValue())).append('"');
         }
-
-        consumer.accept(sb);
-        sb.append("}");
-
         return sb.toString();
     }
 
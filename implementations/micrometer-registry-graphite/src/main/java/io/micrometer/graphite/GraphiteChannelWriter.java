@@ -0,0 +1,279 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.graphite;
+
+import io.micrometer.core.instrument.util.DoubleFormat;
+import io.micrometer.core.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Encodes metrics in Graphite's plaintext or pickle format into a bounded buffer, and writes the buffer to a
+ * non-blocking channel whenever the next metric doesn't fit. Each write of the buffer is a complete pickle message or
+ * a set of complete lines. Waiting for the channel to connect or to accept more bytes is bounded by a timeout.
+ * <p>
+ * Not thread-safe. The connection is kept open between batches and reopened after it fails.
+ */
+class GraphiteChannelWriter implements Closeable {
+    /**
+     * Bytes of a pickled {@code (name, (timestamp, value))} tuple appended to the list, besides the name, timestamp
+     * and value themselves: {@code (S'name'\n(Itimestamp\nS'value'\ntta}.
+     */
+    private static final int PICKLE_TUPLE_OVERHEAD = 14;
+
+    /**
+     * Bytes of a plaintext line besides the name, timestamp and value themselves: {@code name value timestamp\n}.
+     */
+    private static final int PLAINTEXT_LINE_OVERHEAD = 3;
+
+    private final GraphiteProtocol protocol;
+    private final String host;
+    private final int port;
+    private final long timeoutNanos;
+
+    private final ByteBuffer buffer;
+    private final StringBuilder value = new StringBuilder(32);
+    private byte[] timestamp = new byte[0];
+
+    /**
+     * Where the current pickle message starts in the buffer.
+     */
+    private int messageStart;
+    private int metricsInBuffer;
+
+    @Nullable
+    private SelectableChannel channel;
+
+    @Nullable
+    private Selector selector;
+
+    GraphiteChannelWriter(GraphiteProtocol protocol, String host, int port, int bufferSize, Duration timeout) {
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.timeoutNanos = timeout.toNanos();
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Start a batch of metrics, discarding anything that wasn't written from a previous, failed batch.
+     *
+     * @param timestampSeconds The timestamp of every metric in the batch.
+     */
+    void begin(long timestampSeconds) {
+        timestamp = Long.toString(timestampSeconds).getBytes(US_ASCII);
+        buffer.clear();
+        startMessage();
+    }
+
+    /**
+     * @param name   The rendered name of the meter.
+     * @param suffix The rendered name of the metric attribute, appended to the meter's name.
+     * @param value  The value of the metric.
+     * @return {@code false} if the metric is too large to ever fit the buffer, and was skipped.
+     * @throws IOException If the buffer had to be written and writing it failed.
+     */
+    boolean write(byte[] name, byte[] suffix, double value) throws IOException {
+        this.value.setLength(0);
+        DoubleFormat.appendWholeOrDecimal(this.value, value);
+
+        int length = name.length + suffix.length + this.value.length() + timestamp.length;
+        if (protocol == GraphiteProtocol.PICKLED) {
+            // leaves room for the STOP opcode that ends the message
+            length += PICKLE_TUPLE_OVERHEAD + 1;
+        } else {
+            length += PLAINTEXT_LINE_OVERHEAD;
+        }
+
+        if (length > buffer.remaining()) {
+            if (metricsInBuffer == 0) {
+                return false;
+            }
+            flush();
+            if (length > buffer.remaining()) {
+                return false;
+            }
+        }
+
+        if (protocol == GraphiteProtocol.PICKLED) {
+            buffer.put((byte) '(').put((byte) 'S').put((byte) '\'').put(name).put(suffix).put((byte) '\'').put((byte) '\n')
+                    .put((byte) '(').put((byte) 'I').put(timestamp).put((byte) '\n')
+                    .put((byte) 'S').put((byte) '\'');
+            putValue();
+            buffer.put((byte) '\'').put((byte) '\n')
+                    .put((byte) 't').put((byte) 't').put((byte) 'a');
+        } else {
+            buffer.put(name).put(suffix).put((byte) ' ');
+            putValue();
+            buffer.put((byte) ' ').put(timestamp).put((byte) '\n');
+        }
+        metricsInBuffer++;
+        return true;
+    }
+
+    private void putValue() {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+
+    /**
+     * Write the metrics that are still buffered.
+     *
+     * @throws IOException If writing failed.
+     */
+    void flush() throws IOException {
+        try {
+            if (metricsInBuffer > 0) {
+                if (protocol == GraphiteProtocol.PICKLED) {
+                    buffer.put((byte) '.');
+                    buffer.putInt(messageStart, buffer.position() - messageStart - 4);
+                }
+                buffer.flip();
+                send();
+            }
+        } finally {
+            buffer.clear();
+            startMessage();
+        }
+    }
+
+    private void startMessage() {
+        metricsInBuffer = 0;
+        if (protocol == GraphiteProtocol.PICKLED) {
+            // length header, filled in once the message is complete, followed by MARK LIST
+            messageStart = buffer.position();
+            buffer.putInt(0).put((byte) '(').put((byte) 'l');
+        }
+    }
+
+    private void send() throws IOException {
+        try {
+            WritableByteChannel channel = connect();
+            while (buffer.hasRemaining()) {
+                if (channel.write(buffer) == 0) {
+                    await(SelectionKey.OP_WRITE);
+                }
+            }
+        } catch (IOException e) {
+            closeChannel();
+            throw e;
+        }
+    }
+
+    private WritableByteChannel connect() throws IOException {
+        if (channel instanceof SocketChannel && !isOpen((SocketChannel) channel)) {
+            closeChannel();
+        }
+        if (channel != null) {
+            return (WritableByteChannel) channel;
+        }
+
+        if (selector == null) {
+            selector = Selector.open();
+        }
+
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (address.isUnresolved()) {
+            throw new UnknownHostException(host);
+        }
+
+        if (protocol == GraphiteProtocol.UDP) {
+            DatagramChannel datagramChannel = DatagramChannel.open();
+            channel = datagramChannel;
+            datagramChannel.configureBlocking(false);
+            datagramChannel.connect(address);
+            return datagramChannel;
+        }
+
+        SocketChannel socketChannel = SocketChannel.open();
+        channel = socketChannel;
+        socketChannel.configureBlocking(false);
+        if (!socketChannel.connect(address)) {
+            while (!socketChannel.finishConnect()) {
+                await(SelectionKey.OP_CONNECT);
+            }
+        }
+        return socketChannel;
+    }
+
+    /**
+     * Graphite never writes to the connection, so the only thing a read can see is that Graphite closed it since the
+     * last batch. Writing to a closed connection succeeds at first, so the next batch would be silently lost.
+     */
+    private static boolean isOpen(SocketChannel channel) {
+        try {
+            return channel.read(ByteBuffer.allocate(1)) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void await(int operation) throws IOException {
+        Selector selector = this.selector;
+        SelectableChannel channel = this.channel;
+        if (selector == null || channel == null) {
+            throw new IllegalStateException("not connected");
+        }
+
+        SelectionKey key = channel.register(selector, operation);
+        try {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (selector.select(Math.max(1, (deadline - System.nanoTime()) / 1_000_000)) == 0) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new SocketTimeoutException("timed out waiting for Graphite at " + host + ":" + port);
+                }
+            }
+        } finally {
+            selector.selectedKeys().clear();
+            key.interestOps(0);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // the channel is abandoned either way
+            }
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeChannel();
+        if (selector != null) {
+            selector.close();
+            selector = null;
+        }
+    }
+}
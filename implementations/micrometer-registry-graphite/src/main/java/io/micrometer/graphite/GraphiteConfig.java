@@ -15,10 +15,13 @@
  */
 package io.micrometer.graphite;
 
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 import io.micrometer.core.instrument.dropwizard.DropwizardConfig;
 import io.micrometer.core.lang.Nullable;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
@@ -102,6 +105,27 @@ public interface GraphiteConfig extends DropwizardConfig {
         return getEnum(this, GraphiteProtocol.class, "protocol").orElse(GraphiteProtocol.PICKLED);
     }
 
+    /**
+     * @return The most bytes {@link GraphiteStepMeterRegistry} buffers before writing them to Graphite. Each pickle
+     * message holds at most this many bytes. UDP datagrams are additionally limited to
+     * {@value GraphiteStepMeterRegistry#MAX_DATAGRAM_LENGTH} bytes. The default is 65536.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default int writeBufferSize() {
+        return getInteger(this, "writeBufferSize").orElse(65536);
+    }
+
+    /**
+     * @return How long {@link GraphiteStepMeterRegistry} waits for a connection to Graphite to be established, or to
+     * accept more bytes, before abandoning the rest of a publish. The default is 10 seconds.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default Duration writeTimeout() {
+        return getDuration(this, "writeTimeout").orElse(Duration.ofSeconds(10));
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this,
@@ -110,7 +134,10 @@ public interface GraphiteConfig extends DropwizardConfig {
                 checkRequired("durationUnits", GraphiteConfig::durationUnits),
                 checkRequired("host", GraphiteConfig::host),
                 check("port", GraphiteConfig::port),
-                checkRequired("protocol", GraphiteConfig::protocol)
+                checkRequired("protocol", GraphiteConfig::protocol),
+                check("writeBufferSize", GraphiteConfig::writeBufferSize)
+                        .andThen(v -> v.invalidateWhen(b -> b < 64, "must be at least 64", InvalidReason.MALFORMED)),
+                check("writeTimeout", GraphiteConfig::writeTimeout)
         );
     }
 }
@@ -37,9 +37,9 @@ public class GraphiteDimensionalNameMapper implements HierarchicalNameMapper {
     public String toHierarchicalName(Meter.Id id, NamingConvention convention) {
         StringBuilder hierarchicalName = new StringBuilder();
         hierarchicalName.append(id.getConventionName(convention));
-        for (Tag tag : id.getTagsAsIterable()) {
-            hierarchicalName.append(';').append(convention.tagKey(tag.getKey()))
-                    .append('=').append(convention.tagValue(tag.getValue()));
+        for (Tag tag : id.getConventionTags(convention)) {
+            hierarchicalName.append(';').append(tag.getKey())
+                    .append('=').append(tag.getValue());
         }
         return hierarchicalName.toString();
     }
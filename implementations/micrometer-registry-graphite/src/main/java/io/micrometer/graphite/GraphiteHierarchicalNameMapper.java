@@ -47,10 +47,14 @@ public class GraphiteHierarchicalNameMapper implements HierarchicalNameMapper {
             }
         }
         hierarchicalName.append(id.getConventionName(convention));
+        // convention tags are in the same order as the tags they were rendered from
+        List<Tag> conventionTags = id.getConventionTags(convention);
+        int i = 0;
         for (Tag tag : id.getTagsAsIterable()) {
+            Tag conventionTag = conventionTags.get(i++);
             if (!tagsAsPrefix.contains(tag.getKey())) {
-                hierarchicalName.append('.').append(convention.tagKey(tag.getKey()))
-                        .append('.').append(convention.tagValue(tag.getValue()));
+                hierarchicalName.append('.').append(conventionTag.getKey())
+                        .append('.').append(conventionTag.getValue());
             }
         }
         return hierarchicalName.toString();
@@ -0,0 +1,272 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.graphite;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import io.micrometer.core.lang.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Publishes to Graphite without going through Dropwizard Metrics, unlike {@link GraphiteMeterRegistry}. Meters are
+ * step-based, so counts are the number of events in the last step. Each meter's name is rendered with the
+ * {@link HierarchicalNameMapper} once, and metrics are encoded straight into a buffer of at most
+ * {@link GraphiteConfig#writeBufferSize()} bytes that is written to a non-blocking connection kept open between
+ * publishes.
+ * <p>
+ * {@link GraphiteProtocol#PLAINTEXT} and {@link GraphiteProtocol#PICKLED} are sent over TCP, and
+ * {@link GraphiteProtocol#UDP} sends plaintext lines in datagrams of at most {@value #MAX_DATAGRAM_LENGTH} bytes.
+ * Metric attributes (count, max, ...) are appended to the name as with {@link GraphiteMeterRegistry}, and
+ * percentiles and histogram buckets are published as separate gauges.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class GraphiteStepMeterRegistry extends StepMeterRegistry {
+    /**
+     * The largest UDP datagram sent, which fits the MTU of most networks without fragmentation.
+     */
+    public static final int MAX_DATAGRAM_LENGTH = 1432;
+
+    private static final ThreadFactory DEFAULT_THREAD_FACTORY = new NamedThreadFactory("graphite-metrics-publisher");
+    private static final byte[] NO_SUFFIX = new byte[0];
+
+    private final Logger logger = LoggerFactory.getLogger(GraphiteStepMeterRegistry.class);
+
+    private final GraphiteConfig config;
+    private final HierarchicalNameMapper nameMapper;
+    private final GraphiteChannelWriter writer;
+
+    private final Map<Meter.Id, byte[]> names = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> suffixes = new ConcurrentHashMap<>();
+
+    @Nullable
+    private NamingConvention namesConvention;
+
+    public GraphiteStepMeterRegistry(GraphiteConfig config, Clock clock) {
+        this(config, clock, defaultNameMapper(config), DEFAULT_THREAD_FACTORY);
+    }
+
+    private GraphiteStepMeterRegistry(GraphiteConfig config, Clock clock, HierarchicalNameMapper nameMapper,
+                                      ThreadFactory threadFactory) {
+        super(stepRegistryConfig(config), clock);
+
+        config.requireValid();
+
+        this.config = config;
+        this.nameMapper = nameMapper;
+        int bufferSize = config.protocol() == GraphiteProtocol.UDP ?
+                Math.min(config.writeBufferSize(), MAX_DATAGRAM_LENGTH) :
+                config.writeBufferSize();
+        this.writer = new GraphiteChannelWriter(config.protocol(), config.host(), config.port(), bufferSize,
+                config.writeTimeout());
+
+        config().namingConvention(config.graphiteTagsEnabled() ? new GraphiteDimensionalNamingConvention() : new GraphiteHierarchicalNamingConvention());
+        config().onMeterRemoved(meter -> names.remove(meter.getId()));
+
+        start(threadFactory);
+    }
+
+    public static Builder builder(GraphiteConfig config) {
+        return new Builder(config);
+    }
+
+    private static HierarchicalNameMapper defaultNameMapper(GraphiteConfig config) {
+        return config.graphiteTagsEnabled() ? new GraphiteDimensionalNameMapper() : new GraphiteHierarchicalNameMapper(config.tagsAsPrefix());
+    }
+
+    private static StepRegistryConfig stepRegistryConfig(GraphiteConfig config) {
+        return new StepRegistryConfig() {
+            @Override
+            public String prefix() {
+                return config.prefix();
+            }
+
+            @Override
+            @Nullable
+            public String get(String key) {
+                return config.get(key);
+            }
+
+            @Override
+            public Duration step() {
+                return config.step();
+            }
+
+            @Override
+            public boolean enabled() {
+                return config.enabled();
+            }
+        };
+    }
+
+    @Override
+    protected synchronized void publish() {
+        NamingConvention convention = config().namingConvention();
+        if (convention != namesConvention) {
+            names.clear();
+            namesConvention = convention;
+        }
+
+        writer.begin(TimeUnit.MILLISECONDS.toSeconds(clock.wallTime()));
+        try {
+            for (Meter meter : getMeters()) {
+                meter.use(
+                        gauge -> write(gauge, NO_SUFFIX, gauge.value()),
+                        counter -> write(counter, "count", counter.count()),
+                        this::writeTimer,
+                        this::writeSummary,
+                        this::writeLongTaskTimer,
+                        timeGauge -> write(timeGauge, NO_SUFFIX, timeGauge.value(getBaseTimeUnit())),
+                        functionCounter -> write(functionCounter, "count", functionCounter.count()),
+                        this::writeFunctionTimer,
+                        this::writeMeter);
+            }
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            logger.warn("failed to send metrics to graphite", e.getCause());
+        } catch (IOException e) {
+            logger.warn("failed to send metrics to graphite", e);
+        }
+    }
+
+    private void writeTimer(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        write(timer, "count", snapshot.count());
+        write(timer, "sum", snapshot.total(getBaseTimeUnit()));
+        write(timer, "mean", snapshot.mean(getBaseTimeUnit()));
+        write(timer, "max", snapshot.max(getBaseTimeUnit()));
+    }
+
+    private void writeSummary(DistributionSummary summary) {
+        HistogramSnapshot snapshot = summary.takeSnapshot();
+        write(summary, "count", snapshot.count());
+        write(summary, "sum", snapshot.total());
+        write(summary, "mean", snapshot.mean());
+        write(summary, "max", snapshot.max());
+    }
+
+    private void writeLongTaskTimer(LongTaskTimer longTaskTimer) {
+        write(longTaskTimer, "activeTasks", longTaskTimer.activeTasks());
+        write(longTaskTimer, "duration", longTaskTimer.duration(getBaseTimeUnit()));
+        write(longTaskTimer, "max", longTaskTimer.max(getBaseTimeUnit()));
+    }
+
+    private void writeFunctionTimer(FunctionTimer functionTimer) {
+        write(functionTimer, "count", functionTimer.count());
+        write(functionTimer, "sum", functionTimer.totalTime(getBaseTimeUnit()));
+        write(functionTimer, "mean", functionTimer.mean(getBaseTimeUnit()));
+    }
+
+    private void writeMeter(Meter meter) {
+        for (Measurement measurement : meter.measure()) {
+            write(meter, measurement.getStatistic().getTagValueRepresentation(), measurement.getValue());
+        }
+    }
+
+    private void write(Meter meter, String attribute, double value) {
+        write(meter, suffixes.computeIfAbsent(attribute, this::renderSuffix), value);
+    }
+
+    private void write(Meter meter, byte[] suffix, double value) {
+        if (!Double.isFinite(value)) {
+            return;
+        }
+        byte[] name = names.computeIfAbsent(meter.getId(),
+                id -> nameMapper.toHierarchicalName(id, config().namingConvention()).getBytes(UTF_8));
+        try {
+            if (!writer.write(name, suffix, value)) {
+                logger.debug("skipping a metric of {} that doesn't fit the write buffer", meter.getId().getName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The metric attribute is appended as {@code GraphiteReporter} does, as a separate tag when Graphite tags are
+     * enabled.
+     */
+    private byte[] renderSuffix(String attribute) {
+        return (config.graphiteTagsEnabled() ? ";metricattribute=" + attribute : "." + attribute).getBytes(UTF_8);
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return config.durationUnits();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        synchronized (this) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.debug("failed to close the connection to graphite", e);
+            }
+        }
+    }
+
+    public static class Builder {
+        private final GraphiteConfig config;
+
+        private Clock clock = Clock.SYSTEM;
+        private ThreadFactory threadFactory = DEFAULT_THREAD_FACTORY;
+        private HierarchicalNameMapper nameMapper;
+
+        Builder(GraphiteConfig config) {
+            this.config = config;
+            this.nameMapper = defaultNameMapper(config);
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = threadFactory;
+            return this;
+        }
+
+        public Builder nameMapper(HierarchicalNameMapper nameMapper) {
+            this.nameMapper = nameMapper;
+            return this;
+        }
+
+        public GraphiteStepMeterRegistry build() {
+            return new GraphiteStepMeterRegistry(config, clock, nameMapper, threadFactory);
+        }
+    }
+}
@@ -36,6 +36,14 @@ class GraphiteConfigTest {
                 .containsOnly("must contain a valid time unit");
     }
 
+    @Test
+    void invalidWriteBufferSize() {
+        props.put("graphite.writeBufferSize", "10");
+
+        assertThat(config.validate().failures().stream().map(Validated.Invalid::getMessage))
+                .containsOnly("must be at least 64");
+    }
+
     @Test
     void valid() {
         assertThat(config.validate().isValid()).isTrue();
@@ -0,0 +1,240 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.graphite;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.lang.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphiteStepMeterRegistryTest {
+    private final MockClock clock = new MockClock();
+    private final ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+    GraphiteStepMeterRegistryTest() throws IOException {
+        server.setSoTimeout(10_000);
+    }
+
+    @AfterEach
+    void closeServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void plaintextLinesWithStepCounts() throws IOException {
+        GraphiteStepMeterRegistry registry = new GraphiteStepMeterRegistry(config(GraphiteProtocol.PLAINTEXT, server.getLocalPort(), 65536), clock);
+        registry.counter("my.counter", "application", "app").increment(3);
+        Timer.builder("my.timer").publishPercentiles(0.99).register(registry).record(Duration.ofMillis(10));
+        clock.add(GraphiteConfig.DEFAULT.step());
+
+        registry.publish();
+        registry.close();
+
+        try (Socket socket = server.accept()) {
+            List<String> lines = readLines(socket);
+            assertThat(lines).contains(
+                    "app.myCounter.count 3 60",
+                    "myTimer.count 1 60",
+                    "myTimer.sum 10 60",
+                    "myTimer.mean 10 60",
+                    "myTimer.max 10 60");
+            assertThat(lines).anyMatch(line -> line.startsWith("myTimerPercentile.phi.0_99 "));
+        }
+    }
+
+    @Test
+    void pickleMessagesAreSplitAtTheWriteBufferSize() throws IOException {
+        GraphiteStepMeterRegistry registry = new GraphiteStepMeterRegistry(config(GraphiteProtocol.PICKLED, server.getLocalPort(), 128), clock);
+        for (int i = 0; i < 10; i++) {
+            registry.gauge("my.gauge" + i, i);
+        }
+
+        registry.publish();
+        registry.close();
+
+        List<String> messages = new ArrayList<>();
+        try (Socket socket = server.accept()) {
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            int length;
+            while ((length = readLength(in)) >= 0) {
+                byte[] message = new byte[length];
+                in.readFully(message);
+                messages.add(new String(message, StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(messages).hasSizeGreaterThan(1);
+        assertThat(messages).allMatch(message -> message.length() + 4 <= 128 && message.startsWith("(l") && message.endsWith("a."));
+        assertThat(String.join("", messages))
+                .contains("(S'myGauge0'\n(I0\nS'0'\ntta")
+                .contains("(S'myGauge9'\n(I0\nS'9'\ntta");
+    }
+
+    @Test
+    void udpDatagramsWithGraphiteTags() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            socket.setSoTimeout(10_000);
+            GraphiteStepMeterRegistry registry = GraphiteStepMeterRegistry.builder(new GraphiteConfig() {
+                @Override
+                @Nullable
+                public String get(String key) {
+                    return null;
+                }
+
+                @Override
+                public boolean enabled() {
+                    return false;
+                }
+
+                @Override
+                public GraphiteProtocol protocol() {
+                    return GraphiteProtocol.UDP;
+                }
+
+                @Override
+                public int port() {
+                    return socket.getLocalPort();
+                }
+            }).clock(clock).build();
+            registry.timer("my.timer", "key", "value").record(1, TimeUnit.MILLISECONDS);
+            clock.add(GraphiteConfig.DEFAULT.step());
+
+            registry.publish();
+            registry.close();
+
+            DatagramPacket packet = new DatagramPacket(new byte[GraphiteStepMeterRegistry.MAX_DATAGRAM_LENGTH], GraphiteStepMeterRegistry.MAX_DATAGRAM_LENGTH);
+            socket.receive(packet);
+            assertThat(new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8))
+                    .contains("my.timer;key=value;metricattribute=max 1 60\n");
+        }
+    }
+
+    @Test
+    void reconnectAfterGraphiteClosesTheConnection() throws IOException {
+        GraphiteStepMeterRegistry registry = new GraphiteStepMeterRegistry(config(GraphiteProtocol.PLAINTEXT, server.getLocalPort(), 65536), clock);
+        registry.gauge("my.gauge", 1);
+
+        registry.publish();
+        try (Socket socket = server.accept()) {
+            assertThat(new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine())
+                    .isEqualTo("myGauge 1 0");
+        }
+
+        registry.publish();
+        registry.close();
+        try (Socket socket = server.accept()) {
+            assertThat(readLines(socket)).containsExactly("myGauge 1 0");
+        }
+    }
+
+    @Test
+    void publishDoesNotThrowWhenGraphiteIsUnreachable() throws IOException {
+        int port = server.getLocalPort();
+        server.close();
+
+        GraphiteStepMeterRegistry registry = new GraphiteStepMeterRegistry(config(GraphiteProtocol.PICKLED, port, 65536), clock);
+        registry.gauge("my.gauge", 1);
+
+        registry.publish();
+        registry.close();
+    }
+
+    private static List<String> readLines(Socket socket) throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return -1;
+        }
+        return (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+    }
+
+    private static GraphiteConfig config(GraphiteProtocol protocol, int port, int writeBufferSize) {
+        return new GraphiteConfig() {
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+
+            @Override
+            public boolean graphiteTagsEnabled() {
+                return false;
+            }
+
+            @Override
+            public String[] tagsAsPrefix() {
+                return new String[]{"application"};
+            }
+
+            @Override
+            public String host() {
+                return "localhost";
+            }
+
+            @Override
+            public GraphiteProtocol protocol() {
+                return protocol;
+            }
+
+            @Override
+            public int port() {
+                return port;
+            }
+
+            @Override
+            public int writeBufferSize() {
+                return writeBufferSize;
+            }
+
+            @Override
+            public Duration writeTimeout() {
+                return Duration.ofSeconds(1);
+            }
+        };
+    }
+}
@@ -20,6 +20,7 @@ import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
 import io.micrometer.core.instrument.distribution.HistogramSupport;
 import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.search.Search;
@@ -29,13 +30,12 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.DoubleStream;
 
 import static io.micrometer.health.QueryUtils.MAX_OR_NAN;
 import static io.micrometer.health.QueryUtils.SUM_OR_NAN;
@@ -237,7 +237,7 @@ public abstract class ServiceLevelObjective {
             }
 
             public final NumericQuery count(Function<Search, Search> search) {
-                return new Instant(name, tags, baseUnit, failedMessage, requires, search, s -> s.meters().stream()
+                return new Instant(name, tags, baseUnit, failedMessage, requires, search, meters -> meters.stream()
                         .map(m -> {
                             if (m instanceof Counter) {
                                 return ((Counter) m).count();
@@ -263,7 +263,7 @@ public abstract class ServiceLevelObjective {
             }
 
             public final NumericQuery total(Function<Search, Search> search) {
-                return new Instant(name, tags, baseUnit, failedMessage, requires, search, s -> s.meters().stream()
+                return new Instant(name, tags, baseUnit, failedMessage, requires, search, meters -> meters.stream()
                         .map(m -> {
                             if (m instanceof DistributionSummary) {
                                 return ((DistributionSummary) m).totalAmount();
@@ -279,7 +279,7 @@ public abstract class ServiceLevelObjective {
             }
 
             public final NumericQuery maxPercentile(Function<Search, Search> search, double percentile) {
-                return new Instant(name, tags, baseUnit, failedMessage, requires, search, s -> s.meters().stream()
+                return new Instant(name, tags, baseUnit, failedMessage, requires, search, meters -> meters.stream()
                         .map(m -> {
                             if (!(m instanceof HistogramSupport)) {
                                 return Double.NaN;
@@ -297,7 +297,7 @@ public abstract class ServiceLevelObjective {
             }
 
             public final NumericQuery max(Function<Search, Search> search) {
-                return new Instant(name, tags, baseUnit, failedMessage, requires, search, s -> s.meters().stream()
+                return new Instant(name, tags, baseUnit, failedMessage, requires, search, meters -> meters.stream()
                         .map(m -> {
                             if (m instanceof DistributionSummary) {
                                 return ((DistributionSummary) m).max();
@@ -317,7 +317,7 @@ public abstract class ServiceLevelObjective {
              * @return The value of the first matching gauge time series.
              */
             public final NumericQuery value(Function<Search, Search> search) {
-                return new Instant(name, tags, baseUnit, failedMessage, requires, search, s -> s.meters().stream()
+                return new Instant(name, tags, baseUnit, failedMessage, requires, search, meters -> meters.stream()
                         .map(m -> {
                             if (m instanceof TimeGauge) {
                                 return ((TimeGauge) m).value(TimeUnit.NANOSECONDS);
@@ -452,19 +452,19 @@ public abstract class ServiceLevelObjective {
             }
 
             public final NumericQuery maxOver(Duration interval) {
-                return new OverInterval(this, interval, vs -> vs.max().orElse(Double.NaN));
+                return new OverInterval(this, interval, new OverInterval.Extremum(true));
             }
 
             public final NumericQuery minOver(Duration interval) {
-                return new OverInterval(this, interval, vs -> vs.min().orElse(Double.NaN));
+                return new OverInterval(this, interval, new OverInterval.Extremum(false));
             }
 
             public final NumericQuery sumOver(Duration interval) {
-                return new OverInterval(this, interval, DoubleStream::sum);
+                return new OverInterval(this, interval, new OverInterval.Sum(false));
             }
 
             public final NumericQuery averageOver(Duration interval) {
-                return new OverInterval(this, interval, vs -> vs.average().orElse(Double.NaN));
+                return new OverInterval(this, interval, new OverInterval.Sum(true));
             }
 
             abstract Collection<MeterFilter> acceptFilters();
@@ -472,27 +472,35 @@ public abstract class ServiceLevelObjective {
             abstract void tick(MeterRegistry registry);
         }
 
+        /**
+         * Each registry an instant query is evaluated against has the query's matching meters resolved once and then
+         * kept up to date by meter added and removed listeners. Registries are weakly referenced, since service level
+         * objectives are often shared across registries in static constants.
+         */
         static class Instant extends NumericQuery {
             private static final CompositeMeterRegistry NOOP_REGISTRY = new CompositeMeterRegistry(Clock.SYSTEM);
 
-            private final Function<Search, Search> search;
-            private final Function<Search, Double> toValue;
+            private final Function<Collection<Meter>, Double> toValue;
+            private final MeterFilter acceptFilter;
+
+            private final Map<MeterRegistry, MatchedMeters> matchedMeters = Collections.synchronizedMap(new WeakHashMap<>());
 
             Instant(String name, Tags tags, @Nullable String baseUnit,
                     @Nullable String failedMessage, Collection<MeterBinder> requires,
-                    Function<Search, Search> search, Function<Search, Double> toValue) {
+                    Function<Search, Search> search, Function<Collection<Meter>, Double> toValue) {
                 super(name, tags, baseUnit, failedMessage, requires);
-                this.search = search;
                 this.toValue = toValue;
+                this.acceptFilter = search.apply(Search.in(NOOP_REGISTRY)).acceptFilter();
             }
 
             protected Double getValue(MeterRegistry registry) {
-                return toValue.apply(search.apply(Search.in(registry)));
+                return toValue.apply(matchedMeters.computeIfAbsent(registry,
+                        r -> new MatchedMeters(r, acceptFilter)).meters.values());
             }
 
             @Override
             public Collection<MeterFilter> acceptFilters() {
-                return Collections.singleton(search.apply(Search.in(NOOP_REGISTRY)).acceptFilter());
+                return Collections.singleton(acceptFilter);
             }
 
             @Override
@@ -501,6 +509,49 @@ public abstract class ServiceLevelObjective {
             }
         }
 
+        /**
+         * The meters of a registry that a search's {@link Search#acceptFilter()} accepts. Holds no reference to the
+         * registry, which holds this through its listeners.
+         */
+        static class MatchedMeters {
+            private final Map<Meter.Id, Meter> meters = new ConcurrentHashMap<>();
+
+            MatchedMeters(MeterRegistry registry, MeterFilter acceptFilter) {
+                registry.config()
+                        .onMeterAdded(meter -> {
+                            if (acceptFilter.accept(meter.getId()) == MeterFilterReply.ACCEPT) {
+                                meters.put(meter.getId(), meter);
+                            }
+                        })
+                        .onMeterRemoved(this::removeIfSame);
+
+                List<Meter> resolved = new ArrayList<>();
+                for (Meter meter : registry.getMeters()) {
+                    if (acceptFilter.accept(meter.getId()) == MeterFilterReply.ACCEPT) {
+                        resolved.add(meter);
+                        meters.putIfAbsent(meter.getId(), meter);
+                    }
+                }
+
+                // a meter removed between the listeners being added and it being put above was missed by the listener
+                Set<Meter> stillRegistered = Collections.newSetFromMap(new IdentityHashMap<>());
+                stillRegistered.addAll(registry.getMeters());
+                for (Meter meter : resolved) {
+                    if (!stillRegistered.contains(meter)) {
+                        removeIfSame(meter);
+                    }
+                }
+            }
+
+            /**
+             * Meters are compared by identity, because a removed meter may have been replaced by a new meter with the
+             * same id, which is equal to it.
+             */
+            private void removeIfSame(Meter meter) {
+                meters.computeIfPresent(meter.getId(), (id, matched) -> matched == meter ? null : matched);
+            }
+        }
+
         static class ArithmeticOp extends NumericQuery {
             private final NumericQuery left;
             private final NumericQuery right;
@@ -533,18 +584,22 @@ public abstract class ServiceLevelObjective {
             }
         }
 
+        /**
+         * Aggregates the samples of a query taken on each tick within a sliding interval. The aggregate is updated as
+         * samples enter and leave the interval rather than recomputed from all samples on each evaluation.
+         */
         static class OverInterval extends NumericQuery {
-            private final Deque<Sample> samples = new ConcurrentLinkedDeque<>();
+            private final Deque<Sample> samples = new ArrayDeque<>();
 
             private final NumericQuery numericQuery;
             private final Duration interval;
-            private final Function<DoubleStream, Double> collector;
+            private final Window window;
 
-            OverInterval(NumericQuery q, Duration interval, Function<DoubleStream, Double> collector) {
+            OverInterval(NumericQuery q, Duration interval, Window window) {
                 super(q.name, q.tags, q.baseUnit, q.failedMessage, q.requires);
                 this.numericQuery = q;
                 this.interval = interval;
-                this.collector = collector;
+                this.window = window;
             }
 
             private static class Sample {
@@ -558,10 +613,8 @@ public abstract class ServiceLevelObjective {
             }
 
             @Override
-            protected Double getValue(MeterRegistry registry) {
-                return collector.apply(samples.stream()
-                        .mapToDouble(s -> s.sample)
-                        .filter(n -> !Double.isNaN(n)));
+            protected synchronized Double getValue(MeterRegistry registry) {
+                return window.value();
             }
 
             @Override
@@ -572,13 +625,115 @@ public abstract class ServiceLevelObjective {
             @Override
             public void tick(MeterRegistry registry) {
                 long time = registry.config().clock().monotonicTime();
+                Sample sample = new Sample(time, numericQuery.getValue(registry));
+
+                synchronized (this) {
+                    Sample first;
+                    while ((first = samples.peekFirst()) != null && Duration.ofNanos(time - first.tick).compareTo(interval) > 0) {
+                        samples.removeFirst();
+                        if (!Double.isNaN(first.sample)) {
+                            window.remove(first);
+                        }
+                    }
+
+                    samples.addLast(sample);
+                    if (!Double.isNaN(sample.sample)) {
+                        window.add(sample);
+                    }
+                }
+            }
 
-                Sample first = samples.peekFirst();
-                if (first != null && Duration.ofNanos(time - first.tick).compareTo(interval) > 0) {
-                    samples.removeFirst();
+            /**
+             * An aggregate of the non-NaN samples in the interval, which are added and removed in order.
+             */
+            interface Window {
+                void add(Sample sample);
+
+                void remove(Sample sample);
+
+                double value();
+            }
+
+            /**
+             * Running sum, compensated for the rounding error of adding and subtracting samples.
+             */
+            static class Sum implements Window {
+                private final boolean average;
+
+                private double sum;
+                private double compensation;
+                private int count;
+
+                Sum(boolean average) {
+                    this.average = average;
+                }
+
+                @Override
+                public void add(Sample sample) {
+                    count++;
+                    accumulate(sample.sample);
+                }
+
+                @Override
+                public void remove(Sample sample) {
+                    if (--count == 0) {
+                        sum = 0;
+                        compensation = 0;
+                    } else {
+                        accumulate(-sample.sample);
+                    }
+                }
+
+                private void accumulate(double value) {
+                    double y = value - compensation;
+                    double t = sum + y;
+                    compensation = (t - sum) - y;
+                    sum = t;
+                }
+
+                @Override
+                public double value() {
+                    if (average) {
+                        return count == 0 ? Double.NaN : sum / count;
+                    }
+                    return sum;
+                }
+            }
+
+            /**
+             * Keeps the samples that may still become the maximum (or minimum) once older samples leave the interval,
+             * in order, so that the first of them is always the current one.
+             */
+            static class Extremum implements Window {
+                private final Deque<Sample> candidates = new ArrayDeque<>();
+                private final boolean max;
+
+                Extremum(boolean max) {
+                    this.max = max;
                 }
 
-                samples.addLast(new Sample(time, numericQuery.getValue(registry)));
+                @Override
+                public void add(Sample sample) {
+                    Sample last;
+                    while ((last = candidates.peekLast()) != null &&
+                            (max ? last.sample <= sample.sample : last.sample >= sample.sample)) {
+                        candidates.removeLast();
+                    }
+                    candidates.addLast(sample);
+                }
+
+                @Override
+                public void remove(Sample sample) {
+                    if (candidates.peekFirst() == sample) {
+                        candidates.removeFirst();
+                    }
+                }
+
+                @Override
+                public double value() {
+                    Sample first = candidates.peekFirst();
+                    return first == null ? Double.NaN : first.sample;
+                }
             }
         }
     }
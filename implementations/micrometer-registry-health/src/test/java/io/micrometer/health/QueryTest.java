@@ -19,11 +19,13 @@ import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.util.TimeUtils;
+import io.micrometer.health.ServiceLevelObjective.SingleIndicator.NumericQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.micrometer.core.instrument.MockClock.clock;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -241,4 +243,86 @@ class QueryTest {
                         .healthy(registry)
         ).isTrue();
     }
+
+    @Test
+    void countFollowsMetersAddedAndRemovedAfterFirstEvaluation() {
+        NumericQuery count = ServiceLevelObjective
+                .build("timer.throughput")
+                .count(s -> s.name("my.timer"));
+        assertThat(count.getValue(registry)).isEqualTo(3);
+
+        Timer t3 = registry.timer("my.timer", "k", "v3");
+        t3.record(3, TimeUnit.SECONDS);
+        clock(registry).addSeconds(10);
+        assertThat(count.getValue(registry)).isEqualTo(1);
+
+        registry.remove(t3);
+        assertThat(count.getValue(registry)).isEqualTo(0);
+    }
+
+    private static final NumericQuery SHARED_COUNT = ServiceLevelObjective
+            .build("timer.throughput")
+            .count(s -> s.name("my.timer"));
+
+    @Test
+    void staticQueryEvaluatedAgainstTwoRegistries() {
+        HealthMeterRegistry other = HealthMeterRegistry
+                .builder(HealthConfig.DEFAULT)
+                .serviceLevelObjectives(ServiceLevelObjective.build("timer")
+                        .count(s -> s.name("my.timer")).isGreaterThan(0))
+                .clock(new MockClock())
+                .build();
+        other.timer("my.timer", "k", "other").record(1, TimeUnit.SECONDS);
+        clock(other).addSeconds(10);
+
+        assertThat(SHARED_COUNT.getValue(registry)).isEqualTo(3);
+        assertThat(SHARED_COUNT.getValue(other)).isEqualTo(1);
+
+        // each registry's matched meters follow that registry's own meters
+        Timer added = other.timer("my.timer", "k", "added");
+        added.record(1, TimeUnit.SECONDS);
+        added.record(1, TimeUnit.SECONDS);
+        clock(other).addSeconds(10);
+        assertThat(SHARED_COUNT.getValue(other)).isEqualTo(2);
+        assertThat(SHARED_COUNT.getValue(registry)).isEqualTo(3);
+    }
+
+    @Test
+    void overIntervalOnlyAggregatesSamplesWithinTheInterval() {
+        AtomicInteger value = new AtomicInteger();
+        HealthMeterRegistry registry = HealthMeterRegistry
+                .builder(HealthConfig.DEFAULT)
+                .serviceLevelObjectives(ServiceLevelObjective.build("gauge")
+                        .value(s -> s.name("my.gauge")).isGreaterThan(0))
+                .clock(new MockClock())
+                .build();
+        registry.gauge("my.gauge", value);
+
+        NumericQuery gauge = ServiceLevelObjective.build("gauge").value(s -> s.name("my.gauge"));
+        NumericQuery max = gauge.maxOver(Duration.ofSeconds(30));
+        NumericQuery min = gauge.minOver(Duration.ofSeconds(30));
+        NumericQuery sum = gauge.sumOver(Duration.ofSeconds(30));
+        NumericQuery average = gauge.averageOver(Duration.ofSeconds(30));
+
+        assertThat(max.getValue(registry)).isNaN();
+        assertThat(sum.getValue(registry)).isEqualTo(0);
+        assertThat(average.getValue(registry)).isNaN();
+
+        for (int sample : new int[]{5, 0, 2, 1, 1}) {
+            value.set(sample);
+            max.tick(registry);
+            min.tick(registry);
+            sum.tick(registry);
+            average.tick(registry);
+            clock(registry).addSeconds(10);
+        }
+
+        // the first sample is more than 30 seconds old when the last one is taken
+        assertThat(max.getValue(registry)).isEqualTo(2);
+        assertThat(min.getValue(registry)).isEqualTo(0);
+        assertThat(sum.getValue(registry)).isEqualTo(4);
+        assertThat(average.getValue(registry)).isEqualTo(1);
+
+        registry.close();
+    }
 }
@@ -26,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.net.MalformedURLException;
 import java.net.URLEncoder;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +45,7 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
     private final InfluxConfig config;
     private final HttpSender httpClient;
     private final Logger logger = LoggerFactory.getLogger(InfluxMeterRegistry.class);
+    private final MeterFragmentCache<String> linePrefixes = new MeterFragmentCache<>(this, this::linePrefix);
     private boolean databaseExists = false;
 
     @SuppressWarnings("deprecation")
@@ -221,15 +223,28 @@ public class InfluxMeterRegistry extends StepMeterRegistry {
     }
 
     private String influxLineProtocol(Meter.Id id, String metricType, Stream<Field> fields) {
-        String tags = getConventionTags(id).stream()
-                .filter(t -> StringUtils.isNotBlank(t.getValue()))
-                .map(t -> "," + t.getKey() + "=" + t.getValue())
-                .collect(joining(""));
-
-        return getConventionName(id)
-                + tags + ",metric_type=" + metricType + " "
-                + fields.map(Field::toString).collect(joining(","))
-                + " " + clock.wallTime();
+        StringBuilder line = new StringBuilder(linePrefixes.get(id)).append(metricType).append(' ');
+        for (Iterator<Field> it = fields.iterator(); it.hasNext(); ) {
+            Field field = it.next();
+            DoubleFormat.appendDecimalOrNan(line.append(field.key).append('='), field.value);
+            if (it.hasNext()) {
+                line.append(',');
+            }
+        }
+        return line.append(' ').append(clock.wallTime()).toString();
+    }
+
+    /**
+     * @return The part of a line that only depends on the meter: its name and tags, up to the metric type.
+     */
+    private String linePrefix(Meter.Id id) {
+        StringBuilder prefix = new StringBuilder(getConventionName(id));
+        for (Tag tag : getConventionTags(id)) {
+            if (StringUtils.isNotBlank(tag.getValue())) {
+                prefix.append(',').append(tag.getKey()).append('=').append(tag.getValue());
+            }
+        }
+        return prefix.append(",metric_type=").toString();
     }
 
     @Override
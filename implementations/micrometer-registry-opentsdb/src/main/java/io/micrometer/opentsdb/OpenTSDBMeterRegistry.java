@@ -19,6 +19,7 @@ import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.cumulative.CumulativeCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionTimer;
+import io.micrometer.core.instrument.cumulative.CumulativeIntegralCounter;
 import io.micrometer.core.instrument.distribution.CountAtBucket;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramSnapshot;
@@ -104,6 +105,11 @@ public class OpenTSDBMeterRegistry extends PushMeterRegistry {
         return new CumulativeCounter(id);
     }
 
+    @Override
+    protected Counter newIntegralCounter(Meter.Id id) {
+        return new CumulativeIntegralCounter(id);
+    }
+
     @Override
     public DistributionSummary newDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
         return new OpenTSDBDistributionSummary(id, clock, distributionStatisticConfig, scale, config.flavor());
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd;
+
+import io.micrometer.core.instrument.Statistic;
+import reactor.core.publisher.FluxSink;
+
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The recordings of a timer or distribution summary that haven't been sent yet, when
+ * {@link StatsdConfig#clientSideAggregation()} is enabled.
+ */
+class StatsdAggregation {
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder total = new DoubleAdder();
+    private final DoubleAccumulator max = new DoubleAccumulator(Math::max, 0);
+
+    /**
+     * StatsD counts are whole numbers, so the fraction of the total that couldn't be sent is carried over.
+     */
+    private double unsentTotal;
+
+    void record(double amount) {
+        count.increment();
+        total.add(amount);
+        max.accumulate(amount);
+    }
+
+    /**
+     * Send the count, total and max of the recordings since the last poll, if there were any.
+     */
+    synchronized void poll(StatsdLineBuilder lineBuilder, FluxSink<String> sink, Statistic totalStatistic) {
+        long count = this.count.sumThenReset();
+        if (count == 0) {
+            return;
+        }
+
+        double total = this.total.sumThenReset() + unsentTotal;
+        long wholeTotal = (long) total;
+        unsentTotal = total - wholeTotal;
+
+        sink.next(lineBuilder.count(count, Statistic.COUNT));
+        sink.next(lineBuilder.count(wholeTotal, totalStatistic));
+        sink.next(lineBuilder.gauge(max.getThenReset(), Statistic.MAX));
+    }
+}
@@ -15,7 +15,9 @@
  */
 package io.micrometer.statsd;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
+import io.micrometer.core.instrument.config.validate.InvalidReason;
 import io.micrometer.core.instrument.config.validate.Validated;
 
 import java.time.Duration;
@@ -59,7 +61,8 @@ public interface StatsdConfig extends MeterRegistryConfig {
     }
 
     /**
-     * @return The host name of the StatsD agent.
+     * @return The host name of the StatsD agent, or the path of its socket when {@link #protocol()} is
+     * {@link StatsdProtocol#UDS_DATAGRAM}.
      */
     default String host() {
         return getString(this, "host").orElse("localhost");
@@ -85,6 +88,7 @@ public interface StatsdConfig extends MeterRegistryConfig {
      * 1. Fast Ethernet (1432) - This is most likely for Intranets.
      * 2. Gigabit Ethernet (8932) - Jumbo frames can make use of this feature much more efficient.
      * 3. Commodity Internet (512) - If you are routing over the internet a value in this range will be reasonable. You might be able to go higher, but you are at the mercy of all the hops in your route.
+     * Unix domain sockets ({@link StatsdProtocol#UDS_DATAGRAM}) are not bound by an MTU, and larger packets such as 8192 mean fewer system calls.
      *
      * @return The max length of the payload.
      */
@@ -139,6 +143,36 @@ public interface StatsdConfig extends MeterRegistryConfig {
         return getBoolean(this, "buffered").orElse(true);
     }
 
+    /**
+     * When enabled, counters are accumulated in the application and sent once per {@link #pollingFrequency()}, and
+     * timers and distribution summaries send their count, total and max over the last polling interval instead of a
+     * line for every recording. Gauges send their last value on every poll either way. This bounds the number of lines
+     * sent per meter regardless of how often it is recorded to, at the cost of the agent no longer seeing individual
+     * timings, so percentiles computed by the agent are unavailable for timers and distribution summaries.
+     *
+     * @return {@code true} if counters, timers and distribution summaries should be aggregated before they are sent.
+     * Default is {@code false}.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default boolean clientSideAggregation() {
+        return getBoolean(this, "clientSideAggregation").orElse(false);
+    }
+
+    /**
+     * The fraction of timer and distribution summary recordings that are sent to the agent when
+     * {@link #clientSideAggregation()} is disabled. Sampled lines carry the rate (e.g. {@code |@0.1}) so that the
+     * agent scales the counts it derives from them back up. Recordings are always reflected in the meters' own
+     * count, total and max.
+     *
+     * @return The sample rate, greater than 0 and at most 1. Default is {@code 1}, sending every recording.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default double sampleRate() {
+        return getDouble(this, "sampleRate").orElse(1.0);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this,
@@ -147,7 +181,9 @@ public interface StatsdConfig extends MeterRegistryConfig {
                 check("port", StatsdConfig::port),
                 checkRequired("protocol", StatsdConfig::protocol),
                 checkRequired("pollingFrequency", StatsdConfig::pollingFrequency),
-                checkRequired("step", StatsdConfig::step)
+                checkRequired("step", StatsdConfig::step),
+                check("sampleRate", StatsdConfig::sampleRate)
+                        .andThen(v -> v.invalidateWhen(rate -> !(rate > 0 && rate <= 1), "must be greater than 0 and at most 1", InvalidReason.MALFORMED))
         );
     }
 }
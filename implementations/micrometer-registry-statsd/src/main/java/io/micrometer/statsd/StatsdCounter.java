@@ -18,6 +18,7 @@ package io.micrometer.statsd;
 import io.micrometer.core.instrument.AbstractMeter;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.util.MeterEquivalence;
+import io.micrometer.core.lang.Nullable;
 import reactor.core.publisher.FluxSink;
 
 import java.util.concurrent.atomic.DoubleAdder;
@@ -25,23 +26,52 @@ import java.util.concurrent.atomic.DoubleAdder;
 /**
  * @author Jon Schneider
  */
-public class StatsdCounter extends AbstractMeter implements Counter {
+public class StatsdCounter extends AbstractMeter implements Counter, StatsdPollable {
     private final StatsdLineBuilder lineBuilder;
     private final FluxSink<String> sink;
     private DoubleAdder count = new DoubleAdder();
     private volatile boolean shutdown;
 
-    StatsdCounter(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink) {
+    /**
+     * Increments that haven't been sent yet, when {@link StatsdConfig#clientSideAggregation()} is enabled.
+     */
+    @Nullable
+    private final DoubleAdder unsent;
+
+    StatsdCounter(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink, boolean aggregated) {
         super(id);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.unsent = aggregated ? new DoubleAdder() : null;
     }
 
     @Override
     public void increment(double amount) {
         if (!shutdown && amount > 0) {
             count.add(amount);
-            sink.next(lineBuilder.count((long) amount));
+            if (unsent != null) {
+                unsent.add(amount);
+            } else {
+                sink.next(lineBuilder.count((long) amount));
+            }
+        }
+    }
+
+    /**
+     * Send the increments since the last poll as a single count. StatsD counts are whole numbers, so the fraction
+     * that couldn't be sent is carried over to the next poll.
+     */
+    @Override
+    public synchronized void poll() {
+        if (unsent != null) {
+            double amount = unsent.sumThenReset();
+            long whole = (long) amount;
+            if (whole > 0) {
+                sink.next(lineBuilder.count(whole));
+            }
+            if (amount > whole) {
+                unsent.add(amount - whole);
+            }
         }
     }
 
@@ -63,5 +93,6 @@ public class StatsdCounter extends AbstractMeter implements Counter {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 }
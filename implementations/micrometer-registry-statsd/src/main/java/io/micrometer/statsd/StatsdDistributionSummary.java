@@ -18,16 +18,18 @@ package io.micrometer.statsd;
 import io.micrometer.core.instrument.AbstractDistributionSummary;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Statistic;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.TimeWindowMax;
 import io.micrometer.core.instrument.util.MeterEquivalence;
 import io.micrometer.core.lang.Nullable;
 import reactor.core.publisher.FluxSink;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
-public class StatsdDistributionSummary extends AbstractDistributionSummary {
+public class StatsdDistributionSummary extends AbstractDistributionSummary implements StatsdPollable {
     private final LongAdder count = new LongAdder();
     private final DoubleAdder amount = new DoubleAdder();
     private final TimeWindowMax max;
@@ -35,12 +37,19 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
     private final FluxSink<String> sink;
     private volatile boolean shutdown;
 
+    @Nullable
+    private final StatsdAggregation aggregation;
+    private final double sampleRate;
+
     StatsdDistributionSummary(Meter.Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink, Clock clock,
-                              DistributionStatisticConfig distributionStatisticConfig, double scale) {
+                              DistributionStatisticConfig distributionStatisticConfig, double scale,
+                              boolean aggregated, double sampleRate) {
         super(id, clock, distributionStatisticConfig, scale, false);
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.aggregation = aggregated ? new StatsdAggregation() : null;
+        this.sampleRate = sampleRate;
     }
 
     @Override
@@ -49,7 +58,20 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
             count.increment();
             this.amount.add(amount);
             max.record(amount);
-            sink.next(lineBuilder.histogram(amount));
+            if (aggregation != null) {
+                aggregation.record(amount);
+            } else if (sampleRate >= 1) {
+                sink.next(lineBuilder.histogram(amount));
+            } else if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                sink.next(lineBuilder.histogram(amount, sampleRate));
+            }
+        }
+    }
+
+    @Override
+    public void poll() {
+        if (aggregation != null) {
+            aggregation.poll(lineBuilder, sink, Statistic.TOTAL);
         }
     }
 
@@ -85,5 +107,6 @@ public class StatsdDistributionSummary extends AbstractDistributionSummary {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 }
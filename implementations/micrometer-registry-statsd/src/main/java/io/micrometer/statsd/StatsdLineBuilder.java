@@ -17,6 +17,7 @@ package io.micrometer.statsd;
 
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.util.DoubleFormat;
 
 /**
  * A StatsD format serializer for an individual {@link Meter}. There is an instance per
@@ -40,5 +41,25 @@ public interface StatsdLineBuilder {
 
     String histogram(double amount);
 
+    /**
+     * @param amount     The recorded amount.
+     * @param sampleRate The fraction of recordings that are sent.
+     * @return A histogram line with the sample rate, when it is less than 1.
+     * @since 1.7.0
+     */
+    default String histogram(double amount, double sampleRate) {
+        return sampleRate < 1 ? histogram(amount) + "|@" + DoubleFormat.decimalOrNan(sampleRate) : histogram(amount);
+    }
+
     String timing(double timeMs);
+
+    /**
+     * @param timeMs     The recorded time in milliseconds.
+     * @param sampleRate The fraction of recordings that are sent.
+     * @return A timing line with the sample rate, when it is less than 1.
+     * @since 1.7.0
+     */
+    default String timing(double timeMs, double sampleRate) {
+        return sampleRate < 1 ? timing(timeMs) + "|@" + DoubleFormat.decimalOrNan(sampleRate) : timing(timeMs);
+    }
 }
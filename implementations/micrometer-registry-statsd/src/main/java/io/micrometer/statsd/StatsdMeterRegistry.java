@@ -24,7 +24,12 @@ import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.util.HierarchicalNameMapper;
 import io.micrometer.core.lang.Nullable;
+import io.micrometer.core.util.internal.logging.InternalLogger;
+import io.micrometer.core.util.internal.logging.InternalLoggerFactory;
 import io.micrometer.statsd.internal.*;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainDatagramChannel;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.util.AttributeKey;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -38,6 +43,7 @@ import reactor.core.publisher.Mono;
 import reactor.netty.Connection;
 import reactor.netty.tcp.TcpClient;
 import reactor.netty.udp.UdpClient;
+import reactor.netty.udp.UdpResources;
 import reactor.util.context.Context;
 import reactor.util.retry.Retry;
 
@@ -72,6 +78,12 @@ import java.util.stream.DoubleStream;
  * @since 1.0.0
  */
 public class StatsdMeterRegistry extends MeterRegistry {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(StatsdMeterRegistry.class);
+
+    /**
+     * The number of lines waiting to be sent beyond which further lines are dropped.
+     */
+    private static final int LINE_BUFFER_CAPACITY = 1 << 16;
 
     private final StatsdConfig statsdConfig;
     private final HierarchicalNameMapper nameMapper;
@@ -82,6 +94,13 @@ public class StatsdMeterRegistry extends MeterRegistry {
     Disposable.Swap statsdConnection = Disposables.swap();
     private Disposable.Swap meterPoller = Disposables.swap();
 
+    /**
+     * Where meters write their lines when they are sent to an agent, packed into packets on their way to
+     * {@link #processor}.
+     */
+    @Nullable
+    private RingBufferFluxSink lineBuffer;
+
     @Nullable
     private Function<Meter.Id, StatsdLineBuilder> lineBuilderFunction;
 
@@ -126,9 +145,18 @@ public class StatsdMeterRegistry extends MeterRegistry {
         config().onMeterRemoved(meter ->
                 meter.use(
                         this::removePollableMeter,
-                        c -> ((StatsdCounter) c).shutdown(),
-                        t -> ((StatsdTimer) t).shutdown(),
-                        d -> ((StatsdDistributionSummary) d).shutdown(),
+                        c -> {
+                            removePollableMeter(c);
+                            ((StatsdCounter) c).shutdown();
+                        },
+                        t -> {
+                            removePollableMeter(t);
+                            ((StatsdTimer) t).shutdown();
+                        },
+                        d -> {
+                            removePollableMeter(d);
+                            ((StatsdDistributionSummary) d).shutdown();
+                        },
                         this::removePollableMeter,
                         this::removePollableMeter,
                         this::removePollableMeter,
@@ -145,8 +173,15 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
             try {
                 Class.forName("ch.qos.logback.classic.turbo.TurboFilter", false, getClass().getClassLoader());
-                this.fluxSink = new LogbackMetricsSuppressingFluxSink(fluxSink);
-            } catch (ClassNotFoundException e) {
+                fluxSink = new LogbackMetricsSuppressingFluxSink(fluxSink);
+            } catch (ClassNotFoundException ignored) {
+            }
+
+            if (lineSink == null) {
+                this.lineBuffer = new RingBufferFluxSink(fluxSink, LINE_BUFFER_CAPACITY, config.buffered(),
+                        config.maxPacketLength(), config.pollingFrequency());
+                this.fluxSink = lineBuffer;
+            } else {
                 this.fluxSink = fluxSink;
             }
             start();
@@ -207,27 +242,49 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
                 startPolling();
             } else {
+                if (lineBuffer != null) {
+                    lineBuffer.start();
+                }
                 final Publisher<String> publisher;
                 if (statsdConfig.buffered()) {
-                    publisher = BufferingFlux.create(Flux.from(this.processor), "\n", statsdConfig.maxPacketLength(), statsdConfig.pollingFrequency().toMillis())
-                            .onBackpressureLatest();
+                    publisher = Flux.from(this.processor).onBackpressureLatest();
                 } else {
                     publisher = this.processor;
                 }
                 if (statsdConfig.protocol() == StatsdProtocol.UDP) {
-                    prepareUdpClient(publisher);
+                    prepareUdpClient(publisher, UdpClient.create()
+                            .host(statsdConfig.host())
+                            .port(statsdConfig.port()));
                 } else if (statsdConfig.protocol() == StatsdProtocol.TCP) {
                     prepareTcpClient(publisher);
+                } else if (statsdConfig.protocol() == StatsdProtocol.UDS_DATAGRAM) {
+                    prepareUdsDatagramClient(publisher);
                 }
             }
         }
     }
 
-    private void prepareUdpClient(Publisher<String> publisher) {
+    /**
+     * Unix domain datagrams are sent by the same client as UDP, connected to the agent's socket through Netty's
+     * native epoll transport, so packets are still filled up to {@link StatsdConfig#maxPacketLength()} by the line
+     * buffer and the client reconnects the same way when the agent goes away.
+     */
+    private void prepareUdsDatagramClient(Publisher<String> publisher) {
+        if (!Epoll.isAvailable()) {
+            logger.warn("Unable to send metrics to the StatsD agent over a Unix domain socket at " + statsdConfig.host() +
+                    " because the native epoll transport is unavailable", Epoll.unavailabilityCause());
+            return;
+        }
+        prepareUdpClient(publisher, UdpClient.create()
+                .addressSupplier(() -> new DomainSocketAddress(statsdConfig.host()))
+                .bootstrap(bootstrap -> bootstrap
+                        .group(UdpResources.get().onClient(true))
+                        .channel(EpollDomainDatagramChannel.class)));
+    }
+
+    private void prepareUdpClient(Publisher<String> publisher, UdpClient client) {
         AtomicReference<UdpClient> udpClientReference = new AtomicReference<>();
-        UdpClient udpClient = UdpClient.create()
-                .host(statsdConfig.host())
-                .port(statsdConfig.port())
+        UdpClient udpClient = client
                 .handle((in, out) -> out
                         .sendString(publisher)
                         .neverComplete()
@@ -298,6 +355,10 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     public void stop() {
         if (started.compareAndSet(true, false)) {
+            if (lineBuffer != null) {
+                // sends what meters wrote before they were stopped
+                lineBuffer.stop();
+            }
             if (statsdConnection.get() != null) {
                 statsdConnection.get().dispose();
             }
@@ -351,7 +412,11 @@ public class StatsdMeterRegistry extends MeterRegistry {
 
     @Override
     protected Counter newCounter(Meter.Id id) {
-        return new StatsdCounter(id, lineBuilder(id), fluxSink);
+        StatsdCounter counter = new StatsdCounter(id, lineBuilder(id), fluxSink, statsdConfig.clientSideAggregation());
+        if (statsdConfig.clientSideAggregation()) {
+            pollableMeters.put(id, counter);
+        }
+        return counter;
     }
 
     @Override
@@ -372,9 +437,12 @@ public class StatsdMeterRegistry extends MeterRegistry {
             distributionStatisticConfig = addInfBucket(distributionStatisticConfig);
         }
 
-        Timer timer = new StatsdTimer(id, lineBuilder(id), fluxSink, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(),
-                statsdConfig.step().toMillis());
+        StatsdTimer timer = new StatsdTimer(id, lineBuilder(id), fluxSink, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(),
+                statsdConfig.step().toMillis(), statsdConfig.clientSideAggregation(), statsdConfig.sampleRate());
         HistogramGauges.registerWithCommonFormat(timer, this);
+        if (statsdConfig.clientSideAggregation()) {
+            pollableMeters.put(id, timer);
+        }
         return timer;
     }
 
@@ -387,8 +455,12 @@ public class StatsdMeterRegistry extends MeterRegistry {
             distributionStatisticConfig = addInfBucket(distributionStatisticConfig);
         }
 
-        DistributionSummary summary = new StatsdDistributionSummary(id, lineBuilder(id), fluxSink, clock, distributionStatisticConfig, scale);
+        StatsdDistributionSummary summary = new StatsdDistributionSummary(id, lineBuilder(id), fluxSink, clock, distributionStatisticConfig, scale,
+                statsdConfig.clientSideAggregation(), statsdConfig.sampleRate());
         HistogramGauges.registerWithCommonFormat(summary, this);
+        if (statsdConfig.clientSideAggregation()) {
+            pollableMeters.put(id, summary);
+        }
         return summary;
     }
 
@@ -23,5 +23,13 @@ package io.micrometer.statsd;
  */
 public enum StatsdProtocol {
     UDP,
-    TCP
+    TCP,
+
+    /**
+     * Datagrams over a Unix domain socket, whose path is given by {@link StatsdConfig#host()}. Requires Netty's
+     * native epoll transport, so it is only available on Linux.
+     *
+     * @since 1.7.0
+     */
+    UDS_DATAGRAM
 }
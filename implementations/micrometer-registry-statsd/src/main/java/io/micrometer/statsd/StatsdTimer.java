@@ -17,17 +17,20 @@ package io.micrometer.statsd;
 
 import io.micrometer.core.instrument.AbstractTimer;
 import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Statistic;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.step.StepDouble;
 import io.micrometer.core.instrument.util.TimeUtils;
+import io.micrometer.core.lang.Nullable;
 import reactor.core.publisher.FluxSink;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
-public class StatsdTimer extends AbstractTimer {
+public class StatsdTimer extends AbstractTimer implements StatsdPollable {
     private final LongAdder count = new LongAdder();
     private final DoubleAdder totalTime = new DoubleAdder();
     private final StatsdLineBuilder lineBuilder;
@@ -35,12 +38,19 @@ public class StatsdTimer extends AbstractTimer {
     private StepDouble max;
     private volatile boolean shutdown;
 
+    @Nullable
+    private final StatsdAggregation aggregation;
+    private final double sampleRate;
+
     StatsdTimer(Id id, StatsdLineBuilder lineBuilder, FluxSink<String> sink, Clock clock,
-                DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector, TimeUnit baseTimeUnit, long stepMillis) {
+                DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector, TimeUnit baseTimeUnit, long stepMillis,
+                boolean aggregated, double sampleRate) {
         super(id, clock, distributionStatisticConfig, pauseDetector, baseTimeUnit, false);
         this.max = new StepDouble(clock, stepMillis);
         this.lineBuilder = lineBuilder;
         this.sink = sink;
+        this.aggregation = aggregated ? new StatsdAggregation() : null;
+        this.sampleRate = sampleRate;
     }
 
     @Override
@@ -54,7 +64,20 @@ public class StatsdTimer extends AbstractTimer {
             // not necessary to ship max, as most StatsD agents calculate this themselves
             max.getCurrent().add(Math.max(msAmount - max.getCurrent().doubleValue(), 0));
 
-            sink.next(lineBuilder.timing(msAmount));
+            if (aggregation != null) {
+                aggregation.record(msAmount);
+            } else if (sampleRate >= 1) {
+                sink.next(lineBuilder.timing(msAmount));
+            } else if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                sink.next(lineBuilder.timing(msAmount, sampleRate));
+            }
+        }
+    }
+
+    @Override
+    public void poll() {
+        if (aggregation != null) {
+            aggregation.poll(lineBuilder, sink, Statistic.TOTAL_TIME);
         }
     }
 
@@ -79,5 +102,6 @@ public class StatsdTimer extends AbstractTimer {
 
     void shutdown() {
         this.shutdown = true;
+        poll();
     }
 }
@@ -23,6 +23,11 @@ import java.util.stream.Collectors;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 
+/**
+ * @deprecated since 1.7.0, {@link io.micrometer.statsd.StatsdMeterRegistry} packs lines into packets with a
+ * {@link RingBufferFluxSink} instead.
+ */
+@Deprecated
 public class BufferingFlux {
 
     private BufferingFlux() {
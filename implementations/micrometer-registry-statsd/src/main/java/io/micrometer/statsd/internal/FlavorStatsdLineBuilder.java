@@ -56,11 +56,28 @@ public abstract class FlavorStatsdLineBuilder implements StatsdLineBuilder {
         return line(DoubleFormat.decimalOrNan(amount), null, TYPE_HISTOGRAM);
     }
 
+    @Override
+    public String histogram(double amount, double sampleRate) {
+        return line(DoubleFormat.decimalOrNan(amount), null, sampled(TYPE_HISTOGRAM, sampleRate));
+    }
+
     @Override
     public String timing(double timeMs) {
         return line(DoubleFormat.decimalOrNan(timeMs), null, TYPE_TIMING);
     }
 
+    @Override
+    public String timing(double timeMs, double sampleRate) {
+        return line(DoubleFormat.decimalOrNan(timeMs), null, sampled(TYPE_TIMING, sampleRate));
+    }
+
+    /**
+     * Every flavor puts the sample rate right after the type, and before Datadog's tags.
+     */
+    private static String sampled(String type, double sampleRate) {
+        return sampleRate < 1 ? type + "|@" + DoubleFormat.decimalOrNan(sampleRate) : type;
+    }
+
     abstract String line(String amount, @Nullable Statistic stat, String type);
 
     protected String tags(@Nullable Statistic stat, @Nullable String otherTags, String keyValueSeparator, String preamble) {
@@ -0,0 +1,106 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.core.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue for any number of producers and a single consumer. Producers claim a slot by advancing the
+ * producer index and then publish their element into it, so an element can be claimed but not yet visible to the
+ * consumer for a moment. Offering to a full buffer fails rather than waiting.
+ *
+ * @param <E> The type of elements.
+ * @since 1.7.0
+ */
+public class MpscRingBuffer<E> {
+    private final AtomicReferenceArray<E> buffer;
+    private final int mask;
+    private final int capacity;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    /**
+     * Only written by the consumer. Producers read it to tell whether the slot they are about to claim was consumed.
+     */
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity The maximum number of elements, rounded up to a power of 2.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+        }
+        this.capacity = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    /**
+     * Safe to call from any thread.
+     *
+     * @param element The element to add.
+     * @return {@code false} if the buffer is full and the element was not added.
+     */
+    public boolean offer(E element) {
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1));
+
+        buffer.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Only to be called by the single consumer thread.
+     *
+     * @return The oldest element, or {@code null} if the buffer is empty.
+     */
+    @Nullable
+    public E poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        E element = buffer.get(offset);
+        if (element == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // the slot is claimed, wait for the producer to publish into it
+            do {
+                element = buffer.get(offset);
+            } while (element == null);
+        }
+
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
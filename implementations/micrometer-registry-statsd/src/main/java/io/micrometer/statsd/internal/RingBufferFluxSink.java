@@ -0,0 +1,282 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import io.micrometer.core.lang.Nullable;
+import reactor.core.Disposable;
+import reactor.core.publisher.FluxSink;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * A sink for StatsD lines that any number of threads write to through an {@link MpscRingBuffer}, and that a single
+ * flusher thread drains into packets for a downstream sink. When buffered, lines are joined by newlines into packets of
+ * at most {@code maxPacketLength} UTF-8 bytes, and a packet that isn't full is sent at most
+ * {@code maxTimeBetweenFlushes} after its first line. Otherwise, every line is its own packet.
+ * <p>
+ * Writing a line doesn't go through any reactive operator and doesn't lock. Lines written while the buffer is full or
+ * the sink is stopped are dropped, as a StatsD agent doesn't acknowledge lines anyway.
+ *
+ * @since 1.7.0
+ */
+public class RingBufferFluxSink implements FluxSink<String> {
+    private static final ThreadFactory THREAD_FACTORY = new NamedThreadFactory("statsd-line-flusher");
+
+    /**
+     * How long the flusher sleeps at most when there is nothing to send, so that it notices being stopped even if a
+     * wake-up were missed.
+     */
+    private static final long MAX_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final FluxSink<String> packets;
+    private final MpscRingBuffer<String> lines;
+    private final boolean buffered;
+    private final int maxPacketLength;
+    private final long maxNanosBetweenFlushes;
+
+    private final StringBuilder packet = new StringBuilder();
+    private int packetLength;
+    private long packetStart;
+
+    private volatile boolean accepting;
+
+    @Nullable
+    private volatile Thread flusher;
+
+    /**
+     * A flusher that was stopped but hadn't yet sent all the lines it accepted, guarded by this.
+     */
+    @Nullable
+    private Thread stoppedFlusher;
+
+    /**
+     * Set by the flusher before it parks, so that producers only pay for waking it up when it is idle.
+     */
+    private volatile boolean parked;
+
+    public RingBufferFluxSink(FluxSink<String> packets, int capacity, boolean buffered, int maxPacketLength,
+                              Duration maxTimeBetweenFlushes) {
+        this.packets = packets;
+        this.lines = new MpscRingBuffer<>(capacity);
+        this.buffered = buffered;
+        this.maxPacketLength = maxPacketLength;
+        this.maxNanosBetweenFlushes = maxTimeBetweenFlushes.toNanos();
+    }
+
+    /**
+     * Start accepting lines and the flusher thread. If the flusher of a previous start is still sending the lines it
+     * accepted, the new flusher waits for it to terminate before it drains anything, as the ring buffer only supports
+     * a single consumer.
+     */
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        Thread previous = stoppedFlusher;
+        stoppedFlusher = null;
+        Thread thread = THREAD_FACTORY.newThread(() -> {
+            awaitTermination(previous);
+            flushUntilStopped();
+        });
+        flusher = thread;
+        accepting = true;
+        thread.start();
+    }
+
+    /**
+     * Stop accepting lines, and wait for a little while for the flusher to send the lines that were accepted. A
+     * flusher that is still sending afterwards is waited for by the next flusher to start.
+     */
+    public synchronized void stop() {
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        accepting = false;
+        flusher = null;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            stoppedFlusher = thread;
+        }
+    }
+
+    private static void awaitTermination(@Nullable Thread previous) {
+        if (previous == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (previous.isAlive()) {
+            try {
+                previous.join();
+            } catch (InterruptedException e) {
+                // keep waiting, two threads must never drain the ring buffer at once
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public FluxSink<String> next(String line) {
+        if (accepting && lines.offer(line) && parked) {
+            Thread thread = flusher;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+        return this;
+    }
+
+    private void flushUntilStopped() {
+        Thread current = Thread.currentThread();
+        while (flusher == current) {
+            String line = lines.poll();
+            if (line != null) {
+                append(line);
+                continue;
+            }
+
+            long waitNanos = MAX_IDLE_NANOS;
+            if (packetLength > 0) {
+                waitNanos = packetStart + maxNanosBetweenFlushes - System.nanoTime();
+                if (waitNanos <= 0) {
+                    flush();
+                    continue;
+                }
+            }
+
+            parked = true;
+            if (lines.isEmpty() && flusher == current) {
+                LockSupport.parkNanos(this, Math.min(waitNanos, MAX_IDLE_NANOS));
+            }
+            parked = false;
+        }
+
+        for (String line = lines.poll(); line != null; line = lines.poll()) {
+            append(line);
+        }
+        flush();
+    }
+
+    private void append(String line) {
+        if (!buffered) {
+            send(line);
+            return;
+        }
+
+        int length = utf8Length(line) + 1;
+        if (packetLength > 0 && packetLength + length > maxPacketLength) {
+            flush();
+        }
+        if (packetLength == 0) {
+            packetStart = System.nanoTime();
+        }
+        packet.append(line).append('\n');
+        packetLength += length;
+    }
+
+    private void flush() {
+        if (packetLength > 0) {
+            String next = packet.toString();
+            packet.setLength(0);
+            packetLength = 0;
+            send(next);
+        }
+    }
+
+    private void send(String packet) {
+        try {
+            packets.next(packet);
+        } catch (RuntimeException ignored) {
+            // the packet is lost, as it would be on the network, but the flusher carries on with the next one
+        }
+    }
+
+    private static int utf8Length(String line) {
+        int length = line.length();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isHighSurrogate(c)) {
+                    // 4 bytes for the surrogate pair
+                    length += 2;
+                    i++;
+                } else {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public void complete() {
+        packets.complete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return packets.currentContext();
+    }
+
+    @Override
+    public void error(Throwable e) {
+        packets.error(e);
+    }
+
+    @Override
+    public long requestedFromDownstream() {
+        return packets.requestedFromDownstream();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return packets.isCancelled();
+    }
+
+    @Override
+    public FluxSink<String> onRequest(LongConsumer consumer) {
+        packets.onRequest(consumer);
+        return this;
+    }
+
+    @Override
+    public FluxSink<String> onCancel(Disposable d) {
+        packets.onCancel(d);
+        return this;
+    }
+
+    @Override
+    public FluxSink<String> onDispose(Disposable d) {
+        packets.onDispose(d);
+        return this;
+    }
+}
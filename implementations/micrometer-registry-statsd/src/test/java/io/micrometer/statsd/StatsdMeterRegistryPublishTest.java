@@ -18,13 +18,23 @@ package io.micrometer.statsd;
 import io.micrometer.core.Issue;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainDatagramChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.unix.DomainDatagramPacket;
+import io.netty.channel.unix.DomainSocketAddress;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import reactor.core.Disposable;
@@ -34,6 +44,8 @@ import reactor.netty.DisposableChannel;
 import reactor.netty.tcp.TcpServer;
 import reactor.netty.udp.UdpServer;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -42,6 +54,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
 import static org.awaitility.Awaitility.await;
 
 /**
@@ -68,7 +81,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     void receiveMetricsSuccessfully(StatsdProtocol protocol) throws InterruptedException {
         serverLatch = new CountDownLatch(3);
         server = startServer(protocol, 0);
@@ -85,7 +98,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     void resumeSendingMetrics_whenServerIntermittentlyFails(StatsdProtocol protocol) throws InterruptedException {
         serverLatch = new CountDownLatch(1);
         AtomicInteger writeCount = new AtomicInteger();
@@ -130,7 +143,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     @Issue("#1676")
     void stopAndStartMeterRegistrySendsMetrics(StatsdProtocol protocol) throws InterruptedException {
         serverLatch = new CountDownLatch(3);
@@ -172,7 +185,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     void whenBackendInitiallyDown_metricsSentAfterBackendStarts(StatsdProtocol protocol) throws InterruptedException {
         AtomicInteger writeCount = new AtomicInteger();
         serverLatch = new CountDownLatch(3);
@@ -210,7 +223,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     void whenRegistryStopped_doNotConnectToBackend(StatsdProtocol protocol) throws InterruptedException {
         serverLatch = new CountDownLatch(3);
         // start server to secure an open port
@@ -228,7 +241,7 @@ class StatsdMeterRegistryPublishTest {
     }
 
     @ParameterizedTest
-    @EnumSource(StatsdProtocol.class)
+    @EnumSource(value = StatsdProtocol.class, names = {"UDP", "TCP"})
     @Issue("#2177")
     void whenSendError_reconnectsAndWritesNewMetrics(StatsdProtocol protocol) throws InterruptedException {
         serverLatch = new CountDownLatch(3);
@@ -254,6 +267,115 @@ class StatsdMeterRegistryPublishTest {
         await().pollDelay(Duration.ofSeconds(1)).atMost(Duration.ofSeconds(3)).until(() -> serverMetricReadCount.get() == 3);
     }
 
+    @Test
+    void receiveMetricsOverUnixDomainSocket(@TempDir Path tempDir) throws InterruptedException {
+        assumeThat(Epoll.isAvailable()).isTrue();
+        serverLatch = new CountDownLatch(3);
+        String socketPath = tempDir.resolve("statsd.sock").toString();
+        EventLoopGroup group = new EpollEventLoopGroup(1);
+        try {
+            startUdsDatagramServer(group, socketPath, new AtomicInteger(), new AtomicInteger());
+
+            meterRegistry = new StatsdMeterRegistry(getUdsDatagramConfig(socketPath, false), Clock.SYSTEM);
+            startRegistryAndWaitForClient();
+            Counter counter = Counter.builder("my.counter").register(meterRegistry);
+            counter.increment();
+            counter.increment();
+            counter.increment();
+            assertThat(serverLatch.await(3, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void dropRateOverUnixDomainSocketUnderLoad(@TempDir Path tempDir) throws InterruptedException {
+        assumeThat(Epoll.isAvailable()).isTrue();
+        int lines = 50_000;
+        serverLatch = new CountDownLatch(lines);
+        String socketPath = tempDir.resolve("statsd.sock").toString();
+        AtomicInteger packets = new AtomicInteger();
+        AtomicInteger largestPacket = new AtomicInteger();
+        EventLoopGroup group = new EpollEventLoopGroup(1);
+        try {
+            startUdsDatagramServer(group, socketPath, packets, largestPacket);
+
+            StatsdConfig config = getUdsDatagramConfig(socketPath, true);
+            meterRegistry = new StatsdMeterRegistry(config, Clock.SYSTEM);
+            startRegistryAndWaitForClient();
+            Counter counter = Counter.builder("my.counter").register(meterRegistry);
+            for (int i = 0; i < lines; i++) {
+                counter.increment();
+            }
+
+            serverLatch.await(10, TimeUnit.SECONDS);
+            double dropRate = (double) serverLatch.getCount() / lines;
+            assertThat(dropRate).isLessThan(0.01);
+            assertThat(largestPacket.get()).isLessThanOrEqualTo(config.maxPacketLength());
+            assertThat(packets.get()).isLessThan(lines);
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    private void startUdsDatagramServer(EventLoopGroup group, String socketPath, AtomicInteger packets, AtomicInteger largestPacket) {
+        Channel channel = new Bootstrap()
+                .group(group)
+                .channel(EpollDomainDatagramChannel.class)
+                .handler(new SimpleChannelInboundHandler<DomainDatagramPacket>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, DomainDatagramPacket packet) {
+                        String lines = packet.content().toString(StandardCharsets.UTF_8);
+                        packets.incrementAndGet();
+                        largestPacket.accumulateAndGet(lines.length(), Math::max);
+                        for (String line : lines.split("\n")) {
+                            if (line.startsWith("my.counter")) {
+                                serverLatch.countDown();
+                                serverMetricReadCount.getAndIncrement();
+                            }
+                        }
+                    }
+                })
+                .bind(new DomainSocketAddress(socketPath))
+                .syncUninterruptibly()
+                .channel();
+        server = new DisposableChannel() {
+            @Override
+            public Channel channel() {
+                return channel;
+            }
+        };
+    }
+
+    private StatsdConfig getUdsDatagramConfig(String socketPath, boolean buffered) {
+        return new StatsdConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public String host() {
+                return socketPath;
+            }
+
+            @Override
+            public StatsdProtocol protocol() {
+                return StatsdProtocol.UDS_DATAGRAM;
+            }
+
+            @Override
+            public int maxPacketLength() {
+                return 8192;
+            }
+
+            @Override
+            public boolean buffered() {
+                return buffered;
+            }
+        };
+    }
+
     private void trackWritesForUdpClient(StatsdProtocol protocol, AtomicInteger writeCount) {
         if (protocol == StatsdProtocol.UDP) {
             await().until(() -> meterRegistry.statsdConnection.get() != null);
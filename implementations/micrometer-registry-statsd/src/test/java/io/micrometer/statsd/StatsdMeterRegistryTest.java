@@ -35,7 +35,9 @@ import reactor.test.StepVerifier;
 import reactor.util.concurrent.Queues;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -565,6 +567,176 @@ class StatsdMeterRegistryTest {
         assertThat(maxCount.await(10, TimeUnit.SECONDS)).isTrue();
     }
 
+    @Test
+    void aggregatedCounterIsSentOncePerPoll() {
+        List<String> lines = new ArrayList<>();
+        registry = StatsdMeterRegistry.builder(aggregatingConfig(true, 1))
+                .clock(clock)
+                .lineSink(lines::add)
+                .build();
+
+        Counter counter = registry.counter("my.counter", "my.tag", "val");
+        for (int i = 0; i < 3; i++) {
+            counter.increment(1.5);
+        }
+        assertThat(lines).isEmpty();
+
+        registry.poll();
+        assertThat(lines).containsExactly("my.counter:4|c|#statistic:count,my.tag:val");
+
+        counter.increment(0.5);
+        registry.poll();
+        registry.poll();
+        assertThat(lines).containsExactly(
+                "my.counter:4|c|#statistic:count,my.tag:val",
+                "my.counter:1|c|#statistic:count,my.tag:val");
+        assertThat(counter.count()).isEqualTo(5);
+    }
+
+    @Test
+    void aggregatedTimerAndSummarySendCountTotalAndMaxOncePerPoll() {
+        List<String> lines = new ArrayList<>();
+        registry = StatsdMeterRegistry.builder(aggregatingConfig(true, 1))
+                .clock(clock)
+                .lineSink(lines::add)
+                .build();
+
+        Timer timer = registry.timer("my.timer");
+        timer.record(1, TimeUnit.MILLISECONDS);
+        timer.record(3, TimeUnit.MILLISECONDS);
+        DistributionSummary summary = registry.summary("my.summary");
+        summary.record(2.5);
+        assertThat(lines).isEmpty();
+
+        registry.poll();
+        assertThat(lines).containsExactlyInAnyOrder(
+                "my.timer:2|c|#statistic:count",
+                "my.timer:4|c|#statistic:total",
+                "my.timer:3|g|#statistic:max",
+                "my.summary:1|c|#statistic:count",
+                "my.summary:2|c|#statistic:total",
+                "my.summary:2.5|g|#statistic:max");
+
+        lines.clear();
+        registry.poll();
+        assertThat(lines).isEmpty();
+
+        registry.remove(timer);
+        timer.record(1, TimeUnit.MILLISECONDS);
+        registry.poll();
+        assertThat(lines).isEmpty();
+    }
+
+    @Test
+    void removedAggregatedCounterSendsWhatWasNotSentYet() {
+        List<String> lines = new ArrayList<>();
+        registry = StatsdMeterRegistry.builder(aggregatingConfig(true, 1))
+                .clock(clock)
+                .lineSink(lines::add)
+                .build();
+
+        Counter counter = registry.counter("my.counter");
+        counter.increment(2);
+        registry.remove(counter);
+        registry.poll();
+
+        assertThat(lines).containsExactly("my.counter:2|c|#statistic:count");
+    }
+
+    @ParameterizedTest
+    @EnumSource(StatsdFlavor.class)
+    void sampledTimerLinesCarryTheSampleRate(StatsdFlavor flavor) {
+        String line = null;
+        switch (flavor) {
+            case ETSY:
+                line = "myTimer.myTag.val:1|ms|@0.5";
+                break;
+            case DATADOG:
+                line = "my.timer:1|ms|@0.5|#my.tag:val";
+                break;
+            case TELEGRAF:
+                line = "my_timer,my_tag=val:1|ms|@0.5";
+                break;
+            case SYSDIG:
+                line = "my.timer#my.tag=val:1|ms|@0.5";
+                break;
+            default:
+                fail("Unexpected flavor");
+        }
+
+        List<String> lines = new ArrayList<>();
+        registry = StatsdMeterRegistry.builder(new StatsdConfig() {
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public StatsdFlavor flavor() {
+                return flavor;
+            }
+
+            @Override
+            public double sampleRate() {
+                return 0.5;
+            }
+        })
+                .clock(clock)
+                .lineSink(lines::add)
+                .build();
+
+        Timer timer = registry.timer("my.timer", "my.tag", "val");
+        for (int i = 0; i < 1000; i++) {
+            timer.record(1, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(timer.count()).isEqualTo(1000);
+        assertThat(lines).hasSizeBetween(350, 650).containsOnly(line);
+    }
+
+    @Test
+    void sampledSummaryLinesCarryTheSampleRate() {
+        List<String> lines = new ArrayList<>();
+        registry = StatsdMeterRegistry.builder(aggregatingConfig(false, 0.25))
+                .clock(clock)
+                .lineSink(lines::add)
+                .build();
+
+        DistributionSummary summary = registry.summary("my.summary");
+        for (int i = 0; i < 1000; i++) {
+            summary.record(1);
+        }
+
+        assertThat(summary.count()).isEqualTo(1000);
+        assertThat(lines).hasSizeBetween(150, 350).containsOnly("my.summary:1|h|@0.25");
+    }
+
+    private static StatsdConfig aggregatingConfig(boolean clientSideAggregation, double sampleRate) {
+        return new StatsdConfig() {
+            @Override
+            @Nullable
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration pollingFrequency() {
+                return Duration.ofDays(1);
+            }
+
+            @Override
+            public boolean clientSideAggregation() {
+                return clientSideAggregation;
+            }
+
+            @Override
+            public double sampleRate() {
+                return sampleRate;
+            }
+        };
+    }
+
     private UnicastProcessor<String> lineProcessor() {
         return UnicastProcessor.create(Queues.<String>unboundedMultiproducer().get());
     }
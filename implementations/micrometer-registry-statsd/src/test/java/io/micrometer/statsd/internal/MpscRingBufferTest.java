@@ -0,0 +1,101 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MpscRingBuffer}.
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void offerFailsWhenFullAndPollIsFirstInFirstOut() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void concurrentProducersKeepTheirOwnOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] next = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertThat(element[1]).isEqualTo(next[(int) element[0]]++);
+            received++;
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.statsd.internal;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.DirectProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link RingBufferFluxSink}.
+ */
+class RingBufferFluxSinkTest {
+    private final Queue<String> packets = new ConcurrentLinkedQueue<>();
+
+    private RingBufferFluxSink sink(boolean buffered, int maxPacketLength, Duration maxTimeBetweenFlushes) {
+        DirectProcessor<String> processor = DirectProcessor.create();
+        processor.subscribe(packets::add);
+        return new RingBufferFluxSink(processor.sink(), 1024, buffered, maxPacketLength, maxTimeBetweenFlushes);
+    }
+
+    @Test
+    void packLinesIntoPacketsOfAtMostMaxPacketLength() {
+        RingBufferFluxSink sink = sink(true, 28, Duration.ofMinutes(1));
+        sink.start();
+        sink.next("twelve bytes").next("fourteen bytes").next("twelve bytes").next("fourteen bytes");
+        sink.stop();
+
+        assertThat(packets).containsExactly("twelve bytes\nfourteen bytes\n", "twelve bytes\nfourteen bytes\n");
+    }
+
+    @Test
+    void lineLongerThanMaxPacketLengthIsSentByItself() {
+        RingBufferFluxSink sink = sink(true, 10, Duration.ofMinutes(1));
+        sink.start();
+        sink.next("a").next("fourteen bytes").next("b");
+        sink.stop();
+
+        assertThat(packets).containsExactly("a\n", "fourteen bytes\n", "b\n");
+    }
+
+    @Test
+    void packetThatIsNotFullIsSentAfterMaxTimeBetweenFlushes() {
+        RingBufferFluxSink sink = sink(true, 1400, Duration.ofMillis(50));
+        sink.start();
+        try {
+            sink.next("twelve bytes");
+            await().atMost(Duration.ofSeconds(5)).until(() -> !packets.isEmpty());
+            assertThat(packets).containsExactly("twelve bytes\n");
+        } finally {
+            sink.stop();
+        }
+    }
+
+    @Test
+    void unbufferedLinesAreSentAsTheyAre() {
+        RingBufferFluxSink sink = sink(false, 1400, Duration.ofMinutes(1));
+        sink.start();
+        try {
+            sink.next("twelve bytes").next("fourteen bytes");
+            await().atMost(Duration.ofSeconds(5)).until(() -> packets.size() == 2);
+            assertThat(packets).containsExactly("twelve bytes", "fourteen bytes");
+        } finally {
+            sink.stop();
+        }
+    }
+
+    @Test
+    void linesWrittenWhileStoppedAreDropped() {
+        RingBufferFluxSink sink = sink(false, 1400, Duration.ofMinutes(1));
+        sink.next("before start");
+        sink.start();
+        sink.stop();
+        sink.next("while stopped");
+        sink.start();
+        sink.next("after restart");
+        sink.stop();
+
+        assertThat(packets).containsExactly("after restart");
+    }
+
+    @Test
+    void restartWhileSlowSenderIsStillSendingDoesNotStartASecondConsumer() throws InterruptedException {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger concurrentSends = new AtomicInteger();
+        AtomicInteger maxConcurrentSends = new AtomicInteger();
+
+        DirectProcessor<String> processor = DirectProcessor.create();
+        processor.subscribe(packet -> {
+            maxConcurrentSends.accumulateAndGet(concurrentSends.incrementAndGet(), Math::max);
+            try {
+                sending.countDown();
+                release.await();
+                packets.add(packet);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrentSends.decrementAndGet();
+            }
+        });
+        RingBufferFluxSink sink = new RingBufferFluxSink(processor.sink(), 1024, false, 1400, Duration.ofMinutes(1));
+
+        sink.start();
+        sink.next("first");
+        sending.await();
+
+        // gives up waiting for the flusher, which is blocked sending the first line
+        sink.stop();
+        sink.start();
+        sink.next("second").next("third");
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> packets.size() == 3);
+        sink.stop();
+
+        assertThat(packets).containsExactly("first", "second", "third");
+        assertThat(maxConcurrentSends).hasValue(1);
+    }
+
+    @Test
+    void manyProducers() throws InterruptedException {
+        RingBufferFluxSink sink = sink(true, 1400, Duration.ofMinutes(1));
+        sink.start();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            String producer = "producer" + p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    sink.next(producer + ":" + i + "|c");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sink.stop();
+
+        assertThat(packets).allMatch(packet -> packet.length() <= 1400 && packet.endsWith("\n"));
+        List<String> lines = new ArrayList<>();
+        for (String packet : packets) {
+            for (String line : packet.split("\n")) {
+                lines.add(line);
+            }
+        }
+        assertThat(lines).hasSize(800);
+        for (int p = 0; p < 4; p++) {
+            String producer = "producer" + p;
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                expected.add(producer + ":" + i + "|c");
+            }
+            assertThat(lines).filteredOn(line -> line.startsWith(producer + ":")).containsExactlyElementsOf(expected);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.cumulative.CumulativeCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionTimer;
+import io.micrometer.core.instrument.cumulative.CumulativeIntegralCounter;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.instrument.distribution.HistogramGauges;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
@@ -119,6 +120,11 @@ public class WavefrontMeterRegistry extends PushMeterRegistry {
         return new CumulativeCounter(id);
     }
 
+    @Override
+    protected Counter newIntegralCounter(Meter.Id id) {
+        return new CumulativeIntegralCounter(id);
+    }
+
     @Override
     protected LongTaskTimer newLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
         return new WavefrontLongTaskTimer(id, clock, distributionStatisticConfig, getBaseTimeUnit());
@@ -81,8 +81,15 @@ public abstract class AbstractTimer extends AbstractMeter implements Timer {
         initPauseDetector(pauseDetector);
 
         if (distributionStatisticConfig.isPublishingPercentiles()) {
-            // hdr-based histogram
-            this.histogram = new TimeWindowPercentileHistogram(clock, distributionStatisticConfig, supportsAggregablePercentiles);
+            Histogram percentileHistogram = Boolean.TRUE.equals(distributionStatisticConfig.isPercentileSketch()) ?
+                    // log-bucketed sketch
+                    new TimeWindowSketchHistogram(clock, distributionStatisticConfig, supportsAggregablePercentiles) :
+                    // hdr-based histogram
+                    new TimeWindowPercentileHistogram(clock, distributionStatisticConfig, supportsAggregablePercentiles);
+
+            // only some of the samples reach the percentile histogram when sampling, count, total and max are still exact
+            this.histogram = distributionStatisticConfig.isSamplingPercentiles() ?
+                    new SampledHistogram(percentileHistogram, clock, distributionStatisticConfig) : percentileHistogram;
         } else if (distributionStatisticConfig.isPublishingHistogram()) {
             // fixed boundary histograms, which have a slightly better memory footprint
             // when we don't need Micrometer-computed percentiles
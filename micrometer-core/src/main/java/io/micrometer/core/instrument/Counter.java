@@ -15,6 +15,7 @@
  */
 package io.micrometer.core.instrument;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.lang.Nullable;
 
 import java.util.Collections;
@@ -67,6 +68,8 @@ public interface Counter extends Meter {
         @Nullable
         private String baseUnit;
 
+        private boolean integral;
+
         private Builder(String name) {
             this.name = name;
         }
@@ -116,6 +119,19 @@ public interface Counter extends Meter {
             return this;
         }
 
+        /**
+         * Declares that the counter counts whole things, like events, so that registries can count in a {@code long},
+         * which is cheaper to increment than a {@code double}. Incrementing by a fractional amount is still allowed.
+         *
+         * @return The counter builder, declaring an integral counter.
+         * @since 1.7.0
+         */
+        @Incubating(since = "1.7.0")
+        public Builder integral() {
+            this.integral = true;
+            return this;
+        }
+
         /**
          * Add the counter to a single registry, or return an existing counter in that registry. The returned
          * counter will be unique for each registry, but each registry is guaranteed to only create one counter
@@ -125,7 +141,8 @@ public interface Counter extends Meter {
          * @return A new or existing counter.
          */
         public Counter register(MeterRegistry registry) {
-            return registry.counter(new Meter.Id(name, tags, baseUnit, description, Type.COUNTER));
+            Meter.Id id = new Meter.Id(name, tags, baseUnit, description, Type.COUNTER);
+            return integral ? registry.integralCounter(id) : registry.counter(id);
         }
     }
 }
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import io.micrometer.core.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonicalizes the names and tags of meter ids, so that the ids of many meters with overlapping tags share a single
+ * instance of each distinct string and tag instead of holding on to their own copies.
+ * <p>
+ * Canonical instances are only weakly referenced, so the memory used is proportional to the number of distinct names
+ * and tags of the meters that are still registered, and names and tags that only removed meters used are eventually
+ * forgotten.
+ */
+final class IdInterner {
+    private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+    private final Map<Tag, WeakReference<Tag>> tags = new WeakHashMap<>();
+
+    synchronized Meter.Id intern(Meter.Id id) {
+        List<Tag> internedTags = new ArrayList<>();
+        for (Tag tag : id.getTagsAsIterable()) {
+            internedTags.add(intern(tag));
+        }
+        return new Meter.Id(intern(id.getName()), Tags.of(internedTags), internNullable(id.getBaseUnit()),
+                internNullable(id.getDescription()), id.getType(), id.syntheticAssociation());
+    }
+
+    private Tag intern(Tag tag) {
+        WeakReference<Tag> ref = tags.get(tag);
+        Tag interned = ref == null ? null : ref.get();
+        if (interned == null) {
+            interned = Tag.of(intern(tag.getKey()), intern(tag.getValue()));
+            tags.put(interned, new WeakReference<>(interned));
+        }
+        return interned;
+    }
+
+    private String intern(String s) {
+        WeakReference<String> ref = strings.get(s);
+        String interned = ref == null ? null : ref.get();
+        if (interned == null) {
+            interned = s;
+            strings.put(s, new WeakReference<>(s));
+        }
+        return interned;
+    }
+
+    @Nullable
+    private String internNullable(@Nullable String s) {
+        return s == null ? null : intern(s);
+    }
+
+    synchronized int size() {
+        return strings.size() + tags.size();
+    }
+}
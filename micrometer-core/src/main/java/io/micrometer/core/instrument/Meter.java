@@ -190,6 +190,18 @@ public interface Meter {
         @Nullable
         private final String baseUnit;
 
+        /**
+         * The renderings of this id by the two naming conventions it was last rendered with. Ids are usually rendered
+         * with the convention of the registry they belong to on every publish, but an id shared by the children of a
+         * composite registry alternates between their conventions, so a second slot keeps those from evicting each
+         * other without the footprint of a map per id.
+         */
+        @Nullable
+        private volatile ConventionRendering conventionRendering;
+
+        @Nullable
+        private volatile ConventionRendering previousConventionRendering;
+
         @Incubating(since = "1.1.0")
         Id(String name, Tags tags, @Nullable String baseUnit, @Nullable String description, Type type,
            @Nullable Meter.Id syntheticAssociation) {
@@ -316,19 +328,46 @@ public interface Meter {
          * @return A name that has been stylized to a particular monitoring system's expectations.
          */
         public String getConventionName(NamingConvention namingConvention) {
-            return namingConvention.name(name, type, baseUnit);
+            ConventionRendering rendering = conventionRendering(namingConvention);
+            String conventionName = rendering.name;
+            if (conventionName == null) {
+                conventionName = namingConvention.name(name, type, baseUnit);
+                rendering.name = conventionName;
+            }
+            return conventionName;
         }
 
         /**
          * Tags that are sorted by key and formatted
          *
          * @param namingConvention The naming convention used to normalize the id's name.
-         * @return A list of tags that have been stylized to a particular monitoring system's expectations.
+         * @return An unmodifiable list of tags that have been stylized to a particular monitoring system's expectations.
          */
         public List<Tag> getConventionTags(NamingConvention namingConvention) {
-            return StreamSupport.stream(tags.spliterator(), false)
-                    .map(t -> Tag.of(namingConvention.tagKey(t.getKey()), namingConvention.tagValue(t.getValue())))
-                    .collect(Collectors.toList());
+            ConventionRendering rendering = conventionRendering(namingConvention);
+            List<Tag> conventionTags = rendering.tags;
+            if (conventionTags == null) {
+                conventionTags = Collections.unmodifiableList(StreamSupport.stream(tags.spliterator(), false)
+                        .map(t -> Tag.of(namingConvention.tagKey(t.getKey()), namingConvention.tagValue(t.getValue())))
+                        .collect(Collectors.toList()));
+                rendering.tags = conventionTags;
+            }
+            return conventionTags;
+        }
+
+        private ConventionRendering conventionRendering(NamingConvention namingConvention) {
+            ConventionRendering rendering = conventionRendering;
+            if (rendering != null && rendering.namingConvention == namingConvention) {
+                return rendering;
+            }
+            ConventionRendering previous = previousConventionRendering;
+            if (previous != null && previous.namingConvention == namingConvention) {
+                return previous;
+            }
+            ConventionRendering created = new ConventionRendering(namingConvention);
+            previousConventionRendering = rendering;
+            conventionRendering = created;
+            return created;
         }
 
         /**
@@ -388,6 +427,20 @@ public interface Meter {
         public Meter.Id syntheticAssociation() {
             return syntheticAssociation;
         }
+
+        private static class ConventionRendering {
+            private final NamingConvention namingConvention;
+
+            @Nullable
+            private volatile String name;
+
+            @Nullable
+            private volatile List<Tag> tags;
+
+            ConventionRendering(NamingConvention namingConvention) {
+                this.namingConvention = namingConvention;
+            }
+        }
     }
 
     /**
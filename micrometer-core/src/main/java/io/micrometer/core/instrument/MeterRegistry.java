@@ -18,6 +18,7 @@ package io.micrometer.core.instrument;
 import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.Meter.Id;
 import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterChain;
 import io.micrometer.core.instrument.config.MeterFilterReply;
 import io.micrometer.core.instrument.config.NamingConvention;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
@@ -78,6 +79,11 @@ public abstract class MeterRegistry {
     protected final Clock clock;
     private final Object meterMapLock = new Object();
     private volatile MeterFilter[] filters = new MeterFilter[0];
+    private volatile MeterFilterChain filterChain = MeterFilterChain.compile(filters);
+
+    @Nullable
+    private volatile IdInterner idInterner;
+
     private final List<Consumer<Meter>> meterAddedListeners = new CopyOnWriteArrayList<>();
     private final List<Consumer<Meter>> meterRemovedListeners = new CopyOnWriteArrayList<>();
     private final List<BiConsumer<Meter.Id, String>> meterRegistrationFailedListeners = new CopyOnWriteArrayList<>();
@@ -132,6 +138,20 @@ public abstract class MeterRegistry {
      */
     protected abstract Counter newCounter(Meter.Id id);
 
+    /**
+     * Build a new counter declared {@link Counter.Builder#integral() integral} to be added to the registry. Registries
+     * whose counters accumulate a {@code double} can return one that counts in a {@code long} instead. This is
+     * guaranteed to only be called if the counter doesn't already exist.
+     *
+     * @param id The id that uniquely identifies the counter.
+     * @return A new counter.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    protected Counter newIntegralCounter(Meter.Id id) {
+        return newCounter(id);
+    }
+
     /**
      * Build a new long task timer to be added to the registry. This is guaranteed to only be called if the long task timer doesn't already exist.
      *
@@ -284,6 +304,16 @@ public abstract class MeterRegistry {
         return registerMeterIfNecessary(Counter.class, id, this::newCounter, NoopCounter::new);
     }
 
+    /**
+     * Only used by {@link Counter#builder(String)} for counters declared {@link Counter.Builder#integral() integral}.
+     *
+     * @param id The identifier for this counter.
+     * @return A new or existing counter.
+     */
+    Counter integralCounter(Meter.Id id) {
+        return registerMeterIfNecessary(Counter.class, id, this::newIntegralCounter, NoopCounter::new);
+    }
+
     /**
      * Only used by {@link Gauge#builder(String, Object, ToDoubleFunction)}.
      *
@@ -577,11 +607,7 @@ public abstract class MeterRegistry {
         if (id.syntheticAssociation() != null) {
             return id;
         }
-        Id mappedId = id;
-        for (MeterFilter filter : filters) {
-            mappedId = filter.map(mappedId);
-        }
-        return mappedId;
+        return filterChain.map(id);
     }
 
     private Meter getOrCreateMeter(@Nullable DistributionStatisticConfig config,
@@ -602,6 +628,11 @@ public abstract class MeterRegistry {
                         return noopBuilder.apply(mappedId);
                     }
 
+                    IdInterner interner = idInterner;
+                    if (interner != null) {
+                        mappedId = interner.intern(mappedId);
+                    }
+
                     if (config != null) {
                         for (MeterFilter filter : filters) {
                             DistributionStatisticConfig filteredConfig = filter.configure(mappedId, config);
@@ -632,15 +663,7 @@ public abstract class MeterRegistry {
     }
 
     private boolean accept(Meter.Id id) {
-        for (MeterFilter filter : filters) {
-            MeterFilterReply reply = filter.accept(id);
-            if (reply == MeterFilterReply.DENY) {
-                return false;
-            } else if (reply == MeterFilterReply.ACCEPT) {
-                return true;
-            }
-        }
-        return true;
+        return filterChain.accept(id) != MeterFilterReply.DENY;
     }
 
     /**
@@ -753,6 +776,24 @@ public abstract class MeterRegistry {
             System.arraycopy(filters, 0, newFilters, 0, filters.length);
             newFilters[filters.length] = filter;
             filters = newFilters;
+            filterChain = MeterFilterChain.compile(newFilters);
+            return this;
+        }
+
+        /**
+         * Share a single instance of each distinct name and tag among the ids of meters registered from now on,
+         * rather than keeping the instances each meter was registered with. This reduces the memory used by
+         * registries holding many meters whose tags overlap. The shared instances are weakly referenced, so names and
+         * tags only used by meters that were removed are eventually forgotten.
+         *
+         * @return This configuration instance.
+         * @since 1.7.0
+         */
+        @Incubating(since = "1.7.0")
+        public synchronized Config internIds() {
+            if (idInterner == null) {
+                idInterner = new IdInterner();
+            }
             return this;
         }
 
@@ -17,14 +17,16 @@ package io.micrometer.core.instrument.binder.db;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.util.StringUtils;
-import java.util.HashMap;
-import java.util.Map;
 import org.jooq.ExecuteContext;
 import org.jooq.exception.DataAccessException;
 import org.jooq.impl.DefaultExecuteListener;
 
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 class JooqExecuteListener extends DefaultExecuteListener {
@@ -32,13 +34,22 @@ class JooqExecuteListener extends DefaultExecuteListener {
     private final Iterable<Tag> tags;
     private final Supplier<Iterable<Tag>> queryTagsSupplier;
 
-    private final Object sampleLock = new Object();
-    private final Map<ExecuteContext, Timer.Sample> sampleByExecuteContext = new HashMap<>();
+    /**
+     * Shared by every listener created for the same {@link MetricsDSLContext} so that the timer for a given
+     * combination of query tags and outcome is only built and registered once, until it is removed from the registry.
+     */
+    private final ConcurrentMap<TimerKey, Timer> timers;
 
     public JooqExecuteListener(MeterRegistry registry, Iterable<Tag> tags, Supplier<Iterable<Tag>> queryTags) {
+        this(registry, tags, queryTags, new ConcurrentHashMap<>());
+    }
+
+    JooqExecuteListener(MeterRegistry registry, Iterable<Tag> tags, Supplier<Iterable<Tag>> queryTags,
+                        ConcurrentMap<TimerKey, Timer> timers) {
         this.registry = registry;
         this.tags = tags;
         this.queryTagsSupplier = queryTags;
+        this.timers = timers;
     }
 
     @Override
@@ -52,10 +63,9 @@ class JooqExecuteListener extends DefaultExecuteListener {
     }
 
     private void startTimer(ExecuteContext ctx) {
-        Timer.Sample started = Timer.start(registry);
-        synchronized (sampleLock) {
-            sampleByExecuteContext.put(ctx, started);
-        }
+        // The data map is scoped to a single execution, so in-flight samples need no shared (locked) storage.
+        // This listener is the key so that the sample can't collide with data set by other listeners.
+        ctx.data(this, Timer.start(registry));
     }
 
     @Override
@@ -72,10 +82,7 @@ class JooqExecuteListener extends DefaultExecuteListener {
         Iterable<Tag> queryTags = queryTagsSupplier.get();
         if (queryTags == null) return;
 
-        Timer.Sample sample;
-        synchronized (sampleLock) {
-            sample = sampleByExecuteContext.remove(ctx);
-        }
+        Timer.Sample sample = (Timer.Sample) ctx.data().remove(this);
         if (sample == null) return;
 
         String exceptionName = "none";
@@ -96,14 +103,48 @@ class JooqExecuteListener extends DefaultExecuteListener {
             }
         }
 
-        //noinspection unchecked
-        sample.stop(Timer.builder("jooq.query")
+        TimerKey key = new TimerKey(Tags.of(queryTags), ctx.type().name().toLowerCase(), exceptionName, exceptionSubclass);
+        sample.stop(timers.computeIfAbsent(key, this::registerTimer));
+    }
+
+    private Timer registerTimer(TimerKey key) {
+        return Timer.builder("jooq.query")
                 .description("Execution time of a SQL query performed with JOOQ")
-                .tags(queryTags)
-                .tag("type", ctx.type().name().toLowerCase())
-                .tag("exception", exceptionName)
-                .tag("exception.subclass", exceptionSubclass)
+                .tags(key.queryTags)
+                .tag("type", key.type)
+                .tag("exception", key.exceptionName)
+                .tag("exception.subclass", key.exceptionSubclass)
                 .tags(tags)
-                .register(registry));
+                .register(registry);
+    }
+
+    static final class TimerKey {
+        private final Tags queryTags;
+        private final String type;
+        private final String exceptionName;
+        private final String exceptionSubclass;
+        private final int hashCode;
+
+        TimerKey(Tags queryTags, String type, String exceptionName, String exceptionSubclass) {
+            this.queryTags = queryTags;
+            this.type = type;
+            this.exceptionName = exceptionName;
+            this.exceptionSubclass = exceptionSubclass;
+            this.hashCode = Objects.hash(queryTags, type, exceptionName, exceptionSubclass);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TimerKey that = (TimerKey) o;
+            return queryTags.equals(that.queryTags) && type.equals(that.type) &&
+                    exceptionName.equals(that.exceptionName) && exceptionSubclass.equals(that.exceptionSubclass);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
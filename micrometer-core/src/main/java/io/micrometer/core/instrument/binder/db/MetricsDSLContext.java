@@ -19,6 +19,7 @@ import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.jooq.*;
 import org.jooq.Record;
 import org.jooq.conf.Settings;
@@ -41,6 +42,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -72,6 +75,7 @@ public class MetricsDSLContext implements DSLContext {
     private final MeterRegistry registry;
     private final Iterable<Tag> tags;
     private final ThreadLocal<Iterable<Tag>> contextTags = new ThreadLocal<>();
+    private final ConcurrentMap<JooqExecuteListener.TimerKey, Timer> timers = new ConcurrentHashMap<>();
 
     private final ExecuteListenerProvider defaultExecuteListenerProvider;
 
@@ -83,11 +87,14 @@ public class MetricsDSLContext implements DSLContext {
         this.registry = registry;
         this.tags = tags;
 
+        // recording to a removed timer would be lost, so resolve it again from the registry
+        registry.config().onMeterRemoved(meter -> timers.values().remove(meter));
+
         this.defaultExecuteListenerProvider = () -> new JooqExecuteListener(registry, tags, () -> {
             Iterable<Tag> queryTags = contextTags.get();
             contextTags.remove();
             return queryTags;
-        });
+        }, timers);
         Configuration configuration = context.configuration().derive();
         Configuration derivedConfiguration = derive(configuration, this.defaultExecuteListenerProvider);
 
@@ -102,7 +109,7 @@ public class MetricsDSLContext implements DSLContext {
     public Configuration time(Configuration c) {
         Iterable<Tag> queryTags = contextTags.get();
         contextTags.remove();
-        return derive(c, () -> new JooqExecuteListener(registry, tags, () -> queryTags));
+        return derive(c, () -> new JooqExecuteListener(registry, tags, () -> queryTags, timers));
     }
 
     private Configuration derive(Configuration configuration, ExecuteListenerProvider executeListenerProvider) {
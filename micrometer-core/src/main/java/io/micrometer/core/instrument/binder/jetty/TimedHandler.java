@@ -36,11 +36,16 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Adapted from Jetty's <a href="https://github.com/eclipse/jetty.project/blob/jetty-9.4.x/jetty-server/src/main/java/org/eclipse/jetty/server/handler/StatisticsHandler.java">StatisticsHandler</a>.
+ * <p>
+ * With the {@link DefaultHttpServletRequestTagsProvider}, request timers are resolved once per HTTP method and status
+ * rather than built for every request, until they are removed from the registry.
  *
  * @author Jon Schneider
  * @since 1.4.0
@@ -51,10 +56,22 @@ public class TimedHandler extends HandlerWrapper implements Graceful {
     private static final String SAMPLE_REQUEST_TIMER_ATTRIBUTE = "__micrometer_timer_sample";
     private static final String SAMPLE_REQUEST_LONG_TASK_TIMER_ATTRIBUTE = "__micrometer_ltt_sample";
 
+    /**
+     * Bounds the timer cache, as clients choose the HTTP method.
+     */
+    private static final int MAX_CACHED_TIMERS = 1000;
+
     private final MeterRegistry registry;
     private final Iterable<Tag> tags;
     private final HttpServletRequestTagsProvider tagsProvider;
 
+    /**
+     * The {@link DefaultHttpServletRequestTagsProvider} only derives tags from what a {@link TimerKey} is made of.
+     * Other providers may not, so their timers are resolved for every request.
+     */
+    private final boolean cacheTimers;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
     private final Shutdown shutdown = new Shutdown() {
         @Override
         protected FutureCallback newShutdownCallback() {
@@ -75,6 +92,11 @@ public class TimedHandler extends HandlerWrapper implements Graceful {
         this.registry = registry;
         this.tags = tags;
         this.tagsProvider = tagsProvider;
+        this.cacheTimers = tagsProvider.getClass() == DefaultHttpServletRequestTagsProvider.class;
+        if (cacheTimers) {
+            // recording to a removed timer would be lost, so resolve it again from the registry
+            registry.config().onMeterRemoved(meter -> timers.values().remove(meter));
+        }
 
         this.openRequests = LongTaskTimer.builder("jetty.server.dispatches.open")
                 .description("Jetty dispatches that are currently in progress")
@@ -133,11 +155,7 @@ public class TimedHandler extends HandlerWrapper implements Graceful {
                     asyncWaits.incrementAndGet();
                 }
             } else if (state.isInitial()) {
-                sample.stop(Timer.builder("jetty.server.requests")
-                        .description("HTTP requests to the Jetty server")
-                        .tags(tagsProvider.getTags(request, response))
-                        .tags(tags)
-                        .register(registry));
+                sample.stop(requestTimer(request, response));
 
                 requestSample.stop();
 
@@ -196,11 +214,7 @@ public class TimedHandler extends HandlerWrapper implements Graceful {
         LongTaskTimer.Sample lttSample = (LongTaskTimer.Sample) request.getAttribute(SAMPLE_REQUEST_LONG_TASK_TIMER_ATTRIBUTE);
 
         if (sample != null) {
-            sample.stop(Timer.builder("jetty.server.requests")
-                    .description("HTTP requests to the Jetty server")
-                    .tags(tagsProvider.getTags(request, request.getResponse()))
-                    .tags(tags)
-                    .register(registry));
+            sample.stop(requestTimer(request, request.getResponse()));
 
             lttSample.stop();
         }
@@ -218,4 +232,55 @@ public class TimedHandler extends HandlerWrapper implements Graceful {
         return new FutureCallback(openRequests.activeTasks() == 0);
     }
 
+    private Timer requestTimer(HttpServletRequest request, HttpServletResponse response) {
+        if (!cacheTimers) {
+            return buildRequestTimer(request, response);
+        }
+
+        TimerKey key = new TimerKey(request.getMethod(), response.getStatus());
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = buildRequestTimer(request, response);
+            if (timers.size() < MAX_CACHED_TIMERS) {
+                timers.putIfAbsent(key, timer);
+            }
+        }
+        return timer;
+    }
+
+    private Timer buildRequestTimer(HttpServletRequest request, HttpServletResponse response) {
+        return Timer.builder("jetty.server.requests")
+                .description("HTTP requests to the Jetty server")
+                .tags(tagsProvider.getTags(request, response))
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static final class TimerKey {
+        private final String method;
+        private final int status;
+
+        TimerKey(String method, int status) {
+            this.method = method;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TimerKey)) {
+                return false;
+            }
+            TimerKey that = (TimerKey) o;
+            return status == that.status && method.equals(that.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + status;
+        }
+    }
+
 }
@@ -18,6 +18,7 @@ package io.micrometer.core.instrument.binder.jvm;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.binder.BaseUnits;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.internal.TaskTracker;
 import io.micrometer.core.instrument.internal.TimedExecutor;
 import io.micrometer.core.instrument.internal.TimedExecutorService;
 import io.micrometer.core.instrument.internal.TimedScheduledExecutorService;
@@ -41,6 +42,14 @@ import static java.util.Arrays.asList;
  * Supports {@link ThreadPoolExecutor} and {@link ForkJoinPool} types of {@link ExecutorService}. Some libraries may provide
  * a wrapper type for {@link ExecutorService}, like {@link TimedExecutorService}. Make sure to pass the underlying,
  * unwrapped ExecutorService to this MeterBinder, if it is wrapped in another type.
+ * <p>
+ * The state of other types of {@link ExecutorService} can be supplied through {@link ExecutorStatistics}. Without them,
+ * an {@link ExecutorService} of another type that is instrumented through {@code monitor}, such as a thread-per-task
+ * executor of virtual threads, has its executing and completed tasks counted by its wrapper.
+ * <p>
+ * The {@literal executor.idle} timer measures how long tasks wait in the queue. Its distribution can be published
+ * like that of any other timer, e.g. by a {@link io.micrometer.core.instrument.config.MeterFilter} that configures
+ * percentile histograms.
  *
  * @author Jon Schneider
  * @author Clint Checketts
@@ -59,6 +68,9 @@ public class ExecutorServiceMetrics implements MeterBinder {
     private final Iterable<Tag> tags;
     private final String metricPrefix;
 
+    @Nullable
+    private final ExecutorStatistics statistics;
+
     public ExecutorServiceMetrics(@Nullable ExecutorService executorService, String executorServiceName, Iterable<Tag> tags) {
         this(executorService, executorServiceName, DEFAULT_EXECUTOR_METRIC_PREFIX, tags);
     }
@@ -74,9 +86,25 @@ public class ExecutorServiceMetrics implements MeterBinder {
      */
     public ExecutorServiceMetrics(@Nullable ExecutorService executorService, String executorServiceName,
                                   String metricPrefix, Iterable<Tag> tags) {
+        this(executorService, executorServiceName, metricPrefix, tags, null);
+    }
+
+    /**
+     * Create an {@code ExecutorServiceMetrics} instance.
+     *
+     * @param executorService executor service
+     * @param executorServiceName executor service name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param statistics the state of the executor service, when it is of a type this binder does not know how to read
+     * @since 1.7.0
+     */
+    public ExecutorServiceMetrics(@Nullable ExecutorService executorService, String executorServiceName,
+                                  String metricPrefix, Iterable<Tag> tags, @Nullable ExecutorStatistics statistics) {
         this.executorService = executorService;
         this.tags = Tags.concat(tags, "name", executorServiceName);
         this.metricPrefix = sanitizePrefix(metricPrefix);
+        this.statistics = statistics;
     }
 
     /**
@@ -105,10 +133,37 @@ public class ExecutorServiceMetrics implements MeterBinder {
      */
     public static Executor monitor(MeterRegistry registry, Executor executor, String executorName,
                                    String metricPrefix, Iterable<Tag> tags) {
+        return monitor(registry, executor, executorName, metricPrefix, tags, false);
+    }
+
+    /**
+     * Record metrics on the use of an {@link Executor}, accumulating the idle and execution times of tasks per worker
+     * thread rather than recording every task into {@link Timer Timers}. The times are published as
+     * {@link FunctionTimer FunctionTimers} with exact counts and totals, but without maximum or distribution. This
+     * suits executors running large numbers of short tasks, for which recording into timers costs about as much as the
+     * tasks themselves. Executors monitored under the same name, prefix and tags in a registry add up into the same
+     * meters, as they do when their tasks are recorded into timers.
+     *
+     * @param registry     The registry to bind metrics to.
+     * @param executor     The executor to instrument.
+     * @param executorName Will be used to tag metrics with "name".
+     * @param metricPrefix The prefix to use with meter names. This differentiates executor metrics that may have different tag sets.
+     * @param tags         Tags to apply to all recorded metrics.
+     * @return The instrumented executor, proxied.
+     * @since 1.7.0
+     */
+    public static Executor monitorWithAccumulatedTimings(MeterRegistry registry, Executor executor, String executorName,
+                                                         String metricPrefix, Iterable<Tag> tags) {
+        return monitor(registry, executor, executorName, metricPrefix, tags, true);
+    }
+
+    private static Executor monitor(MeterRegistry registry, Executor executor, String executorName,
+                                    String metricPrefix, Iterable<Tag> tags, boolean accumulateTimings) {
         if (executor instanceof ExecutorService) {
-            return monitor(registry, (ExecutorService) executor, executorName, metricPrefix, tags);
+            return monitor(registry, (ExecutorService) executor, executorName, metricPrefix, tags, accumulateTimings,
+                    null);
         }
-        return new TimedExecutor(registry, executor, executorName, sanitizePrefix(metricPrefix), tags);
+        return new TimedExecutor(registry, executor, executorName, sanitizePrefix(metricPrefix), tags, accumulateTimings);
     }
 
     /**
@@ -166,11 +221,56 @@ public class ExecutorServiceMetrics implements MeterBinder {
      */
     public static ExecutorService monitor(MeterRegistry registry, ExecutorService executor, String executorServiceName,
                                           String metricPrefix, Iterable<Tag> tags) {
+        return monitor(registry, executor, executorServiceName, metricPrefix, tags, false, null);
+    }
+
+    /**
+     * Record metrics on the use of an {@link ExecutorService} whose type this binder does not know how to read.
+     *
+     * @param registry            The registry to bind metrics to.
+     * @param executor            The executor to instrument.
+     * @param executorServiceName Will be used to tag metrics with "name".
+     * @param metricPrefix        The prefix to use with meter names. This differentiates executor metrics that may have different tag sets.
+     * @param tags                Tags to apply to all recorded metrics.
+     * @param statistics          The state of the executor.
+     * @return The instrumented executor, proxied.
+     * @since 1.7.0
+     */
+    public static ExecutorService monitor(MeterRegistry registry, ExecutorService executor, String executorServiceName,
+                                          String metricPrefix, Iterable<Tag> tags, ExecutorStatistics statistics) {
+        return monitor(registry, executor, executorServiceName, metricPrefix, tags, false, statistics);
+    }
+
+    /**
+     * Record metrics on the use of an {@link ExecutorService}, accumulating the idle and execution times of tasks per
+     * worker thread rather than recording every task into {@link Timer Timers}.
+     *
+     * @param registry            The registry to bind metrics to.
+     * @param executor            The executor to instrument.
+     * @param executorServiceName Will be used to tag metrics with "name".
+     * @param metricPrefix        The prefix to use with meter names. This differentiates executor metrics that may have different tag sets.
+     * @param tags                Tags to apply to all recorded metrics.
+     * @return The instrumented executor, proxied.
+     * @see #monitorWithAccumulatedTimings(MeterRegistry, Executor, String, String, Iterable)
+     * @since 1.7.0
+     */
+    public static ExecutorService monitorWithAccumulatedTimings(MeterRegistry registry, ExecutorService executor,
+                                                                String executorServiceName, String metricPrefix,
+                                                                Iterable<Tag> tags) {
+        return monitor(registry, executor, executorServiceName, metricPrefix, tags, true, null);
+    }
+
+    private static ExecutorService monitor(MeterRegistry registry, ExecutorService executor, String executorServiceName,
+                                           String metricPrefix, Iterable<Tag> tags, boolean accumulateTimings,
+                                           @Nullable ExecutorStatistics statistics) {
         if (executor instanceof ScheduledExecutorService) {
-            return monitor(registry, (ScheduledExecutorService) executor, executorServiceName, metricPrefix, tags);
+            return monitor(registry, (ScheduledExecutorService) executor, executorServiceName, metricPrefix, tags,
+                    accumulateTimings, statistics);
         }
-        new ExecutorServiceMetrics(executor, executorServiceName, metricPrefix, tags).bindTo(registry);
-        return new TimedExecutorService(registry, executor, executorServiceName, sanitizePrefix(metricPrefix), tags);
+        TaskTracker tracker = new ExecutorServiceMetrics(executor, executorServiceName, metricPrefix, tags, statistics)
+                .bindOrTrack(registry);
+        return new TimedExecutorService(registry, executor, executorServiceName, sanitizePrefix(metricPrefix), tags,
+                accumulateTimings, tracker);
     }
 
     /**
@@ -229,8 +329,36 @@ public class ExecutorServiceMetrics implements MeterBinder {
      */
     public static ScheduledExecutorService monitor(MeterRegistry registry, ScheduledExecutorService executor, String executorServiceName,
                                                    String metricPrefix, Iterable<Tag> tags) {
-        new ExecutorServiceMetrics(executor, executorServiceName, metricPrefix, tags).bindTo(registry);
-        return new TimedScheduledExecutorService(registry, executor, executorServiceName, sanitizePrefix(metricPrefix), tags);
+        return monitor(registry, executor, executorServiceName, metricPrefix, tags, false, null);
+    }
+
+    /**
+     * Record metrics on the use of a {@link ScheduledExecutorService}, accumulating the idle and execution times of
+     * tasks per worker thread rather than recording every task into {@link Timer Timers}.
+     *
+     * @param registry            The registry to bind metrics to.
+     * @param executor            The scheduled executor to instrument.
+     * @param executorServiceName Will be used to tag metrics with "name".
+     * @param metricPrefix        The prefix to use with meter names. This differentiates executor metrics that may have different tag sets.
+     * @param tags                Tags to apply to all recorded metrics.
+     * @return The instrumented scheduled executor, proxied.
+     * @see #monitorWithAccumulatedTimings(MeterRegistry, Executor, String, String, Iterable)
+     * @since 1.7.0
+     */
+    public static ScheduledExecutorService monitorWithAccumulatedTimings(MeterRegistry registry, ScheduledExecutorService executor,
+                                                                         String executorServiceName, String metricPrefix,
+                                                                         Iterable<Tag> tags) {
+        return monitor(registry, executor, executorServiceName, metricPrefix, tags, true, null);
+    }
+
+    private static ScheduledExecutorService monitor(MeterRegistry registry, ScheduledExecutorService executor,
+                                                    String executorServiceName, String metricPrefix,
+                                                    Iterable<Tag> tags, boolean accumulateTimings,
+                                                    @Nullable ExecutorStatistics statistics) {
+        TaskTracker tracker = new ExecutorServiceMetrics(executor, executorServiceName, metricPrefix, tags, statistics)
+                .bindOrTrack(registry);
+        return new TimedScheduledExecutorService(registry, executor, executorServiceName, sanitizePrefix(metricPrefix),
+                tags, accumulateTimings, tracker);
     }
 
     /**
@@ -276,23 +404,55 @@ public class ExecutorServiceMetrics implements MeterBinder {
             return;
         }
 
-        String className = executorService.getClass().getName();
+        if (!bindExecutorMeters(registry, executorService)) {
+            String className = executorService.getClass().getName();
+            if (allowIllegalReflectiveAccess) {
+                log.warn("Failed to bind as {} is unsupported.", className);
+            } else {
+                log.warn("Failed to bind as {} is unsupported or reflective access is not allowed.", className);
+            }
+        }
+    }
 
-        if (executorService instanceof ThreadPoolExecutor) {
+    /**
+     * Binds the metrics of the executor service, or counts its tasks with a tracker when its type is unsupported.
+     *
+     * @return The tracker the instrumented executor service should count its tasks with, if any.
+     */
+    @Nullable
+    private TaskTracker bindOrTrack(MeterRegistry registry) {
+        if (executorService == null || bindExecutorMeters(registry, executorService)) {
+            return null;
+        }
+        TaskTracker tracker = new TaskTracker();
+        monitor(registry, tracker);
+        return tracker;
+    }
+
+    private boolean bindExecutorMeters(MeterRegistry registry, ExecutorService executorService) {
+        if (statistics != null) {
+            monitor(registry, statistics);
+            return true;
+        } else if (executorService instanceof ThreadPoolExecutor) {
             monitor(registry, (ThreadPoolExecutor) executorService);
+            return true;
         } else if (executorService instanceof ForkJoinPool) {
             monitor(registry, (ForkJoinPool) executorService);
+            return true;
         } else if (allowIllegalReflectiveAccess) {
+            String className = executorService.getClass().getName();
+            ThreadPoolExecutor tp = null;
             if (className.equals("java.util.concurrent.Executors$DelegatedScheduledExecutorService")) {
-                monitor(registry, unwrapThreadPoolExecutor(executorService, executorService.getClass()));
+                tp = unwrapThreadPoolExecutor(executorService, executorService.getClass());
             } else if (className.equals("java.util.concurrent.Executors$FinalizableDelegatedExecutorService")) {
-                monitor(registry, unwrapThreadPoolExecutor(executorService, executorService.getClass().getSuperclass()));
-            } else {
-                log.warn("Failed to bind as {} is unsupported.", className);
+                tp = unwrapThreadPoolExecutor(executorService, executorService.getClass().getSuperclass());
+            }
+            if (tp != null) {
+                monitor(registry, tp);
+                return true;
             }
-        } else {
-            log.warn("Failed to bind as {} is unsupported or reflective access is not allowed.", className);
         }
+        return false;
     }
 
     /**
@@ -361,6 +521,43 @@ public class ExecutorServiceMetrics implements MeterBinder {
                 .register(registry);
     }
 
+    private void monitor(MeterRegistry registry, ExecutorStatistics statistics) {
+        FunctionCounter.builder(metricPrefix + "executor.completed", statistics, ExecutorStatistics::completed)
+                .tags(tags)
+                .description("The approximate total number of tasks that have completed execution")
+                .baseUnit(BaseUnits.TASKS)
+                .register(registry);
+
+        Gauge.builder(metricPrefix + "executor.active", statistics, ExecutorStatistics::active)
+                .tags(tags)
+                .description("The approximate number of tasks that are executing")
+                .baseUnit(BaseUnits.TASKS)
+                .register(registry);
+
+        Gauge.builder(metricPrefix + "executor.queued", statistics, ExecutorStatistics::queued)
+                .tags(tags)
+                .description("The approximate number of tasks that are queued for execution")
+                .baseUnit(BaseUnits.TASKS)
+                .register(registry);
+    }
+
+    /**
+     * Tasks that are queued are not known to the tracker, see {@link TaskTracker}.
+     */
+    private void monitor(MeterRegistry registry, TaskTracker tracker) {
+        FunctionCounter.builder(metricPrefix + "executor.completed", tracker, TaskTracker::completed)
+                .tags(tags)
+                .description("The approximate total number of tasks that have completed execution")
+                .baseUnit(BaseUnits.TASKS)
+                .register(registry);
+
+        Gauge.builder(metricPrefix + "executor.active", tracker, TaskTracker::active)
+                .tags(tags)
+                .description("The approximate number of tasks that are executing")
+                .baseUnit(BaseUnits.TASKS)
+                .register(registry);
+    }
+
     private void monitor(MeterRegistry registry, ForkJoinPool fj) {
         FunctionCounter.builder(metricPrefix + "executor.steals", fj, ForkJoinPool::getStealCount)
                 .tags(tags)
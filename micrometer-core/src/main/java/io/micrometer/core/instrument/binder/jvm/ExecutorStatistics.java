@@ -0,0 +1,45 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.binder.jvm;
+
+import io.micrometer.core.annotation.Incubating;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The state of an {@link ExecutorService} whose type {@link ExecutorServiceMetrics} does not know how to read, such as
+ * an event loop or an executor from another library. Values may be approximate.
+ *
+ * @since 1.7.0
+ * @see ExecutorServiceMetrics#monitor(io.micrometer.core.instrument.MeterRegistry, ExecutorService, String, String, Iterable, ExecutorStatistics)
+ */
+@Incubating(since = "1.7.0")
+public interface ExecutorStatistics {
+    /**
+     * @return The number of tasks that are queued for execution.
+     */
+    double queued();
+
+    /**
+     * @return The number of tasks that are executing.
+     */
+    double active();
+
+    /**
+     * @return The total number of tasks that have completed execution.
+     */
+    double completed();
+}
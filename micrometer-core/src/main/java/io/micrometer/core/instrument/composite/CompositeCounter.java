@@ -21,9 +21,20 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.noop.NoopCounter;
 
 class CompositeCounter extends AbstractCompositeMeter<Counter> implements Counter {
+    private final boolean integral;
 
     CompositeCounter(Meter.Id id) {
+        this(id, false);
+    }
+
+    CompositeCounter(Meter.Id id, boolean integral) {
         super(id);
+        this.integral = integral;
+    }
+
+    @Override
+    public void increment() {
+        forEachChild(Counter::increment);
     }
 
     @Override
@@ -43,10 +54,13 @@ class CompositeCounter extends AbstractCompositeMeter<Counter> implements Counte
 
     @Override
     Counter registerNewMeter(MeterRegistry registry) {
-        return Counter.builder(getId().getName())
+        Counter.Builder builder = Counter.builder(getId().getName())
                 .tags(getId().getTagsAsIterable())
                 .description(getId().getDescription())
-                .baseUnit(getId().getBaseUnit())
-                .register(registry);
+                .baseUnit(getId().getBaseUnit());
+        if (integral) {
+            builder.integral();
+        }
+        return builder.register(registry);
     }
 }
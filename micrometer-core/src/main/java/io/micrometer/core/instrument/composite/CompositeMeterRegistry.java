@@ -89,6 +89,11 @@ public class CompositeMeterRegistry extends MeterRegistry {
         return new CompositeCounter(id);
     }
 
+    @Override
+    protected Counter newIntegralCounter(Meter.Id id) {
+        return new CompositeCounter(id, true);
+    }
+
     @Override
     protected LongTaskTimer newLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
         return new CompositeLongTaskTimer(id, distributionStatisticConfig);
@@ -0,0 +1,403 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Places an upper bound on the number of distinct values of tag keys, separately for every meter name matching a
+ * configured prefix. Unlike {@link MeterFilter#maximumAllowableTags(String, String, int, MeterFilter)}, any number
+ * of name prefix and tag key pairs can be limited by one filter, and each meter name gets its own budget.
+ * <p>
+ * Once a meter name has used up its budget for a tag key, ids with values that have not been seen before are either
+ * bucketed into a single overflow tag value (by default {@value #DEFAULT_OVERFLOW_TAG_VALUE}) or denied. Both
+ * decisions take constant time and the memory needed is bounded by the configured limits. The number of distinct
+ * values actually offered is estimated with a fixed-size HyperLogLog sketch so that the size of a cardinality
+ * explosion stays observable after its values are no longer kept. State is kept for at most
+ * {@value #MAXIMUM_METER_NAMES} meter names; further names matching a prefix share one budget per limit, reported
+ * under the prefix followed by {@code *}.
+ * <p>
+ * When bound to a registry with {@link #bindTo(MeterRegistry)}, the filter publishes the following meters for each
+ * meter name and tag key that has overflowed, tagged with {@code meter.name} and {@code tag.key}:
+ * <ul>
+ *     <li>{@code meter.filter.cardinality.distinct}: estimated number of distinct tag values seen.</li>
+ *     <li>{@code meter.filter.cardinality.dropped}: estimated number of distinct tag values that were bucketed or
+ *     denied.</li>
+ *     <li>{@code meter.filter.cardinality.overflow}: number of distinct ids whose tag value was bucketed or denied.
+ *     Looking up an id again is not counted again, unless many other ids overflowed in between.</li>
+ * </ul>
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class CardinalityLimitingMeterFilter implements MeterFilter, MeterBinder {
+    public static final String DEFAULT_OVERFLOW_TAG_VALUE = "OTHER";
+
+    private static final String METER_NAME_PREFIX = "meter.filter.cardinality";
+
+    private static final int MAXIMUM_METER_NAMES = 1000;
+
+    /**
+     * The size of the table of ids that overflowed recently, per meter name and tag key. A power of two.
+     */
+    private static final int RECENT_OVERFLOWS = 64;
+
+    private final List<Limit> limits;
+
+    /**
+     * When {@code null}, overflowing ids are denied rather than bucketed.
+     */
+    @Nullable
+    private final String overflowTagValue;
+
+    /**
+     * Per meter name that some limit applies to, the state of each configured limit that applies to the name (or
+     * {@code null} when it doesn't).
+     */
+    private final ConcurrentMap<String, TagValues[]> tagValuesByName = new ConcurrentHashMap<>();
+
+    /**
+     * Per configured limit, the state shared by the names it applies to once {@link #tagValuesByName} is full.
+     */
+    private final TagValues[] sharedTagValues;
+
+    @Nullable
+    private volatile MeterRegistry registry;
+
+    private CardinalityLimitingMeterFilter(List<Limit> limits, @Nullable String overflowTagValue) {
+        this.limits = limits;
+        this.overflowTagValue = overflowTagValue;
+
+        this.sharedTagValues = new TagValues[limits.size()];
+        for (int i = 0; i < sharedTagValues.length; i++) {
+            Limit limit = limits.get(i);
+            sharedTagValues[i] = new TagValues(limit.meterNamePrefix + "*", limit.tagKey, limit.maximumTagValues);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        if (overflowTagValue == null) {
+            return id;
+        }
+
+        TagValues[] tagValues = tagValuesFor(id);
+        if (tagValues == null) {
+            return id;
+        }
+
+        List<String> overflowingTagKeys = null;
+        for (TagValues values : tagValues) {
+            if (values != null) {
+                String value = id.getTag(values.tagKey);
+                if (value != null && !values.admit(id, value)) {
+                    if (overflowingTagKeys == null) {
+                        overflowingTagKeys = new ArrayList<>(tagValues.length);
+                    }
+                    overflowingTagKeys.add(values.tagKey);
+                }
+            }
+        }
+
+        if (overflowingTagKeys == null) {
+            return id;
+        }
+
+        // one replaceTags for all overflowing keys rather than a withTag (and a sort) per key
+        List<Tag> tags = new ArrayList<>();
+        for (Tag tag : id.getTagsAsIterable()) {
+            tags.add(overflowingTagKeys.contains(tag.getKey()) ? Tag.of(tag.getKey(), overflowTagValue) : tag);
+        }
+        return id.replaceTags(tags);
+    }
+
+    @Override
+    public MeterFilterReply accept(Meter.Id id) {
+        if (overflowTagValue != null) {
+            return MeterFilterReply.NEUTRAL;
+        }
+
+        TagValues[] tagValues = tagValuesFor(id);
+        if (tagValues != null) {
+            for (TagValues values : tagValues) {
+                if (values != null) {
+                    String value = id.getTag(values.tagKey);
+                    if (value != null && !values.admit(id, value)) {
+                        return MeterFilterReply.DENY;
+                    }
+                }
+            }
+        }
+        return MeterFilterReply.NEUTRAL;
+    }
+
+    @Nullable
+    private TagValues[] tagValuesFor(Meter.Id id) {
+        String name = id.getName();
+        if (name.startsWith(METER_NAME_PREFIX)) {
+            return null;
+        }
+
+        TagValues[] tagValues = tagValuesByName.get(name);
+        if (tagValues != null) {
+            return tagValues;
+        }
+
+        // names no limit applies to are not kept, so that they don't grow the map
+        if (!isLimited(name)) {
+            return null;
+        }
+        if (tagValuesByName.size() >= MAXIMUM_METER_NAMES) {
+            return sharedTagValues(name);
+        }
+        return tagValuesByName.computeIfAbsent(name, this::createTagValues);
+    }
+
+    private boolean isLimited(String name) {
+        for (Limit limit : limits) {
+            if (name.startsWith(limit.meterNamePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TagValues[] createTagValues(String name) {
+        TagValues[] tagValues = new TagValues[limits.size()];
+        for (int i = 0; i < tagValues.length; i++) {
+            Limit limit = limits.get(i);
+            if (name.startsWith(limit.meterNamePrefix)) {
+                tagValues[i] = new TagValues(name, limit.tagKey, limit.maximumTagValues);
+            }
+        }
+        return tagValues;
+    }
+
+    private TagValues[] sharedTagValues(String name) {
+        TagValues[] tagValues = new TagValues[limits.size()];
+        for (int i = 0; i < tagValues.length; i++) {
+            if (name.startsWith(limits.get(i).meterNamePrefix)) {
+                tagValues[i] = sharedTagValues[i];
+            }
+        }
+        return tagValues;
+    }
+
+    // VisibleForTesting
+    int meterNameCount() {
+        return tagValuesByName.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        for (TagValues[] tagValues : tagValuesByName.values()) {
+            registerMetersOfOverflowed(tagValues, registry);
+        }
+        registerMetersOfOverflowed(sharedTagValues, registry);
+    }
+
+    private static void registerMetersOfOverflowed(TagValues[] tagValues, MeterRegistry registry) {
+        for (TagValues values : tagValues) {
+            if (values != null && values.overflows.sum() > 0) {
+                values.registerMeters(registry);
+            }
+        }
+    }
+
+    private class TagValues {
+        private final String name;
+        private final String tagKey;
+        private final int maximumTagValues;
+
+        private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Set once {@link #admitted} holds {@link #maximumTagValues} values, after which it no longer changes.
+         */
+        private volatile boolean full;
+
+        private final HyperLogLog distinct = new HyperLogLog();
+        private final LongAdder overflows = new LongAdder();
+        private final AtomicReferenceArray<Meter.Id> recentOverflows = new AtomicReferenceArray<>(RECENT_OVERFLOWS);
+        private final AtomicBoolean metersRegistered = new AtomicBoolean();
+
+        TagValues(String name, String tagKey, int maximumTagValues) {
+            this.name = name;
+            this.tagKey = tagKey;
+            this.maximumTagValues = maximumTagValues;
+        }
+
+        boolean admit(Meter.Id id, String value) {
+            distinct.offer(value);
+
+            if (value.equals(overflowTagValue) || admitted.contains(value)) {
+                return true;
+            }
+
+            // the set is complete once full is seen, so a value admitted concurrently is found by looking again
+            if (full ? admitted.contains(value) : tryAdmit(value)) {
+                return true;
+            }
+
+            countOverflow(id);
+            return false;
+        }
+
+        /**
+         * Checking the budget and admitting a value is one step, so that threads racing on the last free slot agree
+         * on which value got it. Only values not admitted yet get here, and none do once the budget is used up.
+         */
+        private synchronized boolean tryAdmit(String value) {
+            if (admitted.contains(value)) {
+                return true;
+            }
+            if (admitted.size() >= maximumTagValues) {
+                full = true;
+                return false;
+            }
+            admitted.add(value);
+            return true;
+        }
+
+        /**
+         * Filters see every lookup of an id, not only its first registration, so ids are remembered in a small
+         * direct-mapped table and counted again only once another id has taken their slot.
+         */
+        private void countOverflow(Meter.Id id) {
+            int hash = id.hashCode();
+            int slot = (hash ^ (hash >>> 16)) & (RECENT_OVERFLOWS - 1);
+            if (id.equals(recentOverflows.get(slot))) {
+                return;
+            }
+            recentOverflows.set(slot, id);
+
+            overflows.increment();
+            MeterRegistry registry = CardinalityLimitingMeterFilter.this.registry;
+            if (registry != null) {
+                registerMeters(registry);
+            }
+        }
+
+        long dropped() {
+            return Math.max(0, distinct.estimate() - admitted.size());
+        }
+
+        void registerMeters(MeterRegistry registry) {
+            if (!metersRegistered.compareAndSet(false, true)) {
+                return;
+            }
+
+            Tags tags = Tags.of("meter.name", name, "tag.key", tagKey);
+
+            Gauge.builder(METER_NAME_PREFIX + ".distinct", distinct, HyperLogLog::estimate)
+                    .tags(tags)
+                    .description("Estimated number of distinct values seen for a tag key of a meter name")
+                    .register(registry);
+
+            Gauge.builder(METER_NAME_PREFIX + ".dropped", this, TagValues::dropped)
+                    .tags(tags)
+                    .description("Estimated number of distinct tag values that exceeded the limit for a tag key of a meter name")
+                    .register(registry);
+
+            FunctionCounter.builder(METER_NAME_PREFIX + ".overflow", overflows, LongAdder::sum)
+                    .tags(tags)
+                    .description("Number of distinct ids whose tag value exceeded the limit for a tag key of a meter name")
+                    .register(registry);
+        }
+    }
+
+    private static class Limit {
+        private final String meterNamePrefix;
+        private final String tagKey;
+        private final int maximumTagValues;
+
+        Limit(String meterNamePrefix, String tagKey, int maximumTagValues) {
+            this.meterNamePrefix = meterNamePrefix;
+            this.tagKey = tagKey;
+            this.maximumTagValues = maximumTagValues;
+        }
+    }
+
+    public static class Builder {
+        private final List<Limit> limits = new ArrayList<>();
+
+        @Nullable
+        private String overflowTagValue = DEFAULT_OVERFLOW_TAG_VALUE;
+
+        Builder() {
+        }
+
+        /**
+         * @param meterNamePrefix  Apply the limit to meters whose name begins with this prefix. Each matching meter
+         *                         name is limited separately.
+         * @param tagKey           The tag to place an upper bound on.
+         * @param maximumTagValues The number of distinct values allowed for each matching meter name.
+         * @return This builder.
+         */
+        public Builder limitTagValues(String meterNamePrefix, String tagKey, int maximumTagValues) {
+            if (maximumTagValues < 0) {
+                throw new IllegalArgumentException("maximumTagValues must not be negative");
+            }
+            limits.add(new Limit(meterNamePrefix, tagKey, maximumTagValues));
+            return this;
+        }
+
+        /**
+         * @param overflowTagValue The tag value that replaces values exceeding a limit.
+         * @return This builder.
+         */
+        public Builder overflowTagValue(String overflowTagValue) {
+            this.overflowTagValue = overflowTagValue;
+            return this;
+        }
+
+        /**
+         * Deny meters with tag values exceeding a limit instead of bucketing them into an overflow tag value.
+         *
+         * @return This builder.
+         */
+        public Builder denyOverflow() {
+            this.overflowTagValue = null;
+            return this;
+        }
+
+        public CardinalityLimitingMeterFilter build() {
+            return new CardinalityLimitingMeterFilter(new ArrayList<>(limits), overflowTagValue);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.StreamSupport.stream;
+
+/**
+ * Built-in {@link MeterFilter} implementations that {@link MeterFilterChain} knows how to fuse. Each of them still
+ * behaves on its own exactly as the filter returned by the corresponding factory method on {@link MeterFilter}.
+ */
+final class FusibleMeterFilters {
+    private FusibleMeterFilters() {
+    }
+
+    /**
+     * A filter that only transforms tags, never the name or any other part of an id.
+     */
+    interface TagMappingFilter extends MeterFilter {
+        /**
+         * Apply the same transformation as {@link #map(Meter.Id)} to a mutable view of an id's tags.
+         *
+         * @param name The name of the id being mapped.
+         * @param tags The id's tags by key, in key order.
+         * @return {@code true} if the tags were changed.
+         */
+        boolean mapTags(String name, Map<String, Tag> tags);
+    }
+
+    static final class CommonTags implements TagMappingFilter {
+        private final Iterable<Tag> tags;
+
+        CommonTags(Iterable<Tag> tags) {
+            this.tags = tags;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            return id.replaceTags(Tags.concat(tags, id.getTagsAsIterable()));
+        }
+
+        @Override
+        public boolean mapTags(String name, Map<String, Tag> tags) {
+            boolean changed = false;
+            // Tags.of(..) resolves duplicate keys among the common tags the same way Tags.concat(..) does
+            for (Tag tag : Tags.of(this.tags)) {
+                if (tags.putIfAbsent(tag.getKey(), tag) == null) {
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+
+    static final class RenameTag implements TagMappingFilter {
+        private final String meterNamePrefix;
+        private final String fromTagKey;
+        private final String toTagKey;
+
+        RenameTag(String meterNamePrefix, String fromTagKey, String toTagKey) {
+            this.meterNamePrefix = meterNamePrefix;
+            this.fromTagKey = fromTagKey;
+            this.toTagKey = toTagKey;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            if (!id.getName().startsWith(meterNamePrefix))
+                return id;
+
+            List<Tag> tags = new ArrayList<>();
+            for (Tag tag : id.getTagsAsIterable()) {
+                if (tag.getKey().equals(fromTagKey))
+                    tags.add(Tag.of(toTagKey, tag.getValue()));
+                else tags.add(tag);
+            }
+
+            return id.replaceTags(tags);
+        }
+
+        @Override
+        public boolean mapTags(String name, Map<String, Tag> tags) {
+            if (!name.startsWith(meterNamePrefix) || fromTagKey.equals(toTagKey)) {
+                return false;
+            }
+
+            Tag from = tags.remove(fromTagKey);
+            if (from == null) {
+                return false;
+            }
+
+            // When the renamed key collides with an existing tag, map(..) keeps whichever of the two sorts last.
+            if (!tags.containsKey(toTagKey) || fromTagKey.compareTo(toTagKey) > 0) {
+                tags.put(toTagKey, Tag.of(toTagKey, from.getValue()));
+            }
+            return true;
+        }
+    }
+
+    static final class IgnoreTags implements TagMappingFilter {
+        private final String[] tagKeys;
+
+        IgnoreTags(String[] tagKeys) {
+            this.tagKeys = tagKeys;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            List<Tag> tags = stream(id.getTagsAsIterable().spliterator(), false)
+                    .filter(t -> {
+                        for (String tagKey : tagKeys) {
+                            if (t.getKey().equals(tagKey))
+                                return false;
+                        }
+                        return true;
+                    }).collect(toList());
+
+            return id.replaceTags(tags);
+        }
+
+        @Override
+        public boolean mapTags(String name, Map<String, Tag> tags) {
+            boolean changed = false;
+            for (String tagKey : tagKeys) {
+                if (tags.remove(tagKey) != null) {
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+    }
+
+    static final class ReplaceTagValues implements TagMappingFilter {
+        private final String tagKey;
+        private final Function<String, String> replacement;
+        private final String[] exceptions;
+
+        ReplaceTagValues(String tagKey, Function<String, String> replacement, String[] exceptions) {
+            this.tagKey = tagKey;
+            this.replacement = replacement;
+            this.exceptions = exceptions;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            List<Tag> tags = stream(id.getTagsAsIterable().spliterator(), false)
+                    .map(t -> {
+                        if (!t.getKey().equals(tagKey))
+                            return t;
+                        for (String exception : exceptions) {
+                            if (t.getValue().equals(exception))
+                                return t;
+                        }
+                        return Tag.of(tagKey, replacement.apply(t.getValue()));
+                    })
+                    .collect(toList());
+
+            return id.replaceTags(tags);
+        }
+
+        @Override
+        public boolean mapTags(String name, Map<String, Tag> tags) {
+            Tag tag = tags.get(tagKey);
+            if (tag == null) {
+                return false;
+            }
+            for (String exception : exceptions) {
+                if (tag.getValue().equals(exception)) {
+                    return false;
+                }
+            }
+            tags.put(tagKey, Tag.of(tagKey, replacement.apply(tag.getValue())));
+            return true;
+        }
+    }
+
+    /**
+     * Replies with a fixed {@link MeterFilterReply} for ids whose name starts with a prefix.
+     */
+    static final class NamePrefix implements MeterFilter {
+        final String prefix;
+        final MeterFilterReply onMatch;
+
+        NamePrefix(String prefix, MeterFilterReply onMatch) {
+            this.prefix = prefix;
+            this.onMatch = onMatch;
+        }
+
+        @Override
+        public MeterFilterReply accept(Meter.Id id) {
+            return id.getName().startsWith(prefix) ? onMatch : MeterFilterReply.NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+/**
+ * A fixed-size HyperLogLog distinct value estimator. With the default precision it uses 1KiB of registers and
+ * has a standard error of about 3%, regardless of how many values are offered.
+ * <p>
+ * Offering a value is lock-free unless it raises a register, which stops happening quickly once the estimator
+ * has seen a few thousand values.
+ */
+class HyperLogLog {
+    static final int DEFAULT_PRECISION = 10;
+
+    private final int precision;
+    private final byte[] registers;
+    private final double alphaMM;
+
+    HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16");
+        }
+        this.precision = precision;
+        int m = 1 << precision;
+        this.registers = new byte[m];
+
+        double alpha;
+        switch (m) {
+            case 16:
+                alpha = 0.673;
+                break;
+            case 32:
+                alpha = 0.697;
+                break;
+            case 64:
+                alpha = 0.709;
+                break;
+            default:
+                alpha = 0.7213 / (1 + 1.079 / m);
+        }
+        this.alphaMM = alpha * m * m;
+    }
+
+    void offer(Object value) {
+        long hash = mix(value.hashCode());
+        int index = (int) (hash >>> (64 - precision));
+        // the sentinel bit bounds the rank when every remaining bit of the hash is zero
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[index] < rank) {
+            synchronized (registers) {
+                if (registers[index] < rank) {
+                    registers[index] = rank;
+                }
+            }
+        }
+    }
+
+    long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = alphaMM / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // small range correction (linear counting)
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Spreads 32 bits of {@link Object#hashCode()} over 64 bits (the finalizer of MurmurHash3).
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e1a85L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -20,16 +20,11 @@ import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import io.micrometer.core.lang.Nullable;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
-
 /**
  * As requests are made of a {@link MeterRegistry} to create new metrics, allow for filtering out
  * the metric altogether, transforming its ID (name or tags) in some way, and transforming its
@@ -52,12 +47,7 @@ public interface MeterFilter {
      * @return A common tag filter.
      */
     static MeterFilter commonTags(Iterable<Tag> tags) {
-        return new MeterFilter() {
-            @Override
-            public Meter.Id map(Meter.Id id) {
-                return id.replaceTags(Tags.concat(tags, id.getTagsAsIterable()));
-            }
-        };
+        return new FusibleMeterFilters.CommonTags(tags);
     }
 
     /**
@@ -69,22 +59,7 @@ public interface MeterFilter {
      * @return A tag-renaming filter.
      */
     static MeterFilter renameTag(String meterNamePrefix, String fromTagKey, String toTagKey) {
-        return new MeterFilter() {
-            @Override
-            public Meter.Id map(Meter.Id id) {
-                if (!id.getName().startsWith(meterNamePrefix))
-                    return id;
-
-                List<Tag> tags = new ArrayList<>();
-                for (Tag tag : id.getTagsAsIterable()) {
-                    if (tag.getKey().equals(fromTagKey))
-                        tags.add(Tag.of(toTagKey, tag.getValue()));
-                    else tags.add(tag);
-                }
-
-                return id.replaceTags(tags);
-            }
-        };
+        return new FusibleMeterFilters.RenameTag(meterNamePrefix, fromTagKey, toTagKey);
     }
 
     /**
@@ -94,21 +69,7 @@ public interface MeterFilter {
      * @return A tag-suppressing filter.
      */
     static MeterFilter ignoreTags(String... tagKeys) {
-        return new MeterFilter() {
-            @Override
-            public Meter.Id map(Meter.Id id) {
-                List<Tag> tags = stream(id.getTagsAsIterable().spliterator(), false)
-                        .filter(t -> {
-                            for (String tagKey : tagKeys) {
-                                if (t.getKey().equals(tagKey))
-                                    return false;
-                            }
-                            return true;
-                        }).collect(toList());
-
-                return id.replaceTags(tags);
-            }
-        };
+        return new FusibleMeterFilters.IgnoreTags(tagKeys);
     }
 
     /**
@@ -121,24 +82,7 @@ public interface MeterFilter {
      * @return A filter that replaces tag values.
      */
     static MeterFilter replaceTagValues(String tagKey, Function<String, String> replacement, String... exceptions) {
-        return new MeterFilter() {
-            @Override
-            public Meter.Id map(Meter.Id id) {
-                List<Tag> tags = stream(id.getTagsAsIterable().spliterator(), false)
-                        .map(t -> {
-                            if (!t.getKey().equals(tagKey))
-                                return t;
-                            for (String exception : exceptions) {
-                                if (t.getValue().equals(exception))
-                                    return t;
-                            }
-                            return Tag.of(tagKey, replacement.apply(t.getValue()));
-                        })
-                        .collect(toList());
-
-                return id.replaceTags(tags);
-            }
-        };
+        return new FusibleMeterFilters.ReplaceTagValues(tagKey, replacement, exceptions);
     }
 
     /**
@@ -241,6 +185,7 @@ public interface MeterFilter {
      * @param maximumTagValues The total number of tag values that are allowable.
      * @param onMaxReached     After the maximum number of tag values have been seen, apply this filter.
      * @return A meter filter that limits the number of tags produced by matching metrics.
+     * @see CardinalityLimitingMeterFilter
      */
     static MeterFilter maximumAllowableTags(String meterNamePrefix, String tagKey, int maximumTagValues,
                                             MeterFilter onMaxReached) {
@@ -288,7 +233,7 @@ public interface MeterFilter {
      * @return A filter that guarantees the exclusion of matching meters.
      */
     static MeterFilter denyNameStartsWith(String prefix) {
-        return deny(id -> id.getName().startsWith(prefix));
+        return new FusibleMeterFilters.NamePrefix(prefix, MeterFilterReply.DENY);
     }
 
     /**
@@ -299,7 +244,7 @@ public interface MeterFilter {
      * @since 1.2.0
      */
     static MeterFilter acceptNameStartsWith(String prefix) {
-        return accept(id -> id.getName().startsWith(prefix));
+        return new FusibleMeterFilters.NamePrefix(prefix, MeterFilterReply.ACCEPT);
     }
 
     /**
@@ -0,0 +1,233 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The {@link MeterFilter#map(Meter.Id)} and {@link MeterFilter#accept(Meter.Id)} steps of an ordered list of filters,
+ * compiled so that built-in filters do less work than when applied one by one.
+ * <ul>
+ *     <li>Consecutive tag transformations ({@link MeterFilter#commonTags(Iterable)},
+ *     {@link MeterFilter#renameTag(String, String, String)}, {@link MeterFilter#ignoreTags(String...)} and
+ *     {@link MeterFilter#replaceTagValues(String, java.util.function.Function, String...)}) are applied in a single
+ *     pass over the tags that allocates at most one {@link Meter.Id}, and none when no tag is changed.</li>
+ *     <li>Consecutive {@link MeterFilter#denyNameStartsWith(String)} and
+ *     {@link MeterFilter#acceptNameStartsWith(String)} filters are evaluated with one walk of a prefix trie.</li>
+ *     <li>Built-in filters that only map are skipped when accepting, and vice versa.</li>
+ * </ul>
+ * Any other filter is called as-is, in its original position, so the result is always the same as applying each
+ * filter in order.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public final class MeterFilterChain {
+    private static final MapStep[] NO_MAP_STEPS = new MapStep[0];
+    private static final AcceptStep[] NO_ACCEPT_STEPS = new AcceptStep[0];
+
+    private final MapStep[] mapSteps;
+    private final AcceptStep[] acceptSteps;
+
+    private MeterFilterChain(MapStep[] mapSteps, AcceptStep[] acceptSteps) {
+        this.mapSteps = mapSteps;
+        this.acceptSteps = acceptSteps;
+    }
+
+    public static MeterFilterChain compile(MeterFilter... filters) {
+        List<MapStep> mapSteps = new ArrayList<>();
+        List<FusibleMeterFilters.TagMappingFilter> tagMappings = new ArrayList<>();
+        for (MeterFilter filter : filters) {
+            if (filter instanceof FusibleMeterFilters.TagMappingFilter) {
+                tagMappings.add((FusibleMeterFilters.TagMappingFilter) filter);
+            } else if (!(filter instanceof FusibleMeterFilters.NamePrefix)) {
+                addFusedTagMappings(mapSteps, tagMappings);
+                mapSteps.add(filter::map);
+            }
+        }
+        addFusedTagMappings(mapSteps, tagMappings);
+
+        List<AcceptStep> acceptSteps = new ArrayList<>();
+        List<FusibleMeterFilters.NamePrefix> namePrefixes = new ArrayList<>();
+        for (MeterFilter filter : filters) {
+            if (filter instanceof FusibleMeterFilters.NamePrefix) {
+                namePrefixes.add((FusibleMeterFilters.NamePrefix) filter);
+            } else if (!(filter instanceof FusibleMeterFilters.TagMappingFilter)) {
+                addNamePrefixTrie(acceptSteps, namePrefixes);
+                acceptSteps.add(filter::accept);
+            }
+        }
+        addNamePrefixTrie(acceptSteps, namePrefixes);
+
+        return new MeterFilterChain(mapSteps.toArray(NO_MAP_STEPS), acceptSteps.toArray(NO_ACCEPT_STEPS));
+    }
+
+    private static void addFusedTagMappings(List<MapStep> mapSteps, List<FusibleMeterFilters.TagMappingFilter> tagMappings) {
+        if (tagMappings.size() == 1) {
+            mapSteps.add(tagMappings.get(0)::map);
+        } else if (!tagMappings.isEmpty()) {
+            mapSteps.add(new FusedTagMappings(tagMappings.toArray(new FusibleMeterFilters.TagMappingFilter[0])));
+        }
+        tagMappings.clear();
+    }
+
+    private static void addNamePrefixTrie(List<AcceptStep> acceptSteps, List<FusibleMeterFilters.NamePrefix> namePrefixes) {
+        if (namePrefixes.size() == 1) {
+            acceptSteps.add(namePrefixes.get(0)::accept);
+        } else if (!namePrefixes.isEmpty()) {
+            acceptSteps.add(new NamePrefixTrie(namePrefixes));
+        }
+        namePrefixes.clear();
+    }
+
+    /**
+     * @param id The id to transform.
+     * @return The id after the {@link MeterFilter#map(Meter.Id)} step of every filter in the chain.
+     */
+    public Meter.Id map(Meter.Id id) {
+        Meter.Id mappedId = id;
+        for (MapStep step : mapSteps) {
+            mappedId = step.map(mappedId);
+        }
+        return mappedId;
+    }
+
+    /**
+     * @param id Id with {@link #map(Meter.Id)} applied.
+     * @return The first reply other than {@link MeterFilterReply#NEUTRAL}, or {@link MeterFilterReply#NEUTRAL} if
+     * no filter in the chain had an opinion.
+     */
+    public MeterFilterReply accept(Meter.Id id) {
+        for (AcceptStep step : acceptSteps) {
+            MeterFilterReply reply = step.accept(id);
+            if (reply != MeterFilterReply.NEUTRAL) {
+                return reply;
+            }
+        }
+        return MeterFilterReply.NEUTRAL;
+    }
+
+    private interface MapStep {
+        Meter.Id map(Meter.Id id);
+    }
+
+    private interface AcceptStep {
+        MeterFilterReply accept(Meter.Id id);
+    }
+
+    private static class FusedTagMappings implements MapStep {
+        private final FusibleMeterFilters.TagMappingFilter[] filters;
+
+        FusedTagMappings(FusibleMeterFilters.TagMappingFilter[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            TreeMap<String, Tag> tags = new TreeMap<>();
+            for (Tag tag : id.getTagsAsIterable()) {
+                tags.put(tag.getKey(), tag);
+            }
+
+            boolean changed = false;
+            for (FusibleMeterFilters.TagMappingFilter filter : filters) {
+                if (filter.mapTags(id.getName(), tags)) {
+                    changed = true;
+                }
+            }
+            return changed ? id.replaceTags(tags.values()) : id;
+        }
+    }
+
+    /**
+     * Finds the first (in filter order) of many name prefixes that matches a name in a single pass over the name.
+     */
+    private static class NamePrefixTrie implements AcceptStep {
+        private final Node root = new Node();
+
+        NamePrefixTrie(List<FusibleMeterFilters.NamePrefix> namePrefixes) {
+            for (int order = 0; order < namePrefixes.size(); order++) {
+                FusibleMeterFilters.NamePrefix namePrefix = namePrefixes.get(order);
+                Node node = root;
+                for (int i = 0; i < namePrefix.prefix.length(); i++) {
+                    node = node.childOrCreate(namePrefix.prefix.charAt(i));
+                }
+                if (node.reply == null) {
+                    // an earlier filter with the same prefix always wins
+                    node.order = order;
+                    node.reply = namePrefix.onMatch;
+                }
+            }
+        }
+
+        @Override
+        public MeterFilterReply accept(Meter.Id id) {
+            String name = id.getName();
+            Node node = root;
+            int bestOrder = Integer.MAX_VALUE;
+            MeterFilterReply bestReply = MeterFilterReply.NEUTRAL;
+            for (int i = 0; ; i++) {
+                if (node.reply != null && node.order < bestOrder) {
+                    bestOrder = node.order;
+                    bestReply = node.reply;
+                }
+                if (i == name.length() || (node = node.child(name.charAt(i))) == null) {
+                    return bestReply;
+                }
+            }
+        }
+
+        private static class Node {
+            private char[] chars = new char[0];
+            private Node[] children = new Node[0];
+
+            private int order;
+
+            @Nullable
+            private MeterFilterReply reply;
+
+            @Nullable
+            Node child(char c) {
+                for (int i = 0; i < chars.length; i++) {
+                    if (chars[i] == c) {
+                        return children[i];
+                    }
+                }
+                return null;
+            }
+
+            Node childOrCreate(char c) {
+                Node child = child(c);
+                if (child == null) {
+                    child = new Node();
+                    chars = Arrays.copyOf(chars, chars.length + 1);
+                    children = Arrays.copyOf(children, children.length + 1);
+                    chars[chars.length - 1] = c;
+                    children[children.length - 1] = child;
+                }
+                return child;
+            }
+        }
+    }
+}
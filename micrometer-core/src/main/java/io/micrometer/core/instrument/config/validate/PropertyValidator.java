@@ -58,6 +58,20 @@ public class PropertyValidator {
         }
     }
 
+    /**
+     * @since 1.7.0
+     */
+    public static Validated<Double> getDouble(MeterRegistryConfig config, String property) {
+        String prefixedProperty = prefixedProperty(config, property);
+        String value = config.get(prefixedProperty);
+
+        try {
+            return Validated.valid(prefixedProperty, value == null ? null : Double.valueOf(value));
+        } catch (NumberFormatException e) {
+            return Validated.invalid(prefixedProperty, value, "must be a number", InvalidReason.MALFORMED, e);
+        }
+    }
+
     public static <E extends Enum<E>> Validated<E> getEnum(MeterRegistryConfig config, Class<E> enumClass, String property) {
         String prefixedProperty = prefixedProperty(config, property);
         String value = config.get(prefixedProperty);
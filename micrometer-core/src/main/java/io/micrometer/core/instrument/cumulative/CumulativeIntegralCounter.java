@@ -0,0 +1,60 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.cumulative;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.AbstractMeter;
+import io.micrometer.core.instrument.Counter;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cumulative counter for counters declared {@link Counter.Builder#integral() integral}, counting in a
+ * {@link LongAdder}, which is cheaper to increment than the {@link DoubleAdder} of {@link CumulativeCounter}.
+ * Fractional increments are accumulated separately, so they are still counted exactly.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class CumulativeIntegralCounter extends AbstractMeter implements Counter {
+    private final LongAdder value = new LongAdder();
+    private final DoubleAdder fractionalValue = new DoubleAdder();
+
+    public CumulativeIntegralCounter(Id id) {
+        super(id);
+    }
+
+    @Override
+    public void increment() {
+        value.increment();
+    }
+
+    @Override
+    public void increment(double amount) {
+        long wholeAmount = (long) amount;
+        if (wholeAmount == amount) {
+            value.add(wholeAmount);
+        } else {
+            fractionalValue.add(amount);
+        }
+    }
+
+    @Override
+    public double count() {
+        return value.sum() + fractionalValue.sum();
+    }
+}
@@ -133,6 +133,15 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
 
     abstract T newBucket();
 
+    /**
+     * @return Whether samples are recorded to every bucket in the ring buffer, each of which then holds the samples
+     * since it was last reset, or to the current bucket only, in which case the accumulated histogram merges the
+     * whole ring buffer.
+     */
+    boolean recordsToEveryBucket() {
+        return true;
+    }
+
     abstract void recordLong(T bucket, long value);
 
     abstract void recordDouble(T bucket, double value);
@@ -214,8 +223,12 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     public void recordLong(long value) {
         rotate();
         try {
-            for (T bucket : ringBuffer) {
-                recordLong(bucket, value);
+            if (recordsToEveryBucket()) {
+                for (T bucket : ringBuffer) {
+                    recordLong(bucket, value);
+                }
+            } else {
+                recordLong(ringBuffer[currentBucket], value);
             }
         } catch (IndexOutOfBoundsException ignored) {
             // the value is so large (or small) that the dynamic range of the histogram cannot be extended to include it
@@ -227,8 +240,12 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     public void recordDouble(double value) {
         rotate();
         try {
-            for (T bucket : ringBuffer) {
-                recordDouble(bucket, value);
+            if (recordsToEveryBucket()) {
+                for (T bucket : ringBuffer) {
+                    recordDouble(bucket, value);
+                }
+            } else {
+                recordDouble(ringBuffer[currentBucket], value);
             }
         } catch (IndexOutOfBoundsException ignored) {
             // the value is so large (or small) that the dynamic range of the histogram cannot be extended to include it
@@ -253,10 +270,16 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
             int iterations = 0;
             synchronized (this) {
                 do {
-                    resetBucket(ringBuffer[currentBucket]);
+                    if (recordsToEveryBucket()) {
+                        resetBucket(ringBuffer[currentBucket]);
+                    }
                     if (++currentBucket >= ringBuffer.length) {
                         currentBucket = 0;
                     }
+                    if (!recordsToEveryBucket()) {
+                        // the oldest bucket becomes the current one
+                        resetBucket(ringBuffer[currentBucket]);
+                    }
                     timeSinceLastRotateMillis -= durationBetweenRotatesMillis;
                     lastRotateTimestampMillis += durationBetweenRotatesMillis;
                 } while (timeSinceLastRotateMillis >= durationBetweenRotatesMillis && ++iterations < ringBuffer.length);
@@ -276,4 +299,8 @@ abstract class AbstractTimeWindowHistogram<T, U> implements Histogram {
     protected T currentHistogram() {
         return ringBuffer[currentBucket];
     }
+
+    T[] ringBuffer() {
+        return ringBuffer;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.micrometer.core.instrument.distribution;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.internal.Mergeable;
 import io.micrometer.core.lang.Nullable;
 
@@ -69,6 +70,15 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
     @Nullable
     private Integer bufferLength;
 
+    @Nullable
+    private Integer percentileSamplingInterval;
+
+    @Nullable
+    private Integer percentileSamplingTargetRate;
+
+    @Nullable
+    private Boolean percentileSketch;
+
     public static Builder builder() {
         return new Builder();
     }
@@ -91,6 +101,9 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
                 .maximumExpectedValue(this.maximumExpectedValue == null ? parent.maximumExpectedValue : this.maximumExpectedValue)
                 .expiry(this.expiry == null ? parent.expiry : this.expiry)
                 .bufferLength(this.bufferLength == null ? parent.bufferLength : this.bufferLength)
+                .percentileSamplingInterval(this.percentileSamplingInterval == null ? parent.percentileSamplingInterval : this.percentileSamplingInterval)
+                .percentileSamplingTargetRate(this.percentileSamplingTargetRate == null ? parent.percentileSamplingTargetRate : this.percentileSamplingTargetRate)
+                .percentileSketch(this.percentileSketch == null ? parent.percentileSketch : this.percentileSketch)
                 .build();
     }
 
@@ -260,6 +273,49 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
         return serviceLevelObjectives;
     }
 
+    /**
+     * Records only one in this many samples to the histogram that computes client-side percentiles. Count, total,
+     * and max are still computed from every sample. Sampling is only applied when percentiles are published without
+     * a percentile histogram or SLO boundaries, since it would skew the counts of histogram buckets.
+     *
+     * @return The number of samples of which one, chosen at random, is recorded to the percentile histogram.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    @Nullable
+    public Integer getPercentileSamplingInterval() {
+        return percentileSamplingInterval;
+    }
+
+    /**
+     * Adapts the sampling interval to the recent throughput of the meter so that about this many samples per second
+     * are recorded to the histogram that computes client-side percentiles. The interval never drops below
+     * {@link #getPercentileSamplingInterval()}.
+     *
+     * @return The number of samples per second to record to the percentile histogram.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    @Nullable
+    public Integer getPercentileSamplingTargetRate() {
+        return percentileSamplingTargetRate;
+    }
+
+    /**
+     * Computes client-side percentiles with a {@link LogBucketSketch} rather than an HdrHistogram. The sketch
+     * estimates percentiles to within a relative accuracy of {@code 10^-percentilePrecision} (with a precision of at
+     * most 3) and takes memory in proportion to the orders of magnitude the recorded values span, which makes it much
+     * smaller for meters whose values range widely.
+     *
+     * @return Whether percentiles are computed with a log-bucketed sketch.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    @Nullable
+    public Boolean isPercentileSketch() {
+        return percentileSketch;
+    }
+
     public static class Builder {
         private final DistributionStatisticConfig config = new DistributionStatisticConfig();
 
@@ -428,6 +484,57 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
             return this;
         }
 
+        /**
+         * Records only one in this many samples to the histogram that computes client-side percentiles, which makes
+         * recording cheaper for meters that are recorded to at a very high rate. Count, total, and max are still
+         * computed from every sample. Sampling is only applied when percentiles are published without a percentile
+         * histogram or SLO boundaries.
+         * <p>
+         * A percentile computed from {@code n} samples in a time window is off by about
+         * {@code sqrt(p * (1 - p) / n)} in rank, so the fewer samples are recorded in each window the less accurate
+         * percentiles become, tail percentiles in particular.
+         *
+         * @param interval The number of samples of which one, chosen at random, is recorded to the percentile histogram.
+         * @return This builder.
+         * @since 1.7.0
+         */
+        @Incubating(since = "1.7.0")
+        public Builder percentileSamplingInterval(@Nullable Integer interval) {
+            config.percentileSamplingInterval = interval;
+            return this;
+        }
+
+        /**
+         * Adapts the sampling interval to the recent throughput of the meter so that about this many samples per second
+         * are recorded to the histogram that computes client-side percentiles. Meters recorded to more slowly record
+         * every sample. The interval never drops below {@link #percentileSamplingInterval(Integer)}.
+         *
+         * @param samplesPerSecond The number of samples per second to record to the percentile histogram.
+         * @return This builder.
+         * @since 1.7.0
+         */
+        @Incubating(since = "1.7.0")
+        public Builder percentileSamplingTargetRate(@Nullable Integer samplesPerSecond) {
+            config.percentileSamplingTargetRate = samplesPerSecond;
+            return this;
+        }
+
+        /**
+         * Computes client-side percentiles with a {@link LogBucketSketch} rather than an HdrHistogram. The sketch
+         * estimates percentiles to within a relative accuracy of {@code 10^-percentilePrecision} (with a precision of at
+         * most 3) and takes memory in proportion to the orders of magnitude the recorded values span, which makes it
+         * much smaller for meters whose values range widely. Sketches of different instances can be merged.
+         *
+         * @param enabled Whether percentiles are computed with a log-bucketed sketch.
+         * @return This builder.
+         * @since 1.7.0
+         */
+        @Incubating(since = "1.7.0")
+        public Builder percentileSketch(@Nullable Boolean enabled) {
+            config.percentileSketch = enabled;
+            return this;
+        }
+
         /**
          * @return A new immutable distribution configuration.
          */
@@ -443,4 +550,15 @@ public class DistributionStatisticConfig implements Mergeable<DistributionStatis
     public boolean isPublishingHistogram() {
         return (percentileHistogram != null && percentileHistogram) || (serviceLevelObjectives != null && serviceLevelObjectives.length > 0);
     }
+
+    /**
+     * @return Whether only some samples are recorded to the histogram that computes client-side percentiles.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    public boolean isSamplingPercentiles() {
+        return isPublishingPercentiles() && !isPublishingHistogram() &&
+                ((percentileSamplingInterval != null && percentileSamplingInterval > 1) ||
+                        (percentileSamplingTargetRate != null && percentileSamplingTargetRate > 0));
+    }
 }
@@ -0,0 +1,312 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.annotation.Incubating;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A mergeable quantile sketch with relative-error guarantees, in the manner of DDSketch. Positive values are counted
+ * in logarithmically sized buckets {@code (gamma^(i-1), gamma^i]} with {@code gamma = (1 + a) / (1 - a)}, so that
+ * every quantile is estimated to within a relative accuracy {@code a} of a value that was recorded, regardless of the
+ * range of the values. Values too small to be indexed, zero and negative values included, are counted as zero.
+ * <p>
+ * Bucket counts are stored sparsely, in pages that are allocated when a value first falls into them, so a sketch of
+ * values spanning a few orders of magnitude takes a few kilobytes. Recording is lock-free. Sketches with the same
+ * relative accuracy are merged by adding their bucket counts, which makes it cheap to combine sketches across time
+ * windows or across instances of an application.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class LogBucketSketch {
+    /**
+     * Smaller values are counted as zero.
+     */
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    /**
+     * Larger values are counted in the bucket of the largest indexable value.
+     */
+    private static final double MAX_INDEXABLE_VALUE = 1e18;
+
+    private static final int PAGE_SHIFT = 5;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int minIndex;
+    private final int maxIndex;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages;
+    private final LongAdder zeroCount = new LongAdder();
+
+    /**
+     * @param relativeAccuracy The relative accuracy of the quantiles estimated by the sketch, in {@code (0, 1)}.
+     */
+    public LogBucketSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy (" + relativeAccuracy + ") must be between 0 and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.minIndex = rawIndex(MIN_INDEXABLE_VALUE);
+        this.maxIndex = rawIndex(MAX_INDEXABLE_VALUE);
+        this.pages = new AtomicReferenceArray<>(((maxIndex - minIndex) >> PAGE_SHIFT) + 1);
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public void record(double value) {
+        if (!(value >= MIN_INDEXABLE_VALUE)) {
+            zeroCount.increment();
+            return;
+        }
+
+        int slot = index(value) - minIndex;
+        page(slot >> PAGE_SHIFT).incrementAndGet(slot & (PAGE_SIZE - 1));
+    }
+
+    /**
+     * Adds the counts of another sketch to this one.
+     *
+     * @param other A sketch with the same relative accuracy.
+     */
+    public void merge(LogBucketSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge a sketch with relative accuracy " + other.relativeAccuracy +
+                    " into one with relative accuracy " + relativeAccuracy + ".");
+        }
+
+        zeroCount.add(other.zeroCount.sum());
+        for (int p = 0; p < other.pages.length(); p++) {
+            AtomicLongArray otherPage = other.pages.get(p);
+            if (otherPage == null) {
+                continue;
+            }
+            AtomicLongArray page = null;
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                long count = otherPage.get(i);
+                if (count != 0) {
+                    if (page == null) {
+                        page = page(p);
+                    }
+                    page.addAndGet(i, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A copy of this sketch.
+     */
+    public LogBucketSketch copy() {
+        LogBucketSketch copy = new LogBucketSketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Clears the counts of the sketch, keeping the pages it has allocated.
+     */
+    public void reset() {
+        zeroCount.reset();
+        for (int p = 0; p < pages.length(); p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page != null) {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    page.set(i, 0);
+                }
+            }
+        }
+    }
+
+    public long count() {
+        long count = zeroCount.sum();
+        for (int p = 0; p < pages.length(); p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page != null) {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    count += page.get(i);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param quantile A quantile in {@code [0, 1]}.
+     * @return The estimated value at the quantile, or 0 if the sketch is empty.
+     */
+    public double valueAtQuantile(double quantile) {
+        return cumulativeCounts().valueAtQuantile(quantile);
+    }
+
+    /**
+     * @param value A value.
+     * @return The estimated number of recorded values that are less than or equal to the value.
+     */
+    public long countAtOrBelow(double value) {
+        return cumulativeCounts().countAtOrBelow(value);
+    }
+
+    /**
+     * @return The cumulative counts of the non-empty buckets, which answer any number of quantile and count queries
+     * without walking the pages again.
+     */
+    CumulativeCounts cumulativeCounts() {
+        // pages allocated while the counts are taken are left out
+        AtomicLongArray[] pages = new AtomicLongArray[this.pages.length()];
+        int buckets = 0;
+        for (int p = 0; p < pages.length; p++) {
+            pages[p] = this.pages.get(p);
+            if (pages[p] != null) {
+                buckets += PAGE_SIZE;
+            }
+        }
+
+        int[] slots = new int[buckets];
+        long[] cumulative = new long[buckets];
+        long zeroCount = this.zeroCount.sum();
+        long count = zeroCount;
+        int n = 0;
+        for (int p = 0; p < pages.length; p++) {
+            AtomicLongArray page = pages[p];
+            if (page == null) {
+                continue;
+            }
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                long bucketCount = page.get(i);
+                if (bucketCount != 0) {
+                    count += bucketCount;
+                    slots[n] = (p << PAGE_SHIFT) + i;
+                    cumulative[n++] = count;
+                }
+            }
+        }
+        return new CumulativeCounts(zeroCount, Arrays.copyOf(slots, n), Arrays.copyOf(cumulative, n));
+    }
+
+    class CumulativeCounts {
+        private final long zeroCount;
+        private final int[] slots;
+        private final long[] cumulative;
+
+        CumulativeCounts(long zeroCount, int[] slots, long[] cumulative) {
+            this.zeroCount = zeroCount;
+            this.slots = slots;
+            this.cumulative = cumulative;
+        }
+
+        long count() {
+            return cumulative.length == 0 ? zeroCount : cumulative[cumulative.length - 1];
+        }
+
+        double valueAtQuantile(double quantile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            if (rank <= zeroCount) {
+                return 0;
+            }
+
+            // the first bucket whose cumulative count reaches the rank
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < rank) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return value(slots[low] + minIndex);
+        }
+
+        long countAtOrBelow(double value) {
+            if (!(value >= MIN_INDEXABLE_VALUE)) {
+                return zeroCount;
+            }
+
+            // the last bucket at or below the bucket of the value
+            int slot = index(value) - minIndex;
+            int low = 0;
+            int high = slots.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (slots[mid] <= slot) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high < 0 ? zeroCount : cumulative[high];
+        }
+
+        void outputSummary(PrintStream out, double bucketScaling) {
+            out.format("%14s %14s %10s\n\n", "Value", "Percentile", "TotalCount");
+
+            long count = count();
+            if (zeroCount > 0) {
+                out.format(Locale.US, "%14.1f %14.12f %10d\n", 0.0, (double) zeroCount / count, zeroCount);
+            }
+            for (int i = 0; i < slots.length; i++) {
+                out.format(Locale.US, "%14.1f %14.12f %10d\n", value(slots[i] + minIndex) / bucketScaling,
+                        (double) cumulative[i] / count, cumulative[i]);
+            }
+
+            out.write('\n');
+        }
+    }
+
+    private AtomicLongArray page(int p) {
+        AtomicLongArray page = pages.get(p);
+        if (page == null) {
+            pages.compareAndSet(p, null, new AtomicLongArray(PAGE_SIZE));
+            page = pages.get(p);
+        }
+        return page;
+    }
+
+    private int index(double value) {
+        return Math.min(rawIndex(value), maxIndex);
+    }
+
+    private int rawIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * @return The value that is within the relative accuracy of every value in the bucket.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.Clock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records a random sample of the values it is given to another histogram, as configured by
+ * {@link DistributionStatisticConfig#getPercentileSamplingInterval()} and
+ * {@link DistributionStatisticConfig#getPercentileSamplingTargetRate()}. Snapshots carry the count, total, and max
+ * they are taken with, so only the distribution statistics computed by the sampled histogram are approximated.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class SampledHistogram implements Histogram {
+    private static final long ADAPT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final int ADAPT_CHECK_INTERVAL = 64;
+
+    private final Histogram delegate;
+    private final Clock clock;
+    private final int minimumInterval;
+    private final int targetRate;
+
+    private volatile int interval;
+
+    // Only used when the sampling interval adapts to the throughput of the meter
+    private final LongAdder recordedSinceAdapted = new LongAdder();
+    private final AtomicLong lastAdapted;
+
+    public SampledHistogram(Histogram delegate, Clock clock, DistributionStatisticConfig distributionStatisticConfig) {
+        this.delegate = delegate;
+        this.clock = clock;
+
+        Integer interval = distributionStatisticConfig.getPercentileSamplingInterval();
+        this.minimumInterval = interval == null ? 1 : Math.max(1, interval);
+        this.interval = minimumInterval;
+
+        Integer targetRate = distributionStatisticConfig.getPercentileSamplingTargetRate();
+        this.targetRate = targetRate == null ? 0 : Math.max(0, targetRate);
+        this.lastAdapted = new AtomicLong(clock.monotonicTime());
+    }
+
+    @Override
+    public void recordLong(long value) {
+        if (sample()) {
+            delegate.recordLong(value);
+        }
+    }
+
+    @Override
+    public void recordDouble(double value) {
+        if (sample()) {
+            delegate.recordDouble(value);
+        }
+    }
+
+    private boolean sample() {
+        int interval = this.interval;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean sampled = interval <= 1 || random.nextInt(interval) == 0;
+        if (targetRate > 0) {
+            recordedSinceAdapted.increment();
+            if (sampled || random.nextInt(ADAPT_CHECK_INTERVAL) == 0) {
+                adapt();
+            }
+        }
+        return sampled;
+    }
+
+    /**
+     * Every value is counted, but the clock is only read for sampled values and about one in
+     * {@link #ADAPT_CHECK_INTERVAL} of the others. So when the throughput drops sharply after a burst, the interval
+     * adapts within that many values instead of waiting for one of them to be sampled at the interval of the burst.
+     */
+    private void adapt() {
+        long now = clock.monotonicTime();
+        long last = lastAdapted.get();
+        long elapsed = now - last;
+        if (elapsed < ADAPT_INTERVAL || !lastAdapted.compareAndSet(last, now)) {
+            return;
+        }
+
+        double throughput = (double) recordedSinceAdapted.sumThenReset() * ADAPT_INTERVAL / elapsed;
+        this.interval = (int) Math.max(minimumInterval, Math.min(Integer.MAX_VALUE, Math.ceil(throughput / targetRate)));
+    }
+
+    int getInterval() {
+        return interval;
+    }
+
+    @Override
+    public HistogramSnapshot takeSnapshot(long count, double total, double max) {
+        return delegate.takeSnapshot(count, total, max);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
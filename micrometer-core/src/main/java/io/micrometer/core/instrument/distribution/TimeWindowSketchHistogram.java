@@ -0,0 +1,126 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.Clock;
+
+import java.io.PrintStream;
+
+/**
+ * A histogram implementation that computes percentiles from {@link LogBucketSketch log-bucketed sketches}, an
+ * alternative to {@link TimeWindowPercentileHistogram} selected with
+ * {@link DistributionStatisticConfig#isPercentileSketch()}. Percentiles are estimated to within a relative accuracy
+ * of {@code 10^-percentilePrecision}, and the sketches take memory in proportion to the orders of magnitude the
+ * recorded values span rather than to the dynamic range of the histogram.
+ * <p>
+ * Each sample is recorded to the sketch of the current time window only, and the sketches of the ring buffer are
+ * merged when a snapshot is taken.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class TimeWindowSketchHistogram extends AbstractTimeWindowHistogram<LogBucketSketch, LogBucketSketch> {
+    /**
+     * Higher precisions are capped, since the number of buckets a sketch may allocate grows tenfold with every digit.
+     */
+    private static final int MAX_PERCENTILE_PRECISION = 3;
+
+    private final double relativeAccuracy;
+
+    private LogBucketSketch.CumulativeCounts accumulatedCounts;
+
+    public TimeWindowSketchHistogram(Clock clock, DistributionStatisticConfig distributionStatisticConfig,
+                                     boolean supportsAggregablePercentiles) {
+        super(clock, distributionStatisticConfig, LogBucketSketch.class, supportsAggregablePercentiles);
+        Integer precision = distributionStatisticConfig.getPercentilePrecision();
+        this.relativeAccuracy = Math.pow(10, -Math.max(1, Math.min(precision == null ? 1 : precision, MAX_PERCENTILE_PRECISION)));
+        initRingBuffer();
+        this.accumulatedCounts = accumulatedHistogram().cumulativeCounts();
+    }
+
+    /**
+     * @return A sketch of the samples in the ring buffer, which can be merged with the sketches of other histograms
+     * with the same percentile precision.
+     */
+    public LogBucketSketch sketch() {
+        LogBucketSketch sketch = new LogBucketSketch(relativeAccuracy);
+        for (LogBucketSketch bucket : ringBuffer()) {
+            sketch.merge(bucket);
+        }
+        return sketch;
+    }
+
+    @Override
+    LogBucketSketch newBucket() {
+        return new LogBucketSketch(relativeAccuracy);
+    }
+
+    @Override
+    boolean recordsToEveryBucket() {
+        return false;
+    }
+
+    @Override
+    void recordLong(LogBucketSketch bucket, long value) {
+        bucket.record(value);
+    }
+
+    @Override
+    void recordDouble(LogBucketSketch bucket, double value) {
+        bucket.record(value);
+    }
+
+    @Override
+    void resetBucket(LogBucketSketch bucket) {
+        bucket.reset();
+    }
+
+    @Override
+    LogBucketSketch newAccumulatedHistogram(LogBucketSketch[] ringBuffer) {
+        return new LogBucketSketch(relativeAccuracy);
+    }
+
+    @Override
+    void accumulate() {
+        LogBucketSketch accumulated = accumulatedHistogram();
+        accumulated.reset();
+        for (LogBucketSketch bucket : ringBuffer()) {
+            accumulated.merge(bucket);
+        }
+        accumulatedCounts = accumulated.cumulativeCounts();
+    }
+
+    @Override
+    void resetAccumulatedHistogram() {
+        accumulatedHistogram().reset();
+    }
+
+    @Override
+    double valueAtPercentile(double percentile) {
+        return accumulatedCounts.valueAtQuantile(percentile / 100);
+    }
+
+    @Override
+    double countAtValue(double value) {
+        return accumulatedCounts.countAtOrBelow(value);
+    }
+
+    @Override
+    void outputSummary(PrintStream out, double bucketScaling) {
+        accumulatedCounts.outputSummary(out, bucketScaling);
+    }
+}
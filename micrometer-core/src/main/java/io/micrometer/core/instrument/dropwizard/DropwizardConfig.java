@@ -15,6 +15,7 @@
  */
 package io.micrometer.core.instrument.dropwizard;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
 import io.micrometer.core.instrument.config.validate.Validated;
 
@@ -22,6 +23,7 @@ import java.time.Duration;
 
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getDuration;
 
 /**
@@ -37,6 +39,25 @@ public interface DropwizardConfig extends MeterRegistryConfig {
         return getDuration(this, "step").orElse(Duration.ofMinutes(1));
     }
 
+    /**
+     * Back Dropwizard timers and histograms with a reservoir built on Micrometer's lock-free time window histogram
+     * instead of Dropwizard's default exponentially decaying reservoir, which takes a lock on every update. Timers and
+     * distribution summaries then compute their percentiles and histogram buckets from the reservoir rather than
+     * recording each sample a second time in a histogram of their own.
+     * <p>
+     * Dropwizard percentiles, minimum and maximum are taken over the
+     * {@link io.micrometer.core.instrument.distribution.DistributionStatisticConfig#getExpiry() expiry} of the
+     * meter's distribution statistics rather than decayed exponentially. The mean and standard deviation of Dropwizard
+     * snapshots are not windowed: they cover every value recorded since the meter was created.
+     *
+     * @return {@code true} to use Micrometer-backed reservoirs. Default is {@code false}.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default boolean micrometerReservoir() {
+        return getBoolean(this, "micrometerReservoir").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return validate(this);
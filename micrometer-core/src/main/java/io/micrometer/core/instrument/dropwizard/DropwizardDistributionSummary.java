@@ -18,6 +18,7 @@ package io.micrometer.core.instrument.dropwizard;
 import io.micrometer.core.instrument.AbstractDistributionSummary;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.distribution.TimeWindowMax;
 import io.micrometer.core.instrument.util.MeterEquivalence;
 import io.micrometer.core.lang.Nullable;
@@ -29,22 +30,49 @@ import java.util.concurrent.atomic.DoubleAdder;
  */
 public class DropwizardDistributionSummary extends AbstractDistributionSummary {
     private final com.codahale.metrics.Histogram impl;
-    private final DoubleAdder totalAmount = new DoubleAdder();
+
+    @Nullable
+    private final DoubleAdder totalAmount;
+
+    @Nullable
     private final TimeWindowMax max;
 
+    /**
+     * The reservoir of {@link #impl} when it is backed by Micrometer, holding the total, max and distribution of the
+     * recorded amounts. Amounts are recorded to it directly so that they aren't truncated to whole numbers, as
+     * {@link com.codahale.metrics.Histogram#update(long)} would.
+     */
+    @Nullable
+    private final DropwizardReservoir reservoir;
+
     DropwizardDistributionSummary(Id id, Clock clock, com.codahale.metrics.Histogram impl, DistributionStatisticConfig distributionStatisticConfig,
                                   double scale) {
         super(id, clock, distributionStatisticConfig, scale, false);
         this.impl = impl;
+        this.totalAmount = new DoubleAdder();
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
+        this.reservoir = null;
+    }
+
+    DropwizardDistributionSummary(Id id, Clock clock, com.codahale.metrics.Histogram impl, DropwizardReservoir reservoir,
+                                  DistributionStatisticConfig distributionStatisticConfig, double scale) {
+        super(id, clock, DropwizardReservoir.withoutHistogram(distributionStatisticConfig), scale, false);
+        this.impl = impl;
+        this.totalAmount = null;
+        this.max = null;
+        this.reservoir = reservoir;
     }
 
     @Override
     protected void recordNonNegative(double amount) {
         if (amount >= 0) {
-            impl.update((long) amount);
-            totalAmount.add(amount);
-            max.record(amount);
+            if (reservoir == null) {
+                impl.update((long) amount);
+                totalAmount.add(amount);
+                max.record(amount);
+            } else {
+                reservoir.update(amount);
+            }
         }
     }
 
@@ -55,12 +83,20 @@ public class DropwizardDistributionSummary extends AbstractDistributionSummary {
 
     @Override
     public double totalAmount() {
-        return totalAmount.doubleValue();
+        return reservoir == null ? totalAmount.doubleValue() : reservoir.total();
     }
 
     @Override
     public double max() {
-        return max.poll();
+        return reservoir == null ? max.poll() : reservoir.max();
+    }
+
+    @Override
+    public HistogramSnapshot takeSnapshot() {
+        if (reservoir == null) {
+            return super.takeSnapshot();
+        }
+        return reservoir.takeSnapshot(count(), totalAmount(), max());
     }
 
     @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
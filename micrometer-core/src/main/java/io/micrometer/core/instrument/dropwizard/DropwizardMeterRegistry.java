@@ -25,6 +25,7 @@ import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.internal.DefaultLongTaskTimer;
 import io.micrometer.core.instrument.internal.DefaultMeter;
 import io.micrometer.core.instrument.util.HierarchicalNameMapper;
+import io.micrometer.core.instrument.util.MeterFragmentCache;
 import io.micrometer.core.lang.Nullable;
 import io.micrometer.core.util.internal.logging.WarnThenDebugLogger;
 
@@ -46,6 +47,7 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
 
     private final MetricRegistry registry;
     private final HierarchicalNameMapper nameMapper;
+    private final MeterFragmentCache<String> hierarchicalNames;
     private final DropwizardClock dropwizardClock;
     private final DropwizardConfig dropwizardConfig;
 
@@ -64,6 +66,9 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
         config()
             .namingConvention(NamingConvention.camelCase)
             .onMeterRemoved(this::onMeterRemoved);
+
+        // registered after onMeterRemoved so that a removed meter's name is still cached when it is unregistered
+        this.hierarchicalNames = new MeterFragmentCache<>(this, this::renderHierarchicalName);
     }
 
     private void onMeterRemoved(Meter meter) {
@@ -101,14 +106,34 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
 
     @Override
     protected Timer newTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
-        DropwizardTimer timer = new DropwizardTimer(id, registry.timer(hierarchicalName(id)), clock, distributionStatisticConfig, pauseDetector);
+        DropwizardTimer timer;
+        if (dropwizardConfig.micrometerReservoir()) {
+            // Ids with the same hierarchical name share the Dropwizard timer, and so its reservoir.
+            com.codahale.metrics.Timer impl = registry.timer(hierarchicalName(id),
+                    () -> new DropwizardReservoir(clock, distributionStatisticConfig).newTimer(dropwizardClock));
+            timer = impl instanceof DropwizardReservoir.ReservoirTimer ?
+                    new DropwizardTimer(id, impl, ((DropwizardReservoir.ReservoirTimer) impl).reservoir(), clock, distributionStatisticConfig, pauseDetector) :
+                    new DropwizardTimer(id, impl, clock, distributionStatisticConfig, pauseDetector);
+        } else {
+            timer = new DropwizardTimer(id, registry.timer(hierarchicalName(id)), clock, distributionStatisticConfig, pauseDetector);
+        }
         HistogramGauges.registerWithCommonFormat(timer, this);
         return timer;
     }
 
     @Override
     protected DistributionSummary newDistributionSummary(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig, double scale) {
-        DropwizardDistributionSummary summary = new DropwizardDistributionSummary(id, clock, registry.histogram(hierarchicalName(id)), distributionStatisticConfig, scale);
+        DropwizardDistributionSummary summary;
+        if (dropwizardConfig.micrometerReservoir()) {
+            // Ids with the same hierarchical name share the Dropwizard histogram, and so its reservoir.
+            com.codahale.metrics.Histogram impl = registry.histogram(hierarchicalName(id),
+                    () -> new DropwizardReservoir(clock, distributionStatisticConfig).newHistogram());
+            summary = impl instanceof DropwizardReservoir.ReservoirHistogram ?
+                    new DropwizardDistributionSummary(id, clock, impl, ((DropwizardReservoir.ReservoirHistogram) impl).reservoir(), distributionStatisticConfig, scale) :
+                    new DropwizardDistributionSummary(id, clock, impl, distributionStatisticConfig, scale);
+        } else {
+            summary = new DropwizardDistributionSummary(id, clock, registry.histogram(hierarchicalName(id)), distributionStatisticConfig, scale);
+        }
         HistogramGauges.registerWithCommonFormat(summary, this);
         return summary;
     }
@@ -116,9 +141,9 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
     @Override
     protected LongTaskTimer newLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
         LongTaskTimer ltt = new DefaultLongTaskTimer(id, clock, getBaseTimeUnit(), distributionStatisticConfig, false);
-        registry.register(hierarchicalName(id.withTag(Statistic.ACTIVE_TASKS)), (Gauge<Integer>) ltt::activeTasks);
-        registry.register(hierarchicalName(id.withTag(Statistic.DURATION)), (Gauge<Double>) () -> ltt.duration(TimeUnit.NANOSECONDS));
-        registry.register(hierarchicalName(id.withTag(Statistic.MAX)), (Gauge<Double>) () -> ltt.max(TimeUnit.NANOSECONDS));
+        registry.register(renderHierarchicalName(id.withTag(Statistic.ACTIVE_TASKS)), (Gauge<Integer>) ltt::activeTasks);
+        registry.register(renderHierarchicalName(id.withTag(Statistic.DURATION)), (Gauge<Double>) () -> ltt.duration(TimeUnit.NANOSECONDS));
+        registry.register(renderHierarchicalName(id.withTag(Statistic.MAX)), (Gauge<Double>) () -> ltt.max(TimeUnit.NANOSECONDS));
         HistogramGauges.registerWithCommonFormat(ltt, this);
         return ltt;
     }
@@ -140,7 +165,7 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
 
     @Override
     protected Meter newMeter(Meter.Id id, Meter.Type type, Iterable<Measurement> measurements) {
-        measurements.forEach(ms -> registry.register(hierarchicalName(id.withTag(ms.getStatistic())), (Gauge<Double>) ms::getValue));
+        measurements.forEach(ms -> registry.register(renderHierarchicalName(id.withTag(ms.getStatistic())), (Gauge<Double>) ms::getValue));
         return new DefaultMeter(id, type, measurements);
     }
 
@@ -150,6 +175,14 @@ public abstract class DropwizardMeterRegistry extends MeterRegistry {
     }
 
     private String hierarchicalName(Meter.Id id) {
+        return hierarchicalNames.get(id);
+    }
+
+    /**
+     * Renders names without caching them, for ids like those of the statistics of a long task timer that are derived
+     * from a meter's id and only named once.
+     */
+    private String renderHierarchicalName(Meter.Id id) {
         return nameMapper.toHierarchicalName(id, config().namingConvention());
     }
 
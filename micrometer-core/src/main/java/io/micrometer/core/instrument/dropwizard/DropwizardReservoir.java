@@ -0,0 +1,287 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.dropwizard;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.TimeWindowMax;
+import io.micrometer.core.instrument.distribution.TimeWindowPercentileHistogram;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.DoubleStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A Dropwizard {@link Reservoir} backed by a {@link TimeWindowPercentileHistogram}, which records without the lock
+ * Dropwizard's default exponentially decaying reservoir takes on every update. The meter that owns the reservoir
+ * computes its own percentiles and histogram buckets from the same histogram, so each sample is recorded once.
+ * <p>
+ * Dropwizard snapshots hold the percentiles that Dropwizard's reporters publish and the minimum, all taken over the
+ * histogram's time window, the maximum over the same window, and the mean and standard deviation of every value
+ * recorded so far.
+ */
+class DropwizardReservoir implements Reservoir {
+    /**
+     * The minimum and the percentiles published by Dropwizard's reporters.
+     */
+    private static final double[] REPORTED_PERCENTILES = {0, 0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+
+    /**
+     * Dropwizard's reservoirs keep exact samples, so their percentiles are computed with two significant digits at
+     * least rather than the single digit of {@link DistributionStatisticConfig#DEFAULT}.
+     */
+    private static final int MIN_PERCENTILE_PRECISION = 2;
+
+    private final TimeWindowPercentileHistogram histogram;
+    private final double[] meterPercentiles;
+    private final TimeWindowMax max;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder total = new DoubleAdder();
+    private final DoubleAdder totalOfSquares = new DoubleAdder();
+
+    DropwizardReservoir(Clock clock, DistributionStatisticConfig distributionStatisticConfig) {
+        double[] meterPercentiles = distributionStatisticConfig.getPercentiles();
+        this.meterPercentiles = meterPercentiles == null ? new double[0] : meterPercentiles;
+
+        Integer precision = distributionStatisticConfig.getPercentilePrecision();
+        DistributionStatisticConfig reservoirConfig = DistributionStatisticConfig.builder()
+                .percentiles(DoubleStream.concat(Arrays.stream(REPORTED_PERCENTILES), Arrays.stream(this.meterPercentiles))
+                        .distinct()
+                        .sorted()
+                        .toArray())
+                .percentilePrecision(Math.max(precision == null ? 0 : precision, MIN_PERCENTILE_PRECISION))
+                .build()
+                .merge(distributionStatisticConfig);
+
+        this.histogram = new TimeWindowPercentileHistogram(clock, reservoirConfig, false);
+        this.max = new TimeWindowMax(clock, distributionStatisticConfig);
+    }
+
+    /**
+     * @param distributionStatisticConfig The configuration of a meter.
+     * @return The configuration of the meter without percentiles or histogram buckets, which the meter takes from its
+     * reservoir instead.
+     */
+    static DistributionStatisticConfig withoutHistogram(DistributionStatisticConfig distributionStatisticConfig) {
+        return DistributionStatisticConfig.builder()
+                .percentilesHistogram(false)
+                .percentiles()
+                .serviceLevelObjectives()
+                .build()
+                .merge(distributionStatisticConfig);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(count.sum(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return A Dropwizard histogram backed by this reservoir, whose count is the count of the reservoir so that a
+     * meter can record fractional values with {@link #update(double)} rather than through the histogram.
+     */
+    ReservoirHistogram newHistogram() {
+        return new ReservoirHistogram(this);
+    }
+
+    /**
+     * @param clock The clock the timer's contexts are timed with.
+     * @return A Dropwizard timer backed by this reservoir.
+     */
+    ReservoirTimer newTimer(com.codahale.metrics.Clock clock) {
+        return new ReservoirTimer(this, clock);
+    }
+
+    @Override
+    public void update(long value) {
+        update((double) value);
+    }
+
+    /**
+     * Records a value without truncating it to a whole number, as Dropwizard histograms do.
+     */
+    void update(double value) {
+        histogram.recordDouble(value);
+        max.record(value);
+        count.increment();
+        total.add(value);
+        totalOfSquares.add(value * value);
+    }
+
+    double total() {
+        return total.sum();
+    }
+
+    double max() {
+        return max.poll();
+    }
+
+    /**
+     * @return The percentiles and histogram buckets configured on the meter, as if they were recorded by the meter's own
+     * histogram.
+     */
+    HistogramSnapshot takeSnapshot(long count, double total, double max) {
+        HistogramSnapshot snapshot = histogram.takeSnapshot(count, total, max);
+        ValueAtPercentile[] percentileValues = Arrays.stream(snapshot.percentileValues())
+                .filter(value -> isMeterPercentile(value.percentile()))
+                .toArray(ValueAtPercentile[]::new);
+        return new HistogramSnapshot(count, total, max, percentileValues, snapshot.histogramCounts(),
+                snapshot::outputSummary);
+    }
+
+    private boolean isMeterPercentile(double percentile) {
+        for (double meterPercentile : meterPercentiles) {
+            if (meterPercentile == percentile) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        long count = this.count.sum();
+        double total = this.total.sum();
+        double mean = count == 0 ? 0 : total / count;
+        double variance = count == 0 ? 0 : Math.max(0, totalOfSquares.sum() / count - mean * mean);
+
+        ValueAtPercentile[] percentileValues = histogram.takeSnapshot(count, total, max()).percentileValues();
+        long[] values = new long[percentileValues.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) percentileValues[i].value();
+        }
+        return new ReservoirSnapshot(percentileValues, values, count, (long) max(), mean, Math.sqrt(variance));
+    }
+
+    static class ReservoirHistogram extends com.codahale.metrics.Histogram {
+        private final DropwizardReservoir reservoir;
+
+        private ReservoirHistogram(DropwizardReservoir reservoir) {
+            super(reservoir);
+            this.reservoir = reservoir;
+        }
+
+        DropwizardReservoir reservoir() {
+            return reservoir;
+        }
+
+        @Override
+        public long getCount() {
+            return reservoir.count.sum();
+        }
+    }
+
+    static class ReservoirTimer extends com.codahale.metrics.Timer {
+        private final DropwizardReservoir reservoir;
+
+        private ReservoirTimer(DropwizardReservoir reservoir, com.codahale.metrics.Clock clock) {
+            super(reservoir, clock);
+            this.reservoir = reservoir;
+        }
+
+        DropwizardReservoir reservoir() {
+            return reservoir;
+        }
+    }
+
+    private static class ReservoirSnapshot extends Snapshot {
+        private final ValueAtPercentile[] percentileValues;
+        private final long[] values;
+        private final long count;
+        private final long max;
+        private final double mean;
+        private final double stdDev;
+
+        ReservoirSnapshot(ValueAtPercentile[] percentileValues, long[] values, long count, long max, double mean, double stdDev) {
+            this.percentileValues = percentileValues;
+            this.values = values;
+            this.count = count;
+            this.max = max;
+            this.mean = mean;
+            this.stdDev = stdDev;
+        }
+
+        /**
+         * @param quantile A quantile in {@code [0, 1]}.
+         * @return The value of the smallest percentile kept by the reservoir at or above the quantile, or the maximum
+         * when the quantile is above all of them.
+         */
+        @Override
+        public double getValue(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            for (ValueAtPercentile percentileValue : percentileValues) {
+                if (percentileValue.percentile() >= quantile) {
+                    return percentileValue.value();
+                }
+            }
+            return max;
+        }
+
+        /**
+         * @return The values of the percentiles kept by the reservoir, in ascending order.
+         */
+        @Override
+        public long[] getValues() {
+            return Arrays.copyOf(values, values.length);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return mean;
+        }
+
+        @Override
+        public long getMin() {
+            return count == 0 || values.length == 0 ? 0 : values[0];
+        }
+
+        @Override
+        public double getStdDev() {
+            return stdDev;
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+                for (long value : values) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
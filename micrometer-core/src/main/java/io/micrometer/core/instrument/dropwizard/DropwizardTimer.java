@@ -19,22 +19,46 @@ import com.codahale.metrics.Timer;
 import io.micrometer.core.instrument.AbstractTimer;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.distribution.TimeWindowMax;
 import io.micrometer.core.instrument.distribution.pause.PauseDetector;
 import io.micrometer.core.instrument.util.TimeUtils;
+import io.micrometer.core.lang.Nullable;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class DropwizardTimer extends AbstractTimer {
     private final Timer impl;
-    private final AtomicLong totalTime = new AtomicLong();
+
+    @Nullable
+    private final AtomicLong totalTime;
+
+    @Nullable
     private final TimeWindowMax max;
 
+    /**
+     * The reservoir of {@link #impl} when it is backed by Micrometer, holding the total, max and distribution of the
+     * recorded durations in nanoseconds.
+     */
+    @Nullable
+    private final DropwizardReservoir reservoir;
+
     DropwizardTimer(Id id, Timer impl, Clock clock, DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
         super(id, clock, distributionStatisticConfig, pauseDetector, TimeUnit.MILLISECONDS, false);
         this.impl = impl;
+        this.totalTime = new AtomicLong();
         this.max = new TimeWindowMax(clock, distributionStatisticConfig);
+        this.reservoir = null;
+    }
+
+    DropwizardTimer(Id id, Timer impl, DropwizardReservoir reservoir, Clock clock,
+                    DistributionStatisticConfig distributionStatisticConfig, PauseDetector pauseDetector) {
+        super(id, clock, DropwizardReservoir.withoutHistogram(distributionStatisticConfig), pauseDetector, TimeUnit.MILLISECONDS, false);
+        this.impl = impl;
+        this.totalTime = null;
+        this.max = null;
+        this.reservoir = reservoir;
     }
 
     @Override
@@ -42,9 +66,11 @@ public class DropwizardTimer extends AbstractTimer {
         if (amount >= 0) {
             impl.update(amount, unit);
 
-            long nanoAmount = TimeUnit.NANOSECONDS.convert(amount, unit);
-            max.record(nanoAmount, TimeUnit.NANOSECONDS);
-            totalTime.addAndGet(nanoAmount);
+            if (reservoir == null) {
+                long nanoAmount = TimeUnit.NANOSECONDS.convert(amount, unit);
+                max.record(nanoAmount, TimeUnit.NANOSECONDS);
+                totalTime.addAndGet(nanoAmount);
+            }
         }
     }
 
@@ -55,11 +81,19 @@ public class DropwizardTimer extends AbstractTimer {
 
     @Override
     public double totalTime(TimeUnit unit) {
-        return TimeUtils.nanosToUnit(totalTime.get(), unit);
+        return TimeUtils.nanosToUnit(reservoir == null ? totalTime.get() : reservoir.total(), unit);
     }
 
     @Override
     public double max(TimeUnit unit) {
-        return max.poll(unit);
+        return reservoir == null ? max.poll(unit) : TimeUtils.nanosToUnit(reservoir.max(), unit);
+    }
+
+    @Override
+    public HistogramSnapshot takeSnapshot() {
+        if (reservoir == null) {
+            return super.takeSnapshot();
+        }
+        return reservoir.takeSnapshot(count(), totalTime(TimeUnit.NANOSECONDS), max(TimeUnit.NANOSECONDS));
     }
 }
@@ -0,0 +1,252 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.lang.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link TaskTimings} that accumulate the idle and execution times of tasks in the worker thread that ran them, and
+ * publish the sums of all worker threads as {@link FunctionTimer FunctionTimers}.
+ * <p>
+ * A task costs three clock reads and four ordered stores into memory that only its worker thread writes, instead of two
+ * {@link Timer.Sample Timer.Samples} and two {@link Timer} recordings. Counts and totals are exact, but no maximum or
+ * distribution is kept.
+ * <p>
+ * Executors monitored with the same meter names and tags in a registry share their timings, so the published meters
+ * sum the tasks of all of them, as the timers of executors monitored without accumulated timings do.
+ */
+class AccumulatedTaskTimings implements TaskTimings {
+    private static final Map<MeterRegistry, Map<List<Object>, AccumulatedTaskTimings>> timingsByRegistry =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Accumulators of terminated worker threads are folded once at least this many, and at least as many as there
+     * were live worker threads at the previous fold, have been created since, so that executors that start a thread
+     * per task don't grow {@link #accumulators} until the next publish.
+     */
+    private static final int FOLD_THRESHOLD = 64;
+
+    private final Clock clock;
+
+    private final ThreadLocal<Accumulator> accumulator = ThreadLocal.withInitial(this::newAccumulator);
+    private final Queue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger createdSinceFolded = new AtomicInteger();
+    private volatile int liveWhenFolded;
+
+    /**
+     * Holds what the accumulators of terminated worker threads had summed up. Guarded by {@code this}.
+     */
+    private final Accumulator terminated = new Accumulator(null);
+
+    static AccumulatedTaskTimings get(MeterRegistry registry, String executionName, String idleName, Tags tags) {
+        List<Object> key = Arrays.asList(executionName, idleName, tags);
+        AccumulatedTaskTimings timings;
+        synchronized (timingsByRegistry) {
+            timings = timingsByRegistry.computeIfAbsent(registry, r -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new AccumulatedTaskTimings(registry.config().clock()));
+        }
+
+        // registers the meters again if they were removed from the registry since they were first registered
+        FunctionTimer.builder(executionName, timings, t -> t.sum(a -> a.executionCount),
+                t -> t.sum(a -> a.executionNanos), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+
+        FunctionTimer.builder(idleName, timings, t -> t.sum(a -> a.idleCount),
+                t -> t.sum(a -> a.idleNanos), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+
+        return timings;
+    }
+
+    private AccumulatedTaskTimings(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Runnable wrap(Runnable task) {
+        long submitted = clock.monotonicTime();
+        return () -> {
+            long started = clock.monotonicTime();
+            try {
+                task.run();
+            } finally {
+                accumulator.get().record(started - submitted, clock.monotonicTime() - started);
+            }
+        };
+    }
+
+    @Override
+    public <V> Callable<V> wrap(Callable<V> task) {
+        long submitted = clock.monotonicTime();
+        return () -> {
+            long started = clock.monotonicTime();
+            try {
+                return task.call();
+            } finally {
+                accumulator.get().record(started - submitted, clock.monotonicTime() - started);
+            }
+        };
+    }
+
+    @Override
+    public Runnable wrapExecution(Runnable task) {
+        return () -> {
+            long started = clock.monotonicTime();
+            try {
+                task.run();
+            } finally {
+                accumulator.get().recordExecution(clock.monotonicTime() - started);
+            }
+        };
+    }
+
+    @Override
+    public <V> Callable<V> wrapExecution(Callable<V> task) {
+        return () -> {
+            long started = clock.monotonicTime();
+            try {
+                return task.call();
+            } finally {
+                accumulator.get().recordExecution(clock.monotonicTime() - started);
+            }
+        };
+    }
+
+    private Accumulator newAccumulator() {
+        Accumulator accumulator = new Accumulator(Thread.currentThread());
+        accumulators.add(accumulator);
+        if (createdSinceFolded.incrementAndGet() >= foldThreshold()) {
+            synchronized (this) {
+                // another worker thread may have folded while this one waited for the lock
+                if (createdSinceFolded.get() >= foldThreshold()) {
+                    foldTerminated();
+                }
+            }
+        }
+        return accumulator;
+    }
+
+    private int foldThreshold() {
+        return Math.max(FOLD_THRESHOLD, liveWhenFolded);
+    }
+
+    /**
+     * Must be called holding the lock of the timings.
+     */
+    private void foldTerminated() {
+        createdSinceFolded.set(0);
+        int live = 0;
+        for (Iterator<Accumulator> i = accumulators.iterator(); i.hasNext(); ) {
+            Accumulator accumulator = i.next();
+            if (accumulator.isTerminated()) {
+                // a terminated thread's last writes are visible once it is seen as not alive
+                terminated.add(accumulator);
+                i.remove();
+            } else {
+                live++;
+            }
+        }
+        liveWhenFolded = live;
+    }
+
+    private synchronized long sum(ToLongFunction<Accumulator> value) {
+        foldTerminated();
+        long sum = value.applyAsLong(terminated);
+        for (Accumulator accumulator : accumulators) {
+            sum += value.applyAsLong(accumulator);
+        }
+        return sum;
+    }
+
+    // VisibleForTesting
+    int accumulatorCount() {
+        return accumulators.size();
+    }
+
+    /**
+     * Written by its worker thread only, with ordered stores so that publishing threads see whole values.
+     */
+    private static final class Accumulator {
+        private static final AtomicLongFieldUpdater<Accumulator> IDLE_COUNT =
+                AtomicLongFieldUpdater.newUpdater(Accumulator.class, "idleCount");
+        private static final AtomicLongFieldUpdater<Accumulator> IDLE_NANOS =
+                AtomicLongFieldUpdater.newUpdater(Accumulator.class, "idleNanos");
+        private static final AtomicLongFieldUpdater<Accumulator> EXECUTION_COUNT =
+                AtomicLongFieldUpdater.newUpdater(Accumulator.class, "executionCount");
+        private static final AtomicLongFieldUpdater<Accumulator> EXECUTION_NANOS =
+                AtomicLongFieldUpdater.newUpdater(Accumulator.class, "executionNanos");
+
+        private final WeakReference<Thread> owner;
+
+        private volatile long idleCount;
+        private volatile long idleNanos;
+        private volatile long executionCount;
+        private volatile long executionNanos;
+
+        Accumulator(@Nullable Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        void record(long idle, long execution) {
+            IDLE_COUNT.lazySet(this, idleCount + 1);
+            IDLE_NANOS.lazySet(this, idleNanos + idle);
+            recordExecution(execution);
+        }
+
+        void recordExecution(long execution) {
+            EXECUTION_COUNT.lazySet(this, executionCount + 1);
+            EXECUTION_NANOS.lazySet(this, executionNanos + execution);
+        }
+
+        boolean isTerminated() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        /**
+         * Only used on the accumulator of terminated threads, under the lock of the timings.
+         */
+        void add(Accumulator other) {
+            IDLE_COUNT.lazySet(this, idleCount + other.idleCount);
+            IDLE_NANOS.lazySet(this, idleNanos + other.idleNanos);
+            EXECUTION_COUNT.lazySet(this, executionCount + other.executionCount);
+            EXECUTION_NANOS.lazySet(this, executionNanos + other.executionNanos);
+        }
+    }
+}
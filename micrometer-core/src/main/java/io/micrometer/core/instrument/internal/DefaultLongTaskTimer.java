@@ -28,10 +28,21 @@ import io.micrometer.core.instrument.util.TimeUtils;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer {
+    /**
+     * Sweeping once as many tasks have stopped as are still active bounds the deque to twice its active size.
+     */
+    private static final int MIN_STOPS_BETWEEN_SWEEPS = 64;
+
+    private static final AtomicIntegerFieldUpdater<SampleImpl> STOPPED =
+            AtomicIntegerFieldUpdater.newUpdater(SampleImpl.class, "stopped");
+
     /**
      * Preferring {@link ConcurrentLinkedDeque} over {@link CopyOnWriteArrayList} here because...
      * <p>
@@ -41,9 +52,16 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
      * <p>
      * Histogram creation is O(N) for both the queue and list options, because we have to consider which bucket each
      * active task belongs.
+     * <p>
+     * {@link ConcurrentLinkedDeque#remove(Object)} is O(N) though, so stopped tasks are only marked as stopped and
+     * swept out of the deque in bulk once enough of them have accumulated, keeping stops amortized O(1).
      */
     private final Deque<SampleImpl> activeTasks = new ConcurrentLinkedDeque<>();
 
+    private final AtomicInteger activeTaskCount = new AtomicInteger();
+    private final AtomicInteger stopsSinceSweep = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
     private final Clock clock;
     private final TimeUnit baseTimeUnit;
     private final DistributionStatisticConfig distributionStatisticConfig;
@@ -83,33 +101,58 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
     @Override
     public Sample start() {
         SampleImpl sample = new SampleImpl();
+        activeTaskCount.incrementAndGet();
         activeTasks.add(sample);
         return sample;
     }
 
+    private void stopped() {
+        int active = activeTaskCount.decrementAndGet();
+        if (stopsSinceSweep.incrementAndGet() > Math.max(MIN_STOPS_BETWEEN_SWEEPS, active) &&
+                sweeping.compareAndSet(false, true)) {
+            try {
+                stopsSinceSweep.set(0);
+                activeTasks.removeIf(SampleImpl::isStopped);
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+
     @Override
     public double duration(TimeUnit unit) {
         long now = clock.monotonicTime();
         long sum = 0L;
         for (SampleImpl task : activeTasks) {
-            sum += now - task.startTime();
+            if (!task.isStopped()) {
+                sum += now - task.startTime();
+            }
         }
         return TimeUtils.nanosToUnit(sum, unit);
     }
 
     @Override
     public double max(TimeUnit unit) {
-        Sample oldest = activeTasks.peek();
-        return oldest == null ? 0.0 : oldest.duration(unit);
+        for (SampleImpl task : activeTasks) {
+            double duration = task.duration(unit);
+            if (duration >= 0) {
+                return duration;
+            }
+        }
+        return 0.0;
     }
 
     @Override
     public int activeTasks() {
-        return activeTasks.size();
+        return activeTaskCount.get();
     }
 
     protected void forEachActive(Consumer<Sample> sample) {
-        activeTasks.forEach(sample);
+        for (SampleImpl task : activeTasks) {
+            if (!task.isStopped()) {
+                sample.accept(task);
+            }
+        }
     }
 
     @Override
@@ -141,8 +184,18 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
 
         CountAtBucket[] countAtBucketsArr = new CountAtBucket[0];
 
+        List<SampleImpl> youngestToOldest = new ArrayList<>();
+        Iterator<SampleImpl> descending = activeTasks.descendingIterator();
+        while (descending.hasNext()) {
+            SampleImpl activeTask = descending.next();
+            if (!activeTask.isStopped()) {
+                youngestToOldest.add(activeTask);
+            }
+        }
+        int count = youngestToOldest.size();
+
         List<Double> percentilesAboveInterpolatableLine = percentilesRequested.stream()
-                .filter(p -> p * (activeTasks.size() + 1) > activeTasks.size())
+                .filter(p -> p * (count + 1) > count)
                 .collect(Collectors.toList());
 
         percentilesRequested.removeAll(percentilesAboveInterpolatableLine);
@@ -158,9 +211,7 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
             SampleImpl priorActiveTask = null;
             int i = 0;
 
-            Iterator<SampleImpl> youngestToOldest = activeTasks.descendingIterator();
-            while (youngestToOldest.hasNext()) {
-                SampleImpl activeTask = youngestToOldest.next();
+            for (SampleImpl activeTask : youngestToOldest) {
                 i++;
                 if (bucket != null) {
                     if (activeTask.duration(TimeUnit.NANOSECONDS) > bucket) {
@@ -170,7 +221,7 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
                 }
 
                 if (percentile != null) {
-                    double rank = percentile * (activeTasks.size() + 1);
+                    double rank = percentile * (count + 1);
 
                     if (i >= rank) {
                         double percentileValue = activeTask.duration(TimeUnit.NANOSECONDS);
@@ -209,7 +260,7 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
         ValueAtPercentile[] valueAtPercentilesArr = valueAtPercentiles.toArray(new ValueAtPercentile[0]);
 
         return new HistogramSnapshot(
-                activeTasks.size(),
+                count,
                 duration,
                 max,
                 valueAtPercentilesArr,
@@ -220,7 +271,11 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
 
     class SampleImpl extends Sample {
         private final long startTime;
-        private volatile boolean stopped;
+
+        /**
+         * Package-private so that {@code STOPPED} can update it.
+         */
+        volatile int stopped;
 
         private SampleImpl() {
             this.startTime = clock.monotonicTime();
@@ -228,15 +283,21 @@ public class DefaultLongTaskTimer extends AbstractMeter implements LongTaskTimer
 
         @Override
         public long stop() {
-            activeTasks.remove(this);
-            long duration = (long) duration(TimeUnit.NANOSECONDS);
-            stopped = true;
+            long duration = clock.monotonicTime() - startTime;
+            if (!STOPPED.compareAndSet(this, 0, 1)) {
+                return -1;
+            }
+            stopped();
             return duration;
         }
 
         @Override
         public double duration(TimeUnit unit) {
-            return stopped ? -1 : TimeUtils.nanosToUnit(clock.monotonicTime() - startTime, unit);
+            return isStopped() ? -1 : TimeUtils.nanosToUnit(clock.monotonicTime() - startTime, unit);
+        }
+
+        private boolean isStopped() {
+            return stopped != 0;
         }
 
         private long startTime() {
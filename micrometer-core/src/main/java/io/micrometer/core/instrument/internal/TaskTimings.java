@@ -0,0 +1,53 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.concurrent.Callable;
+
+/**
+ * How a timed executor times the tasks it runs.
+ */
+interface TaskTimings {
+    /**
+     * Wraps a task to time how long it waited to run and how long it ran.
+     */
+    Runnable wrap(Runnable task);
+
+    /**
+     * Wraps a task to time how long it waited to run and how long it ran.
+     */
+    <V> Callable<V> wrap(Callable<V> task);
+
+    /**
+     * Wraps a scheduled task to time how long it ran, since its wait is scheduled rather than idle.
+     */
+    Runnable wrapExecution(Runnable task);
+
+    /**
+     * Wraps a scheduled task to time how long it ran, since its wait is scheduled rather than idle.
+     */
+    <V> Callable<V> wrapExecution(Callable<V> task);
+
+    static TaskTimings create(MeterRegistry registry, String executionName, String idleName, Tags tags,
+                              boolean accumulateTimings) {
+        return accumulateTimings ?
+                AccumulatedTaskTimings.get(registry, executionName, idleName, tags) :
+                new TimerTaskTimings(registry, executionName, idleName, tags);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the tasks of a timed executor that are executing and that have completed, for executors whose own state
+ * cannot be read. This class is for internal use.
+ * <p>
+ * Tasks that are queued are not counted, since a task that is cancelled or rejected before it starts cannot be told
+ * apart from one that is still queued.
+ *
+ * @see io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics
+ * @since 1.7.0
+ */
+public class TaskTracker {
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * @return The approximate number of tasks that are executing.
+     */
+    public long active() {
+        // read completed first, so that it can't include tasks started after started was read
+        long completed = this.completed.sum();
+        return started.sum() - completed;
+    }
+
+    /**
+     * @return The total number of tasks that have completed execution.
+     */
+    public long completed() {
+        return completed.sum();
+    }
+
+    Runnable wrap(Runnable task) {
+        return () -> {
+            started.increment();
+            try {
+                task.run();
+            } finally {
+                completed.increment();
+            }
+        };
+    }
+
+    <V> Callable<V> wrap(Callable<V> task) {
+        return () -> {
+            started.increment();
+            try {
+                return task.call();
+            } finally {
+                completed.increment();
+            }
+        };
+    }
+}
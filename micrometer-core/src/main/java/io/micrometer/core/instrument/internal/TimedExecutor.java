@@ -18,7 +18,6 @@ package io.micrometer.core.instrument.internal;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
-import io.micrometer.core.instrument.Timer;
 
 import java.util.concurrent.Executor;
 
@@ -28,21 +27,34 @@ import java.util.concurrent.Executor;
  * @see io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics
  */
 public class TimedExecutor implements Executor {
-    private final MeterRegistry registry;
     private final Executor delegate;
-    private final Timer executionTimer;
-    private final Timer idleTimer;
+    private final TaskTimings timings;
 
     public TimedExecutor(MeterRegistry registry, Executor delegate, String executorName, String metricPrefix, Iterable<Tag> tags) {
-        this.registry = registry;
+        this(registry, delegate, executorName, metricPrefix, tags, false);
+    }
+
+    /**
+     * Create a {@code TimedExecutor} instance.
+     *
+     * @param registry registry
+     * @param delegate executor to time
+     * @param executorName executor name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param accumulateTimings whether to accumulate timings per worker thread and publish them as function timers
+     *                          rather than record every task into timers
+     * @since 1.7.0
+     */
+    public TimedExecutor(MeterRegistry registry, Executor delegate, String executorName, String metricPrefix,
+                         Iterable<Tag> tags, boolean accumulateTimings) {
         this.delegate = delegate;
-        Tags finalTags = Tags.concat(tags, "name", executorName);
-        this.executionTimer = registry.timer(metricPrefix + "executor.execution", finalTags);
-        this.idleTimer = registry.timer(metricPrefix + "executor.idle", finalTags);
+        this.timings = TaskTimings.create(registry, metricPrefix + "executor.execution", metricPrefix + "executor.idle",
+                Tags.concat(tags, "name", executorName), accumulateTimings);
     }
 
     @Override
     public void execute(Runnable command) {
-        delegate.execute(new TimedRunnable(registry, executionTimer, idleTimer, command));
+        delegate.execute(timings.wrap(command));
     }
 }
@@ -18,7 +18,7 @@ package io.micrometer.core.instrument.internal;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
-import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.lang.Nullable;
 
 import java.util.Collection;
 import java.util.List;
@@ -33,18 +33,51 @@ import static java.util.stream.Collectors.toList;
  * @see io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics
  */
 public class TimedExecutorService implements ExecutorService {
-    private final MeterRegistry registry;
     private final ExecutorService delegate;
-    private final Timer executionTimer;
-    private final Timer idleTimer;
+    private final TaskTimings timings;
 
     public TimedExecutorService(MeterRegistry registry, ExecutorService delegate, String executorServiceName,
                                 String metricPrefix, Iterable<Tag> tags) {
-        this.registry = registry;
+        this(registry, delegate, executorServiceName, metricPrefix, tags, false);
+    }
+
+    /**
+     * Create a {@code TimedExecutorService} instance.
+     *
+     * @param registry registry
+     * @param delegate executor service to time
+     * @param executorServiceName executor service name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param accumulateTimings whether to accumulate timings per worker thread and publish them as function timers
+     *                          rather than record every task into timers
+     * @since 1.7.0
+     */
+    public TimedExecutorService(MeterRegistry registry, ExecutorService delegate, String executorServiceName,
+                                String metricPrefix, Iterable<Tag> tags, boolean accumulateTimings) {
+        this(registry, delegate, executorServiceName, metricPrefix, tags, accumulateTimings, null);
+    }
+
+    /**
+     * Create a {@code TimedExecutorService} instance.
+     *
+     * @param registry registry
+     * @param delegate executor service to time
+     * @param executorServiceName executor service name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param accumulateTimings whether to accumulate timings per worker thread and publish them as function timers
+     *                          rather than record every task into timers
+     * @param tracker counts the executing and completed tasks, for executors whose own state cannot be read
+     * @since 1.7.0
+     */
+    public TimedExecutorService(MeterRegistry registry, ExecutorService delegate, String executorServiceName,
+                                String metricPrefix, Iterable<Tag> tags, boolean accumulateTimings,
+                                @Nullable TaskTracker tracker) {
         this.delegate = delegate;
-        Tags finalTags = Tags.concat(tags, "name", executorServiceName);
-        this.executionTimer = registry.timer(metricPrefix + "executor", finalTags);
-        this.idleTimer = registry.timer(metricPrefix + "executor.idle", finalTags);
+        TaskTimings timings = TaskTimings.create(registry, metricPrefix + "executor", metricPrefix + "executor.idle",
+                Tags.concat(tags, "name", executorServiceName), accumulateTimings);
+        this.timings = tracker == null ? timings : new TrackedTaskTimings(timings, tracker);
     }
 
     @Override
@@ -113,11 +146,11 @@ public class TimedExecutorService implements ExecutorService {
     }
 
     private Runnable wrap(Runnable task) {
-        return new TimedRunnable(registry, executionTimer, idleTimer, task);
+        return timings.wrap(task);
     }
 
     private <T> Callable<T> wrap(Callable<T> task) {
-        return new TimedCallable<>(registry, executionTimer, idleTimer, task);
+        return timings.wrap(task);
     }
 
     private <T> Collection<? extends Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
@@ -16,6 +16,7 @@
 package io.micrometer.core.instrument.internal;
 
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.lang.Nullable;
 
 import java.util.Collection;
 import java.util.List;
@@ -31,21 +32,57 @@ import static java.util.stream.Collectors.toList;
  * @see io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics
  */
 public class TimedScheduledExecutorService implements ScheduledExecutorService {
-    private final MeterRegistry registry;
     private final ScheduledExecutorService delegate;
-    private final Timer executionTimer;
-    private final Timer idleTimer;
+    private final TaskTimings timings;
     private final Counter scheduledOnce;
     private final Counter scheduledRepetitively;
 
     public TimedScheduledExecutorService(MeterRegistry registry, ScheduledExecutorService delegate,
                                          String executorServiceName, String metricPrefix,
                                          Iterable<Tag> tags) {
-        this.registry = registry;
+        this(registry, delegate, executorServiceName, metricPrefix, tags, false);
+    }
+
+    /**
+     * Create a {@code TimedScheduledExecutorService} instance.
+     *
+     * @param registry registry
+     * @param delegate scheduled executor service to time
+     * @param executorServiceName executor service name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param accumulateTimings whether to accumulate timings per worker thread and publish them as function timers
+     *                          rather than record every task into timers
+     * @since 1.7.0
+     */
+    public TimedScheduledExecutorService(MeterRegistry registry, ScheduledExecutorService delegate,
+                                         String executorServiceName, String metricPrefix,
+                                         Iterable<Tag> tags, boolean accumulateTimings) {
+        this(registry, delegate, executorServiceName, metricPrefix, tags, accumulateTimings, null);
+    }
+
+    /**
+     * Create a {@code TimedScheduledExecutorService} instance.
+     *
+     * @param registry registry
+     * @param delegate scheduled executor service to time
+     * @param executorServiceName executor service name which will be used as {@literal name} tag
+     * @param metricPrefix metrics prefix which will be used to prefix metric name
+     * @param tags additional tags
+     * @param accumulateTimings whether to accumulate timings per worker thread and publish them as function timers
+     *                          rather than record every task into timers
+     * @param tracker counts the executing and completed tasks, for executors whose own state cannot be read
+     * @since 1.7.0
+     */
+    public TimedScheduledExecutorService(MeterRegistry registry, ScheduledExecutorService delegate,
+                                         String executorServiceName, String metricPrefix,
+                                         Iterable<Tag> tags, boolean accumulateTimings,
+                                         @Nullable TaskTracker tracker) {
         this.delegate = delegate;
         Tags finalTags = Tags.concat(tags, "name", executorServiceName);
-        this.executionTimer = registry.timer(metricPrefix + "executor", finalTags);
-        this.idleTimer = registry.timer(metricPrefix + "executor.idle", finalTags);
+        TaskTimings timings = TaskTimings.create(registry, metricPrefix + "executor", metricPrefix + "executor.idle",
+                finalTags, accumulateTimings);
+        this.timings = tracker == null ? timings : new TrackedTaskTimings(timings, tracker);
         this.scheduledOnce = registry.counter(metricPrefix + "executor.scheduled.once", finalTags);
         this.scheduledRepetitively = registry.counter(metricPrefix + "executor.scheduled.repetitively", finalTags);
     }
@@ -118,33 +155,33 @@ public class TimedScheduledExecutorService implements ScheduledExecutorService {
     @Override
     public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
         scheduledOnce.increment();
-        return delegate.schedule(executionTimer.wrap(command), delay, unit);
+        return delegate.schedule(timings.wrapExecution(command), delay, unit);
     }
 
     @Override
     public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
         scheduledOnce.increment();
-        return delegate.schedule(executionTimer.wrap(callable), delay, unit);
+        return delegate.schedule(timings.wrapExecution(callable), delay, unit);
     }
 
     @Override
     public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
         scheduledRepetitively.increment();
-        return delegate.scheduleAtFixedRate(executionTimer.wrap(command), initialDelay, period, unit);
+        return delegate.scheduleAtFixedRate(timings.wrapExecution(command), initialDelay, period, unit);
     }
 
     @Override
     public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
         scheduledRepetitively.increment();
-        return delegate.scheduleWithFixedDelay(executionTimer.wrap(command), initialDelay, delay, unit);
+        return delegate.scheduleWithFixedDelay(timings.wrapExecution(command), initialDelay, delay, unit);
     }
 
     private Runnable wrap(Runnable task) {
-        return new TimedRunnable(registry, executionTimer, idleTimer, task);
+        return timings.wrap(task);
     }
 
     private <T> Callable<T> wrap(Callable<T> task) {
-        return new TimedCallable<>(registry, executionTimer, idleTimer, task);
+        return timings.wrap(task);
     }
 
     private <T> Collection<? extends Callable<T>> wrapAll(Collection<? extends Callable<T>> tasks) {
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link TaskTimings} that record every task into an execution and an idle {@link Timer}.
+ */
+class TimerTaskTimings implements TaskTimings {
+    private final MeterRegistry registry;
+    private final Timer executionTimer;
+    private final Timer idleTimer;
+
+    TimerTaskTimings(MeterRegistry registry, String executionName, String idleName, Tags tags) {
+        this.registry = registry;
+        this.executionTimer = registry.timer(executionName, tags);
+        this.idleTimer = registry.timer(idleName, tags);
+    }
+
+    @Override
+    public Runnable wrap(Runnable task) {
+        return new TimedRunnable(registry, executionTimer, idleTimer, task);
+    }
+
+    @Override
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return new TimedCallable<>(registry, executionTimer, idleTimer, task);
+    }
+
+    @Override
+    public Runnable wrapExecution(Runnable task) {
+        return executionTimer.wrap(task);
+    }
+
+    @Override
+    public <V> Callable<V> wrapExecution(Callable<V> task) {
+        return executionTimer.wrap(task);
+    }
+}
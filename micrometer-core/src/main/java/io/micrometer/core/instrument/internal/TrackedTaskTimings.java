@@ -0,0 +1,51 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link TaskTimings} that also count the tasks they time with a {@link TaskTracker}.
+ */
+class TrackedTaskTimings implements TaskTimings {
+    private final TaskTimings delegate;
+    private final TaskTracker tracker;
+
+    TrackedTaskTimings(TaskTimings delegate, TaskTracker tracker) {
+        this.delegate = delegate;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Runnable wrap(Runnable task) {
+        return delegate.wrap(tracker.wrap(task));
+    }
+
+    @Override
+    public <V> Callable<V> wrap(Callable<V> task) {
+        return delegate.wrap(tracker.wrap(task));
+    }
+
+    @Override
+    public Runnable wrapExecution(Runnable task) {
+        return delegate.wrapExecution(tracker.wrap(task));
+    }
+
+    @Override
+    public <V> Callable<V> wrapExecution(Callable<V> task) {
+        return delegate.wrapExecution(tracker.wrap(task));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.micrometer.core.instrument.simple;
 
+import io.micrometer.core.annotation.Incubating;
 import io.micrometer.core.instrument.config.MeterRegistryConfig;
 import io.micrometer.core.instrument.config.validate.Validated;
 
@@ -22,6 +23,7 @@ import java.time.Duration;
 
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.check;
 import static io.micrometer.core.instrument.config.MeterRegistryConfigValidator.checkAll;
+import static io.micrometer.core.instrument.config.validate.PropertyValidator.getBoolean;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getDuration;
 import static io.micrometer.core.instrument.config.validate.PropertyValidator.getEnum;
 
@@ -53,11 +55,22 @@ public interface SimpleConfig extends MeterRegistryConfig {
         return getEnum(this, CountingMode.class, "mode").orElse(CountingMode.CUMULATIVE);
     }
 
+    /**
+     * @return Whether to reduce the memory used by each meter, for registries holding a very large number of them.
+     * Meter ids share a single instance of each distinct name and tag.
+     * @since 1.7.0
+     */
+    @Incubating(since = "1.7.0")
+    default boolean compactStorage() {
+        return getBoolean(this, "compactStorage").orElse(false);
+    }
+
     @Override
     default Validated<?> validate() {
         return checkAll(this,
                 check("step", SimpleConfig::step),
-                check("mode", SimpleConfig::mode)
+                check("mode", SimpleConfig::mode),
+                check("compactStorage", SimpleConfig::compactStorage)
         );
     }
 }
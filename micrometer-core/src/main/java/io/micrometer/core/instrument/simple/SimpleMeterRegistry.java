@@ -49,6 +49,10 @@ public class SimpleMeterRegistry extends MeterRegistry {
         config.requireValid();
 
         this.config = config;
+
+        if (config.compactStorage()) {
+            config().internIds();
+        }
     }
 
     @Override
@@ -116,6 +120,14 @@ public class SimpleMeterRegistry extends MeterRegistry {
         }
     }
 
+    @Override
+    protected Counter newIntegralCounter(Meter.Id id) {
+        if (config.mode() == CountingMode.CUMULATIVE) {
+            return new CumulativeIntegralCounter(id);
+        }
+        return newCounter(id);
+    }
+
     @Override
     protected LongTaskTimer newLongTaskTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig) {
         DefaultLongTaskTimer ltt = new DefaultLongTaskTimer(id, clock, getBaseTimeUnit(), distributionStatisticConfig, false);
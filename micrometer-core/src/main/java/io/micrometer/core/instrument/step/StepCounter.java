@@ -26,7 +26,7 @@ import io.micrometer.core.instrument.Counter;
  *
  * @author Jon Schneider
  */
-public class StepCounter extends AbstractMeter implements Counter {
+public class StepCounter extends AbstractMeter implements Counter, StepMeter {
     private final StepDouble value;
 
     public StepCounter(Id id, Clock clock, long stepMillis) {
@@ -43,4 +43,9 @@ public class StepCounter extends AbstractMeter implements Counter {
     public double count() {
         return value.poll();
     }
+
+    @Override
+    public boolean hasPendingRecordings() {
+        return value.getCurrent().sum() != 0;
+    }
 }
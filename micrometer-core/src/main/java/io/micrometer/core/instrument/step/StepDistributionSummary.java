@@ -32,7 +32,7 @@ import java.util.concurrent.atomic.LongAdder;
  * @author Jon Schneider
  * @author Johnny Lim
  */
-public class StepDistributionSummary extends AbstractDistributionSummary {
+public class StepDistributionSummary extends AbstractDistributionSummary implements StepMeter {
     private final LongAdder count = new LongAdder();
     private final DoubleAdder total = new DoubleAdder();
     private final StepTuple2<Long, Double> countTotal;
@@ -77,6 +77,11 @@ public class StepDistributionSummary extends AbstractDistributionSummary {
         return max.poll();
     }
 
+    @Override
+    public boolean hasPendingRecordings() {
+        return count.sum() != 0;
+    }
+
     @Override
     public Iterable<Measurement> measure() {
         return Arrays.asList(
@@ -0,0 +1,32 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.step;
+
+import io.micrometer.core.annotation.Incubating;
+
+/**
+ * A meter whose statistics only reflect the last completed step.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public interface StepMeter {
+    /**
+     * @return {@code true} if something was recorded that is not reflected in the last completed step yet, which
+     * means it has not been published yet either.
+     */
+    boolean hasPendingRecordings();
+}
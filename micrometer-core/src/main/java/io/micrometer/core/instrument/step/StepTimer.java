@@ -28,7 +28,7 @@ import java.util.concurrent.atomic.LongAdder;
 /**
  * @author Jon Schneider
  */
-public class StepTimer extends AbstractTimer {
+public class StepTimer extends AbstractTimer implements StepMeter {
     private final LongAdder count = new LongAdder();
     private final LongAdder total = new LongAdder();
     private final StepTuple2<Long, Long> countTotal;
@@ -76,4 +76,9 @@ public class StepTimer extends AbstractTimer {
     public double max(final TimeUnit unit) {
         return TimeUtils.nanosToUnit(max.poll(), unit);
     }
+
+    @Override
+    public boolean hasPendingRecordings() {
+        return count.sum() != 0;
+    }
 }
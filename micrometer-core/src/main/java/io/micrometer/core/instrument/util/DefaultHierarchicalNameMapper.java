@@ -0,0 +1,56 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.util;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.NamingConvention;
+
+import java.util.List;
+
+/**
+ * {@link HierarchicalNameMapper#DEFAULT}, rendering the name in a single pass over the id's memoized convention name
+ * and tags.
+ */
+final class DefaultHierarchicalNameMapper implements HierarchicalNameMapper {
+    @Override
+    public String toHierarchicalName(Meter.Id id, NamingConvention convention) {
+        String conventionName = id.getConventionName(convention);
+        List<Tag> conventionTags = id.getConventionTags(convention);
+        if (conventionTags.isEmpty()) {
+            return conventionName;
+        }
+
+        int length = conventionName.length();
+        for (Tag tag : conventionTags) {
+            length += tag.getKey().length() + tag.getValue().length() + 2;
+        }
+
+        StringBuilder hierarchicalName = new StringBuilder(length).append(conventionName);
+        for (Tag tag : conventionTags) {
+            appendSegment(hierarchicalName.append('.'), tag.getKey());
+            appendSegment(hierarchicalName.append('.'), tag.getValue());
+        }
+        return hierarchicalName.toString();
+    }
+
+    private static void appendSegment(StringBuilder hierarchicalName, String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            hierarchicalName.append(c == ' ' ? '_' : c);
+        }
+    }
+}
@@ -63,6 +63,13 @@ public final class DoubleFormat {
         return new DecimalFormat("##0.0#####",otherSymbols);
     });
 
+    /**
+     * Enough for anything appended without falling back to {@link DecimalFormat}.
+     */
+    private static final int MAX_FAST_PATH_LENGTH = 24;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000};
+
     private DoubleFormat() {
     }
 
@@ -71,7 +78,25 @@ public final class DoubleFormat {
      * @return A stringified version of the number that uses a decimal representation or the word "NaN".
      */
     public static String decimalOrNan(double d) {
-        return DECIMAL_OR_NAN.get().format(d);
+        return appendDecimalOrNan(new StringBuilder(MAX_FAST_PATH_LENGTH), d).toString();
+    }
+
+    /**
+     * Append the same representation as {@link #decimalOrNan(double)} without creating an intermediate string.
+     *
+     * @param sb The builder to append to.
+     * @param d  Number to format.
+     * @return The builder.
+     * @since 1.7.0
+     */
+    public static StringBuilder appendDecimalOrNan(StringBuilder sb, double d) {
+        if (Double.isNaN(d)) {
+            return sb.append("NaN");
+        }
+        if (!appendFixed(sb, d, false)) {
+            sb.append(DECIMAL_OR_NAN.get().format(d));
+        }
+        return sb;
     }
 
     /**
@@ -82,7 +107,7 @@ public final class DoubleFormat {
      */
     @Deprecated
     public static String decimalOrWhole(double d) {
-        return WHOLE_OR_DECIMAL.get().format(d);
+        return wholeOrDecimal(d);
     }
 
     /**
@@ -91,7 +116,22 @@ public final class DoubleFormat {
      * whole.
      */
     public static String decimal(double d) {
-        return DECIMAL.get().format(d);
+        return appendDecimal(new StringBuilder(MAX_FAST_PATH_LENGTH), d).toString();
+    }
+
+    /**
+     * Append the same representation as {@link #decimal(double)} without creating an intermediate string.
+     *
+     * @param sb The builder to append to.
+     * @param d  Number to format.
+     * @return The builder.
+     * @since 1.7.0
+     */
+    public static StringBuilder appendDecimal(StringBuilder sb, double d) {
+        if (!appendFixed(sb, d, true)) {
+            sb.append(DECIMAL.get().format(d));
+        }
+        return sb;
     }
 
     /**
@@ -100,6 +140,120 @@ public final class DoubleFormat {
      * whole.
      */
     public static String wholeOrDecimal(double d) {
-        return WHOLE_OR_DECIMAL.get().format(d);
+        return appendWholeOrDecimal(new StringBuilder(MAX_FAST_PATH_LENGTH), d).toString();
+    }
+
+    /**
+     * Append the same representation as {@link #wholeOrDecimal(double)} without creating an intermediate string.
+     *
+     * @param sb The builder to append to.
+     * @param d  Number to format.
+     * @return The builder.
+     * @since 1.7.0
+     */
+    public static StringBuilder appendWholeOrDecimal(StringBuilder sb, double d) {
+        if (!appendFixed(sb, d, false)) {
+            sb.append(WHOLE_OR_DECIMAL.get().format(d));
+        }
+        return sb;
+    }
+
+    /**
+     * Append {@code d} exactly as the {@link DecimalFormat} instances above do, but with integer arithmetic on the
+     * binary representation of {@code d}.
+     * <p>
+     * {@link DecimalFormat} rounds the shortest decimal representation of a double (as in {@link Double#toString(double)})
+     * half-even to six fraction digits, deciding decimal ties on the exact binary value. That is the same as rounding
+     * the exact binary value half-even whenever the gap between adjacent doubles is smaller than 10^-6, which holds for
+     * magnitudes below 2^33. Larger whole numbers are exact in both representations up to 2^53.
+     *
+     * @param sb                  The builder to append to.
+     * @param d                   Number to format.
+     * @param alwaysFractionDigit Whether to append ".0" to whole numbers.
+     * @return {@code false}, with nothing appended, for numbers that are left to {@link DecimalFormat}: those that are
+     * not finite, and those that are not whole with a magnitude of 2^33 or more.
+     */
+    private static boolean appendFixed(StringBuilder sb, double d, boolean alwaysFractionDigit) {
+        long bits = Double.doubleToRawLongBits(d);
+        int biasedExponent = (int) ((bits >>> 52) & 0x7ff);
+
+        // d = significand * 2^exponent
+        long significand = bits & 0xfffffffffffffL;
+        int exponent;
+        if (biasedExponent == 0) {
+            exponent = -1074;
+        } else {
+            significand |= 1L << 52;
+            exponent = biasedExponent - 1075;
+        }
+
+        long whole;
+        long fraction; // in millionths
+        if (significand == 0) {
+            whole = 0;
+            fraction = 0;
+        } else if (exponent + 52 >= 33) {
+            if (exponent > 0 || (significand & ((1L << -exponent) - 1)) != 0) {
+                return false;
+            }
+            whole = significand >>> -exponent;
+            fraction = 0;
+        } else {
+            // d * 10^6 = significand * 5^6 / 2^shift, where significand * 5^6 needs up to 67 bits
+            int shift = -(exponent + 6);
+            long lo = significand * 15625;
+            long hi = ((significand >>> 32) * 15625 + (((significand & 0xffffffffL) * 15625) >>> 32)) >>> 32;
+
+            long scaled;
+            int remainderComparedToHalf;
+            if (shift < 64) {
+                scaled = (lo >>> shift) | (hi << (64 - shift));
+                remainderComparedToHalf = Long.compare(lo & ((1L << shift) - 1), 1L << (shift - 1));
+            } else if (shift == 64) {
+                scaled = hi;
+                remainderComparedToHalf = Long.compareUnsigned(lo, Long.MIN_VALUE);
+            } else if (shift < 128) {
+                // hi has at most 3 significant bits, so a shift beyond 67 leaves nothing but a remainder below half
+                scaled = shift < 67 ? hi >>> (shift - 64) : 0;
+                long remainderHi = shift < 67 ? hi & ((1L << (shift - 64)) - 1) : hi;
+                long halfHi = 1L << (shift - 65);
+                remainderComparedToHalf = remainderHi != halfHi ?
+                        Long.compare(remainderHi, halfHi) :
+                        lo == 0 ? 0 : 1;
+            } else {
+                scaled = 0;
+                remainderComparedToHalf = -1;
+            }
+
+            if (remainderComparedToHalf > 0 || (remainderComparedToHalf == 0 && (scaled & 1) == 1)) {
+                scaled++;
+            }
+
+            whole = scaled / 1_000_000;
+            fraction = scaled % 1_000_000;
+        }
+
+        if (bits < 0) {
+            // like DecimalFormat, keep the sign of negative numbers that round to zero
+            sb.append('-');
+        }
+        sb.append(whole);
+
+        if (fraction != 0) {
+            int fractionDigits = 6;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                fractionDigits--;
+            }
+            sb.append('.');
+            while (fraction < POWERS_OF_TEN[fractionDigits - 1]) {
+                sb.append('0');
+                fractionDigits--;
+            }
+            sb.append(fraction);
+        } else if (alwaysFractionDigit) {
+            sb.append(".0");
+        }
+        return true;
     }
 }
@@ -18,8 +18,6 @@ package io.micrometer.core.instrument.util;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.config.NamingConvention;
 
-import java.util.stream.Collectors;
-
 /**
  * Defines the mapping between a combination of name + dimensional tags and a hierarchical name.
  *
@@ -30,10 +28,7 @@ public interface HierarchicalNameMapper {
      * Sort tags alphabetically by key and append tag key values to the name with '.', e.g.
      * {@code http_server_requests.response.200.method.GET}
      */
-    HierarchicalNameMapper DEFAULT = (id, convention) -> id.getConventionName(convention) + id.getConventionTags(convention).stream()
-            .map(t -> "." + t.getKey() + "." + t.getValue())
-            .map(nameSegment -> nameSegment.replace(" ", "_"))
-            .collect(Collectors.joining(""));
+    HierarchicalNameMapper DEFAULT = new DefaultHierarchicalNameMapper();
 
     String toHierarchicalName(Meter.Id id, NamingConvention convention);
 }
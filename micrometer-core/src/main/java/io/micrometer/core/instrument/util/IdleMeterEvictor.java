@@ -0,0 +1,205 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.util;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.step.StepMeter;
+import io.micrometer.core.lang.Nullable;
+import io.micrometer.core.util.internal.logging.InternalLogger;
+import io.micrometer.core.util.internal.logging.InternalLoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Removes counters, timers, distribution summaries and long task timers that have not recorded anything for longer
+ * than an idle timeout from the registry it is bound to, so that meters with short-lived tag values (per user, per
+ * URI, ...) don't accumulate forever.
+ * <p>
+ * Nothing is added to the recording path. Instead, the registry is swept periodically (every half idle timeout) and
+ * each meter's count is compared with the previous sweep. A {@link StepMeter} counts as active for as long as it has
+ * recordings that are not yet part of a completed step, or its last completed step (which the registry publishes
+ * during the following step) has a non-zero count, so a meter is never evicted before its final value was published.
+ * Gauges and function-based meters are never evicted.
+ * <p>
+ * Evicted meters are recreated when they are next looked up in the registry. Recording to a reference held on to
+ * after its eviction is lost, so only make meters that are looked up through the registry on each use evictable.
+ * An instance should only be bound to one registry. It publishes the number of evicted meters as
+ * {@code meter.evictions}.
+ *
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class IdleMeterEvictor implements MeterBinder, AutoCloseable {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(IdleMeterEvictor.class);
+
+    private final Duration idleTimeout;
+    private final Predicate<Meter.Id> evictable;
+
+    private final Map<Meter.Id, Activity> activityById = new ConcurrentHashMap<>();
+    private final LongAdder evictions = new LongAdder();
+
+    @Nullable
+    private volatile MeterRegistry registry;
+
+    @Nullable
+    private ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * @param idleTimeout How long a meter may go without recording before it is evicted.
+     */
+    public IdleMeterEvictor(Duration idleTimeout) {
+        this(idleTimeout, id -> true);
+    }
+
+    /**
+     * @param idleTimeout How long a meter may go without recording before it is evicted.
+     * @param evictable   Limits eviction to meters with matching ids.
+     */
+    public IdleMeterEvictor(Duration idleTimeout, Predicate<Meter.Id> evictable) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.idleTimeout = idleTimeout;
+        this.evictable = evictable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+
+        FunctionCounter.builder("meter.evictions", evictions, LongAdder::sum)
+                .description("The number of meters removed from the registry after being idle")
+                .register(registry);
+
+        registry.config().onMeterRemoved(meter -> activityById.remove(meter.getId()));
+
+        start();
+    }
+
+    private synchronized void start() {
+        if (scheduledExecutorService == null) {
+            long periodMillis = Math.max(1, idleTimeout.toMillis() / 2);
+            scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("idle-meter-evictor"));
+            scheduledExecutorService.scheduleAtFixedRate(this::evictIdleMetersSafely, periodMillis, periodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdown();
+            scheduledExecutorService = null;
+        }
+    }
+
+    private void evictIdleMetersSafely() {
+        try {
+            evictIdleMeters();
+        } catch (Throwable e) {
+            logger.warn("Unexpected exception thrown while evicting idle meters", e);
+        }
+    }
+
+    /**
+     * Sweep the registry once, evicting meters that have been idle for longer than the idle timeout. This is
+     * called periodically once bound to a registry.
+     */
+    public void evictIdleMeters() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            return;
+        }
+
+        long now = registry.config().clock().monotonicTime();
+        long idleTimeoutNanos = idleTimeout.toNanos();
+
+        for (Meter meter : registry.getMeters()) {
+            Meter.Id id = meter.getId();
+            double count = count(meter);
+            if (Double.isNaN(count) || !evictable.test(id)) {
+                continue;
+            }
+
+            Activity activity = activityById.get(id);
+            if (activity == null) {
+                activityById.put(id, new Activity(count, now));
+            } else if (count != activity.count || isActiveSinceLastStep(meter, count)) {
+                activity.count = count;
+                activity.lastActive = now;
+            } else if (now - activity.lastActive >= idleTimeoutNanos) {
+                if (registry.remove(meter) != null) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A value that changes whenever something is recorded, or {@link Double#NaN} for meters that are never
+     * evicted.
+     */
+    private static double count(Meter meter) {
+        return meter.match(
+                gauge -> Double.NaN,
+                Counter::count,
+                timer -> (double) timer.count(),
+                summary -> (double) summary.count(),
+                longTaskTimer -> (double) longTaskTimer.activeTasks(),
+                timeGauge -> Double.NaN,
+                functionCounter -> Double.NaN,
+                functionTimer -> Double.NaN,
+                other -> Double.NaN);
+    }
+
+    /**
+     * @return {@code true} when the meter is still active even though its count has not changed since the previous
+     * sweep: a long task timer with active tasks, or a step meter that recorded something in the last completed step
+     * or since then, which the registry may not have published yet.
+     */
+    private static boolean isActiveSinceLastStep(Meter meter, double count) {
+        if (meter instanceof LongTaskTimer) {
+            return count > 0;
+        }
+        if (meter instanceof StepMeter) {
+            return count > 0 || ((StepMeter) meter).hasPendingRecordings();
+        }
+        return false;
+    }
+
+    private static class Activity {
+        private double count;
+        private long lastActive;
+
+        Activity(double count, long lastActive) {
+            this.count = count;
+            this.lastActive = lastActive;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.util;
+
+import io.micrometer.core.annotation.Incubating;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.lang.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Caches, for each meter of a registry, the parts of the meter's serialized form that depend only on its id (the
+ * escaped name, the tags, metadata), so that a push registry only has to add the values of the meter on each publish.
+ * <p>
+ * Fragments are rendered the first time they are requested for a meter, dropped when the meter is removed from the
+ * registry, and all rendered again after the registry's {@link NamingConvention} changes.
+ *
+ * @param <T> The type of the fragments kept for each meter.
+ * @since 1.7.0
+ */
+@Incubating(since = "1.7.0")
+public class MeterFragmentCache<T> {
+    private final MeterRegistry registry;
+    private final Function<Meter.Id, T> renderer;
+    private final ConcurrentMap<Meter.Id, T> fragments = new ConcurrentHashMap<>();
+
+    @Nullable
+    private volatile NamingConvention namingConvention;
+
+    /**
+     * @param registry The registry whose meters are serialized.
+     * @param renderer Renders the fragments of a meter from its id, usually with the registry's naming convention.
+     */
+    public MeterFragmentCache(MeterRegistry registry, Function<Meter.Id, T> renderer) {
+        this.registry = registry;
+        this.renderer = renderer;
+        registry.config().onMeterRemoved(meter -> fragments.remove(meter.getId()));
+    }
+
+    /**
+     * @param id The id of a meter registered with the registry.
+     * @return The fragments for the meter, rendered now if they weren't already.
+     */
+    public T get(Meter.Id id) {
+        NamingConvention current = registry.config().namingConvention();
+        if (current != namingConvention) {
+            fragments.clear();
+            namingConvention = current;
+        }
+
+        T fragment = fragments.get(id);
+        if (fragment == null) {
+            fragment = fragments.computeIfAbsent(id, renderer);
+        }
+        return fragment;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class IdInternerTest {
+    private final IdInterner interner = new IdInterner();
+
+    private Meter.Id id(String uri) {
+        return new Meter.Id("my.counter", Tags.of("uri", uri), null, null, Meter.Type.COUNTER);
+    }
+
+    @Test
+    void equalNamesAndTagsShareInstances() {
+        Meter.Id first = interner.intern(id(new String("/1")));
+        Meter.Id second = interner.intern(id(new String("/1")));
+
+        assertThat(first.getName()).isSameAs(second.getName());
+        assertThat(first.getTags().get(0)).isSameAs(second.getTags().get(0));
+    }
+
+    @Test
+    void namesAndTagsNoLongerUsedAreForgotten() {
+        Meter.Id kept = interner.intern(id("/kept"));
+        for (int i = 0; i < 10_000; i++) {
+            interner.intern(id("/churned/" + i));
+        }
+        assertThat(interner.size()).isGreaterThan(10_000);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            System.gc();
+            return interner.size() < 100;
+        });
+        assertThat(interner.intern(id("/kept")).getTags().get(0)).isSameAs(kept.getTags().get(0));
+    }
+}
@@ -15,8 +15,11 @@
  */
 package io.micrometer.core.instrument;
 
+import io.micrometer.core.instrument.config.NamingConvention;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -54,4 +57,41 @@ class MeterIdTest {
         Meter.Id newId = id.replaceTags(Tags.of("k1", "n1", "k", "n"));
         assertThat(newId.getTags()).containsExactlyElementsOf(Tags.of("k1", "n1", "k", "n"));
     }
+
+    @Test
+    void conventionNameAndTagsAreRenderedOncePerConvention() {
+        AtomicInteger renderings = new AtomicInteger();
+        NamingConvention counting = new NamingConvention() {
+            @Override
+            public String name(String name, Meter.Type type, String baseUnit) {
+                renderings.incrementAndGet();
+                return NamingConvention.snakeCase.name(name, type, baseUnit);
+            }
+
+            @Override
+            public String tagKey(String key) {
+                renderings.incrementAndGet();
+                return NamingConvention.snakeCase.tagKey(key);
+            }
+        };
+
+        Meter.Id id = new Meter.Id("my.id", Tags.of("tag.key", "v"), null, null, Meter.Type.COUNTER);
+        for (int i = 0; i < 3; i++) {
+            assertThat(id.getConventionName(counting)).isEqualTo("my_id");
+            assertThat(id.getConventionTags(counting)).containsExactly(Tag.of("tag_key", "v"));
+        }
+        assertThat(renderings).hasValue(2);
+
+        // alternating between two conventions, as the children of a composite registry do, keeps both renderings
+        assertThat(id.getConventionName(NamingConvention.camelCase)).isEqualTo("myId");
+        assertThat(id.getConventionName(counting)).isEqualTo("my_id");
+        assertThat(id.getConventionTags(counting)).containsExactly(Tag.of("tag_key", "v"));
+        assertThat(renderings).hasValue(2);
+
+        // a third convention evicts the least recently created rendering
+        assertThat(id.getConventionName(NamingConvention.dot)).isEqualTo("my.id");
+        assertThat(id.getConventionName(NamingConvention.camelCase)).isEqualTo("myId");
+        assertThat(id.getConventionName(counting)).isEqualTo("my_id");
+        assertThat(renderings).hasValue(3);
+    }
 }
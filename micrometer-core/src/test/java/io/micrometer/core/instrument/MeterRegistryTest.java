@@ -196,4 +196,16 @@ class MeterRegistryTest {
 
         assertThat(registry.get("my.gauge").gauge().value()).isEqualTo(1d);
     }
+
+    @Test
+    void internIdsSharesTagInstancesBetweenMeters() {
+        registry.config().internIds();
+
+        Counter counter1 = registry.counter("my.counter", "tenant", new String("a"), "uri", "/1");
+        Counter counter2 = registry.counter("my.counter", "tenant", new String("a"), "uri", "/2");
+
+        assertThat(counter1.getId().getName()).isSameAs(counter2.getId().getName());
+        assertThat(counter1.getId().getTags().get(0)).isSameAs(counter2.getId().getTags().get(0));
+        assertThat(registry.counter("my.counter", "tenant", "a", "uri", "/1")).isSameAs(counter1);
+    }
 }
@@ -17,6 +17,7 @@ package io.micrometer.core.instrument.binder.db;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.core.lang.NonNull;
 import org.jooq.*;
@@ -29,6 +30,11 @@ import org.junit.jupiter.api.Test;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static io.micrometer.core.instrument.binder.db.MetricsDSLContext.withMetrics;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -186,6 +192,52 @@ class MetricsDSLContextTest {
         }
     }
 
+    @Test
+    void timeSelectStatementsFromManyThreads() throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:concurrentSelect")) {
+            MetricsDSLContext jooq = createDatabase(conn);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    futures.add(executor.submit(() -> jooq.tag("name", "selectAllAuthors").fetch("SELECT * FROM author")));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(meterRegistry.get("jooq.query")
+                    .tag("name", "selectAllAuthors")
+                    .tag("type", "read")
+                    .timer().count())
+                    .isEqualTo(100);
+        }
+    }
+
+    @Test
+    void removedTimersAreRegisteredAgain() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:mem:removedTimer")) {
+            MetricsDSLContext jooq = createDatabase(conn);
+
+            jooq.tag("name", "selectAllAuthors").fetch("SELECT * FROM author");
+            Timer removed = meterRegistry.get("jooq.query").tag("name", "selectAllAuthors").timer();
+            meterRegistry.remove(removed);
+
+            jooq.tag("name", "selectAllAuthors").fetch("SELECT * FROM author");
+
+            assertThat(removed.count()).isEqualTo(1);
+            assertThat(meterRegistry.get("jooq.query")
+                    .tag("name", "selectAllAuthors")
+                    .tag("type", "read")
+                    .timer().count())
+                    .isEqualTo(1);
+        }
+    }
+
     @Test
     void userExecuteListenerShouldBePreserved() {
         ExecuteListener userExecuteListener = mock(ExecuteListener.class);
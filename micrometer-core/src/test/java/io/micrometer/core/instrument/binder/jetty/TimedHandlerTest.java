@@ -17,6 +17,7 @@ package io.micrometer.core.instrument.binder.jetty;
 
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.binder.http.Outcome;
 import io.micrometer.core.instrument.simple.SimpleConfig;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
@@ -122,6 +123,54 @@ class TimedHandlerTest {
                 .timer().count()).isEqualTo(2);
     }
 
+    @Test
+    void requestsWithDifferentStatusesAreTimedSeparately() throws Exception {
+        latchHandler.reset(3);
+
+        timedHandler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String path, Request request, HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+                request.setHandled(true);
+                httpResponse.setStatus("/missing".equals(path) ? HttpStatus.NOT_FOUND_404 : HttpStatus.OK_200);
+            }
+        });
+        server.start();
+
+        connector.getResponse("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        connector.getResponse("GET /missing HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        connector.getResponse("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(latchHandler.await());
+
+        assertThat(registry.get("jetty.server.requests").tag("status", "200").timer().count()).isEqualTo(2);
+        assertThat(registry.get("jetty.server.requests")
+                .tag("outcome", Outcome.CLIENT_ERROR.name())
+                .tag("status", "404")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get("jetty.server.dispatches.open").longTaskTimer().activeTasks()).isEqualTo(0);
+    }
+
+    @Test
+    void removedTimersAreRegisteredAgain() throws Exception {
+        latchHandler.reset(2);
+
+        timedHandler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String path, Request request, HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+                request.setHandled(true);
+            }
+        });
+        server.start();
+
+        connector.getResponse("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        Timer removed = registry.get("jetty.server.requests").tag("status", "200").timer();
+        registry.remove(removed);
+        connector.getResponse("GET / HTTP/1.1\r\nHost: localhost\r\n\r\n");
+        assertTrue(latchHandler.await());
+
+        assertThat(removed.count()).isEqualTo(1);
+        assertThat(registry.get("jetty.server.requests").tag("status", "200").timer().count()).isEqualTo(1);
+    }
+
     @Test
     void testSuspendResume() throws Exception {
         long dispatchTime = 10;
@@ -16,6 +16,7 @@
 package io.micrometer.core.instrument.binder.jvm;
 
 import io.micrometer.core.Issue;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Tag;
@@ -30,6 +31,10 @@ import org.junit.jupiter.api.condition.JRE;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
 
 import static org.assertj.core.api.AssertionsForClassTypes.*;
@@ -243,6 +248,79 @@ class ExecutorServiceMetricsTest {
         assertThat(registry.get(expectedMetricPrefix + "executor.idle").tags(userTags).timer().count()).isEqualTo(0L);
     }
 
+    @DisplayName("ExecutorService can be monitored with timings accumulated per worker thread")
+    @Test
+    void monitorExecutorServiceWithAccumulatedTimings() throws InterruptedException {
+        MockClock clock = (MockClock) registry.config().clock();
+        ExecutorService pool = ExecutorServiceMetrics.monitorWithAccumulatedTimings(registry,
+                Executors.newFixedThreadPool(1), "beep.pool", "", userTags);
+
+        for (int i = 0; i < 100; i++) {
+            pool.submit(() -> clock.add(1, TimeUnit.SECONDS));
+        }
+        pool.submit(() -> {
+            throw new IllegalStateException("a failing task is timed too");
+        });
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        FunctionTimer execution = registry.get("executor").tags(userTags).tag("name", "beep.pool").functionTimer();
+        assertThat(execution.count()).isEqualTo(101.0);
+        assertThat(execution.totalTime(TimeUnit.SECONDS)).isEqualTo(100.0);
+        assertThat(registry.get("executor.idle").tags(userTags).functionTimer().count()).isEqualTo(101.0);
+        assertThat(registry.get("executor.queued").tags(userTags).gauge().value()).isEqualTo(0.0);
+    }
+
+    @DisplayName("Timings accumulated by worker threads are kept after the threads terminate")
+    @Test
+    void accumulatedTimingsOfTerminatedThreads() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        Executor executor = ExecutorServiceMetrics.monitorWithAccumulatedTimings(registry, r -> {
+            Thread thread = new Thread(r);
+            threads.add(thread);
+            thread.start();
+        }, "thread.per.task", "", userTags);
+
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(registry.get("executor.execution").tags(userTags).functionTimer().count()).isEqualTo(10.0);
+        assertThat(registry.get("executor.idle").tags(userTags).functionTimer().count()).isEqualTo(10.0);
+
+        executor.execute(() -> {
+        });
+        threads.get(threads.size() - 1).join();
+        assertThat(registry.get("executor.execution").tags(userTags).functionTimer().count()).isEqualTo(11.0);
+    }
+
+    @DisplayName("Executors monitored with accumulated timings under the same name and tags publish the tasks of all of them")
+    @Test
+    void accumulatedTimingsOfExecutorsWithTheSameNameAndTags() throws InterruptedException {
+        ExecutorService first = ExecutorServiceMetrics.monitorWithAccumulatedTimings(registry,
+                Executors.newFixedThreadPool(1), "beep.pool", "", userTags);
+        ExecutorService second = ExecutorServiceMetrics.monitorWithAccumulatedTimings(registry,
+                Executors.newFixedThreadPool(1), "beep.pool", "", userTags);
+
+        for (int i = 0; i < 10; i++) {
+            first.execute(() -> {
+            });
+            second.execute(() -> {
+            });
+        }
+        first.shutdown();
+        second.shutdown();
+        assertThat(first.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(registry.get("executor").tags(userTags).tag("name", "beep.pool").functionTimer().count()).isEqualTo(20.0);
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends Executor> T monitorExecutorService(String executorName, String metricPrefix, T exec) {
         if (metricPrefix == null) {
@@ -273,13 +351,134 @@ class ExecutorServiceMetricsTest {
     }
 
     @Test
-    void newSingleThreadScheduledExecutorWhenReflectiveAccessIsDisabled() {
+    void newSingleThreadScheduledExecutorWhenReflectiveAccessIsDisabled() throws Exception {
         String executorServiceName = "myExecutorService";
         ExecutorServiceMetrics.disableIllegalReflectiveAccess();
-        ExecutorServiceMetrics.monitor(registry, Executors.newSingleThreadScheduledExecutor(), executorServiceName);
+        ScheduledExecutorService executor = ExecutorServiceMetrics.monitor(registry,
+                Executors.newSingleThreadScheduledExecutor(), executorServiceName);
         registry.get("executor").tag("name", executorServiceName).timer();
-        assertThatThrownBy(() -> registry.get("executor.completed").tag("name", executorServiceName).functionCounter())
+        assertThatThrownBy(() -> registry.get("executor.pool.size").tag("name", executorServiceName).gauge())
+                .isExactlyInstanceOf(MeterNotFoundException.class);
+
+        // the tasks are counted by the wrapper instead
+        executor.submit(() -> 0).get();
+        executor.schedule(() -> 0, 1, TimeUnit.MILLISECONDS).get();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("executor.completed").tag("name", executorServiceName).functionCounter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("executor.active").tag("name", executorServiceName).gauge().value()).isEqualTo(0.0);
+    }
+
+    @DisplayName("ExecutorService of an unsupported type has its executing and completed tasks counted")
+    @Test
+    void monitorThreadPerTaskExecutorService() throws InterruptedException {
+        ExecutorService pool = ExecutorServiceMetrics.monitor(registry, new ThreadPerTaskExecutorService(),
+                "thread.per.task", "", userTags);
+        CountDownLatch taskStart = new CountDownLatch(1);
+        CountDownLatch taskComplete = new CountDownLatch(1);
+
+        pool.submit(() -> {
+            taskStart.countDown();
+            assertThat(taskComplete.await(1, TimeUnit.SECONDS)).isTrue();
+            return 0;
+        });
+        assertThat(taskStart.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(registry.get("executor.active").tags(userTags).tag("name", "thread.per.task").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(registry.get("executor.completed").tags(userTags).functionCounter().count()).isEqualTo(0.0);
+        assertThatThrownBy(() -> registry.get("executor.queued").tags(userTags).gauge())
                 .isExactlyInstanceOf(MeterNotFoundException.class);
+
+        taskComplete.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(registry.get("executor.active").tags(userTags).gauge().value()).isEqualTo(0.0);
+        assertThat(registry.get("executor.completed").tags(userTags).functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("executor").tags(userTags).timer().count()).isEqualTo(1L);
+    }
+
+    @DisplayName("ExecutorService of an unsupported type can supply its own statistics")
+    @Test
+    void monitorWithExecutorStatistics() {
+        ExecutorStatistics statistics = new ExecutorStatistics() {
+            @Override
+            public double queued() {
+                return 3;
+            }
+
+            @Override
+            public double active() {
+                return 2;
+            }
+
+            @Override
+            public double completed() {
+                return 1;
+            }
+        };
+        ExecutorServiceMetrics.monitor(registry, new ThreadPerTaskExecutorService(), "event.loop", "custom", userTags,
+                statistics);
+
+        assertThat(registry.get("custom.executor.queued").tags(userTags).tag("name", "event.loop").gauge().value())
+                .isEqualTo(3.0);
+        assertThat(registry.get("custom.executor.active").tags(userTags).gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("custom.executor.completed").tags(userTags).functionCounter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Runs every task in a new thread, like {@code Executors.newThreadPerTaskExecutor} on Java 21+.
+     */
+    private static class ThreadPerTaskExecutorService extends AbstractExecutorService {
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException();
+            }
+            Thread thread = new Thread(() -> {
+                try {
+                    command.run();
+                } finally {
+                    threads.remove(Thread.currentThread());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && threads.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            for (Thread thread : threads) {
+                thread.join(unit.toMillis(timeout));
+            }
+            return isTerminated();
+        }
     }
 
 }
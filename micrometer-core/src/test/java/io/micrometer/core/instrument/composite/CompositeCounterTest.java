@@ -16,7 +16,9 @@
 package io.micrometer.core.instrument.composite;
 
 import io.micrometer.core.Issue;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.cumulative.CumulativeIntegralCounter;
 import io.micrometer.core.instrument.simple.SimpleConfig;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
@@ -35,4 +37,18 @@ class CompositeCounterTest {
 
         assertThat(simple.get("counter").counter().count()).isEqualTo(2.0);
     }
+
+    @Test
+    void integral() {
+        SimpleMeterRegistry simple = new SimpleMeterRegistry(SimpleConfig.DEFAULT, new MockClock());
+        CompositeMeterRegistry registry = new CompositeMeterRegistry();
+        registry.add(simple);
+
+        Counter counter = Counter.builder("counter").integral().register(registry);
+        counter.increment();
+        counter.increment(2);
+
+        assertThat(simple.get("counter").counter()).isInstanceOf(CumulativeIntegralCounter.class);
+        assertThat(simple.get("counter").counter().count()).isEqualTo(3.0);
+    }
 }
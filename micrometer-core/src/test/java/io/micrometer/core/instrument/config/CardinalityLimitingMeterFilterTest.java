@@ -0,0 +1,241 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link CardinalityLimitingMeterFilter}.
+ */
+class CardinalityLimitingMeterFilterTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void overflowingTagValuesAreBucketed() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 2)
+                .build();
+        registry.config().meterFilter(filter);
+
+        for (int i = 0; i < 10; i++) {
+            registry.counter("http.requests", "uri", "/" + i, "method", "GET").increment();
+        }
+
+        assertThat(registry.get("http.requests").counters()).hasSize(3);
+        assertThat(registry.get("http.requests").tag("uri", "/0").counter().count()).isEqualTo(1);
+        assertThat(registry.get("http.requests").tag("uri", "/1").counter().count()).isEqualTo(1);
+        assertThat(registry.get("http.requests").tag("uri", "OTHER").tag("method", "GET").counter().count()).isEqualTo(8);
+    }
+
+    @Test
+    void admittedValuesKeepTheirSeriesAfterOverflow() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 1)
+                .overflowTagValue("overflow")
+                .build();
+        registry.config().meterFilter(filter);
+
+        registry.counter("http.requests", "uri", "/a").increment();
+        registry.counter("http.requests", "uri", "/b").increment();
+        registry.counter("http.requests", "uri", "/a").increment();
+
+        assertThat(registry.get("http.requests").tag("uri", "/a").counter().count()).isEqualTo(2);
+        assertThat(registry.get("http.requests").tag("uri", "overflow").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void overflowingTagValuesAreDenied() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 2)
+                .denyOverflow()
+                .build();
+
+        Meter.Id id1 = new Meter.Id("http.requests", Tags.of("uri", "/1"), null, null, Meter.Type.COUNTER);
+        Meter.Id id2 = new Meter.Id("http.requests", Tags.of("uri", "/2"), null, null, Meter.Type.COUNTER);
+        Meter.Id id3 = new Meter.Id("http.requests", Tags.of("uri", "/3"), null, null, Meter.Type.COUNTER);
+
+        assertThat(filter.map(id3)).isSameAs(id3);
+        assertThat(filter.accept(id1)).isEqualTo(MeterFilterReply.NEUTRAL);
+        assertThat(filter.accept(id2)).isEqualTo(MeterFilterReply.NEUTRAL);
+        assertThat(filter.accept(id3)).isEqualTo(MeterFilterReply.DENY);
+        assertThat(filter.accept(id1)).isEqualTo(MeterFilterReply.NEUTRAL);
+    }
+
+    @Test
+    void threadsRacingForTheLastTagValueAgreeOnWhichValueIsAdmitted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 500; round++) {
+                CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                        .limitTagValues("http", "uri", 1)
+                        .denyOverflow()
+                        .build();
+                CyclicBarrier barrier = new CyclicBarrier(4);
+
+                List<Future<MeterFilterReply>> replies = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    Meter.Id id = new Meter.Id("http.requests", Tags.of("uri", i % 2 == 0 ? "/a" : "/b"), null, null,
+                            Meter.Type.COUNTER);
+                    replies.add(executor.submit(() -> {
+                        barrier.await();
+                        return filter.accept(id);
+                    }));
+                }
+
+                MeterFilterReply a = replies.get(0).get();
+                MeterFilterReply b = replies.get(1).get();
+                assertThat(replies.get(2).get()).isEqualTo(a);
+                assertThat(replies.get(3).get()).isEqualTo(b);
+                assertThat(a).isNotEqualTo(b);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void eachMeterNameAndTagKeyHasItsOwnLimit() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 1)
+                .limitTagValues("http", "user", 1)
+                .build();
+        registry.config().meterFilter(filter);
+
+        registry.counter("http.server.requests", "uri", "/a", "user", "u1");
+        registry.counter("http.client.requests", "uri", "/b", "user", "u2");
+        registry.counter("http.server.requests", "uri", "/a", "user", "u3");
+        registry.counter("other", "uri", "/c");
+        registry.counter("other", "uri", "/d");
+
+        assertThat(registry.find("http.server.requests").tags("uri", "/a", "user", "u1").counter()).isNotNull();
+        assertThat(registry.find("http.client.requests").tags("uri", "/b", "user", "u2").counter()).isNotNull();
+        assertThat(registry.find("http.server.requests").tags("uri", "/a", "user", "OTHER").counter()).isNotNull();
+        assertThat(registry.get("other").counters()).hasSize(2);
+    }
+
+    @Test
+    void publishesMetersAboutOverflow() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 10)
+                .build();
+        registry.config().meterFilter(filter);
+        filter.bindTo(registry);
+
+        registry.counter("http.requests", "uri", "/0");
+        assertThat(registry.find("meter.filter.cardinality.overflow").meter()).isNull();
+
+        for (int i = 0; i < 1000; i++) {
+            registry.counter("http.requests", "uri", "/" + i);
+        }
+
+        Tags tags = Tags.of("meter.name", "http.requests", "tag.key", "uri");
+        assertThat(registry.get("meter.filter.cardinality.overflow").tags(tags).functionCounter().count()).isEqualTo(990);
+        assertThat(registry.get("meter.filter.cardinality.distinct").tags(tags).gauge().value()).isCloseTo(1000, within(100.0));
+        assertThat(registry.get("meter.filter.cardinality.dropped").tags(tags).gauge().value()).isCloseTo(990, within(100.0));
+    }
+
+    @Test
+    void repeatedLookupsOfAnOverflowingIdAreCountedOnce() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 1)
+                .build();
+        registry.config().meterFilter(filter);
+        filter.bindTo(registry);
+
+        registry.counter("http.requests", "uri", "/a");
+        for (int i = 0; i < 100; i++) {
+            registry.counter("http.requests", "uri", "/b").increment();
+            registry.counter("http.requests", "uri", "/c").increment();
+        }
+
+        Tags tags = Tags.of("meter.name", "http.requests", "tag.key", "uri");
+        assertThat(registry.get("meter.filter.cardinality.overflow").tags(tags).functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("http.requests").tag("uri", "OTHER").counter().count()).isEqualTo(200);
+    }
+
+    @Test
+    void repeatedlyDeniedIdsAreCountedOnce() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 1)
+                .denyOverflow()
+                .build();
+        filter.bindTo(registry);
+
+        Meter.Id id1 = new Meter.Id("http.requests", Tags.of("uri", "/1"), null, null, Meter.Type.COUNTER);
+        Meter.Id id2 = new Meter.Id("http.requests", Tags.of("uri", "/2"), null, null, Meter.Type.COUNTER);
+        filter.accept(id1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(filter.accept(id2)).isEqualTo(MeterFilterReply.DENY);
+        }
+
+        Tags tags = Tags.of("meter.name", "http.requests", "tag.key", "uri");
+        assertThat(registry.get("meter.filter.cardinality.overflow").tags(tags).functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stateIsBoundedByTheNumberOfMeterNames() {
+        CardinalityLimitingMeterFilter filter = CardinalityLimitingMeterFilter.builder()
+                .limitTagValues("http", "uri", 1)
+                .build();
+        filter.bindTo(registry);
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.map(new Meter.Id("other." + i, Tags.of("uri", "/a"), null, null, Meter.Type.COUNTER));
+        }
+        assertThat(filter.meterNameCount()).isZero();
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.map(new Meter.Id("http." + i, Tags.of("uri", "/a"), null, null, Meter.Type.COUNTER));
+        }
+        assertThat(filter.meterNameCount()).isEqualTo(1000);
+
+        // names past the maximum share one budget per limit
+        Meter.Id id = new Meter.Id("http.more", Tags.of("uri", "/b"), null, null, Meter.Type.COUNTER);
+        assertThat(filter.map(id).getTag("uri")).isEqualTo("OTHER");
+        assertThat(registry.get("meter.filter.cardinality.overflow").tags("meter.name", "http*", "tag.key", "uri")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void hyperLogLogEstimatesDistinctValues() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int n = 0; n < 100_000; n++) {
+            hll.offer("value" + n);
+            hll.offer("value" + n);
+        }
+        assertThat((double) hll.estimate()).isCloseTo(100_000, within(10_000.0));
+
+        HyperLogLog small = new HyperLogLog();
+        for (int n = 0; n < 50; n++) {
+            small.offer(n);
+        }
+        assertThat((double) small.estimate()).isCloseTo(50, within(3.0));
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MeterFilterChain}.
+ */
+class MeterFilterChainTest {
+    private static final String[] KEYS = {"a", "b", "c", "d"};
+    private static final String[] NAMES = {"", "a", "ab", "abc", "b", "ba", "http.requests", "http"};
+
+    @Test
+    void fusedTagMappingsMatchFiltersAppliedInOrder() {
+        Random random = new Random(42);
+        for (int n = 0; n < 10_000; n++) {
+            MeterFilter[] filters = new MeterFilter[random.nextInt(6)];
+            for (int i = 0; i < filters.length; i++) {
+                filters[i] = randomFilter(random);
+            }
+
+            Meter.Id id = randomId(random);
+            assertThat(MeterFilterChain.compile(filters).map(id))
+                    .as("%s mapped by %s", id, Arrays.toString(filters))
+                    .isEqualTo(mapInOrder(id, filters));
+        }
+    }
+
+    @Test
+    void nameMatchingFiltersMatchFiltersAppliedInOrder() {
+        Random random = new Random(42);
+        for (int n = 0; n < 10_000; n++) {
+            MeterFilter[] filters = new MeterFilter[random.nextInt(6)];
+            for (int i = 0; i < filters.length; i++) {
+                filters[i] = randomFilter(random);
+            }
+
+            Meter.Id id = randomId(random);
+            assertThat(MeterFilterChain.compile(filters).accept(id))
+                    .as("%s accepted by %s", id, Arrays.toString(filters))
+                    .isEqualTo(acceptInOrder(id, filters));
+        }
+    }
+
+    @Test
+    void unchangedIdIsNotReallocated() {
+        MeterFilterChain chain = MeterFilterChain.compile(
+                MeterFilter.ignoreTags("missing"),
+                MeterFilter.renameTag("other", "a", "b"),
+                MeterFilter.commonTags(Tags.of("a", "common")));
+
+        Meter.Id id = new Meter.Id("name", Tags.of("a", "1"), null, null, Meter.Type.COUNTER);
+        assertThat(chain.map(id)).isSameAs(id);
+    }
+
+    @Test
+    void firstMatchingNamePrefixWins() {
+        MeterFilterChain chain = MeterFilterChain.compile(
+                MeterFilter.denyNameStartsWith("http.server"),
+                MeterFilter.acceptNameStartsWith("http"),
+                MeterFilter.denyNameStartsWith("http"),
+                MeterFilter.denyNameStartsWith("jvm"));
+
+        assertThat(chain.accept(id("http.server.requests"))).isEqualTo(MeterFilterReply.DENY);
+        assertThat(chain.accept(id("http.client.requests"))).isEqualTo(MeterFilterReply.ACCEPT);
+        assertThat(chain.accept(id("jvm.memory.used"))).isEqualTo(MeterFilterReply.DENY);
+        assertThat(chain.accept(id("jv"))).isEqualTo(MeterFilterReply.NEUTRAL);
+    }
+
+    private static Meter.Id id(String name) {
+        return new Meter.Id(name, Tags.empty(), null, null, Meter.Type.COUNTER);
+    }
+
+    private static Meter.Id randomId(Random random) {
+        List<Tag> tags = new ArrayList<>();
+        for (String key : KEYS) {
+            if (random.nextBoolean()) {
+                tags.add(Tag.of(key, "v" + random.nextInt(3)));
+            }
+        }
+        return new Meter.Id(NAMES[random.nextInt(NAMES.length)], Tags.of(tags), null, null, Meter.Type.COUNTER);
+    }
+
+    private static MeterFilter randomFilter(Random random) {
+        String key = KEYS[random.nextInt(KEYS.length)];
+        String otherKey = KEYS[random.nextInt(KEYS.length)];
+        String prefix = NAMES[random.nextInt(NAMES.length)];
+        switch (random.nextInt(8)) {
+            case 0:
+                return MeterFilter.commonTags(Arrays.asList(Tag.of(key, "common"), Tag.of(otherKey, "common2")));
+            case 1:
+                return MeterFilter.renameTag(prefix, key, otherKey);
+            case 2:
+                return MeterFilter.ignoreTags(key, otherKey);
+            case 3:
+                return MeterFilter.replaceTagValues(key, v -> v + "!", "v0");
+            case 4:
+                return MeterFilter.denyNameStartsWith(prefix);
+            case 5:
+                return MeterFilter.acceptNameStartsWith(prefix);
+            case 6:
+                return new MeterFilter() {
+                    @Override
+                    public Meter.Id map(Meter.Id id) {
+                        return id.withName(id.getName() + "x");
+                    }
+                };
+            default:
+                return MeterFilter.deny(id -> id.getTag(key) != null);
+        }
+    }
+
+    private static Meter.Id mapInOrder(Meter.Id id, MeterFilter[] filters) {
+        Meter.Id mappedId = id;
+        for (MeterFilter filter : filters) {
+            mappedId = filter.map(mappedId);
+        }
+        return mappedId;
+    }
+
+    private static MeterFilterReply acceptInOrder(Meter.Id id, MeterFilter[] filters) {
+        for (MeterFilter filter : filters) {
+            MeterFilterReply reply = filter.accept(id);
+            if (reply != MeterFilterReply.NEUTRAL) {
+                return reply;
+            }
+        }
+        return MeterFilterReply.NEUTRAL;
+    }
+}
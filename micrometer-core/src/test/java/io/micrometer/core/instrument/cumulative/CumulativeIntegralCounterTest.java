@@ -0,0 +1,45 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.cumulative;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CumulativeIntegralCounter}.
+ */
+class CumulativeIntegralCounterTest {
+    private final CumulativeIntegralCounter counter = new CumulativeIntegralCounter(
+            new Meter.Id("counter", Tags.empty(), null, null, Meter.Type.COUNTER));
+
+    @Test
+    void wholeIncrements() {
+        counter.increment();
+        counter.increment(2);
+        assertThat(counter.count()).isEqualTo(3);
+    }
+
+    @Test
+    void fractionalIncrementsAreCountedExactly() {
+        counter.increment();
+        counter.increment(0.5);
+        counter.increment(1.25);
+        assertThat(counter.count()).isEqualTo(2.75);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LogBucketSketchTest {
+
+    @Test
+    void emptySketch() {
+        LogBucketSketch sketch = new LogBucketSketch(0.01);
+        assertThat(sketch.count()).isZero();
+        assertThat(sketch.valueAtQuantile(0.5)).isZero();
+        assertThat(sketch.countAtOrBelow(100)).isZero();
+    }
+
+    @Test
+    void valuesAreWithinRelativeAccuracy() {
+        LogBucketSketch sketch = new LogBucketSketch(0.01);
+        for (double value : new double[]{1e-6, 0.5, 3, 1e3, 1e9, 1e15}) {
+            sketch.reset();
+            sketch.record(value);
+            assertThat(sketch.valueAtQuantile(1)).isCloseTo(value, within(value * 0.01));
+        }
+    }
+
+    @Test
+    void zeroAndNegativeValuesAreCountedAsZero() {
+        LogBucketSketch sketch = new LogBucketSketch(0.01);
+        sketch.record(0);
+        sketch.record(-5);
+        sketch.record(100);
+
+        assertThat(sketch.count()).isEqualTo(3);
+        assertThat(sketch.valueAtQuantile(0.5)).isZero();
+        assertThat(sketch.valueAtQuantile(1)).isCloseTo(100, within(1.0));
+        assertThat(sketch.countAtOrBelow(99)).isEqualTo(2);
+        assertThat(sketch.countAtOrBelow(100)).isEqualTo(3);
+    }
+
+    @Test
+    void merge() {
+        LogBucketSketch first = new LogBucketSketch(0.01);
+        LogBucketSketch second = new LogBucketSketch(0.01);
+        for (int i = 1; i <= 1000; i++) {
+            first.record(i);
+            second.record(1000 + i);
+        }
+
+        first.merge(second);
+        assertThat(first.count()).isEqualTo(2000);
+        assertThat(first.valueAtQuantile(0.75)).isCloseTo(1500, within(15.0));
+        assertThat(second.count()).isEqualTo(1000);
+    }
+
+    @Test
+    void sketchesWithDifferentAccuraciesDoNotMerge() {
+        assertThatThrownBy(() -> new LogBucketSketch(0.01).merge(new LogBucketSketch(0.1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
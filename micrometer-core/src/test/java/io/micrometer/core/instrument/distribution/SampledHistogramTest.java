@@ -0,0 +1,160 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SampledHistogramTest {
+    private final MockClock clock = new MockClock();
+
+    /**
+     * With 10,000 of 100,000 uniformly distributed values sampled, the rank of a percentile is off by at most
+     * {@code sqrt(0.5 * 0.5 / 10,000) = 0.5%} at one standard deviation, so 3% bounds both the sampling error and the
+     * error of a histogram with 3 digits of precision with a wide margin.
+     */
+    @Test
+    void fixedIntervalPercentilesAreWithinErrorBounds() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5, 0.9, 0.99)
+                .percentilePrecision(3)
+                .percentileSamplingInterval(10)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (SampledHistogram histogram = new SampledHistogram(new TimeWindowPercentileHistogram(clock, config, false),
+                clock, config)) {
+            for (int i = 1; i <= 100_000; i++) {
+                histogram.recordLong(i);
+            }
+
+            ValueAtPercentile[] percentiles = histogram.takeSnapshot(100_000, 0, 100_000).percentileValues();
+            assertThat(percentiles).hasSize(3);
+            for (ValueAtPercentile percentile : percentiles) {
+                double expected = percentile.percentile() * 100_000;
+                assertThat(percentile.value()).isCloseTo(expected, within(expected * 0.03));
+            }
+        }
+    }
+
+    @Test
+    void countTotalAndMaxAreExact() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentileSamplingInterval(100).build().merge(config);
+            }
+        });
+
+        Timer timer = Timer.builder("my.timer").publishPercentiles(0.5).register(registry);
+        for (int i = 1; i <= 10_000; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(timer.count()).isEqualTo(10_000);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(10_000 * 10_001 / 2.0);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isEqualTo(10_000);
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(1);
+    }
+
+    @Test
+    void intervalAdaptsToThroughput() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5)
+                .percentileSamplingTargetRate(1000)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (SampledHistogram histogram = new SampledHistogram(new TimeWindowPercentileHistogram(clock, config, false),
+                clock, config)) {
+            assertThat(histogram.getInterval()).isEqualTo(1);
+
+            for (int second = 0; second < 5; second++) {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.recordLong(i);
+                }
+                clock.add(Duration.ofSeconds(1));
+            }
+            assertThat(histogram.getInterval()).isBetween(80, 120);
+
+            for (int second = 0; second < 20; second++) {
+                for (int i = 0; i < 100; i++) {
+                    histogram.recordLong(i);
+                }
+                clock.add(Duration.ofSeconds(1));
+            }
+            assertThat(histogram.getInterval()).isEqualTo(1);
+        }
+    }
+
+    /**
+     * After a burst of a million values per second the interval is about 100,000, so at 10 values per second a value
+     * would only be sampled every few hours. The interval must still return to 1 within seconds, or the percentiles
+     * would read 0 until then.
+     */
+    @Test
+    void intervalAdaptsToA100000To1DropInThroughput() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5)
+                .percentileSamplingTargetRate(10)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (SampledHistogram histogram = new SampledHistogram(new TimeWindowPercentileHistogram(clock, config, false),
+                clock, config)) {
+            for (int second = 0; second < 3; second++) {
+                for (int i = 0; i < 1_000_000; i++) {
+                    histogram.recordLong(1000);
+                }
+                clock.add(Duration.ofSeconds(1));
+            }
+            assertThat(histogram.getInterval()).isBetween(80_000, 120_000);
+
+            for (int second = 0; second < 180; second++) {
+                for (int i = 1; i <= 10; i++) {
+                    histogram.recordLong(i);
+                }
+                clock.add(Duration.ofSeconds(1));
+            }
+            assertThat(histogram.getInterval()).isEqualTo(1);
+            assertThat(histogram.takeSnapshot(0, 0, 0).percentileValues()[0].value()).isBetween(1.0, 11.0);
+        }
+    }
+
+    @Test
+    void histogramBucketsAreNotSampled() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5)
+                .serviceLevelObjectives(10.0)
+                .percentileSamplingInterval(10)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        assertThat(config.isSamplingPercentiles()).isFalse();
+    }
+}
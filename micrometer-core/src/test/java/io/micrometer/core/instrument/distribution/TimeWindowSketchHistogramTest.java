@@ -0,0 +1,176 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.distribution;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TimeWindowSketchHistogramTest {
+
+    @Test
+    void percentilesAreWithinRelativeAccuracy() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5, 0.9, 0.99, 0.999)
+                .percentilePrecision(2)
+                .percentileSketch(true)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (TimeWindowSketchHistogram histogram = new TimeWindowSketchHistogram(new MockClock(), config, false)) {
+            // latencies spanning about eight orders of magnitude
+            Random random = new Random(42);
+            double[] values = new double[100_000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.exp(7 + 3 * random.nextGaussian());
+                histogram.recordDouble(values[i]);
+            }
+            Arrays.sort(values);
+
+            for (ValueAtPercentile percentile : histogram.takeSnapshot(0, 0, 0).percentileValues()) {
+                double expected = values[(int) Math.ceil(percentile.percentile() * values.length) - 1];
+                assertThat(percentile.value()).isCloseTo(expected, within(expected * 0.01));
+            }
+        }
+    }
+
+    @Test
+    void histogramCounts() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5)
+                .serviceLevelObjectives(10.0, 100.0)
+                .percentilePrecision(2)
+                .percentileSketch(true)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (TimeWindowSketchHistogram histogram = new TimeWindowSketchHistogram(new MockClock(), config, false)) {
+            histogram.recordDouble(5);
+            histogram.recordDouble(10);
+            histogram.recordDouble(50);
+            histogram.recordDouble(500);
+
+            assertThat(histogram.takeSnapshot(0, 0, 0).histogramCounts()).containsExactly(
+                    new CountAtBucket(10.0, 2),
+                    new CountAtBucket(100.0, 3));
+        }
+    }
+
+    @Test
+    void timeBasedSlidingWindow() {
+        final DistributionStatisticConfig config =
+                DistributionStatisticConfig.builder()
+                        .percentiles(0.0, 0.5, 0.75, 0.9, 0.99, 0.999, 1.0)
+                        .percentilePrecision(2)
+                        .percentileSketch(true)
+                        .expiry(Duration.ofSeconds(4))
+                        .bufferLength(4)
+                        .build()
+                        .merge(DistributionStatisticConfig.DEFAULT);
+
+        MockClock clock = new MockClock();
+        // Start from 0 for more comprehensive timing calculation.
+        clock.add(-1, TimeUnit.NANOSECONDS);
+        assertThat(clock.wallTime()).isZero();
+
+        Histogram histogram = new TimeWindowSketchHistogram(clock, config, false);
+
+        histogram.recordLong(10);
+        histogram.recordLong(20);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(9.0, 11.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(19.0, 21.0);
+
+        clock.add(900, TimeUnit.MILLISECONDS); // 900
+        histogram.recordLong(30);
+        histogram.recordLong(40);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(9.0, 11.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(38.0, 42.0);
+
+        clock.add(100, TimeUnit.MILLISECONDS); // 1000
+        histogram.recordLong(12);
+        histogram.recordLong(70);
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(9.0, 11.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(68.0, 72.0);
+
+        clock.add(3000, TimeUnit.MILLISECONDS); // 4000
+        assertThat(percentileValue(histogram, 0.0)).isStrictlyBetween(11.0, 13.0);
+        assertThat(percentileValue(histogram, 1.0)).isStrictlyBetween(68.0, 72.0);
+
+        clock.add(1000, TimeUnit.MILLISECONDS); // 5000
+        assertThat(percentileValue(histogram, 0.0)).isZero();
+        assertThat(percentileValue(histogram, 1.0)).isZero();
+    }
+
+    @Test
+    void sketchesOfDifferentHistogramsMerge() {
+        DistributionStatisticConfig config = DistributionStatisticConfig.builder()
+                .percentiles(0.5)
+                .percentileSketch(true)
+                .build()
+                .merge(DistributionStatisticConfig.DEFAULT);
+
+        try (TimeWindowSketchHistogram first = new TimeWindowSketchHistogram(new MockClock(), config, false);
+             TimeWindowSketchHistogram second = new TimeWindowSketchHistogram(new MockClock(), config, false)) {
+            for (int i = 1; i <= 100; i++) {
+                first.recordLong(i);
+                second.recordLong(100 + i);
+            }
+
+            LogBucketSketch merged = first.sketch();
+            merged.merge(second.sketch());
+            assertThat(merged.count()).isEqualTo(200);
+            assertThat(merged.valueAtQuantile(0.5)).isCloseTo(100, within(10.0));
+        }
+    }
+
+    @Test
+    void selectedByDistributionStatisticConfig() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentileSketch(true).percentilePrecision(2).build()
+                        .merge(config);
+            }
+        });
+
+        Timer timer = Timer.builder("my.timer").publishPercentiles(0.5).register(registry);
+        for (int i = 1; i <= 99; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(timer.takeSnapshot().percentileValues()[0].value(TimeUnit.MILLISECONDS)).isCloseTo(50, within(1.0));
+    }
+
+    private double percentileValue(Histogram histogram, double p) {
+        for (ValueAtPercentile valueAtPercentile : histogram.takeSnapshot(0, 0, 0).percentileValues()) {
+            if (valueAtPercentile.percentile() == p)
+                return valueAtPercentile.value();
+        }
+        return Double.NaN;
+    }
+}
@@ -18,6 +18,9 @@ package io.micrometer.core.instrument.dropwizard;
 import com.codahale.metrics.MetricRegistry;
 import io.micrometer.core.Issue;
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
 import io.micrometer.core.instrument.util.HierarchicalNameMapper;
 import io.micrometer.core.lang.Nullable;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
 
 /**
  * Tests for {@link DropwizardMeterRegistry}.
@@ -109,4 +113,115 @@ class DropwizardMeterRegistryTest {
         assertThat(registry.getDropwizardRegistry().getMeters()).isEmpty();
     }
 
+    @Test
+    void micrometerReservoir() {
+        DropwizardMeterRegistry registry = micrometerReservoirRegistry();
+
+        Timer timer = Timer.builder("my.timer").publishPercentiles(0.5).register(registry);
+        DistributionSummary summary = DistributionSummary.builder("my.summary").register(registry);
+        for (int i = 1; i <= 100; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+            summary.record(i);
+        }
+
+        com.codahale.metrics.Snapshot timerSnapshot = registry.getDropwizardRegistry().getTimers().get("myTimer").getSnapshot();
+        assertThat(timerSnapshot.size()).isEqualTo(100);
+        assertThat(timerSnapshot.getMin()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(1), withinPercentage(5));
+        assertThat(timerSnapshot.getMedian()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(50), withinPercentage(5));
+        assertThat(timerSnapshot.get99thPercentile()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(99), withinPercentage(5));
+        assertThat(timerSnapshot.getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(timerSnapshot.getMean()).isEqualTo(TimeUnit.MICROSECONDS.toNanos(50_500));
+
+        assertThat(timer.count()).isEqualTo(100);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5050);
+        assertThat(timer.max(TimeUnit.MILLISECONDS)).isEqualTo(100);
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(1);
+        assertThat(registry.get("my.timer.percentile").tags("phi", "0.5").gauge().value())
+                .isCloseTo(50, withinPercentage(5));
+
+        com.codahale.metrics.Snapshot summarySnapshot = registry.getDropwizardRegistry().getHistograms().get("mySummary").getSnapshot();
+        assertThat(summarySnapshot.get95thPercentile()).isCloseTo(95, withinPercentage(5));
+        assertThat(summary.takeSnapshot().percentileValues()).isEmpty();
+        assertThat(summary.totalAmount()).isEqualTo(5050);
+    }
+
+    @Test
+    void micrometerReservoirWithFractionalAmounts() {
+        DropwizardMeterRegistry registry = micrometerReservoirRegistry();
+
+        DistributionSummary summary = DistributionSummary.builder("my.summary")
+                .publishPercentiles(0.5)
+                .serviceLevelObjectives(0.5)
+                .register(registry);
+        for (int i = 1; i <= 9; i++) {
+            summary.record(i / 10.0);
+        }
+
+        assertThat(summary.count()).isEqualTo(9);
+        assertThat(summary.totalAmount()).isCloseTo(4.5, withinPercentage(0.1));
+        assertThat(summary.max()).isEqualTo(0.9);
+
+        HistogramSnapshot snapshot = summary.takeSnapshot();
+        assertThat(snapshot.percentileValues()[0].value()).isCloseTo(0.5, withinPercentage(5));
+        assertThat(snapshot.histogramCounts()).containsExactly(new CountAtBucket(0.5, 5));
+
+        com.codahale.metrics.Histogram histogram = registry.getDropwizardRegistry().getHistograms().get("mySummary");
+        assertThat(histogram.getCount()).isEqualTo(9);
+        assertThat(histogram.getSnapshot().getMean()).isCloseTo(0.5, withinPercentage(0.1));
+    }
+
+    @Test
+    void micrometerReservoirIsSharedByIdsWithTheSameHierarchicalName() {
+        DropwizardMeterRegistry registry = micrometerReservoirRegistry();
+
+        Timer timer = registry.timer("my.timer");
+        Timer sameNameTimer = registry.timer("myTimer");
+        timer.record(1, TimeUnit.MILLISECONDS);
+        sameNameTimer.record(3, TimeUnit.MILLISECONDS);
+
+        DistributionSummary summary = registry.summary("my.summary");
+        DistributionSummary sameNameSummary = registry.summary("mySummary");
+        summary.record(1);
+        sameNameSummary.record(3);
+
+        assertThat(registry.getDropwizardRegistry().getTimers().get("myTimer").getCount()).isEqualTo(2);
+        assertThat(sameNameTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4);
+        assertThat(registry.getDropwizardRegistry().getHistograms().get("mySummary").getCount()).isEqualTo(2);
+        assertThat(sameNameSummary.totalAmount()).isEqualTo(4);
+    }
+
+    private DropwizardMeterRegistry micrometerReservoirRegistry() {
+        return new DropwizardMeterRegistry(new DropwizardConfig() {
+            @Override
+            public String prefix() {
+                return "dropwizard";
+            }
+
+            @Override
+            @Nullable
+            public String get(String key) {
+                return "dropwizard.micrometerReservoir".equals(key) ? "true" : null;
+            }
+        }, new MetricRegistry(), HierarchicalNameMapper.DEFAULT, clock) {
+            @Override
+            protected Double nullGaugeValue() {
+                return Double.NaN;
+            }
+        };
+    }
+
+    @Test
+    void hierarchicalNamesFollowNamingConventionChanges() {
+        Counter counter = registry.counter("my.counter", "key", "value");
+        registry.config().namingConvention(NamingConvention.snakeCase);
+        registry.counter("other.counter", "key", "value");
+
+        assertThat(registry.getDropwizardRegistry().getMeters())
+                .containsOnlyKeys("myCounter.key.value", "other_counter.key.value");
+
+        registry.config().namingConvention(NamingConvention.camelCase);
+        registry.remove(counter);
+        assertThat(registry.getDropwizardRegistry().getMeters()).containsOnlyKeys("other_counter.key.value");
+    }
+
 }
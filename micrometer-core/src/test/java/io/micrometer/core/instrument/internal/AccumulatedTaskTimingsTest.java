@@ -0,0 +1,53 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccumulatedTaskTimingsTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void accumulatorsOfTerminatedThreadsAreFoldedBeforeThePublish() throws InterruptedException {
+        AccumulatedTaskTimings timings = AccumulatedTaskTimings.get(registry, "executor", "executor.idle", Tags.empty());
+
+        for (int i = 0; i < 1000; i++) {
+            Thread thread = new Thread(timings.wrap(() -> {
+            }));
+            thread.start();
+            thread.join();
+        }
+
+        assertThat(timings.accumulatorCount()).isLessThanOrEqualTo(64);
+        assertThat(registry.get("executor").functionTimer().count()).isEqualTo(1000.0);
+        assertThat(timings.accumulatorCount()).isZero();
+    }
+
+    @Test
+    void timingsAreSharedByMetersOfTheSameNameAndTags() {
+        AccumulatedTaskTimings timings = AccumulatedTaskTimings.get(registry, "executor", "executor.idle", Tags.of("name", "a"));
+
+        assertThat(AccumulatedTaskTimings.get(registry, "executor", "executor.idle", Tags.of("name", "a"))).isSameAs(timings);
+        assertThat(AccumulatedTaskTimings.get(registry, "executor", "executor.idle", Tags.of("name", "b"))).isNotSameAs(timings);
+        assertThat(AccumulatedTaskTimings.get(new SimpleMeterRegistry(), "executor", "executor.idle", Tags.of("name", "a")))
+                .isNotSameAs(timings);
+    }
+}
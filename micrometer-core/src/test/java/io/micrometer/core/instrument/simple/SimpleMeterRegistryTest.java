@@ -16,6 +16,7 @@
 package io.micrometer.core.instrument.simple;
 
 import io.micrometer.core.Issue;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.FunctionTimer;
@@ -24,8 +25,11 @@ import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.cumulative.CumulativeCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionCounter;
 import io.micrometer.core.instrument.cumulative.CumulativeFunctionTimer;
+import io.micrometer.core.instrument.cumulative.CumulativeIntegralCounter;
+import io.micrometer.core.instrument.step.StepCounter;
 import io.micrometer.core.instrument.step.StepFunctionCounter;
 import io.micrometer.core.instrument.step.StepFunctionTimer;
 import org.junit.jupiter.api.Test;
@@ -104,6 +108,33 @@ class SimpleMeterRegistryTest {
         assertThat(functionCounter).isInstanceOf(StepFunctionCounter.class);
     }
 
+    @Test
+    void integralCounterWhenCountingModeIsCumulativeShouldReturnCumulativeIntegralCounter() {
+        SimpleMeterRegistry registry = createRegistry(CountingMode.CUMULATIVE);
+        Counter counter = Counter.builder("some.counter").integral().register(registry);
+        assertThat(counter).isInstanceOf(CumulativeIntegralCounter.class);
+    }
+
+    @Test
+    void integralCounterWhenCountingModeIsStepShouldReturnStepCounter() {
+        SimpleMeterRegistry registry = createRegistry(CountingMode.STEP);
+        Counter counter = Counter.builder("some.counter").integral().register(registry);
+        assertThat(counter).isInstanceOf(StepCounter.class);
+    }
+
+    @Test
+    void compactStorageSharesNamesAndTagsBetweenMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(key -> key.equals("simple.compactStorage") ? "true" : null, clock);
+
+        Counter counter = registry.counter(new String("my.counter"), "k", new String("v"));
+        Timer timer = registry.timer(new String("my.timer"), "k", new String("v"));
+        Counter sameNameCounter = registry.counter(new String("my.counter"), "k", new String("other"));
+
+        assertThat(counter).isInstanceOf(CumulativeCounter.class);
+        assertThat(timer.getId().getTags().get(0)).isSameAs(counter.getId().getTags().get(0));
+        assertThat(sameNameCounter.getId().getName()).isSameAs(counter.getId().getName());
+    }
+
     private SimpleMeterRegistry createRegistry(CountingMode mode) {
         return new SimpleMeterRegistry(new SimpleConfig() {
 
@@ -18,6 +18,11 @@ package io.micrometer.core.instrument.util;
 import io.micrometer.core.Issue;
 import org.junit.jupiter.api.Test;
 
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class DoubleFormatTest {
@@ -49,4 +54,66 @@ class DoubleFormatTest {
         assertThat(DoubleFormat.wholeOrDecimal(4.6875392E7)).isEqualTo("46875392");
         assertThat(DoubleFormat.decimalOrNan(4.6875392E7)).isEqualTo("46875392");
     }
+
+    @Test
+    void roundsDecimalTiesHalfEvenOnTheExactBinaryValue() {
+        // 1/128 = 0.0078125 is an exact tie at the sixth fraction digit
+        assertThat(DoubleFormat.decimalOrNan(0.0078125)).isEqualTo("0.007812");
+        assertThat(DoubleFormat.decimalOrNan(0.0234375)).isEqualTo("0.023438");
+        // the closest double to 0.0000005 is slightly below it, and to 0.0000015 slightly above it
+        assertThat(DoubleFormat.decimalOrNan(0.0000005)).isEqualTo("0");
+        assertThat(DoubleFormat.decimalOrNan(0.0000015)).isEqualTo("0.000002");
+    }
+
+    @Test
+    void signAndSpecialValues() {
+        assertThat(DoubleFormat.decimalOrNan(-1.5)).isEqualTo("-1.5");
+        assertThat(DoubleFormat.decimalOrNan(-0.0)).isEqualTo("-0");
+        assertThat(DoubleFormat.decimal(-0.0000001)).isEqualTo("-0.0");
+        assertThat(DoubleFormat.decimalOrNan(Double.POSITIVE_INFINITY)).isEqualTo("\u221E");
+        assertThat(DoubleFormat.wholeOrDecimal(Double.NEGATIVE_INFINITY)).isEqualTo("-\u221E");
+        assertThat(DoubleFormat.decimalOrNan(1e300)).hasSize(301).doesNotContain("E");
+        assertThat(DoubleFormat.decimalOrNan(Double.MIN_VALUE)).isEqualTo("0");
+    }
+
+    @Test
+    void appendsWithoutIntermediateString() {
+        StringBuilder sb = new StringBuilder("value=");
+        DoubleFormat.appendDecimalOrNan(sb, 1.25).append(',');
+        DoubleFormat.appendDecimal(sb, 2).append(',');
+        DoubleFormat.appendWholeOrDecimal(sb, 0.000012);
+        assertThat(sb.toString()).isEqualTo("value=1.25,2.0,0.000012");
+    }
+
+    @Test
+    void sameAsDecimalFormat() {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
+        DecimalFormat wholeOrDecimal = new DecimalFormat("##0.######", symbols);
+        DecimalFormat decimal = new DecimalFormat("##0.0#####", symbols);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double d;
+            switch (i % 4) {
+                case 0:
+                    d = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    d = random.nextDouble() * Math.pow(10, random.nextInt(30) - 15);
+                    break;
+                case 2:
+                    // ties and near-ties at the sixth fraction digit
+                    d = (random.nextInt(20_000_000) + 0.5) / 1_000_000 + (random.nextInt(3) - 1) * Math.ulp(1.0);
+                    break;
+                default:
+                    d = random.nextInt(1_000_000) / 1000.0;
+            }
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            assertThat(DoubleFormat.wholeOrDecimal(d)).as("%s", d).isEqualTo(wholeOrDecimal.format(d));
+            assertThat(DoubleFormat.decimalOrNan(d)).as("%s", d).isEqualTo(wholeOrDecimal.format(d));
+            assertThat(DoubleFormat.decimal(d)).as("%s", d).isEqualTo(decimal.format(d));
+        }
+    }
 }
@@ -38,6 +38,15 @@ class HierarchicalNameMapperTest {
         assertThat(name).isEqualTo("httpRequests.method.GET.other.With_Spaces.status.200");
     }
 
+    @Test
+    void spacesInTagKeysAndValues() {
+        String name = mapper.toHierarchicalName(
+            id("http.requests", "with key", "with value"),
+            NamingConvention.identity
+        );
+        assertThat(name).isEqualTo("http.requests.with_key.with_value");
+    }
+
     @Test
     void noTags() {
         assertThat(mapper.toHierarchicalName(
@@ -0,0 +1,141 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.util;
+
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.CountingMode;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link IdleMeterEvictor}.
+ */
+class IdleMeterEvictorTest {
+    private final MockClock clock = new MockClock();
+    private final IdleMeterEvictor evictor = new IdleMeterEvictor(Duration.ofMinutes(5), id -> id.getName().startsWith("http"));
+
+    @AfterEach
+    void close() {
+        evictor.close();
+    }
+
+    @Test
+    void evictsIdleCumulativeMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        evictor.bindTo(registry);
+
+        registry.counter("http.requests", "uri", "/idle").increment();
+        registry.counter("http.requests", "uri", "/busy").increment();
+        registry.timer("http.latency", "uri", "/idle").record(Duration.ofMillis(1));
+        registry.gauge("http.connections", new AtomicInteger(1));
+        registry.counter("jvm.events").increment();
+        evictor.evictIdleMeters();
+
+        for (int i = 0; i < 5; i++) {
+            clock.add(Duration.ofMinutes(1));
+            registry.counter("http.requests", "uri", "/busy").increment();
+            evictor.evictIdleMeters();
+        }
+
+        assertThat(registry.find("http.requests").tag("uri", "/idle").counter()).isNull();
+        assertThat(registry.find("http.latency").timer()).isNull();
+        assertThat(registry.get("http.requests").tag("uri", "/busy").counter().count()).isEqualTo(6);
+        assertThat(registry.find("http.connections").gauge()).isNotNull();
+        assertThat(registry.find("jvm.events").counter()).isNotNull();
+        assertThat(registry.get("meter.evictions").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void stepMetersAreNotEvictedBeforeTheirLastStepIsPublished() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(new SimpleConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public CountingMode mode() {
+                return CountingMode.STEP;
+            }
+
+            @Override
+            public Duration step() {
+                return Duration.ofMinutes(10);
+            }
+        }, clock);
+        evictor.bindTo(registry);
+
+        registry.counter("http.requests").increment();
+        evictor.evictIdleMeters();
+
+        // nothing recorded since, but the count is only published once the step completes
+        clock.add(Duration.ofMinutes(9));
+        evictor.evictIdleMeters();
+        assertThat(registry.find("http.requests").counter()).isNotNull();
+
+        // the completed step is published during the following step
+        clock.add(Duration.ofMinutes(10));
+        evictor.evictIdleMeters();
+        assertThat(registry.get("http.requests").counter().count()).isEqualTo(1);
+
+        clock.add(Duration.ofMinutes(10));
+        evictor.evictIdleMeters();
+        clock.add(Duration.ofMinutes(5));
+        evictor.evictIdleMeters();
+        assertThat(registry.find("http.requests").counter()).isNull();
+    }
+
+    @Test
+    void longTaskTimersWithActiveTasksAreNotEvicted() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        evictor.bindTo(registry);
+
+        LongTaskTimer.Sample sample = LongTaskTimer.builder("http.long").register(registry).start();
+        evictor.evictIdleMeters();
+        clock.add(Duration.ofMinutes(10));
+        evictor.evictIdleMeters();
+        assertThat(registry.find("http.long").longTaskTimer()).isNotNull();
+
+        sample.stop();
+        evictor.evictIdleMeters();
+        clock.add(Duration.ofMinutes(10));
+        evictor.evictIdleMeters();
+        assertThat(registry.find("http.long").longTaskTimer()).isNull();
+    }
+
+    @Test
+    void evictedMetersAreRecreatedOnNextUse() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        evictor.bindTo(registry);
+
+        registry.counter("http.requests").increment();
+        evictor.evictIdleMeters();
+        clock.add(Duration.ofMinutes(10));
+        evictor.evictIdleMeters();
+        assertThat(registry.find("http.requests").counter()).isNull();
+
+        registry.counter("http.requests").increment();
+        assertThat(registry.get("http.requests").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright 2021 VMware, Inc.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micrometer.core.instrument.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeterFragmentCacheTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger renderings = new AtomicInteger();
+    private final MeterFragmentCache<String> cache = new MeterFragmentCache<>(registry, id -> {
+        renderings.incrementAndGet();
+        return id.getConventionName(registry.config().namingConvention());
+    });
+
+    @Test
+    void fragmentsAreRenderedOncePerMeter() {
+        Counter counter = registry.counter("my.counter");
+
+        assertThat(cache.get(counter.getId())).isEqualTo("my_counter");
+        assertThat(cache.get(counter.getId())).isEqualTo("my_counter");
+        assertThat(renderings).hasValue(1);
+    }
+
+    @Test
+    void fragmentsAreRenderedAgainAfterNamingConventionChanges() {
+        Counter counter = registry.counter("my.counter");
+        cache.get(counter.getId());
+
+        registry.config().namingConvention(NamingConvention.camelCase);
+
+        assertThat(cache.get(counter.getId())).isEqualTo("myCounter");
+        assertThat(renderings).hasValue(2);
+    }
+
+    @Test
+    void fragmentsAreDroppedWhenMeterIsRemoved() {
+        Counter counter = registry.counter("my.counter");
+        cache.get(counter.getId());
+
+        registry.remove(counter);
+        cache.get(registry.counter("my.counter").getId());
+
+        assertThat(renderings).hasValue(2);
+    }
+}
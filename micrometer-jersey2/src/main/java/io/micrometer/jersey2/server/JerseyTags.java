@@ -15,7 +15,10 @@
  */
 package io.micrometer.jersey2.server;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import javax.ws.rs.core.Response;
@@ -56,6 +59,13 @@ public final class JerseyTags {
 
     private static final Pattern MULTIPLE_SLASH_PATTERN = Pattern.compile("//+");
 
+    /**
+     * Bounds the cache of rendered patterns, should an application build resources dynamically.
+     */
+    private static final int MAX_CACHED_PATTERNS = 1000;
+
+    private static final Map<MatchedTemplates, String> MATCHING_PATTERNS = new ConcurrentHashMap<>();
+
     private JerseyTags() {
     }
 
@@ -112,10 +122,21 @@ public final class JerseyTags {
 
     private static String getMatchingPattern(RequestEvent event) {
         ExtendedUriInfo uriInfo = event.getUriInfo();
-        List<UriTemplate> templates = uriInfo.getMatchedTemplates();
+        MatchedTemplates matched = new MatchedTemplates(uriInfo.getBaseUri().getPath(), uriInfo.getMatchedTemplates());
+
+        String matchingPattern = MATCHING_PATTERNS.get(matched);
+        if (matchingPattern == null) {
+            matchingPattern = getMatchingPattern(matched.basePath, matched.templates);
+            if (MATCHING_PATTERNS.size() < MAX_CACHED_PATTERNS) {
+                MATCHING_PATTERNS.putIfAbsent(matched.copy(), matchingPattern);
+            }
+        }
+        return matchingPattern;
+    }
 
+    private static String getMatchingPattern(String basePath, List<UriTemplate> templates) {
         StringBuilder sb = new StringBuilder();
-        sb.append(uriInfo.getBaseUri().getPath());
+        sb.append(basePath);
         for (int i = templates.size() - 1; i >= 0; i--) {
             sb.append(templates.get(i).getTemplate());
         }
@@ -165,4 +186,56 @@ public final class JerseyTags {
         return Outcome.SERVER_ERROR.asTag();
     }
 
+    /**
+     * The base path and templates a request matched. Templates are compared by their template text, as templates that
+     * only differ in the names of their parameters are equal.
+     */
+    private static final class MatchedTemplates {
+        private final String basePath;
+        private final List<UriTemplate> templates;
+        private final int hashCode;
+
+        MatchedTemplates(String basePath, List<UriTemplate> templates) {
+            this.basePath = basePath;
+            this.templates = templates;
+            int hashCode = basePath.hashCode();
+            for (UriTemplate template : templates) {
+                hashCode = 31 * hashCode + template.getTemplate().hashCode();
+            }
+            this.hashCode = hashCode;
+        }
+
+        /**
+         * The matched templates are a view of the request's routing state, so they are copied before being kept.
+         */
+        MatchedTemplates copy() {
+            return new MatchedTemplates(basePath, new ArrayList<>(templates));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MatchedTemplates)) {
+                return false;
+            }
+            MatchedTemplates that = (MatchedTemplates) o;
+            if (hashCode != that.hashCode || !basePath.equals(that.basePath) || templates.size() != that.templates.size()) {
+                return false;
+            }
+            for (int i = 0; i < templates.size(); i++) {
+                if (!templates.get(i).getTemplate().equals(that.templates.get(i).getTemplate())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
 }
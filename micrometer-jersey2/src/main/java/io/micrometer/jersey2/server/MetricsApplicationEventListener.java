@@ -25,17 +25,14 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * The Micrometer {@link ApplicationEventListener} which registers
- * {@link RequestEventListener} for instrumenting Jersey server requests.
+ * {@link RequestEventListener} for instrumenting Jersey server requests. All requests share
+ * one {@link MetricsRequestEventListener}.
  *
  * @author Michael Weirauch
  */
 public class MetricsApplicationEventListener implements ApplicationEventListener {
 
-    private final MeterRegistry meterRegistry;
-    private final JerseyTagsProvider tagsProvider;
-    private final String metricName;
-    private final AnnotationFinder annotationFinder;
-    private final boolean autoTimeRequests;
+    private final RequestEventListener requestEventListener;
 
     public MetricsApplicationEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider, String metricName,
                                            boolean autoTimeRequests) {
@@ -45,11 +42,8 @@ public class MetricsApplicationEventListener implements ApplicationEventListener
     public MetricsApplicationEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider,
                                            String metricName, boolean autoTimeRequests,
                                            AnnotationFinder annotationFinder) {
-        this.meterRegistry = requireNonNull(registry);
-        this.tagsProvider = requireNonNull(tagsProvider);
-        this.metricName = requireNonNull(metricName);
-        this.annotationFinder = requireNonNull(annotationFinder);
-        this.autoTimeRequests = autoTimeRequests;
+        this.requestEventListener = new MetricsRequestEventListener(registry, tagsProvider, metricName,
+                autoTimeRequests, requireNonNull(annotationFinder));
     }
 
     @Override
@@ -58,6 +52,6 @@ public class MetricsApplicationEventListener implements ApplicationEventListener
 
     @Override
     public RequestEventListener onRequest(RequestEvent requestEvent) {
-        return new MetricsRequestEventListener(meterRegistry, tagsProvider, metricName, autoTimeRequests, annotationFinder);
+        return requestEventListener;
     }
 }
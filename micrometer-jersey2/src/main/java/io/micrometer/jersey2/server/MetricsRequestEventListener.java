@@ -19,33 +19,44 @@ import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.LongTaskTimer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.lang.Nullable;
 import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
 
 import javax.ws.rs.NotFoundException;
+import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * {@link RequestEventListener} recording timings for Jersey server requests.
+ * <p>
+ * The state of a request is kept on the {@link ContainerRequest} itself, so one listener can be shared by all requests.
+ * The {@link Timed} annotations are looked up once per resource method. With the {@link DefaultJerseyTagsProvider},
+ * the timers are also resolved once per resource method, URI, status and exception, until they are removed from the
+ * registry.
  *
  * @author Michael Weirauch
  * @author Jon Schneider
  */
 public class MetricsRequestEventListener implements RequestEventListener {
 
-    private final Map<ContainerRequest, Timer.Sample> shortTaskSample = Collections
-        .synchronizedMap(new IdentityHashMap<>());
+    private static final String REQUEST_STATE_PROPERTY = MetricsRequestEventListener.class.getName() + ".state";
+
+    /**
+     * Bounds the timer cache, as clients choose the URIs of unmatched requests and trigger the exceptions.
+     */
+    private static final int MAX_CACHED_TIMERS = 1000;
 
-    private final Map<ContainerRequest, Collection<LongTaskTimer.Sample>> longTaskSamples = Collections
-        .synchronizedMap(new IdentityHashMap<>());
+    private final Map<Method, Set<Timed>> timedAnnotations = new ConcurrentHashMap<>();
 
-    private final Map<ContainerRequest, Set<Timed>> timedAnnotationsOnRequest = Collections
-        .synchronizedMap(new IdentityHashMap<>());
+    private final Map<TimerKey, Collection<Timer>> timers = new ConcurrentHashMap<>();
 
     private final MeterRegistry registry;
     private final JerseyTagsProvider tagsProvider;
@@ -53,6 +64,12 @@ public class MetricsRequestEventListener implements RequestEventListener {
     private final TimedFinder timedFinder;
     private final String metricName;
 
+    /**
+     * The {@link DefaultJerseyTagsProvider} only derives tags from what a {@link TimerKey} is made of. Other providers
+     * may not, so their timers are resolved for every request.
+     */
+    private final boolean cacheTimers;
+
     public MetricsRequestEventListener(MeterRegistry registry, JerseyTagsProvider tagsProvider,
                                        String metricName, boolean autoTimeRequests, AnnotationFinder annotationFinder) {
         this.registry = requireNonNull(registry);
@@ -60,12 +77,17 @@ public class MetricsRequestEventListener implements RequestEventListener {
         this.metricName = requireNonNull(metricName);
         this.autoTimeRequests = autoTimeRequests;
         this.timedFinder = new TimedFinder(annotationFinder);
+        this.cacheTimers = tagsProvider instanceof DefaultJerseyTagsProvider;
+        if (cacheTimers) {
+            // recording to a removed timer would be lost, so resolve it again from the registry
+            registry.config().onMeterRemoved(meter -> timers.values().removeIf(cached -> cached.contains(meter)));
+        }
     }
 
     @Override
     public void onEvent(RequestEvent event) {
         ContainerRequest containerRequest = event.getContainerRequest();
-        Set<Timed> timedAnnotations;
+        RequestState state;
 
         switch (event.getType()) {
             case ON_EXCEPTION:
@@ -73,48 +95,61 @@ public class MetricsRequestEventListener implements RequestEventListener {
                     break;
                 }
             case REQUEST_MATCHED:
-                timedAnnotations = annotations(event);
+                Method handlingMethod = handlingMethod(event);
+                Set<Timed> timedAnnotations = annotations(handlingMethod);
 
-                timedAnnotationsOnRequest.put(containerRequest, timedAnnotations);
-                shortTaskSample.put(containerRequest, Timer.start(registry));
+                List<LongTaskTimer.Sample> longTaskSamples = timedAnnotations.isEmpty() ? Collections.emptyList() :
+                    longTaskTimers(timedAnnotations, event).stream().map(LongTaskTimer::start).collect(Collectors.toList());
 
-                List<LongTaskTimer.Sample> longTaskSamples = longTaskTimers(timedAnnotations, event).stream().map(LongTaskTimer::start).collect(Collectors.toList());
-                if (!longTaskSamples.isEmpty()) {
-                    this.longTaskSamples.put(containerRequest, longTaskSamples);
-                }
+                containerRequest.setProperty(REQUEST_STATE_PROPERTY,
+                    new RequestState(handlingMethod, timedAnnotations, Timer.start(registry), longTaskSamples));
                 break;
             case FINISHED:
-                timedAnnotations = timedAnnotationsOnRequest.remove(containerRequest);
-                Timer.Sample shortSample = shortTaskSample.remove(containerRequest);
+                state = (RequestState) containerRequest.getProperty(REQUEST_STATE_PROPERTY);
+                if (state == null) {
+                    break;
+                }
+                containerRequest.removeProperty(REQUEST_STATE_PROPERTY);
 
-                if (shortSample != null) {
-                    for (Timer timer : shortTimers(timedAnnotations, event)) {
-                        shortSample.stop(timer);
-                    }
+                for (Timer timer : shortTimers(state, event)) {
+                    state.shortSample.stop(timer);
                 }
 
-                Collection<LongTaskTimer.Sample> longSamples = this.longTaskSamples.remove(containerRequest);
-                if (longSamples != null) {
-                    for (LongTaskTimer.Sample longSample : longSamples) {
-                        longSample.stop();
-                    }
+                for (LongTaskTimer.Sample longSample : state.longTaskSamples) {
+                    longSample.stop();
                 }
                 break;
         }
     }
 
-    private Set<Timer> shortTimers(Set<Timed> timed, RequestEvent event) {
+    private Collection<Timer> shortTimers(RequestState state, RequestEvent event) {
         /*
          * Given we didn't find any matching resource method, 404s will be only
          * recorded when auto-time-requests is enabled. On par with WebMVC
          * instrumentation.
          */
-        if ((timed == null || timed.isEmpty()) && autoTimeRequests) {
-            return Collections.singleton(registry.timer(metricName, tagsProvider.httpRequestTags(event)));
+        if (state.timedAnnotations.isEmpty() && !autoTimeRequests) {
+            return Collections.emptySet();
         }
 
-        if (timed == null) {
-            return Collections.emptySet();
+        if (!cacheTimers) {
+            return shortTimers(state.timedAnnotations, event);
+        }
+
+        TimerKey key = new TimerKey(state.handlingMethod, event);
+        Collection<Timer> shortTimers = timers.get(key);
+        if (shortTimers == null) {
+            shortTimers = shortTimers(state.timedAnnotations, event);
+            if (timers.size() < MAX_CACHED_TIMERS) {
+                timers.putIfAbsent(key, shortTimers);
+            }
+        }
+        return shortTimers;
+    }
+
+    private Collection<Timer> shortTimers(Set<Timed> timed, RequestEvent event) {
+        if (timed.isEmpty()) {
+            return Collections.singleton(registry.timer(metricName, tagsProvider.httpRequestTags(event)));
         }
 
         return timed.stream()
@@ -130,20 +165,102 @@ public class MetricsRequestEventListener implements RequestEventListener {
             .collect(Collectors.toSet());
     }
 
-    private Set<Timed> annotations(RequestEvent event) {
-        final Set<Timed> timed = new HashSet<>();
-
+    @Nullable
+    private Method handlingMethod(RequestEvent event) {
         final ResourceMethod matchingResourceMethod = event.getUriInfo().getMatchedResourceMethod();
-        if (matchingResourceMethod != null) {
-            // collect on method level
-            timed.addAll(timedFinder.findTimedAnnotations(matchingResourceMethod.getInvocable().getHandlingMethod()));
-
-            // fallback on class level
-            if (timed.isEmpty()) {
-                timed.addAll(timedFinder.findTimedAnnotations(matchingResourceMethod.getInvocable().getHandlingMethod()
-                    .getDeclaringClass()));
-            }
+        return matchingResourceMethod == null ? null : matchingResourceMethod.getInvocable().getHandlingMethod();
+    }
+
+    private Set<Timed> annotations(@Nullable Method handlingMethod) {
+        if (handlingMethod == null) {
+            return Collections.emptySet();
+        }
+        Set<Timed> timed = timedAnnotations.get(handlingMethod);
+        if (timed == null) {
+            timed = timedAnnotations.computeIfAbsent(handlingMethod, this::findAnnotations);
         }
         return timed;
     }
+
+    private Set<Timed> findAnnotations(Method handlingMethod) {
+        // collect on method level
+        final Set<Timed> timed = new HashSet<>(timedFinder.findTimedAnnotations(handlingMethod));
+
+        // fallback on class level
+        if (timed.isEmpty()) {
+            timed.addAll(timedFinder.findTimedAnnotations(handlingMethod.getDeclaringClass()));
+        }
+        return timed.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(timed);
+    }
+
+    private static final class RequestState {
+        @Nullable
+        final Method handlingMethod;
+        final Set<Timed> timedAnnotations;
+        final Timer.Sample shortSample;
+        final Collection<LongTaskTimer.Sample> longTaskSamples;
+
+        RequestState(@Nullable Method handlingMethod, Set<Timed> timedAnnotations, Timer.Sample shortSample,
+                     Collection<LongTaskTimer.Sample> longTaskSamples) {
+            this.handlingMethod = handlingMethod;
+            this.timedAnnotations = timedAnnotations;
+            this.shortSample = shortSample;
+            this.longTaskSamples = longTaskSamples;
+        }
+    }
+
+    /**
+     * What the tags of {@link DefaultJerseyTagsProvider#httpRequestTags(RequestEvent)} are derived from, along with
+     * the resource method whose {@link Timed} annotations the timers are built from. The outcome follows from the
+     * status.
+     */
+    private static final class TimerKey {
+        @Nullable
+        private final Method handlingMethod;
+        private final String httpMethod;
+        private final String uri;
+        private final int status;
+        @Nullable
+        private final Class<?> exceptionType;
+
+        TimerKey(@Nullable Method handlingMethod, RequestEvent event) {
+            this.handlingMethod = handlingMethod;
+            ContainerRequest request = event.getContainerRequest();
+            this.httpMethod = request == null ? "" : request.getMethod();
+            this.uri = JerseyTags.uri(event).getValue();
+            ContainerResponse response = event.getContainerResponse();
+            this.status = response == null ? -1 : response.getStatus();
+            Throwable exception = event.getException();
+            if (exception != null && exception.getCause() != null) {
+                exception = exception.getCause();
+            }
+            this.exceptionType = exception == null ? null : exception.getClass();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TimerKey that = (TimerKey) o;
+            return status == that.status &&
+                Objects.equals(handlingMethod, that.handlingMethod) &&
+                httpMethod.equals(that.httpMethod) &&
+                uri.equals(that.uri) &&
+                exceptionType == that.exceptionType;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(handlingMethod);
+            result = 31 * result + httpMethod.hashCode();
+            result = 31 * result + uri.hashCode();
+            result = 31 * result + status;
+            result = 31 * result + Objects.hashCode(exceptionType);
+            return result;
+        }
+    }
 }
@@ -61,6 +61,16 @@ public class DefaultJerseyTagsProviderTest {
             .containsExactlyInAnyOrder(tagsFrom("/hello/{name}", 200, null, "SUCCESS"));
     }
 
+    @Test
+    public void templatesDifferingOnlyInParameterNamesAreDistinct() {
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/", "/", "/hello/{name}")))
+            .containsExactlyInAnyOrder(tagsFrom("/hello/{name}", 200, null, "SUCCESS"));
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/", "/", "/hello/{id}")))
+            .containsExactlyInAnyOrder(tagsFrom("/hello/{id}", 200, null, "SUCCESS"));
+        assertThat(tagsProvider.httpRequestTags(event(200, null, "/app", "/", "/hello/{name}")))
+            .containsExactlyInAnyOrder(tagsFrom("/app/hello/{name}", 200, null, "SUCCESS"));
+    }
+
     @Test
     public void applicationPathIsPresent() {
         assertThat(tagsProvider.httpRequestTags(event(200, null, "/app", "/", "/hello")))
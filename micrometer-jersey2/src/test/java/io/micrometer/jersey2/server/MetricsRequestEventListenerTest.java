@@ -18,6 +18,7 @@ package io.micrometer.jersey2.server;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.jersey2.server.mapper.ResourceGoneExceptionMapper;
 import io.micrometer.jersey2.server.resources.TestResource;
@@ -27,6 +28,11 @@ import org.junit.Test;
 
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Application;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -152,6 +158,45 @@ public class MetricsRequestEventListenerTest extends JerseyTest {
             .isEqualTo(1);
     }
 
+    @Test
+    public void concurrentRequestsAreTimedByTheSharedListener() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                requests.add(executor.submit(() -> target("hello").request().get()));
+                requests.add(executor.submit(() -> target("hello/peter").request().get()));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(registry.get(METRIC_NAME)
+            .tags(tagsFrom("/hello", "200", "SUCCESS", null)).timer().count())
+            .isEqualTo(100);
+
+        assertThat(registry.get(METRIC_NAME)
+            .tags(tagsFrom("/hello/{name}", "200", "SUCCESS", null)).timer().count())
+            .isEqualTo(100);
+    }
+
+    @Test
+    public void removedTimersAreRegisteredAgain() {
+        target("hello").request().get();
+        Timer removed = registry.get(METRIC_NAME).tags(tagsFrom("/hello", "200", "SUCCESS", null)).timer();
+        registry.remove(removed);
+
+        target("hello").request().get();
+
+        assertThat(removed.count()).isEqualTo(1);
+        assertThat(registry.get(METRIC_NAME)
+            .tags(tagsFrom("/hello", "200", "SUCCESS", null)).timer().count())
+            .isEqualTo(1);
+    }
+
     private static Iterable<Tag> tagsFrom(String uri, String status, String outcome, String exception) {
         return Tags.of("method", "GET", "uri", uri, "status", status, "outcome", outcome,
                 "exception", exception == null ? "None" : exception);
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -62,4 +63,32 @@ public class DefaultLongTaskTimerTest {
         assertThat(countAtBuckets[2].bucket(TimeUnit.MINUTES)).isEqualTo(1);
         assertThat(countAtBuckets[2].count()).isEqualTo(11);
     }
+
+    @Test
+    @DisplayName("stopped tasks are no longer active, in whatever order they stop")
+    void stopOutOfOrder() {
+        MeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, new MockClock());
+        LongTaskTimer t = LongTaskTimer.builder("my.timer").register(registry);
+
+        List<LongTaskTimer.Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            clock(registry).add(1, TimeUnit.SECONDS);
+            samples.add(t.start());
+        }
+        clock(registry).add(1, TimeUnit.SECONDS);
+
+        // stop all but the oldest and the youngest task, youngest first
+        for (int i = samples.size() - 2; i > 0; i--) {
+            assertThat(samples.get(i).stop()).isEqualTo(TimeUnit.SECONDS.toNanos(samples.size() - i));
+        }
+        assertThat(samples.get(1).stop()).isEqualTo(-1);
+
+        assertThat(t.activeTasks()).isEqualTo(2);
+        assertThat(t.duration(TimeUnit.SECONDS)).isEqualTo(1000 + 1);
+        assertThat(t.max(TimeUnit.SECONDS)).isEqualTo(1000);
+        assertThat(t.takeSnapshot().count()).isEqualTo(2);
+
+        samples.get(0).stop();
+        assertThat(t.max(TimeUnit.SECONDS)).isEqualTo(1);
+    }
 }